@@ -50,6 +50,16 @@ public final class Events {
 	 */
 	public static final String EVENT_CLEAR_PERMISSION_STORE = "mesh.clear-permission-store";
 
+	/**
+	 * Event which is send to invalidate the permission store entries for specific roles or elements.
+	 */
+	public static final String EVENT_INVALIDATE_PERMISSION_STORE = "mesh.invalidate-permission-store";
+
+	/**
+	 * Event which is send to invalidate the cached webroot paths of specific nodes or paths.
+	 */
+	public static final String EVENT_INVALIDATE_WEBROOT_CACHE = "mesh.invalidate-webroot-cache";
+
 	/* User */
 
 	public static final String EVENT_USER_CREATED = "mesh.user.created";
@@ -142,6 +152,11 @@ public final class Events {
 	 */
 	public static final String INDEX_SYNC_EVENT = "mesh.search.index.sync";
 
+	/**
+	 * Address for the handler which will process the batches of the search queue journal.
+	 */
+	public static final String SEARCH_QUEUE_INDEXER_ADDRESS = "search-queue.indexer";
+
 //	/**
 //	 * Address to query the index sync status.
 //	 */
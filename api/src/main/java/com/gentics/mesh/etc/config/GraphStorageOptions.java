@@ -19,11 +19,15 @@ public class GraphStorageOptions implements Option {
 	public static final String DEFAULT_DIRECTORY = "data" + File.separator + "graphdb";
 	public static final String DEFAULT_BACKUP_DIRECTORY = "data" + File.separator + "backup";
 	public static final String DEFAULT_EXPORT_DIRECTORY = "data" + File.separator + "export";
+	public static final int DEFAULT_MIGRATION_BATCH_SIZE = 50;
+	public static final int DEFAULT_MIGRATION_CONCURRENCY = 1;
 
 	public static final String MESH_GRAPH_DB_DIRECTORY_ENV = "MESH_GRAPH_DB_DIRECTORY";
 	public static final String MESH_GRAPH_BACKUP_DIRECTORY_ENV = "MESH_GRAPH_BACKUP_DIRECTORY";
 	public static final String MESH_GRAPH_EXPORT_DIRECTORY_ENV = "MESH_GRAPH_EXPORT_DIRECTORY";
 	public static final String MESH_GRAPH_STARTSERVER_ENV = "MESH_GRAPH_STARTSERVER";
+	public static final String MESH_GRAPH_MIGRATION_BATCH_SIZE_ENV = "MESH_GRAPH_MIGRATION_BATCH_SIZE";
+	public static final String MESH_GRAPH_MIGRATION_CONCURRENCY_ENV = "MESH_GRAPH_MIGRATION_CONCURRENCY";
 
 	@JsonProperty(required = true)
 	@JsonPropertyDescription("Path to the graph database data directory.")
@@ -45,6 +49,18 @@ public class GraphStorageOptions implements Option {
 	@EnvironmentVariable(name = MESH_GRAPH_STARTSERVER_ENV, description = "Override the graph database server flag.")
 	private Boolean startServer = false;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of containers or nodes which will be migrated within a single transaction during node, micronode and release migrations. Default: "
+		+ DEFAULT_MIGRATION_BATCH_SIZE)
+	@EnvironmentVariable(name = MESH_GRAPH_MIGRATION_BATCH_SIZE_ENV, description = "Override the migration batch size.")
+	private int migrationBatchSize = DEFAULT_MIGRATION_BATCH_SIZE;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of threads which will be used to migrate the containers of a node or micronode migration concurrently. The threads are not shared with the request handling. Default: "
+		+ DEFAULT_MIGRATION_CONCURRENCY)
+	@EnvironmentVariable(name = MESH_GRAPH_MIGRATION_CONCURRENCY_ENV, description = "Override the migration concurrency.")
+	private int migrationConcurrency = DEFAULT_MIGRATION_CONCURRENCY;
+
 	@JsonProperty(required = false)
 	@JsonPropertyDescription("Additional set of graph database parameters.")
 	private Map<String, String> parameters = new HashMap<>();
@@ -153,6 +169,46 @@ public class GraphStorageOptions implements Option {
 		return this;
 	}
 
+	/**
+	 * Return the amount of containers which will be migrated within a single transaction.
+	 * 
+	 * @return
+	 */
+	public int getMigrationBatchSize() {
+		return migrationBatchSize;
+	}
+
+	/**
+	 * Set the amount of containers which will be migrated within a single transaction.
+	 * 
+	 * @param migrationBatchSize
+	 * @return Fluent API
+	 */
+	public GraphStorageOptions setMigrationBatchSize(int migrationBatchSize) {
+		this.migrationBatchSize = migrationBatchSize;
+		return this;
+	}
+
+	/**
+	 * Return the amount of threads which will be used to migrate containers concurrently.
+	 * 
+	 * @return
+	 */
+	public int getMigrationConcurrency() {
+		return migrationConcurrency;
+	}
+
+	/**
+	 * Set the amount of threads which will be used to migrate containers concurrently.
+	 * 
+	 * @param migrationConcurrency
+	 * @return Fluent API
+	 */
+	public GraphStorageOptions setMigrationConcurrency(int migrationConcurrency) {
+		this.migrationConcurrency = migrationConcurrency;
+		return this;
+	}
+
 	public void validate(MeshOptions meshOptions) {
 		if (getStartServer() && getDirectory() == null) {
 			throw new NullPointerException(
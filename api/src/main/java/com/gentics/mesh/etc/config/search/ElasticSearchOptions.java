@@ -1,5 +1,7 @@
 package com.gentics.mesh.etc.config.search;
 
+import java.io.File;
+
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyDescription;
 import com.gentics.mesh.doc.GenerateDocumentation;
@@ -23,8 +25,20 @@ public class ElasticSearchOptions implements Option {
 
 	public static final int DEFAULT_BULK_LIMIT = 2000;
 
+	public static final long DEFAULT_BULK_LENGTH_LIMIT = 5_000_000;
+
+	public static final int DEFAULT_BULK_CONCURRENCY = 2;
+
 	public static final String DEFAULT_PREFIX = "mesh-";
 
+	public static final long DEFAULT_REFRESH_WINDOW = 0;
+
+	public static final String DEFAULT_JOURNAL_PATH = "data" + File.separator + "searchqueue";
+
+	public static final int DEFAULT_INDEXER_CONCURRENCY = 4;
+
+	public static final int DEFAULT_INDEXER_RETRY_LIMIT = 5;
+
 	public static final String DEFAULT_ARGS = "-Xms1g -Xmx1g -XX:+UseConcMarkSweepGC -XX:CMSInitiatingOccupancyFraction=75 -XX:+UseCMSInitiatingOccupancyOnly -XX:+AlwaysPreTouch -client -Xss1m -Djava.awt.headless=true -Dfile.encoding=UTF-8 -Djna.nosys=true -XX:-OmitStackTraceInFastThrow -Dio.netty.noUnsafe=true -Dio.netty.noKeySetOptimization=true -Dio.netty.recycler.maxCapacityPerThread=0 -Dlog4j.shutdownHookEnabled=false -Dlog4j2.disable.jmx=true -XX:+HeapDumpOnOutOfMemoryError";
 
 	public static final String MESH_ELASTICSEARCH_URL_ENV = "MESH_ELASTICSEARCH_URL";
@@ -32,6 +46,9 @@ public class ElasticSearchOptions implements Option {
 	public static final String MESH_ELASTICSEARCH_STARTUP_TIMEOUT_ENV = "MESH_ELASTICSEARCH_STARTUP_TIMEOUT";
 	public static final String MESH_ELASTICSEARCH_START_EMBEDDED_ENV = "MESH_ELASTICSEARCH_START_EMBEDDED";
 	public static final String MESH_ELASTICSEARCH_PREFIX_ENV = "MESH_ELASTICSEARCH_PREFIX";
+	public static final String MESH_ELASTICSEARCH_REFRESH_WINDOW_ENV = "MESH_ELASTICSEARCH_REFRESH_WINDOW";
+	public static final String MESH_ELASTICSEARCH_JOURNAL_ENABLED_ENV = "MESH_ELASTICSEARCH_JOURNAL_ENABLED";
+	public static final String MESH_ELASTICSEARCH_JOURNAL_PATH_ENV = "MESH_ELASTICSEARCH_JOURNAL_PATH";
 
 	@JsonProperty(required = false)
 	@JsonPropertyDescription("Elasticsearch connection url to be used. Set this setting to null will disable the Elasticsearch support.")
@@ -61,12 +78,45 @@ public class ElasticSearchOptions implements Option {
 	@JsonPropertyDescription("Upper limit for the size of bulk requests.")
 	private int bulkLimit = DEFAULT_BULK_LIMIT;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Upper limit for the payload size of bulk requests in bytes. Default: " + DEFAULT_BULK_LENGTH_LIMIT)
+	private long bulkLengthLimit = DEFAULT_BULK_LENGTH_LIMIT;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of bulk requests which will be sent concurrently. Default: " + DEFAULT_BULK_CONCURRENCY)
+	private int bulkConcurrency = DEFAULT_BULK_CONCURRENCY;
+
 	@JsonProperty(required = false)
 	@JsonPropertyDescription("Search server prefix for this installation. Choosing different prefixes for each Gentics Mesh instance will allow you to use a single Elasticsearch cluster for multiple Gentics Mesh instances. Default: "
 		+ DEFAULT_PREFIX)
 	@EnvironmentVariable(name = MESH_ELASTICSEARCH_PREFIX_ENV, description = "Override the configured elasticsearch prefix.")
 	private String prefix = DEFAULT_PREFIX;
 
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Time window in milliseconds in which index refresh requests will be merged. Requests will not wait for the refresh unless the refresh=wait_for query parameter has been specified. A value of 0 will refresh the indices immediately and let each request wait for the refresh. Default: "
+		+ DEFAULT_REFRESH_WINDOW)
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_REFRESH_WINDOW_ENV, description = "Override the configured elasticsearch refresh window.")
+	private long refreshWindow = DEFAULT_REFRESH_WINDOW;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Flag which indicates whether search queue batches should be written to a local journal and be processed asynchronously by the indexer. Requests will not wait for Elasticsearch unless the refresh=wait_for query parameter has been specified. Default: false")
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_JOURNAL_ENABLED_ENV, description = "Override the search queue journal flag.")
+	private boolean journalEnabled = false;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Path to the folder which contains the search queue journal segments. The journals of stopped cluster instances found in the folder will be taken over by the running instances. Default: " + DEFAULT_JOURNAL_PATH)
+	@EnvironmentVariable(name = MESH_ELASTICSEARCH_JOURNAL_PATH_ENV, description = "Override the search queue journal path.")
+	private String journalPath = DEFAULT_JOURNAL_PATH;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Maximum amount of journaled batches which will be processed concurrently by the indexer. Default: "
+		+ DEFAULT_INDEXER_CONCURRENCY)
+	private int indexerConcurrency = DEFAULT_INDEXER_CONCURRENCY;
+
+	@JsonProperty(required = false)
+	@JsonPropertyDescription("Amount of retries for journaled batches which could not be processed. Default: " + DEFAULT_INDEXER_RETRY_LIMIT)
+	private int indexerRetryLimit = DEFAULT_INDEXER_RETRY_LIMIT;
+
 	public ElasticSearchOptions() {
 
 	}
@@ -151,6 +201,24 @@ public class ElasticSearchOptions implements Option {
 		return this;
 	}
 
+	public long getBulkLengthLimit() {
+		return bulkLengthLimit;
+	}
+
+	public ElasticSearchOptions setBulkLengthLimit(long bulkLengthLimit) {
+		this.bulkLengthLimit = bulkLengthLimit;
+		return this;
+	}
+
+	public int getBulkConcurrency() {
+		return bulkConcurrency;
+	}
+
+	public ElasticSearchOptions setBulkConcurrency(int bulkConcurrency) {
+		this.bulkConcurrency = bulkConcurrency;
+		return this;
+	}
+
 	public String getPrefix() {
 		return prefix;
 	}
@@ -160,4 +228,104 @@ public class ElasticSearchOptions implements Option {
 		return this;
 	}
 
+	/**
+	 * Return the time window in milliseconds in which index refresh requests will be merged.
+	 * 
+	 * @return
+	 */
+	public long getRefreshWindow() {
+		return refreshWindow;
+	}
+
+	/**
+	 * Set the time window in milliseconds in which index refresh requests will be merged.
+	 * 
+	 * @param refreshWindow
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setRefreshWindow(long refreshWindow) {
+		this.refreshWindow = refreshWindow;
+		return this;
+	}
+
+	/**
+	 * Check whether search queue batches should be written to the journal and be processed asynchronously.
+	 * 
+	 * @return
+	 */
+	public boolean isJournalEnabled() {
+		return journalEnabled;
+	}
+
+	/**
+	 * Set the flag which indicates whether search queue batches should be written to the journal and be processed asynchronously.
+	 * 
+	 * @param journalEnabled
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setJournalEnabled(boolean journalEnabled) {
+		this.journalEnabled = journalEnabled;
+		return this;
+	}
+
+	/**
+	 * Return the path to the search queue journal folder.
+	 * 
+	 * @return
+	 */
+	public String getJournalPath() {
+		return journalPath;
+	}
+
+	/**
+	 * Set the path to the search queue journal folder.
+	 * 
+	 * @param journalPath
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setJournalPath(String journalPath) {
+		this.journalPath = journalPath;
+		return this;
+	}
+
+	/**
+	 * Return the maximum amount of journaled batches which will be processed concurrently.
+	 * 
+	 * @return
+	 */
+	public int getIndexerConcurrency() {
+		return indexerConcurrency;
+	}
+
+	/**
+	 * Set the maximum amount of journaled batches which will be processed concurrently.
+	 * 
+	 * @param indexerConcurrency
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setIndexerConcurrency(int indexerConcurrency) {
+		this.indexerConcurrency = indexerConcurrency;
+		return this;
+	}
+
+	/**
+	 * Return the amount of retries for journaled batches which could not be processed.
+	 * 
+	 * @return
+	 */
+	public int getIndexerRetryLimit() {
+		return indexerRetryLimit;
+	}
+
+	/**
+	 * Set the amount of retries for journaled batches which could not be processed.
+	 * 
+	 * @param indexerRetryLimit
+	 * @return Fluent API
+	 */
+	public ElasticSearchOptions setIndexerRetryLimit(int indexerRetryLimit) {
+		this.indexerRetryLimit = indexerRetryLimit;
+		return this;
+	}
+
 }
@@ -0,0 +1,51 @@
+package com.gentics.mesh.changelog.changes;
+
+import static com.gentics.mesh.core.data.IndexableElement.CHANGE_SEQUENCE_PROPERTY_KEY;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.gentics.mesh.changelog.AbstractChange;
+import com.gentics.mesh.util.ChangeSequence;
+import com.syncleus.ferma.typeresolvers.PolymorphicTypeResolver;
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * Reindex is necessary. The documents reference permission sets instead of listing the role uuids. The change sequences of all indexed elements are
+ * updated so that the sync stores all documents again.
+ */
+public class AddPermissionSetsToIndices extends AbstractChange {
+
+	private static final List<String> INDEXED_TYPES = Arrays.asList("UserImpl", "GroupImpl", "RoleImpl", "ProjectImpl", "TagFamilyImpl", "TagImpl",
+		"SchemaContainerImpl", "MicroschemaContainerImpl", "NodeImpl");
+
+	@Override
+	public String getName() {
+		return "Add permission sets to indices";
+	}
+
+	@Override
+	public String getDescription() {
+		return "Replaces the role uuids of the documents with the ids of the permission sets";
+	}
+
+	@Override
+	public void apply() {
+		for (String type : INDEXED_TYPES) {
+			Iterable<Vertex> vertices = getGraph().getVertices(PolymorphicTypeResolver.TYPE_RESOLUTION_KEY, type);
+			for (Vertex vertex : vertices) {
+				vertex.setProperty(CHANGE_SEQUENCE_PROPERTY_KEY, ChangeSequence.next());
+			}
+		}
+	}
+
+	@Override
+	public String getUuid() {
+		return "0117D9F64132459A9C222A99533B8AFB";
+	}
+
+	@Override
+	public boolean requiresReindex() {
+		return true;
+	}
+}
@@ -0,0 +1,132 @@
+package com.gentics.mesh.changelog.changes;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.gentics.mesh.changelog.AbstractChange;
+import com.syncleus.ferma.typeresolvers.PolymorphicTypeResolver;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * Older versions only stored the webroot segment information of the release in which a container was last updated. The information is now stored for
+ * every release which uses the container since the webroot index is the only source for resolving paths.
+ */
+public class ChangeWebrootInfoPerRelease extends AbstractChange {
+
+	private static final String OLD_WEBROOT = "webrootPathInfo";
+
+	private static final String OLD_WEBROOT_PUB = "publishedWebrootPathInfo";
+
+	private static final String WEBROOT = "webrootSegmentInfo";
+
+	private static final String WEBROOT_PUB = "publishedWebrootSegmentInfo";
+
+	/**
+	 * Format of the stored segment info: [segmentValue-releaseUuid(-parentNodeUuid)]
+	 */
+	private static final Pattern SEGMENT_INFO = Pattern.compile("^(.*)-([0-9a-f]{32})(-[0-9a-f]{32})?$");
+
+	private final Set<String> seenDraftKeys = new HashSet<>();
+
+	private final Set<String> seenPublishedKeys = new HashSet<>();
+
+	@Override
+	public String getName() {
+		return "Store webroot info per release";
+	}
+
+	@Override
+	public String getDescription() {
+		return "Stores the webroot segment information for every release which uses a field container";
+	}
+
+	@Override
+	public void apply() {
+		Iterable<Vertex> vertices = getGraph().getVertices(PolymorphicTypeResolver.TYPE_RESOLUTION_KEY, "NodeGraphFieldContainerImpl");
+		for (Vertex container : vertices) {
+			migrateContainer(container);
+		}
+	}
+
+	private void migrateContainer(Vertex container) {
+		Set<String> draftReleases = new HashSet<>();
+		Set<String> publishedReleases = new HashSet<>();
+		Vertex node = null;
+		for (Edge edge : container.getEdges(Direction.IN, "HAS_FIELD_CONTAINER")) {
+			String type = edge.getProperty("edgeType");
+			String releaseUuid = edge.getProperty("releaseUuid");
+			if ("D".equals(type)) {
+				draftReleases.add(releaseUuid);
+			} else if ("P".equals(type)) {
+				publishedReleases.add(releaseUuid);
+			}
+			node = edge.getVertex(Direction.OUT);
+		}
+
+		migrateSegmentInfo(container, node, OLD_WEBROOT, WEBROOT, draftReleases, seenDraftKeys);
+		migrateSegmentInfo(container, node, OLD_WEBROOT_PUB, WEBROOT_PUB, publishedReleases, seenPublishedKeys);
+	}
+
+	/**
+	 * Replace the single segment info with a set which contains the info for each of the given releases.
+	 *
+	 * @param container
+	 * @param node
+	 *            Node of the container
+	 * @param oldProperty
+	 * @param newProperty
+	 * @param releases
+	 *            Releases in which the container is used
+	 * @param seenKeys
+	 *            Keys which were already assigned to other containers
+	 */
+	private void migrateSegmentInfo(Vertex container, Vertex node, String oldProperty, String newProperty, Set<String> releases, Set<String> seenKeys) {
+		String oldInfo = container.getProperty(oldProperty);
+		if (oldInfo == null) {
+			return;
+		}
+		container.removeProperty(oldProperty);
+		Matcher matcher = SEGMENT_INFO.matcher(oldInfo);
+		if (node == null || !matcher.matches()) {
+			return;
+		}
+		String segment = matcher.group(1);
+
+		Set<String> infos = new HashSet<>();
+		for (String releaseUuid : releases) {
+			StringBuilder info = new StringBuilder(segment).append("-").append(releaseUuid);
+			String parentUuid = getParentUuid(node, releaseUuid);
+			if (parentUuid != null) {
+				info.append("-").append(parentUuid);
+			}
+			String key = info.toString();
+			if (seenKeys.add(key)) {
+				infos.add(key);
+			} else {
+				log.info("Webroot info {" + key + "} of container {" + container.getProperty("uuid") + "} is already used by another container");
+			}
+		}
+		if (!infos.isEmpty()) {
+			container.setProperty(newProperty, infos);
+		}
+	}
+
+	private String getParentUuid(Vertex node, String releaseUuid) {
+		for (Edge edge : node.getEdges(Direction.OUT, "HAS_PARENT_NODE")) {
+			if (releaseUuid.equals(edge.getProperty("releaseUuid"))) {
+				return edge.getVertex(Direction.IN).getProperty("uuid");
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public String getUuid() {
+		return "5A6C2E1F8B3D4C0A9C2E1F8B3D5C0A41";
+	}
+
+}
@@ -33,6 +33,8 @@ public final class ChangesList {
 		list.add(new MigrateSchemaRawInfo());
 		list.add(new BinaryStorageMigration());
 		list.add(new ChangeNumberStringsToNumber());
+		list.add(new AddPermissionSetsToIndices());
+		list.add(new ChangeWebrootInfoPerRelease());
 		// ADD NEW CHANGES HERE!
 		return list;
 	}
@@ -0,0 +1,60 @@
+package com.gentics.mesh.core.cache;
+
+/**
+ * Graph independent information of a resolved webroot path segment which is stored in the {@link WebrootPathCache}.
+ */
+public final class CachedPathSegment {
+
+	private final String nodeUuid;
+
+	private final Object containerId;
+
+	private final String languageTag;
+
+	private final String fieldKey;
+
+	private final boolean binaryField;
+
+	/**
+	 * Create a new cached segment.
+	 * 
+	 * @param nodeUuid
+	 *            Uuid of the node which provides the segment
+	 * @param containerId
+	 *            Vertex id of the container which provides the segment
+	 * @param languageTag
+	 *            Language of the segment
+	 * @param fieldKey
+	 *            Key of the field which is the source of the segment or null if no field was used
+	 * @param binaryField
+	 *            Whether the field is a binary field
+	 */
+	public CachedPathSegment(String nodeUuid, Object containerId, String languageTag, String fieldKey, boolean binaryField) {
+		this.nodeUuid = nodeUuid;
+		this.containerId = containerId;
+		this.languageTag = languageTag;
+		this.fieldKey = fieldKey;
+		this.binaryField = binaryField;
+	}
+
+	public String getNodeUuid() {
+		return nodeUuid;
+	}
+
+	public Object getContainerId() {
+		return containerId;
+	}
+
+	public String getLanguageTag() {
+		return languageTag;
+	}
+
+	public String getFieldKey() {
+		return fieldKey;
+	}
+
+	public boolean isBinaryField() {
+		return binaryField;
+	}
+
+}
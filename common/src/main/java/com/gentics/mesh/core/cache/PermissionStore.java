@@ -1,42 +1,187 @@
 package com.gentics.mesh.core.cache;
 
 import static com.gentics.mesh.Events.EVENT_CLEAR_PERMISSION_STORE;
+import static com.gentics.mesh.Events.EVENT_INVALIDATE_PERMISSION_STORE;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.gentics.mesh.graphdb.cache.CachingTx;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.syncleus.ferma.tx.Tx;
 
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 /**
  * Central LRU permission cache which is used to quickly lookup cached permissions.
+ * 
+ * The cache is keyed by the element id. Each entry stores the granted and denied permissions of all role sets which have been checked against the element.
+ * Users which share the same roles share the same role set and thus the same cache entries. A full invalidation is done by incrementing the global version
+ * stamp. Entries which were stored using an older version will be ignored. Changes which only affect specific roles or elements should use the targeted
+ * invalidation via {@link #invalidate(Collection, Collection)} instead.
  */
 public final class PermissionStore {
 
 	private static final Logger log = LoggerFactory.getLogger(PermissionStore.class);
 
-	public static final Cache<String, Boolean> PERM_CACHE = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(30, TimeUnit.MINUTES).build();
+	/**
+	 * Current version stamp of the store. Cache entries which have been created for an older version are considered to be invalid.
+	 */
+	private static final AtomicLong VERSION = new AtomicLong();
+
+	/**
+	 * Stamp which is incremented on every full or targeted invalidation. Results which were loaded from the graph while an invalidation happened will not be
+	 * stored.
+	 */
+	private static final AtomicLong MODIFICATION = new AtomicLong();
+
+	/**
+	 * Maximum amount of elements which will be invalidated individually. A full invalidation will be done if more elements are affected.
+	 */
+	public static final int MAX_TARGETED_INVALIDATION_SIZE = 1000;
+
+	/**
+	 * Shift of the bits which mark a permission as known. The lower bits contain the granted permissions.
+	 */
+	private static final int KNOWN_SHIFT = 8;
+
+	private static final AtomicInteger ROLE_SET_COUNTER = new AtomicInteger();
+
+	/**
+	 * Known role sets. Role sets are interned so that all users with the same roles share the same role set id. Evicted role sets are invalidated since
+	 * they would no longer be reached by targeted invalidations. Users of an evicted role set will thus be assigned to a new role set.
+	 */
+	private static final Cache<Set<Object>, RoleSet> ROLE_SETS = Caffeine.newBuilder().maximumSize(10_000).expireAfterAccess(30, TimeUnit.MINUTES)
+			.executor(Runnable::run).<Set<Object>, RoleSet>removalListener((key, roleSet, cause) -> {
+				if (roleSet != null) {
+					roleSet.invalidate();
+				}
+			}).build();
+
+	private static final Cache<Object, RoleSetEntry> ROLE_SET_CACHE = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(30, TimeUnit.MINUTES)
+			.build();
+
+	private static final Cache<Object, PermissionEntry> PERM_CACHE = Caffeine.newBuilder().maximumSize(100_000).expireAfterWrite(30, TimeUnit.MINUTES)
+			.build();
 
 	/**
-	 * Check whether the granting user permission was stored in the cache.
+	 * Return the current modification stamp of the store. The stamp must be loaded before the permissions are read from the graph and passed along when
+	 * storing the result. This way results which were loaded while an invalidation happened will not be used.
+	 * 
+	 * @return
+	 */
+	public static long version() {
+		return MODIFICATION.get();
+	}
+
+	/**
+	 * Return the cached role set of the user.
+	 * 
+	 * @param userId
+	 *            Vertex id of the user
+	 * @return Found role set or null if the role set of the user has not yet been cached
+	 */
+	public static RoleSet getRoleSet(Object userId) {
+		RoleSetEntry entry = ROLE_SET_CACHE.getIfPresent(userId);
+		if (entry == null || entry.version != VERSION.get() || !entry.roleSet.isValid()) {
+			return null;
+		}
+		return entry.roleSet;
+	}
+
+	/**
+	 * Store the role set for the given user.
 	 * 
 	 * @param userId
 	 *            Vertex id of the user
+	 * @param roleIds
+	 *            Vertex ids of the roles which are assigned to the user
+	 * @param roleUuids
+	 *            Uuids of the roles which are assigned to the user
+	 * @param version
+	 *            Modification stamp which was loaded before the roles were read from the graph
+	 * @return Role set which is shared with all other users that have the same roles
+	 */
+	public static RoleSet storeRoleSet(Object userId, Collection<?> roleIds, Collection<String> roleUuids, long version) {
+		Set<Object> key = Collections.unmodifiableSet(new HashSet<Object>(roleIds));
+		RoleSet roleSet = ROLE_SETS.get(key, k -> new RoleSet(ROLE_SET_COUNTER.incrementAndGet(), k, Collections.unmodifiableSet(new HashSet<>(
+				roleUuids))));
+		// Only cache the assignment if the store has not been invalidated in the meanwhile
+		if (version == MODIFICATION.get()) {
+			ROLE_SET_CACHE.put(userId, new RoleSetEntry(VERSION.get(), roleSet));
+		}
+		return roleSet;
+	}
+
+	/**
+	 * Check whether the permission for the role set was stored in the cache.
+	 * 
+	 * @param roleSet
+	 *            Role set of the user
 	 * @param permission
 	 *            Permission to check against
 	 * @param elementId
 	 *            Vertex id of the element to which permissions should be checked
-	 * @return true, if a granting permission was found or false if the permission could not be found in the cache
+	 * @return {@link Boolean#TRUE} if the permission is granted, {@link Boolean#FALSE} if the permission is denied and null if the permission could not be
+	 *         found in the cache
 	 */
-	public static boolean hasPermission(Object userId, GraphPermission permission, Object elementId) {
-		String key = createCacheKey(userId, permission, elementId);
-		Boolean cachedPerm = PERM_CACHE.getIfPresent(key);
-		return cachedPerm != null && cachedPerm;
+	public static Boolean hasPermission(RoleSet roleSet, GraphPermission permission, Object elementId) {
+		PermissionEntry entry = PERM_CACHE.getIfPresent(elementId);
+		if (entry == null || entry.version != VERSION.get()) {
+			return null;
+		}
+		int bits = entry.getBits(roleSet.getId());
+		int mask = 1 << permission.ordinal();
+		if ((bits & (mask << KNOWN_SHIFT)) == 0) {
+			return null;
+		}
+		return (bits & mask) != 0 ? Boolean.TRUE : Boolean.FALSE;
+	}
+
+	/**
+	 * Store a granting or denying permission in the cache.
+	 * 
+	 * @param roleSet
+	 *            Role set of the user
+	 * @param permission
+	 *            Permission which was checked
+	 * @param elementId
+	 *            Id of the element to which the permission was checked
+	 * @param granted
+	 *            Whether the permission is granted
+	 * @param stamp
+	 *            Modification stamp which was loaded before the permission was read from the graph
+	 */
+	public static void store(RoleSet roleSet, GraphPermission permission, Object elementId, boolean granted, long stamp) {
+		if (stamp != MODIFICATION.get()) {
+			// The store has been invalidated in the meanwhile. The result may already be outdated.
+			return;
+		}
+		long version = VERSION.get();
+		int mask = 1 << permission.ordinal();
+		int bits = (mask << KNOWN_SHIFT) | (granted ? mask : 0);
+		PERM_CACHE.asMap().compute(elementId, (id, entry) -> {
+			if (entry == null || entry.version != version) {
+				return new PermissionEntry(version, roleSet.getId(), bits);
+			}
+			return entry.with(roleSet.getId(), bits);
+		});
 	}
 
 	/**
@@ -47,22 +192,10 @@ public final class PermissionStore {
 			if (log.isDebugEnabled()) {
 				log.debug("Clearing permission store due to received event from {" + e.address() + "}");
 			}
-			PERM_CACHE.invalidateAll();
+			invalidate(false);
 		});
 	}
 
-	/**
-	 * Create the cache key.
-	 * 
-	 * @param userId
-	 * @param permission
-	 * @param elementId
-	 * @return
-	 */
-	private static String createCacheKey(Object userId, GraphPermission permission, Object elementId) {
-		return userId + "-" + permission.ordinal() + "-" + elementId;
-	}
-
 	/**
 	 * Invalidate the LRU cache and optionally notify other instances in the cluster.
 	 * 
@@ -70,7 +203,8 @@ public final class PermissionStore {
 	 */
 	public static void invalidate(boolean notify) {
 		// Invalidate locally
-		PERM_CACHE.invalidateAll();
+		VERSION.incrementAndGet();
+		MODIFICATION.incrementAndGet();
 		if (notify) {
 			// Send the event to inform other to purge the stored permissions
 			Vertx vertx = Mesh.vertx();
@@ -90,16 +224,223 @@ public final class PermissionStore {
 	}
 
 	/**
-	 * Store a granting permission in the cache.
+	 * Invalidate the cached permissions for the given roles and elements and notify other instances in the cluster. The invalidation will be deferred until
+	 * the active transaction has been committed. All invalidations of the transaction are combined and distributed using a single event. Otherwise other
+	 * requests could cache the permissions of the not yet committed state again.
+	 * 
+	 * @param roleUuids
+	 *            Uuids of roles for which all cached permissions should be invalidated
+	 * @param elementIds
+	 *            Vertex ids of elements or users for which the cached permissions or role sets should be invalidated
+	 */
+	public static void invalidate(Collection<String> roleUuids, Collection<?> elementIds) {
+		Tx tx = Tx.getActive();
+		if (tx instanceof CachingTx) {
+			PendingInvalidation pending = ((CachingTx) tx).getCommitAction(PendingInvalidation.class, PendingInvalidation::new);
+			pending.roleUuids.addAll(roleUuids);
+			pending.elementIds.addAll(elementIds);
+		} else {
+			invalidate(roleUuids, elementIds, true);
+		}
+	}
+
+	/**
+	 * Invalidate the cached permissions for the given roles and elements and optionally notify other instances in the cluster. A full invalidation will be done
+	 * if too many elements are affected.
+	 * 
+	 * @param roleUuids
+	 *            Uuids of roles for which all cached permissions should be invalidated
+	 * @param elementIds
+	 *            Vertex ids of elements or users for which the cached permissions or role sets should be invalidated
+	 * @param notify
+	 */
+	public static void invalidate(Collection<String> roleUuids, Collection<?> elementIds, boolean notify) {
+		if (elementIds.size() > MAX_TARGETED_INVALIDATION_SIZE) {
+			if (log.isDebugEnabled()) {
+				log.debug("Too many elements {" + elementIds.size() + "} affected. Invalidating the whole permission store.");
+			}
+			invalidate(notify);
+			return;
+		}
+		MODIFICATION.incrementAndGet();
+		if (!roleUuids.isEmpty()) {
+			// Remove the role sets which contain the roles. Users will thus be assigned to new role sets with new ids.
+			ROLE_SETS.asMap().values().removeIf(roleSet -> {
+				if (Collections.disjoint(roleSet.getRoleUuids(), roleUuids)) {
+					return false;
+				}
+				roleSet.invalidate();
+				return true;
+			});
+		}
+		PERM_CACHE.invalidateAll(elementIds);
+		ROLE_SET_CACHE.invalidateAll(elementIds);
+
+		if (notify) {
+			Vertx vertx = Mesh.vertx();
+			if (vertx != null) {
+				JsonObject event = new JsonObject();
+				event.put("origin", getNodeName());
+				event.put("roleUuids", new JsonArray(new ArrayList<>(roleUuids)));
+				JsonArray ids = new JsonArray();
+				for (Object elementId : elementIds) {
+					ids.add(String.valueOf(elementId));
+				}
+				event.put("elementIds", ids);
+				vertx.eventBus().publish(EVENT_INVALIDATE_PERMISSION_STORE, event);
+			} else {
+				log.error("Can't distribute cache invalidation event. Maybe Vert.x is stopping / starting right now");
+			}
+		}
+	}
+
+	/**
+	 * Invalidate the cached permissions for the given element and notify other instances in the cluster.
 	 * 
-	 * @param userId
-	 *            User which currently has roles which grant him the permission on the element
-	 * @param permission
-	 *            Permission which is granted
 	 * @param elementId
-	 *            Id of the element to which a permission is granted
+	 *            Vertex id of the element or user
+	 */
+	public static void invalidateElement(Object elementId) {
+		invalidate(Collections.emptyList(), Collections.singletonList(elementId));
+	}
+
+	/**
+	 * Handle the invalidation event which was send by another instance in the cluster.
+	 * 
+	 * @param event
+	 *            Received event
+	 * @param idFactory
+	 *            Factory which is used to restore the element ids
+	 */
+	public static void handleInvalidationEvent(JsonObject event, Function<String, Object> idFactory) {
+		if (event == null) {
+			invalidate(false);
+			return;
+		}
+		// Events which were send by this instance have already been handled locally
+		String origin = event.getString("origin");
+		if (origin != null && origin.equals(getNodeName())) {
+			return;
+		}
+		List<String> roleUuids = new ArrayList<>();
+		for (Object roleUuid : event.getJsonArray("roleUuids", new JsonArray())) {
+			roleUuids.add((String) roleUuid);
+		}
+		List<Object> elementIds = new ArrayList<>();
+		for (Object elementId : event.getJsonArray("elementIds", new JsonArray())) {
+			elementIds.add(idFactory.apply((String) elementId));
+		}
+		invalidate(roleUuids, elementIds, false);
+	}
+
+	private static String getNodeName() {
+		if (!Mesh.isInitalized() || Mesh.mesh().getOptions() == null) {
+			return null;
+		}
+		return Mesh.mesh().getOptions().getNodeName();
+	}
+
+	/**
+	 * Invalidations which have been collected within a transaction. The invalidation is done once the transaction has been committed.
 	 */
-	public static void store(Object userId, GraphPermission permission, Object elementId) {
-		PERM_CACHE.put(createCacheKey(userId, permission, elementId), true);
+	static final class PendingInvalidation implements Runnable {
+
+		private final Set<String> roleUuids = new HashSet<>();
+
+		private final Set<Object> elementIds = new HashSet<>();
+
+		@Override
+		public void run() {
+			apply(true);
+		}
+
+		/**
+		 * Invalidate the collected roles and elements.
+		 * 
+		 * @param notify
+		 *            Whether to notify other instances in the cluster
+		 */
+		void apply(boolean notify) {
+			if (roleUuids.isEmpty() && elementIds.isEmpty()) {
+				return;
+			}
+			invalidate(roleUuids, elementIds, notify);
+		}
+	}
+
+	/**
+	 * Cache entry which references the role set of a user.
+	 */
+	static final class RoleSetEntry {
+
+		private final long version;
+
+		private final RoleSet roleSet;
+
+		RoleSetEntry(long version, RoleSet roleSet) {
+			this.version = version;
+			this.roleSet = roleSet;
+		}
+	}
+
+	/**
+	 * Immutable cache entry which stores the permission bits of all checked role sets for a single element.
+	 */
+	static final class PermissionEntry {
+
+		private final long version;
+
+		private final int[] roleSetIds;
+
+		private final int[] bits;
+
+		PermissionEntry(long version, int roleSetId, int bits) {
+			this(version, new int[] { roleSetId }, new int[] { bits });
+		}
+
+		private PermissionEntry(long version, int[] roleSetIds, int[] bits) {
+			this.version = version;
+			this.roleSetIds = roleSetIds;
+			this.bits = bits;
+		}
+
+		/**
+		 * Return the permission bits for the given role set.
+		 * 
+		 * @param roleSetId
+		 * @return
+		 */
+		int getBits(int roleSetId) {
+			for (int i = 0; i < roleSetIds.length; i++) {
+				if (roleSetIds[i] == roleSetId) {
+					return bits[i];
+				}
+			}
+			return 0;
+		}
+
+		/**
+		 * Return a copy of the entry which also contains the given permission bits for the role set.
+		 * 
+		 * @param roleSetId
+		 * @param newBits
+		 * @return
+		 */
+		PermissionEntry with(int roleSetId, int newBits) {
+			for (int i = 0; i < roleSetIds.length; i++) {
+				if (roleSetIds[i] == roleSetId) {
+					int[] updatedBits = bits.clone();
+					int knownMask = (newBits >>> KNOWN_SHIFT) & 0xFF;
+					// Replace the bits of the permission which was checked and keep the other bits
+					updatedBits[i] = (bits[i] & ~(knownMask | (knownMask << KNOWN_SHIFT))) | newBits;
+					return new PermissionEntry(version, roleSetIds, updatedBits);
+				}
+			}
+			int[] updatedIds = Arrays.copyOf(roleSetIds, roleSetIds.length + 1);
+			int[] updatedBits = Arrays.copyOf(bits, bits.length + 1);
+			updatedIds[roleSetIds.length] = roleSetId;
+			updatedBits[bits.length] = newBits;
+			return new PermissionEntry(version, updatedIds, updatedBits);
+		}
 	}
 }
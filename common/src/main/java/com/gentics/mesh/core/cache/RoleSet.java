@@ -0,0 +1,69 @@
+package com.gentics.mesh.core.cache;
+
+import java.util.Set;
+
+/**
+ * A role set represents a distinct combination of roles. Users which are assigned to the same roles share the same role set and thus also share the cached
+ * permissions.
+ */
+public final class RoleSet {
+
+	private final int id;
+
+	private final Set<Object> roleIds;
+
+	private final Set<String> roleUuids;
+
+	private volatile boolean valid = true;
+
+	RoleSet(int id, Set<Object> roleIds, Set<String> roleUuids) {
+		this.id = id;
+		this.roleIds = roleIds;
+		this.roleUuids = roleUuids;
+	}
+
+	/**
+	 * Return the compact id of the role set.
+	 * 
+	 * @return
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Return the vertex ids of the roles which are part of the set.
+	 * 
+	 * @return
+	 */
+	public Set<Object> getRoleIds() {
+		return roleIds;
+	}
+
+	/**
+	 * Return the uuids of the roles which are part of the set.
+	 * 
+	 * @return
+	 */
+	public Set<String> getRoleUuids() {
+		return roleUuids;
+	}
+
+	/**
+	 * Check whether the role set is still valid. Invalidated role sets will no longer be used and the permissions which were cached for them will thus be
+	 * ignored.
+	 * 
+	 * @return
+	 */
+	public boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * Invalidate the role set.
+	 */
+	void invalidate() {
+		valid = false;
+	}
+
+}
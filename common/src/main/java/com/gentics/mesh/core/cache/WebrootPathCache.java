@@ -0,0 +1,413 @@
+package com.gentics.mesh.core.cache;
+
+import static com.gentics.mesh.Events.EVENT_INVALIDATE_WEBROOT_CACHE;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.syncleus.ferma.tx.Tx;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Central LRU cache for resolved webroot paths.
+ *
+ * The cache is keyed by project, release, container type and path. Each entry stores the segments of the resolved path. Entries are invalidated whenever a
+ * node which is part of the path changes its segment field or url fields, is moved, taken offline or deleted. Additionally all entries for a path will be
+ * invalidated when a url field starts to point to the path.
+ */
+public final class WebrootPathCache {
+
+	private static final Logger log = LoggerFactory.getLogger(WebrootPathCache.class);
+
+	private static final MetricRegistry metricRegistry = SharedMetricRegistries.getOrCreate("mesh");
+
+	/**
+	 * Stamp which is incremented on every invalidation.
+	 */
+	private static final AtomicLong MODIFICATION = new AtomicLong();
+
+	/**
+	 * Stamp of the last invalidation of the whole cache.
+	 */
+	private static final AtomicLong CLEARED = new AtomicLong();
+
+	/**
+	 * Maximum amount of invalidated nodes and paths of which the stamps are tracked. The tracked stamps are dropped and handled like a full invalidation once
+	 * the limit has been reached.
+	 */
+	private static final int MAX_TRACKED_INVALIDATIONS = 10_000;
+
+	/**
+	 * Stamps of the last invalidation per node. Paths which contain a node that was invalidated while the path was resolved will not be stored.
+	 */
+	private static final Map<String, Long> NODE_INVALIDATIONS = new ConcurrentHashMap<>();
+
+	/**
+	 * Stamps of the last invalidation per path.
+	 */
+	private static final Map<String, Long> PATH_INVALIDATIONS = new ConcurrentHashMap<>();
+
+	/**
+	 * Maximum amount of nodes which will be invalidated individually. The whole cache will be cleared if more nodes are affected.
+	 */
+	public static final int MAX_TARGETED_INVALIDATION_SIZE = 1000;
+
+	/**
+	 * Reverse lookup which lists the cache keys of all paths which contain a node.
+	 */
+	private static final Map<String, Set<Key>> NODE_KEYS = new ConcurrentHashMap<>();
+
+	private static final Cache<Key, Entry> CACHE = Caffeine.newBuilder().maximumSize(10_000).expireAfterWrite(30, TimeUnit.MINUTES).recordStats()
+			.removalListener(WebrootPathCache::onRemoval).build();
+
+	static {
+		metricRegistry.register("webroot.cache.hit.total", (Gauge<Long>) () -> stats().hitCount());
+		metricRegistry.register("webroot.cache.miss.total", (Gauge<Long>) () -> stats().missCount());
+		metricRegistry.register("webroot.cache.eviction.total", (Gauge<Long>) () -> stats().evictionCount());
+		metricRegistry.register("webroot.cache.size", (Gauge<Long>) () -> CACHE.estimatedSize());
+	}
+
+	private WebrootPathCache() {
+	}
+
+	/**
+	 * Return the current modification stamp of the cache. The stamp must be loaded before the path is resolved and passed along when storing the result.
+	 *
+	 * @return
+	 */
+	public static long version() {
+		return MODIFICATION.get();
+	}
+
+	/**
+	 * Return the cached segments for the given path.
+	 *
+	 * @param projectUuid
+	 * @param releaseUuid
+	 * @param type
+	 * @param path
+	 * @return Cached segments or null if the path has not been cached
+	 */
+	public static List<CachedPathSegment> get(String projectUuid, String releaseUuid, ContainerType type, String path) {
+		Entry entry = CACHE.getIfPresent(new Key(projectUuid, releaseUuid, type, path));
+		return entry == null ? null : entry.segments;
+	}
+
+	/**
+	 * Store the segments of the resolved path.
+	 *
+	 * @param projectUuid
+	 * @param releaseUuid
+	 * @param type
+	 * @param path
+	 * @param segments
+	 *            Segments of the resolved path
+	 * @param stamp
+	 *            Modification stamp which was loaded before the path was resolved
+	 */
+	public static void put(String projectUuid, String releaseUuid, ContainerType type, String path, List<CachedPathSegment> segments, long stamp) {
+		if (isInvalidatedSince(path, segments, stamp)) {
+			// The nodes or the path have been invalidated in the meanwhile. The result may already be outdated.
+			return;
+		}
+		Key key = new Key(projectUuid, releaseUuid, type, path);
+		for (CachedPathSegment segment : segments) {
+			NODE_KEYS.computeIfAbsent(segment.getNodeUuid(), k -> ConcurrentHashMap.newKeySet()).add(key);
+		}
+		CACHE.put(key, new Entry(Collections.unmodifiableList(new ArrayList<>(segments))));
+		// Check again since the invalidation may have happened before the entry was registered
+		if (isInvalidatedSince(path, segments, stamp)) {
+			CACHE.invalidate(key);
+		}
+	}
+
+	/**
+	 * Check whether the path or any of the nodes of the path has been invalidated after the stamp was loaded.
+	 * 
+	 * @param path
+	 * @param segments
+	 * @param stamp
+	 * @return
+	 */
+	private static boolean isInvalidatedSince(String path, List<CachedPathSegment> segments, long stamp) {
+		// The tracked stamps must be checked first since they are dropped after the clear stamp has been set
+		if (PATH_INVALIDATIONS.getOrDefault(path, 0L) > stamp) {
+			return true;
+		}
+		for (CachedPathSegment segment : segments) {
+			if (NODE_INVALIDATIONS.getOrDefault(segment.getNodeUuid(), 0L) > stamp) {
+				return true;
+			}
+		}
+		return CLEARED.get() > stamp;
+	}
+
+	/**
+	 * Remove the cached path. This is used when a cached entry could no longer be applied to the graph.
+	 *
+	 * @param projectUuid
+	 * @param releaseUuid
+	 * @param type
+	 * @param path
+	 */
+	public static void evict(String projectUuid, String releaseUuid, ContainerType type, String path) {
+		CACHE.invalidate(new Key(projectUuid, releaseUuid, type, path));
+	}
+
+	/**
+	 * Invalidate all cached paths which contain the given node and notify other instances in the cluster once the active transaction has been committed.
+	 *
+	 * @param nodeUuid
+	 */
+	public static void invalidateNode(String nodeUuid) {
+		invalidate(Collections.singletonList(nodeUuid), Collections.emptyList());
+	}
+
+	/**
+	 * Invalidate all cached paths which contain any of the given nodes or match any of the given paths and notify other instances in the cluster. The
+	 * invalidation will be deferred until the active transaction has been committed. All invalidations of the transaction are combined and distributed using
+	 * a single event.
+	 *
+	 * @param nodeUuids
+	 *            Uuids of nodes which were changed
+	 * @param paths
+	 *            Paths which may now resolve to a different node (e.g. due to changed url fields)
+	 */
+	public static void invalidate(Collection<String> nodeUuids, Collection<String> paths) {
+		Tx tx = Tx.getActive();
+		if (tx instanceof CachingTx) {
+			PendingInvalidation pending = ((CachingTx) tx).getCommitAction(PendingInvalidation.class, PendingInvalidation::new);
+			pending.nodeUuids.addAll(nodeUuids);
+			pending.paths.addAll(paths);
+		} else {
+			invalidate(nodeUuids, paths, true);
+		}
+	}
+
+	/**
+	 * Invalidate all cached paths which contain any of the given nodes or match any of the given paths and optionally notify other instances in the cluster.
+	 *
+	 * @param nodeUuids
+	 *            Uuids of nodes which were changed
+	 * @param paths
+	 *            Paths which may now resolve to a different node (e.g. due to changed url fields)
+	 * @param notify
+	 */
+	public static void invalidate(Collection<String> nodeUuids, Collection<String> paths, boolean notify) {
+		long stamp = MODIFICATION.incrementAndGet();
+		if (nodeUuids.size() > MAX_TARGETED_INVALIDATION_SIZE) {
+			markCleared(stamp);
+			CACHE.invalidateAll();
+		} else {
+			for (String nodeUuid : nodeUuids) {
+				NODE_INVALIDATIONS.merge(nodeUuid, stamp, Math::max);
+			}
+			for (String path : paths) {
+				PATH_INVALIDATIONS.merge(path, stamp, Math::max);
+			}
+			if (NODE_INVALIDATIONS.size() + PATH_INVALIDATIONS.size() > MAX_TRACKED_INVALIDATIONS) {
+				markCleared(stamp);
+			}
+			for (String nodeUuid : nodeUuids) {
+				Set<Key> keys = NODE_KEYS.remove(nodeUuid);
+				if (keys != null) {
+					CACHE.invalidateAll(keys);
+				}
+			}
+			if (!paths.isEmpty()) {
+				CACHE.asMap().keySet().removeIf(key -> paths.contains(key.path));
+			}
+		}
+
+		if (notify) {
+			Vertx vertx = Mesh.vertx();
+			if (vertx != null) {
+				JsonObject event = new JsonObject();
+				event.put("origin", getNodeName());
+				event.put("nodeUuids", new JsonArray(new ArrayList<>(nodeUuids)));
+				event.put("paths", new JsonArray(new ArrayList<>(paths)));
+				vertx.eventBus().publish(EVENT_INVALIDATE_WEBROOT_CACHE, event);
+			} else {
+				log.error("Can't distribute webroot cache invalidation event. Maybe Vert.x is stopping / starting right now");
+			}
+		}
+	}
+
+	/**
+	 * Clear the whole cache.
+	 */
+	public static void clear() {
+		markCleared(MODIFICATION.incrementAndGet());
+		CACHE.invalidateAll();
+	}
+
+	/**
+	 * Set the stamp of the full invalidation and drop the tracked stamps of the nodes and paths.
+	 * 
+	 * @param stamp
+	 */
+	private static void markCleared(long stamp) {
+		CLEARED.accumulateAndGet(stamp, Math::max);
+		NODE_INVALIDATIONS.clear();
+		PATH_INVALIDATIONS.clear();
+	}
+
+	/**
+	 * Handle the invalidation event which was send by another instance in the cluster.
+	 *
+	 * @param event
+	 */
+	public static void handleInvalidationEvent(JsonObject event) {
+		if (event == null) {
+			clear();
+			return;
+		}
+		// Events which were send by this instance have already been handled locally
+		String origin = event.getString("origin");
+		if (origin != null && origin.equals(getNodeName())) {
+			return;
+		}
+		List<String> nodeUuids = new ArrayList<>();
+		for (Object nodeUuid : event.getJsonArray("nodeUuids", new JsonArray())) {
+			nodeUuids.add((String) nodeUuid);
+		}
+		List<String> paths = new ArrayList<>();
+		for (Object path : event.getJsonArray("paths", new JsonArray())) {
+			paths.add((String) path);
+		}
+		invalidate(nodeUuids, paths, false);
+	}
+
+	/**
+	 * Return the hit, miss and eviction statistics of the cache.
+	 *
+	 * @return
+	 */
+	public static CacheStats stats() {
+		return CACHE.stats();
+	}
+
+	private static void onRemoval(Key key, Entry entry, RemovalCause cause) {
+		// Replaced entries share the key with the new entry which has already been registered
+		if (key == null || entry == null || cause == RemovalCause.REPLACED) {
+			return;
+		}
+		// Keep the reverse lookup in sync
+		for (CachedPathSegment segment : entry.segments) {
+			NODE_KEYS.computeIfPresent(segment.getNodeUuid(), (uuid, keys) -> {
+				keys.remove(key);
+				return keys.isEmpty() ? null : keys;
+			});
+		}
+	}
+
+	private static String getNodeName() {
+		if (!Mesh.isInitalized() || Mesh.mesh().getOptions() == null) {
+			return null;
+		}
+		return Mesh.mesh().getOptions().getNodeName();
+	}
+
+	/**
+	 * Invalidations which have been collected within a transaction. The invalidation is done once the transaction has been committed.
+	 */
+	static final class PendingInvalidation implements Runnable {
+
+		private final Set<String> nodeUuids = new HashSet<>();
+
+		private final Set<String> paths = new HashSet<>();
+
+		@Override
+		public void run() {
+			apply(true);
+		}
+
+		/**
+		 * Invalidate the collected nodes and paths.
+		 * 
+		 * @param notify
+		 *            Whether to notify other instances in the cluster
+		 */
+		void apply(boolean notify) {
+			if (nodeUuids.isEmpty() && paths.isEmpty()) {
+				return;
+			}
+			invalidate(nodeUuids, paths, notify);
+		}
+	}
+
+	/**
+	 * Key of a cached path.
+	 */
+	static final class Key {
+
+		private final String projectUuid;
+
+		private final String releaseUuid;
+
+		private final ContainerType type;
+
+		private final String path;
+
+		Key(String projectUuid, String releaseUuid, ContainerType type, String path) {
+			this.projectUuid = projectUuid;
+			this.releaseUuid = releaseUuid;
+			this.type = type;
+			this.path = path;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return type == other.type && path.equals(other.path) && releaseUuid.equals(other.releaseUuid) && projectUuid.equals(other.projectUuid);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(projectUuid, releaseUuid, type, path);
+		}
+	}
+
+	/**
+	 * Cache entry which stores the segments of a resolved path.
+	 */
+	static final class Entry {
+
+		private final List<CachedPathSegment> segments;
+
+		Entry(List<CachedPathSegment> segments) {
+			this.segments = segments;
+		}
+	}
+
+}
@@ -1,6 +1,11 @@
 package com.gentics.mesh.core.data;
 
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.gentics.mesh.graphdb.cache.TxElementCache;
 import com.gentics.mesh.graphdb.model.MeshElement;
+import com.gentics.mesh.util.ChangeSequence;
+import com.syncleus.ferma.tx.Tx;
+import com.tinkerpop.blueprints.Element;
 
 /**
  * An {@link IndexableElement} is an a vertex which can be added to the search index.
@@ -8,6 +13,15 @@ import com.gentics.mesh.graphdb.model.MeshElement;
  */
 public interface IndexableElement extends MeshElement {
 
+	String CHANGE_SEQUENCE_PROPERTY_KEY = "changeSequence";
+
+	/**
+	 * Name of the ordered index which sorts the elements of each type by their change sequence.
+	 */
+	String CHANGE_SEQUENCE_INDEX_NAME = "changeSequenceIndex";
+
+	String PERMISSION_GROUP_PROPERTY_KEY = "permissionGroup";
+
 	/**
 	 * This method will iterate over all related elements and invoke the given action for each element.
 	 * 
@@ -27,4 +41,64 @@ public interface IndexableElement extends MeshElement {
 		return null;
 	}
 
+	/**
+	 * Return the change sequence of the last change of the element.
+	 * 
+	 * @return Change sequence or null if the element was not changed since the sequence was introduced
+	 */
+	default Long getChangeSequence() {
+		return getElement().getProperty(CHANGE_SEQUENCE_PROPERTY_KEY);
+	}
+
+	/**
+	 * Return the id of the permission group of the element. All members of a group share the same read permissions and their documents reference the
+	 * group instead of a set which is derived from the roles. Changes which affect all members of the group thus don't need to update the documents.
+	 * 
+	 * @return Id of the group or null if the element does not belong to a group
+	 */
+	default String getPermissionGroup() {
+		return getElement().getProperty(PERMISSION_GROUP_PROPERTY_KEY);
+	}
+
+	/**
+	 * Move the element to the given permission group.
+	 * 
+	 * @param groupId
+	 *            Id of the group or null to remove the element from its group
+	 */
+	default void setPermissionGroup(String groupId) {
+		if (groupId == null) {
+			getElement().removeProperty(PERMISSION_GROUP_PROPERTY_KEY);
+		} else {
+			getElement().setProperty(PERMISSION_GROUP_PROPERTY_KEY, groupId);
+		}
+	}
+
+	/**
+	 * Assign the next change sequence to the element. The sequence is used by the index sync to detect elements which have been changed since the last
+	 * sync. The method must be invoked by the code which changes the element or its own edges. Changes of related elements which are only embedded in the
+	 * document of the element don't update the sequence and are only detected by a deep sync. Elements which have been created within the transaction
+	 * already got a sequence and other elements only get a new sequence once per transaction.
+	 */
+	default void updateChangeSequence() {
+		updateChangeSequence(getElement());
+	}
+
+	/**
+	 * Assign the next change sequence to the given graph element unless it was created or already updated within the active transaction.
+	 * 
+	 * @param element
+	 */
+	static void updateChangeSequence(Element element) {
+		Tx tx = Tx.getActive();
+		if (tx instanceof CachingTx) {
+			TxElementCache cache = ((CachingTx) tx).getElementCache();
+			Object id = element.getId();
+			if (cache.isCreated(id) || !cache.markUpdated(id, CHANGE_SEQUENCE_PROPERTY_KEY)) {
+				return;
+			}
+		}
+		element.setProperty(CHANGE_SEQUENCE_PROPERTY_KEY, ChangeSequence.next());
+	}
+
 }
@@ -26,15 +26,32 @@ import com.gentics.mesh.util.VersionNumber;
  */
 public interface NodeGraphFieldContainer extends GraphFieldContainer, EditorTrackingVertex {
 
-	// Webroot index
+	/**
+	 * Return the change sequence of the container. The sequence is assigned when the container gets created and updated when the container gets published
+	 * or its fields are changed in place. Changes of the node which affect all of its containers are tracked by the change sequence of the node.
+	 * 
+	 * @return Change sequence or null if the container was created before the sequence was introduced
+	 */
+	default Long getChangeSequence() {
+		return getProperty(IndexableElement.CHANGE_SEQUENCE_PROPERTY_KEY);
+	}
+
+	/**
+	 * Assign the next change sequence to the container.
+	 */
+	default void updateChangeSequence() {
+		IndexableElement.updateChangeSequence(getElement());
+	}
 
-	String WEBROOT_PROPERTY_KEY = "webrootPathInfo";
+	// Webroot index (one entry per release in which the container is used)
 
-	String WEBROOT_INDEX_NAME = "webrootPathInfoIndex";
+	String WEBROOT_PROPERTY_KEY = "webrootSegmentInfo";
 
-	String PUBLISHED_WEBROOT_PROPERTY_KEY = "publishedWebrootPathInfo";
+	String WEBROOT_INDEX_NAME = "webrootSegmentInfoIndex";
 
-	String PUBLISHED_WEBROOT_INDEX_NAME = "publishedWebrootPathInfoIndex";
+	String PUBLISHED_WEBROOT_PROPERTY_KEY = "publishedWebrootSegmentInfo";
+
+	String PUBLISHED_WEBROOT_INDEX_NAME = "publishedWebrootSegmentInfoIndex";
 
 	// Url Field index
 
@@ -190,6 +207,16 @@ public interface NodeGraphFieldContainer extends GraphFieldContainer, EditorTrac
 	 */
 	void updateWebrootPathInfo(String releaseUuid, String conflictI18n);
 
+	/**
+	 * Remove the webroot path info of the given release and type. The entries of other releases which share the container are kept.
+	 * 
+	 * @param releaseUuid
+	 *            release Uuid
+	 * @param type
+	 *            type of the entries to remove (draft or published)
+	 */
+	void removeWebrootPathInfo(String releaseUuid, ContainerType type);
+
 	/**
 	 * Get the Version Number or null if no version set.
 	 * 
@@ -3,6 +3,7 @@ package com.gentics.mesh.core.data;
 import static com.gentics.mesh.Events.EVENT_USER_CREATED;
 import static com.gentics.mesh.Events.EVENT_USER_DELETED;
 import static com.gentics.mesh.Events.EVENT_USER_UPDATED;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -325,6 +326,17 @@ public interface User extends MeshCoreVertex<UserResponse, User>, ReferenceableE
 	 */
 	boolean hasPermissionForId(Object elementId, GraphPermission permission);
 
+	/**
+	 * Check the given permission for all elements with the given ids. The roles of the user will only be resolved once and the permission index will be
+	 * probed for all ids at once. This method should be preferred over {@link #hasPermissionForId(Object, GraphPermission)} when filtering lists of
+	 * elements.
+	 * 
+	 * @param elementIds
+	 * @param permission
+	 * @return Ids of the elements on which the user has the given permission
+	 */
+	Set<Object> hasPermissions(Collection<Object> elementIds, GraphPermission permission);
+
 	/**
 	 * Check the read permission on the given container and fail if the needed permission to read the container is not set. This method will not fail if the
 	 * user has READ permission or READ_PUBLISH permission on a published node.
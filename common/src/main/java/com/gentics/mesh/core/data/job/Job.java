@@ -11,6 +11,8 @@ import com.gentics.mesh.core.rest.admin.migration.MigrationType;
 import com.gentics.mesh.core.rest.job.JobResponse;
 import com.gentics.mesh.util.DateUtils;
 
+import io.vertx.core.json.JsonObject;
+
 /**
  * A job can be added to the {@link JobRoot} vertex. Jobs are used to persist information about long running tasks.
  */
@@ -32,6 +34,10 @@ public interface Job extends MeshCoreVertex<JobResponse, Job>, CreatorTrackingVe
 
 	String NODE_NAME_PROPERTY_KEY = "nodeName";
 
+	String MIGRATION_CHECKPOINT_PROPERTY_KEY = "migrationCheckpoint";
+
+	String RESTORE_INDEX_SETTINGS_PROPERTY_KEY = "restoreIndexSettings";
+
 	/**
 	 * The max length before detail error messages will be truncated
 	 */
@@ -262,6 +268,41 @@ public interface Job extends MeshCoreVertex<JobResponse, Job>, CreatorTrackingVe
 	 */
 	void setCompletionCount(long count);
 
+	/**
+	 * Return the checkpoint of the migration. The checkpoint is the id of the last element up to which all elements have already been migrated successfully.
+	 * 
+	 * @return Checkpoint or null if the migration has not yet processed any element
+	 */
+	String getMigrationCheckpoint();
+
+	/**
+	 * Set the checkpoint of the migration.
+	 * 
+	 * @param checkpoint
+	 */
+	void setMigrationCheckpoint(String checkpoint);
+
+	/**
+	 * Return the settings which need to be restored for the indices that are filled in bulk by the job.
+	 * 
+	 * @return Settings per index name or null if no settings need to be restored
+	 */
+	JsonObject getRestoreIndexSettings();
+
+	/**
+	 * Set the settings which need to be restored for the indices that are filled in bulk by the job.
+	 * 
+	 * @param settings
+	 *            Settings per index name or null
+	 */
+	void setRestoreIndexSettings(JsonObject settings);
+
+	/**
+	 * Restore the stored settings of the indices which were filled in bulk by the job and refresh them. The stored settings will be removed once they
+	 * have been restored.
+	 */
+	void restoreIndexSettings();
+
 	/**
 	 * Get migration status.
 	 * 
@@ -342,6 +342,22 @@ public interface Node extends MeshCoreVertex<NodeResponse, Node>, CreatorTrackin
 	 */
 	void setParentNode(String releaseUuid, Node parentNode);
 
+	/**
+	 * Return the content version stamp of the node for the given release. The stamp changes whenever an operation modifies the contents, the path or the
+	 * publish state of the node.
+	 * 
+	 * @param releaseUuid
+	 * @return
+	 */
+	String getContentStamp(String releaseUuid);
+
+	/**
+	 * Update the content version stamp of the node for the given release.
+	 * 
+	 * @param releaseUuid
+	 */
+	void updateContentStamp(String releaseUuid);
+
 	/**
 	 * Create a child node in this node in the latest release of the project.
 	 * 
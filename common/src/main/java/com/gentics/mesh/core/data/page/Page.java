@@ -60,6 +60,16 @@ public interface Page<T> extends Iterable<T> {
 		info.setPageCount(getPageCount());
 		info.setPerPage(getPerPage());
 		info.setTotalCount(getTotalElements());
+		info.setNextCursor(getNextCursor());
+	}
+
+	/**
+	 * Return the cursor which can be used to load the next page.
+	 * 
+	 * @return Cursor or null if there is no next page or if the page does not support cursors
+	 */
+	default String getNextCursor() {
+		return null;
 	}
 
 	/**
@@ -52,6 +52,7 @@ public interface TransformablePage<T extends TransformableElement<? extends Rest
 	 * <li>Number of total elements (all pages)</li>
 	 * <li>All etags for all found elements</li>
 	 * <li>Number of the current page</li>
+	 * <li>Cursor of the next page and whether a next page exists. The total count is not known if counting has been disabled.</li>
 	 * </ul>
 	 * 
 	 * @param ac
@@ -62,6 +63,11 @@ public interface TransformablePage<T extends TransformableElement<? extends Rest
 		builder.append(getTotalElements());
 		builder.append(getNumber());
 		builder.append(getPerPage());
+		builder.append(hasNextPage());
+		String nextCursor = getNextCursor();
+		if (nextCursor != null) {
+			builder.append(nextCursor);
+		}
 		for (T element : this) {
 			builder.append("-");
 			builder.append(element.getETag(ac));
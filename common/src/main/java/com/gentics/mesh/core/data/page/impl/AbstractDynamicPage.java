@@ -2,11 +2,21 @@ package com.gentics.mesh.core.data.page.impl;
 
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.gentics.mesh.core.data.page.Page;
 import com.gentics.mesh.core.rest.error.GenericRestException;
@@ -37,6 +47,21 @@ public abstract class AbstractDynamicPage<T> implements Page<T> {
 
 	protected Iterator<? extends T> visibleItems;
 
+	/**
+	 * Decoded cursor of the element after which the page should start. The page number is ignored if a cursor has been set.
+	 */
+	protected String afterId;
+
+	/**
+	 * Flag which indicates whether the total count of elements should be determined.
+	 */
+	protected boolean countTotal;
+
+	/**
+	 * Cursor value of the last element which was added to the page. The value is used to generate the cursor for the next page.
+	 */
+	protected Object lastId;
+
 	public AbstractDynamicPage(PagingParameters pagingInfo) {
 		if (pagingInfo.getPage() < 1) {
 			throw new GenericRestException(BAD_REQUEST, "error_page_parameter_must_be_positive", String.valueOf(pagingInfo.getPage()));
@@ -53,6 +78,103 @@ public abstract class AbstractDynamicPage<T> implements Page<T> {
 			this.lowerBound = 0;
 		}
 
+		String after = pagingInfo.getAfter();
+		if (after != null) {
+			this.afterId = decodeCursor(after);
+			this.lowerBound = 0;
+		}
+		this.countTotal = pagingInfo.isTotalCount();
+
+	}
+
+	/**
+	 * Encode the given element id into an opaque cursor.
+	 * 
+	 * @param id
+	 * @return
+	 */
+	public static String encodeCursor(Object id) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode the given cursor into the string representation of the element id.
+	 * 
+	 * @param cursor
+	 * @return
+	 */
+	public static String decodeCursor(String cursor) {
+		try {
+			return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new GenericRestException(BAD_REQUEST, "error_paging_cursor_invalid", cursor);
+		}
+	}
+
+	/**
+	 * Skip all elements of the unordered stream up to and including the element which is referenced by the cursor. Unordered streams can't be searched for
+	 * the referenced element. The cursor thus contains the position of the element in addition to its id and the preceding elements are only counted. The
+	 * element which occupies the position of a removed cursor element is its successor. The stream will thus resume with that element in this case.
+	 * 
+	 * @param stream
+	 * @param idFunction
+	 *            Function which returns the id of the element
+	 * @return Stream of the cursors and the elements
+	 */
+	protected <S> Stream<Entry<Object, S>> skipToPositionalCursor(Stream<S> stream, Function<S, Object> idFunction) {
+		Iterator<S> it = stream.iterator();
+		long position = 0;
+		S pending = null;
+		if (afterId != null) {
+			int idx = afterId.indexOf(':');
+			long cursorPosition;
+			try {
+				cursorPosition = idx == -1 ? -1 : Long.parseLong(afterId.substring(0, idx));
+			} catch (NumberFormatException e) {
+				cursorPosition = -1;
+			}
+			if (cursorPosition < 0) {
+				throw new GenericRestException(BAD_REQUEST, "error_paging_cursor_invalid", encodeCursor(afterId));
+			}
+			String cursorId = afterId.substring(idx + 1);
+
+			// Only count the elements in front of the cursor position
+			while (position < cursorPosition && it.hasNext()) {
+				it.next();
+				position++;
+			}
+			if (it.hasNext()) {
+				S element = it.next();
+				if (cursorId.equals(String.valueOf(idFunction.apply(element)))) {
+					position++;
+				} else {
+					// The cursor element has been removed. The element is its successor.
+					pending = element;
+				}
+			}
+		}
+
+		AtomicLong positionCounter = new AtomicLong(position);
+		S first = pending;
+		Spliterator<Entry<Object, S>> spliterator = new Spliterators.AbstractSpliterator<Entry<Object, S>>(Long.MAX_VALUE, Spliterator.ORDERED) {
+			S next = first;
+
+			@Override
+			public boolean tryAdvance(Consumer<? super Entry<Object, S>> action) {
+				S element = next;
+				next = null;
+				if (element == null) {
+					if (!it.hasNext()) {
+						return false;
+					}
+					element = it.next();
+				}
+				String cursor = positionCounter.getAndIncrement() + ":" + idFunction.apply(element);
+				action.accept(new SimpleImmutableEntry<Object, S>(cursor, element));
+				return true;
+			}
+		};
+		return StreamSupport.stream(spliterator, false);
 	}
 
 	@Override
@@ -62,6 +184,9 @@ public abstract class AbstractDynamicPage<T> implements Page<T> {
 
 	@Override
 	public long getPageCount() {
+		if (!countTotal) {
+			return -1;
+		}
 		if (totalPages == null) {
 			// The totalPages of the list response must be zero if the perPage parameter is also zero.
 			totalPages = 0L;
@@ -79,6 +204,9 @@ public abstract class AbstractDynamicPage<T> implements Page<T> {
 
 	@Override
 	public long getTotalElements() {
+		if (!countTotal) {
+			return -1;
+		}
 		// Iterate over all elements to determine the total count
 		while (visibleItems.hasNext()) {
 			visibleItems.next();
@@ -104,4 +232,12 @@ public abstract class AbstractDynamicPage<T> implements Page<T> {
 		return hasNextPage.get();
 	}
 
+	@Override
+	public String getNextCursor() {
+		if (lastId == null || !hasNextPage()) {
+			return null;
+		}
+		return encodeCursor(lastId);
+	}
+
 }
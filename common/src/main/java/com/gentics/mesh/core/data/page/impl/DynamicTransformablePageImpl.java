@@ -1,8 +1,13 @@
 package com.gentics.mesh.core.data.page.impl;
 
 import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Iterator;
+import java.util.Map.Entry;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -14,7 +19,10 @@ import com.gentics.mesh.core.data.page.TransformablePage;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
 import com.gentics.mesh.core.data.root.RootVertex;
 import com.gentics.mesh.core.rest.common.RestModel;
+import com.gentics.mesh.core.rest.error.GenericRestException;
+import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.parameter.PagingParameters;
+import com.gentics.mesh.util.PermissionUtil;
 import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.traversals.VertexTraversal;
 import com.syncleus.ferma.tx.Tx;
@@ -25,7 +33,9 @@ import com.tinkerpop.blueprints.Vertex;
 /**
  * This page implementation will handle paging internally and on-demand. The internal paging will only iterate over as many items as the needed operation
  * requires. Loading the first page will thus only iterate over the elements of the first page. Loading the total count on the other hand requires the
- * implementation to iterate over all edges.
+ * implementation to iterate over all edges. Deep pages can be loaded via a cursor which references the last element of the previous page. Pages which are
+ * backed by an ordered edge index seek the cursor via a range lookup in the index. Traversal based pages only count the elements before the cursor. No
+ * total count will be determined by default when using a cursor.
  * 
  * @param <T>
  */
@@ -79,7 +89,7 @@ public class DynamicTransformablePageImpl<T extends TransformableElement<? exten
 	public DynamicTransformablePageImpl(User requestUser, RootVertex<? extends T> root, PagingParameters pagingInfo, GraphPermission perm,
 			Predicate<Vertex> extraFilter, boolean frameExplicitly) {
 		this(requestUser, pagingInfo, extraFilter, frameExplicitly);
-		init(root.getPersistanceClass(), "e." + root.getRootLabel().toLowerCase() + "_out", root.getId(), Direction.IN, root.getGraph(), perm);
+		init(root.getPersistanceClass(), root.database(), root.getRootLabel(), "outin", new Object[] { root.getId() }, Direction.IN, perm);
 	}
 
 	/**
@@ -87,19 +97,23 @@ public class DynamicTransformablePageImpl<T extends TransformableElement<? exten
 	 *
 	 * @param requestUser
 	 *            User which is used to check permissions
-	 * @param indexName
-	 *            Name of the index which should be used to lookup the elements
-	 * @param indexKey
-	 *            Key to be used for the index lookup
+	 * @param database
+	 *            Database which provides the ordered edge index
+	 * @param edgeLabel
+	 *            Label of the edges which should be used to lookup the elements
+	 * @param indexPostfix
+	 *            Postfix of the ordered edge index. The last field of the index must reference the outbound vertex of the edge.
+	 * @param indexKeys
+	 *            Keys of the leading index fields to be used for the index lookup
 	 * @param clazz
 	 *            Class of the element to be returned
 	 * @param pagingInfo
 	 *            Paging parameters
 	 */
-	public DynamicTransformablePageImpl(User requestUser, String indexName, Object indexKey, Class<T> clazz, PagingParameters pagingInfo,
-			GraphPermission perm, Predicate<Vertex> extraFilter, boolean frameExplicitly) {
+	public DynamicTransformablePageImpl(User requestUser, Database database, String edgeLabel, String indexPostfix, Object[] indexKeys, Class<T> clazz,
+			PagingParameters pagingInfo, GraphPermission perm, Predicate<Vertex> extraFilter, boolean frameExplicitly) {
 		this(requestUser, pagingInfo, extraFilter, frameExplicitly);
-		init(clazz, indexName, indexKey, Direction.OUT, Tx.getActive().getGraph(), perm);
+		init(clazz, database, edgeLabel, indexPostfix, indexKeys, Direction.OUT, perm);
 	}
 
 	/**
@@ -124,9 +138,12 @@ public class DynamicTransformablePageImpl<T extends TransformableElement<? exten
 
 	private void init(Class<? extends T> clazz, VertexTraversal<?, ?, ?> traversal, GraphPermission perm) {
 		// Iterate over all vertices that are managed by this root vertex
-		Stream<Vertex> stream = StreamSupport.stream(traversal.spliterator(), false).map(item -> {
+		Stream<Vertex> vertices = StreamSupport.stream(traversal.spliterator(), false).map(item -> {
 			return item.getElement();
 		});
+
+		// The position and the vertex id are used as cursor
+		Stream<Entry<Object, Vertex>> stream = skipToPositionalCursor(vertices, Vertex::getId);
 		applyPagingAndPermChecks(stream, clazz, perm);
 	}
 
@@ -134,36 +151,38 @@ public class DynamicTransformablePageImpl<T extends TransformableElement<? exten
 	 * Modify the given stream and add further filters and mapping functions to it in order to be able to track operations and element handling.
 	 * 
 	 * @param stream
+	 *            Stream of the cursor ids and the vertices
 	 * @param clazz
 	 * @param perm
 	 */
-	private void applyPagingAndPermChecks(Stream<Vertex> stream, Class<? extends T> clazz, GraphPermission perm) {
+	private void applyPagingAndPermChecks(Stream<Entry<Object, Vertex>> stream, Class<? extends T> clazz, GraphPermission perm) {
 		AtomicLong pageCounter = new AtomicLong();
 		FramedGraph graph = Tx.getActive().getGraph();
 
-		// Only handle elements which are visible to the user
+		// Only handle elements which are visible to the user. The permissions are checked in chunks.
 		if (perm != null) {
-			stream = stream.filter(item -> requestUser.hasPermissionForId(item.getId(), perm));
+			stream = PermissionUtil.filter(stream, entry -> entry.getValue().getId(), requestUser, perm);
 		}
 
 		if (extraFilter != null) {
-			stream = stream.filter(extraFilter);
+			stream = stream.filter(entry -> extraFilter.test(entry.getValue()));
 		}
 
 		visibleItems = stream
 
-				.map(item -> {
+				.map(entry -> {
 					totalCounter.incrementAndGet();
-					return item;
+					return entry;
 				})
 
 				// Apply paging - skip to lower bounds
 				.skip(lowerBound)
 
-				.map(item -> {
+				.map(entry -> {
 					// Only add elements to the list if those elements are part of selected the page
 					long elementsInPage = pageCounter.get();
 					if (elementsInPage < perPage) {
+						Vertex item = entry.getValue();
 						T element;
 
 						// Check how we need to frame the found element
@@ -173,6 +192,7 @@ public class DynamicTransformablePageImpl<T extends TransformableElement<? exten
 							element = graph.frameElement(item, clazz);
 						}
 						elementsOfPage.add(element);
+						lastId = entry.getKey();
 						pageCounter.incrementAndGet();
 						return element;
 					} else {
@@ -193,27 +213,41 @@ public class DynamicTransformablePageImpl<T extends TransformableElement<? exten
 	 * 
 	 * @param clazz
 	 *            Class used to frame the found elements.
-	 * @param indexName
-	 *            Name of the graph index to use
-	 * @param indexKey
-	 *            Key object used for the lookup
+	 * @param database
+	 *            Database which provides the ordered edge index
+	 * @param edgeLabel
+	 *            Label of the edges
+	 * @param indexPostfix
+	 *            Postfix of the ordered edge index
+	 * @param indexKeys
+	 *            Keys of the leading index fields used for the lookup
 	 * @param vertexDirection
-	 *            The direction to be resolved for each resulting edge in order to get to the target element.
-	 * @param graph
-	 *            Framed graph used to re-frame the resulting elements
+	 *            The direction to be resolved for each resulting edge in order to get to the target element. The last index field must reference this
+	 *            vertex.
 	 * @param perm
 	 *            Graph permission to filter by
 	 */
-	private void init(Class<? extends T> clazz, String indexName, Object indexKey, Direction vertexDirection, FramedGraph graph,
+	private void init(Class<? extends T> clazz, Database database, String edgeLabel, String indexPostfix, Object[] indexKeys, Direction vertexDirection,
 			GraphPermission perm) {
 
-		// Iterate over all vertices that are managed by this root vertex
-		Spliterator<Edge> itemEdges = graph.getEdges(indexName, indexKey).spliterator();
-		Stream<Vertex> stream = StreamSupport.stream(itemEdges, false)
+		Object after = null;
+		if (afterId != null) {
+			try {
+				after = database.createElementId(afterId);
+			} catch (IllegalArgumentException e) {
+				throw new GenericRestException(BAD_REQUEST, "error_paging_cursor_invalid", encodeCursor(afterId));
+			}
+		}
+
+		// The index is ordered by the id of the target vertex. The cursor is seeked via a range lookup and no preceding edges need to be iterated. A removed
+		// cursor element is no problem since the lookup will start with the next edge in this case.
+		Iterator<? extends Edge> itemEdges = database.getEdgesAfter(edgeLabel, indexPostfix, indexKeys, after);
+		Stream<Entry<Object, Vertex>> stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(itemEdges, Spliterator.ORDERED), false)
 
-				// Get the vertex from the edge
+				// Get the vertex from the edge. The vertex id is used as cursor.
 				.map(itemEdge -> {
-					return itemEdge.getVertex(vertexDirection);
+					Vertex vertex = itemEdge.getVertex(vertexDirection);
+					return new SimpleImmutableEntry<>(vertex.getId(), vertex);
 				});
 		applyPagingAndPermChecks(stream, clazz, perm);
 
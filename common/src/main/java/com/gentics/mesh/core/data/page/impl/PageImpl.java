@@ -16,6 +16,7 @@ public class PageImpl<T> implements Iterable<T>, Page<T> {
 	protected long pageNumber;
 	protected long totalPages;
 	protected int perPage;
+	protected String nextCursor;
 
 	/**
 	 * Construct a new page
@@ -39,6 +40,27 @@ public class PageImpl<T> implements Iterable<T>, Page<T> {
 		this.perPage = perPage;
 	}
 
+	/**
+	 * Construct a new page
+	 * 
+	 * @param wrappedList
+	 *            List which yields the element within the page
+	 * @param totalElements
+	 *            Total element which could be found
+	 * @param pageNumber
+	 *            Number of the page
+	 * @param totalPages
+	 *            Total amount of pages
+	 * @param perPage
+	 *            Number of element per page
+	 * @param nextCursor
+	 *            Cursor which can be used to load the next page
+	 */
+	public PageImpl(List<? extends T> wrappedList, long totalElements, long pageNumber, long totalPages, int perPage, String nextCursor) {
+		this(wrappedList, totalElements, pageNumber, totalPages, perPage);
+		this.nextCursor = nextCursor;
+	}
+
 	@Override
 	public Iterator<T> iterator() {
 		return (Iterator<T>) wrappedList.iterator();
@@ -74,6 +96,11 @@ public class PageImpl<T> implements Iterable<T>, Page<T> {
 		return wrappedList;
 	}
 
+	@Override
+	public String getNextCursor() {
+		return nextCursor;
+	}
+
 	@Override
 	public boolean hasNextPage() {
 		return getPageCount() > getNumber();
@@ -1,6 +1,7 @@
 package com.gentics.mesh.core.data.root;
 
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.MeshAuthUser;
 import com.gentics.mesh.core.data.MeshCoreVertex;
 import com.gentics.mesh.core.data.MeshVertex;
@@ -11,6 +12,7 @@ import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.rest.common.RestModel;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.parameter.PagingParameters;
+import com.gentics.mesh.util.PermissionUtil;
 import com.google.common.collect.Iterators;
 import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.FramedTransactionalGraph;
@@ -21,11 +23,17 @@ import com.tinkerpop.blueprints.Vertex;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Spliterator;
 import java.util.Stack;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -42,6 +50,11 @@ public interface RootVertex<T extends MeshCoreVertex<? extends RestModel, T>> ex
 
 	public static final Logger log = LoggerFactory.getLogger(RootVertex.class);
 
+	/**
+	 * Postfix of the ordered index which sorts the items of a root vertex by their id.
+	 */
+	public static final String ITEMS_INDEX_POSTFIX = "root_items";
+
 	Database database();
 
 	/**
@@ -73,6 +86,47 @@ public interface RootVertex<T extends MeshCoreVertex<? extends RestModel, T>> ex
 		return out(getRootLabel()).frameExplicit(getPersistanceClass());
 	}
 
+	/**
+	 * Return an iterator of the elements which follow the given element. The elements are ordered by their id. The element which is referenced by the id
+	 * does not need to exist anymore. The root label needs an ordered index with the postfix {@link #ITEMS_INDEX_POSTFIX}.
+	 *
+	 * @param afterId
+	 *            Id of the element after which the iteration should start or null to start with the first element
+	 * @return
+	 */
+	default Iterator<? extends T> findAllAfter(String afterId) {
+		Database db = database();
+		FramedGraph graph = Tx.getActive().getGraph();
+		Object after = afterId != null ? db.createElementId(afterId) : null;
+		Iterator<? extends Edge> itemEdges = db.getEdgesAfter(getRootLabel(), ITEMS_INDEX_POSTFIX, new Object[] { getId() }, after);
+		return Iterators.transform(itemEdges, edge -> graph.frameElementExplicit(edge.getVertex(Direction.IN), getPersistanceClass()));
+	}
+
+	/**
+	 * Return an iterator of the elements which have been changed after the given change sequence. The elements are ordered by their change sequence. The
+	 * changed elements are looked up via the {@link IndexableElement#CHANGE_SEQUENCE_INDEX_NAME} index.
+	 *
+	 * @param changeSequence
+	 *            Change sequence after which the elements have been changed
+	 * @return
+	 */
+	default Iterator<? extends T> findChangedAfter(long changeSequence) {
+		FramedGraph graph = Tx.getActive().getGraph();
+		Object rootId = getId();
+		Iterator<? extends Vertex> changed = database().getVerticesAfter(IndexableElement.CHANGE_SEQUENCE_INDEX_NAME, new Object[] {
+			getPersistanceClass().getSimpleName() }, changeSequence);
+		// Other root vertices may hold elements of the same type
+		Iterator<? extends Vertex> items = Iterators.filter(changed, vertex -> {
+			for (Vertex root : vertex.getVertices(Direction.IN, getRootLabel())) {
+				if (root.getId().equals(rootId)) {
+					return true;
+				}
+			}
+			return false;
+		});
+		return Iterators.transform(items, vertex -> graph.frameElementExplicit(vertex, getPersistanceClass()));
+	}
+
 	/**
 	 * Return an iterator of all elements. Only use this method if you know that the root->item relation only yields a specific kind of item.
 	 * This also checks permissions.
@@ -84,9 +138,9 @@ public interface RootVertex<T extends MeshCoreVertex<? extends RestModel, T>> ex
 		FramedTransactionalGraph graph = Tx.getActive().getGraph();
 
 		Spliterator<Edge> itemEdges = graph.getEdges("e." + getRootLabel().toLowerCase() + "_out", getId()).spliterator();
-		return StreamSupport.stream(itemEdges, false)
-			.map(edge -> edge.getVertex(Direction.IN))
-			.filter(vertex -> user.hasPermissionForId(vertex.getId(), READ_PERM))
+		Stream<Vertex> vertices = StreamSupport.stream(itemEdges, false)
+			.map(edge -> edge.getVertex(Direction.IN));
+		return PermissionUtil.filter(vertices, Vertex::getId, user, READ_PERM)
 			.map(vertex -> graph.frameElementExplicit(vertex, getPersistanceClass()));
 	}
 
@@ -201,6 +255,37 @@ public interface RootVertex<T extends MeshCoreVertex<? extends RestModel, T>> ex
 		return null;
 	}
 
+	/**
+	 * Find the elements with the given uuids. The elements will be located using a single batched lookup in the uuid index and a single batched probe of the
+	 * edge index of the root vertex.
+	 * 
+	 * @param uuids
+	 *            Uuids of the elements to be located
+	 * @return Map of the found elements by uuid. Uuids of elements which could not be located are omitted. The map has the order of the given uuids.
+	 */
+	default Map<String, T> findByUuids(Collection<String> uuids) {
+		FramedGraph graph = Tx.getActive().getGraph();
+		Map<String, T> elements = new LinkedHashMap<>();
+		if (uuids.isEmpty()) {
+			return elements;
+		}
+		// 1. Find the elements with the given uuids within the whole graph
+		Map<Object, Vertex> vertices = database().getVertices(getPersistanceClass(), MeshVertex.UUID_KEY, new HashSet<>(uuids));
+		if (vertices.isEmpty()) {
+			return elements;
+		}
+		// 2. Use the edge index to determine which elements are part of this root vertex
+		List<Object> ids = vertices.values().stream().map(Vertex::getId).collect(Collectors.toList());
+		Set<Object> contained = database().edgeLookup(getRootLabel(), "inout", ids, getId());
+		for (String uuid : uuids) {
+			Vertex vertex = vertices.get(uuid);
+			if (vertex != null && contained.contains(vertex.getId())) {
+				elements.put(uuid, graph.frameElementExplicit(vertex, getPersistanceClass()));
+			}
+		}
+		return elements;
+	}
+
 	/**
 	 * Load the object by uuid and check the given permission.
 	 * 
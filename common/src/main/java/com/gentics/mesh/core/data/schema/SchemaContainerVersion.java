@@ -15,6 +15,7 @@ import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.core.rest.schema.SchemaReference;
 import com.gentics.mesh.core.rest.schema.impl.SchemaResponse;
+import com.gentics.mesh.util.Tuple;
 
 /**
  * Each schema update is stored within a dedicated schema container version in order to be able to keep track of changes in between different schema container
@@ -49,6 +50,47 @@ public interface SchemaContainerVersion
 	 */
 	Iterator<? extends NodeGraphFieldContainer> getDraftFieldContainers(String releaseUuid);
 
+	/**
+	 * Returns an iterator for the draft {@link NodeGraphFieldContainer}'s of the release which follow the given container. The containers are ordered by
+	 * their id. The container which is referenced by the id does not need to exist anymore.
+	 *
+	 * @param releaseUuid
+	 *            Release Uuid
+	 * @param afterId
+	 *            Id of the container after which the iteration should start or null to start with the first container
+	 * @return
+	 */
+	Iterator<? extends NodeGraphFieldContainer> getDraftFieldContainers(String releaseUuid, String afterId);
+
+	/**
+	 * Returns an iterator for the {@link NodeGraphFieldContainer}'s of the given type and release which follow the given container. The containers are
+	 * ordered by their id. The container which is referenced by the id does not need to exist anymore.
+	 *
+	 * @param releaseUuid
+	 *            Release Uuid
+	 * @param type
+	 *            Container type
+	 * @param afterId
+	 *            Id of the container after which the iteration should start or null to start with the first container
+	 * @return
+	 */
+	Iterator<? extends NodeGraphFieldContainer> getFieldContainers(String releaseUuid, ContainerType type, String afterId);
+
+	/**
+	 * Returns an iterator for the {@link NodeGraphFieldContainer}'s of the given type and release which have been changed after the given change sequence.
+	 * A change of the node affects all of its containers. The containers are ordered by the change sequence of the changed element which is returned along
+	 * with the container. A container may be returned more than once.
+	 *
+	 * @param releaseUuid
+	 *            Release Uuid
+	 * @param type
+	 *            Container type
+	 * @param changeSequence
+	 *            Change sequence after which the containers or their nodes have been changed
+	 * @return Iterator over tuples of the change sequence and the container
+	 */
+	Iterator<Tuple<Long, NodeGraphFieldContainer>> getChangedFieldContainers(String releaseUuid, ContainerType type, long changeSequence);
+
 	/**
 	 * Returns all nodes that the user has read permissions for.
 	 *
@@ -23,6 +23,22 @@ public interface CreateIndexEntry extends SearchQueueEntry<GenericEntryContext>
 	 */
 	CreateIndexEntry setSchema(Schema schema);
 
+	/**
+	 * Check whether the index will be filled in bulk. Bulk indices are created with refreshing and replicas disabled and are referenced by an alias which
+	 * uses the name of the index.
+	 * 
+	 * @return
+	 */
+	boolean isBulk();
+
+	/**
+	 * Set whether the index will be filled in bulk.
+	 * 
+	 * @param bulk
+	 * @return Fluent API
+	 */
+	CreateIndexEntry setBulk(boolean bulk);
+
 	/**
 	 * Name of the index which should be created.
 	 * 
@@ -85,12 +85,35 @@ public interface IndexHandler<T extends MeshCoreVertex<?, T>> {
 	 */
 	Observable<IndexBulkEntry> storeForBulk(UpdateDocumentEntry entry);
 
+	/**
+	 * Diff the elements within all indices that are handled by the index handler and synchronize the data. Only elements which have been changed since the
+	 * last sync will be checked.
+	 * 
+	 * @return
+	 */
+	default Completable syncIndices() {
+		return syncIndices(false);
+	}
+
 	/**
 	 * Diff the elements within all indices that are handled by the index handler and synchronize the data.
 	 * 
+	 * @param deep
+	 *            Whether the versions of all documents should be compared instead of only checking the elements which have been changed since the last
+	 *            sync
+	 * @return
+	 */
+	Completable syncIndices(boolean deep);
+
+	/**
+	 * Rebuild the indices which are handled by the index handler. The indices will be built in the background and searches will be switched atomically to
+	 * the rebuilt indices. Handlers which are not able to rebuild their indices will do a deep sync instead.
+	 * 
 	 * @return
 	 */
-	Completable syncIndices();
+	default Completable rebuildIndices() {
+		return syncIndices(true);
+	}
 
 	/**
 	 * Load a map which contains the applicable indices. The key of the map is the index name.
@@ -146,6 +169,14 @@ public interface IndexHandler<T extends MeshCoreVertex<?, T>> {
 	 */
 	Completable updatePermission(UpdateDocumentEntry entry);
 
+	/**
+	 * Register the current roles of the permission group of the element which is identified by the entry. No document will be updated.
+	 * 
+	 * @param entry
+	 * @return
+	 */
+	Completable updatePermissionGroup(UpdateDocumentEntry entry);
+
 	/**
 	 * Generate the version for the given element.
 	 * 
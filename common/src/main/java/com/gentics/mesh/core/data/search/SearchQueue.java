@@ -1,5 +1,7 @@
 package com.gentics.mesh.core.data.search;
 
+import com.gentics.mesh.context.InternalActionContext;
+
 /**
  * The search queue maintains the search queue batch related actions. Each batch is used to update the search index documents.
  */
@@ -12,4 +14,14 @@ public interface SearchQueue {
 	 */
 	SearchQueueBatch create();
 
+	/**
+	 * Create a new search queue batch for the request. The batch will wait for the index refresh if the request demands it.
+	 * 
+	 * @param ac
+	 * @return Created batch
+	 */
+	default SearchQueueBatch create(InternalActionContext ac) {
+		return create().setWaitForRefresh(ac.getRefreshParameters().isWaitForRefresh());
+	}
+
 }
@@ -68,7 +68,24 @@ public interface SearchQueueBatch {
 	 * @param type
 	 * @return Fluent API
 	 */
-	SearchQueueBatch createNodeIndex(String projectUuid, String releaseUuid, String versionUuid, ContainerType type, Schema schema);
+	default SearchQueueBatch createNodeIndex(String projectUuid, String releaseUuid, String versionUuid, ContainerType type, Schema schema) {
+		return createNodeIndex(projectUuid, releaseUuid, versionUuid, type, schema, false);
+	}
+
+	/**
+	 * Add a new node index to the search database. A bulk index is created with refreshing and replicas disabled and is referenced by an alias which uses
+	 * the name of the index. It is meant to be filled by a migration which restores the settings afterwards.
+	 * 
+	 * @param projectUuid
+	 * @param releaseUuid
+	 * @param versionUuid
+	 * @param type
+	 * @param schema
+	 * @param bulk
+	 *            Whether the index will be filled in bulk
+	 * @return Fluent API
+	 */
+	SearchQueueBatch createNodeIndex(String projectUuid, String releaseUuid, String versionUuid, ContainerType type, Schema schema, boolean bulk);
 
 	/**
 	 * Add the tag family index to the search database. See {@link TagFamilyEntry#composeIndexName(String)} for details.
@@ -156,6 +173,22 @@ public interface SearchQueueBatch {
 	 */
 	String getBatchId();
 
+	/**
+	 * Set the flag which controls whether processing the batch should wait until the changes are visible to search requests. Otherwise the refresh of the
+	 * affected indices will only be requested and executed within the configured refresh window.
+	 * 
+	 * @param flag
+	 * @return Fluent API
+	 */
+	SearchQueueBatch setWaitForRefresh(boolean flag);
+
+	/**
+	 * Check whether processing the batch should wait until the changes are visible to search requests.
+	 * 
+	 * @return
+	 */
+	boolean isWaitForRefresh();
+
 	/**
 	 * Process this batch by invoking process on all batch entries.
 	 * 
@@ -163,6 +196,14 @@ public interface SearchQueueBatch {
 	 */
 	Completable processAsync();
 
+	/**
+	 * Process the entries of this batch directly. Unlike {@link #processAsync()} the entries will never be written to the search queue journal. This method is
+	 * used to process batches which have been replayed from the journal.
+	 * 
+	 * @return
+	 */
+	Completable processEntries();
+
 	/**
 	 * Process this batch blocking and fail if the given timeout was exceeded.
 	 * 
@@ -276,4 +317,14 @@ public interface SearchQueueBatch {
 	 */
 	SearchQueueBatch updatePermissions(IndexableElement element);
 
+	/**
+	 * Update the roles of the permission group of the given element. The documents of the group members already reference the group and will not be
+	 * updated.
+	 * 
+	 * @param element
+	 *            Member of the group
+	 * @return Fluent API
+	 */
+	SearchQueueBatch updatePermissionGroup(IndexableElement element);
+
 }
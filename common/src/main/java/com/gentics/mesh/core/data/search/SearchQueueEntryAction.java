@@ -13,6 +13,8 @@ public enum SearchQueueEntryAction {
 
 	UPDATE_ROLE_PERM_ACTION("updateRolePerm", 70),
 
+	UPDATE_PERMISSION_GROUP_ACTION("updatePermissionGroup", 70),
+
 	STORE_ACTION("store", 60),
 
 	MOVE_ACTION("move", 50);
@@ -22,6 +22,18 @@ public interface BulkEntry {
 	 */
 	String toBulkString(String installationPrefix);
 
+	/**
+	 * Append the string representation needed for the bulk update to the given builder. The representation will not end with a line break.
+	 * 
+	 * @param builder
+	 *            Builder which contains the payload of the bulk request
+	 * @param installationPrefix
+	 *            Prefix which will be prepended to used pipelines and indices
+	 */
+	default void appendBulkString(StringBuilder builder, String installationPrefix) {
+		builder.append(toBulkString(installationPrefix));
+	}
+
 	/**
 	 * Returns the action of the entry.
 	 * 
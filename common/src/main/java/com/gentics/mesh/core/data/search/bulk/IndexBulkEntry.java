@@ -16,6 +16,11 @@ public class IndexBulkEntry extends AbstractBulkEntry {
 	 */
 	private boolean usePipeline = false;
 
+	/**
+	 * Name of the pipeline. The pipeline name may differ from the index name if the entry was redirected to another index.
+	 */
+	private String pipelineName;
+
 	/**
 	 * Construct a new entry.
 	 * 
@@ -29,6 +34,7 @@ public class IndexBulkEntry extends AbstractBulkEntry {
 	public IndexBulkEntry(String indexName, String documentId, JsonObject payload) {
 		super(indexName, documentId);
 		this.payload = payload;
+		this.pipelineName = indexName;
 	}
 
 	/**
@@ -52,6 +58,19 @@ public class IndexBulkEntry extends AbstractBulkEntry {
 		return payload;
 	}
 
+	/**
+	 * Create a copy of the entry which stores the document in the given index. The copy will still use the pipeline of the original index.
+	 * 
+	 * @param indexName
+	 *            Name of the target index
+	 * @return
+	 */
+	public IndexBulkEntry forIndex(String indexName) {
+		IndexBulkEntry entry = new IndexBulkEntry(indexName, getDocumentId(), payload, usePipeline);
+		entry.pipelineName = pipelineName;
+		return entry;
+	}
+
 	@Override
 	public Action getBulkAction() {
 		return Action.INDEX;
@@ -59,6 +78,13 @@ public class IndexBulkEntry extends AbstractBulkEntry {
 
 	@Override
 	public String toBulkString(String installationPrefix) {
+		StringBuilder builder = new StringBuilder();
+		appendBulkString(builder, installationPrefix);
+		return builder.toString();
+	}
+
+	@Override
+	public void appendBulkString(StringBuilder builder, String installationPrefix) {
 		JsonObject metaData = new JsonObject();
 		JsonObject settings = new JsonObject()
 			.put("_index", installationPrefix + getIndexName())
@@ -66,11 +92,12 @@ public class IndexBulkEntry extends AbstractBulkEntry {
 			.put("_id", getDocumentId());
 
 		if (usePipeline) {
-			settings.put("pipeline", installationPrefix + getIndexName());
+			settings.put("pipeline", installationPrefix + pipelineName);
 		}
 
 		metaData.put(getBulkAction().id(), settings);
-		return new StringBuilder().append(metaData.encode()).append("\n").append(payload.encode()).toString();
+		// The payload is written directly into the builder to avoid copying large documents
+		builder.append(metaData.encode()).append("\n").append(payload.encode());
 	}
 
 }
@@ -48,6 +48,13 @@ public class UpdateBulkEntry extends AbstractBulkEntry {
 
 	@Override
 	public String toBulkString(String installationPrefix) {
+		StringBuilder builder = new StringBuilder();
+		appendBulkString(builder, installationPrefix);
+		return builder.toString();
+	}
+
+	@Override
+	public void appendBulkString(StringBuilder builder, String installationPrefix) {
 		JsonObject metaData = new JsonObject();
 		JsonObject settings = new JsonObject()
 			.put("_index", installationPrefix + getIndexName())
@@ -59,7 +66,7 @@ public class UpdateBulkEntry extends AbstractBulkEntry {
 		}
 
 		metaData.put(getBulkAction().id(), settings);
-		return new StringBuilder().append(metaData.encode()).append("\n").append(payload.encode()).toString();
+		builder.append(metaData.encode()).append("\n").append(payload.encode());
 	}
 
 }
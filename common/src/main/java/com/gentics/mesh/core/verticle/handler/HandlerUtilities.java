@@ -27,6 +27,8 @@ import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.rest.common.RestModel;
 import com.gentics.mesh.core.rest.error.NotModifiedException;
+import com.gentics.mesh.graphdb.cache.TxElementCache;
+import com.gentics.mesh.graphdb.cache.TxElementCache.RequestStats;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.util.ResultInfo;
@@ -91,7 +93,7 @@ public class HandlerUtilities {
 			}
 
 			database.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				// Check whether the element is indexable. Indexable elements must also be purged from the search index.
 				if (element instanceof IndexableElement) {
 					element.delete(batch);
@@ -151,7 +153,7 @@ public class HandlerUtilities {
 			if (element != null) {
 				final T updateElement = element;
 				Tuple<Boolean, SearchQueueBatch> tuple = database.tx(() -> {
-					SearchQueueBatch batch = searchQueue.create();
+					SearchQueueBatch batch = searchQueue.create(ac);
 					boolean updated = updateElement.update(ac, batch);
 					return Tuple.tuple(updated, batch);
 				});
@@ -164,7 +166,7 @@ public class HandlerUtilities {
 				}
 			} else {
 				Tuple<T, SearchQueueBatch> tuple = database.tx(() -> {
-					SearchQueueBatch batch = searchQueue.create();
+					SearchQueueBatch batch = searchQueue.create(ac);
 					created.set(true);
 					return Tuple.tuple(root.create(ac, batch, uuid), batch);
 				});
@@ -294,10 +296,16 @@ public class HandlerUtilities {
 	 */
 	private <RM extends RestModel> void async(InternalActionContext ac, TxAction1<RM> handler, Consumer<RM> action, boolean order) {
 		Mesh.vertx().executeBlocking(bc -> {
+			TxElementCache.startRequest();
 			try {
 				bc.complete(handler.handle());
 			} catch (Exception e) {
 				bc.fail(e);
+			} finally {
+				RequestStats stats = TxElementCache.stopRequest();
+				if (log.isDebugEnabled()) {
+					log.debug("Element cache of the request - hits {" + stats.getHits() + "} misses {" + stats.getMisses() + "}");
+				}
 			}
 		}, order, (AsyncResult<RM> rh) -> {
 			if (rh.failed()) {
@@ -0,0 +1,46 @@
+package com.gentics.mesh.graphdb.cache;
+
+import java.util.function.Supplier;
+
+import com.syncleus.ferma.tx.Tx;
+
+/**
+ * A transaction which provides a transaction scoped element cache. The cache will be dropped once the transaction gets committed or rolled back. The
+ * transaction also keeps the actions which need to be invoked once the changes of the transaction have been committed.
+ */
+public interface CachingTx extends Tx {
+
+	/**
+	 * Return the element cache of the transaction.
+	 * 
+	 * @return
+	 */
+	TxElementCache getElementCache();
+
+	/**
+	 * Return the commit action of the given type. The action will be created via the factory and registered if the transaction does not yet contain an
+	 * action of the type. Registered actions are invoked once the transaction has been committed successfully and dropped if the transaction gets rolled
+	 * back. Actions can thus collect the changes of the transaction and handle them at once.
+	 * 
+	 * @param type
+	 *            Type of the action
+	 * @param factory
+	 *            Factory which is used to create the action
+	 * @return Registered action
+	 */
+	<T extends Runnable> T getCommitAction(Class<T> type, Supplier<T> factory);
+
+	/**
+	 * Return the commit listener of the given type. The listener will be created via the factory and registered if the transaction does not yet contain a
+	 * listener of the type. In contrast to commit actions the listener is also invoked before the changes get committed and when they get rolled back.
+	 * Listeners which get registered while another listener prepares the commit will be prepared afterwards.
+	 * 
+	 * @param type
+	 *            Type of the listener
+	 * @param factory
+	 *            Factory which is used to create the listener
+	 * @return Registered listener
+	 */
+	<T extends TxCommitListener> T getCommitListener(Class<T> type, Supplier<T> factory);
+
+}
@@ -0,0 +1,24 @@
+package com.gentics.mesh.graphdb.cache;
+
+/**
+ * Listener which takes part in the commit of a {@link CachingTx}. The listener can prepare changes right before the graph changes get committed and finish
+ * or revert them once the outcome of the commit is known.
+ */
+public interface TxCommitListener {
+
+	/**
+	 * Invoked within the transaction right before the changes get committed. The transaction will be rolled back if the method throws an exception.
+	 */
+	void beforeCommit();
+
+	/**
+	 * Invoked once the transaction has been committed successfully.
+	 */
+	void afterCommit();
+
+	/**
+	 * Invoked once the transaction has been rolled back. The method will also be invoked if the commit failed after {@link #beforeCommit()} was invoked.
+	 */
+	void afterRollback();
+
+}
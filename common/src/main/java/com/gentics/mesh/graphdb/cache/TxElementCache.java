@@ -0,0 +1,243 @@
+package com.gentics.mesh.graphdb.cache;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+import com.tinkerpop.blueprints.Vertex;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Transaction scoped cache for graph elements. The cache holds references to the vertices which have already been loaded within the transaction. Vertex
+ * lookups for the same id will thus not load the record again. The cache must be cleared once the transaction has been committed or rolled back.
+ * 
+ * The cache is limited to the most recently used vertices. Long running transactions which read many vertices would otherwise keep all of them in memory.
+ */
+public class TxElementCache {
+
+	private static final Logger log = LoggerFactory.getLogger(TxElementCache.class);
+
+	private static final MetricRegistry metricRegistry = SharedMetricRegistries.getOrCreate("mesh");
+
+	private static final Counter hitTotal = metricRegistry.counter("graph.tx.elementcache.hit.total");
+
+	private static final Counter missTotal = metricRegistry.counter("graph.tx.elementcache.miss.total");
+
+	private static final Histogram requestHits = metricRegistry.histogram("graph.tx.elementcache.hit.request");
+
+	private static final Histogram requestMisses = metricRegistry.histogram("graph.tx.elementcache.miss.request");
+
+	/**
+	 * Statistics of the request which is currently handled by the thread.
+	 */
+	private static final ThreadLocal<RequestStats> currentRequest = new ThreadLocal<>();
+
+	/**
+	 * Default amount of vertices which will be cached per transaction.
+	 */
+	public static final int DEFAULT_MAX_SIZE = 10_000;
+
+	private final Map<Object, Vertex> vertices;
+
+	/**
+	 * Ids of the vertices which have been created within the transaction.
+	 */
+	private final Set<Object> created = new HashSet<>();
+
+	/**
+	 * Properties which have been updated within the transaction. Each entry is keyed by the vertex id and the property key.
+	 */
+	private final Set<String> updated = new HashSet<>();
+
+	private long hits = 0;
+
+	private long misses = 0;
+
+	public TxElementCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Create a new cache.
+	 * 
+	 * @param maxSize
+	 *            Maximum amount of cached vertices. The least recently used vertex will be evicted once the limit has been reached.
+	 */
+	public TxElementCache(int maxSize) {
+		this.vertices = new LinkedHashMap<Object, Vertex>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Object, Vertex> eldest) {
+				return size() > maxSize;
+			}
+		};
+	}
+
+	/**
+	 * Return the cached vertex for the given id.
+	 * 
+	 * @param id
+	 *            Id of the vertex
+	 * @return Cached vertex or null if the vertex has not yet been loaded within the transaction
+	 */
+	public Vertex get(Object id) {
+		Vertex vertex = vertices.get(id);
+		if (vertex == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return vertex;
+	}
+
+	/**
+	 * Add the vertex to the cache.
+	 * 
+	 * @param id
+	 *            Id of the vertex
+	 * @param vertex
+	 */
+	public void put(Object id, Vertex vertex) {
+		vertices.put(id, vertex);
+	}
+
+	/**
+	 * Remove the vertex with the given id from the cache. This is needed when the vertex gets removed within the transaction.
+	 * 
+	 * @param id
+	 */
+	public void evict(Object id) {
+		vertices.remove(id);
+	}
+
+	/**
+	 * Mark the vertex with the given id as created within the transaction.
+	 * 
+	 * @param id
+	 *            Id of the vertex
+	 */
+	public void markCreated(Object id) {
+		created.add(id);
+	}
+
+	/**
+	 * Check whether the vertex with the given id has been created within the transaction. Caches which are keyed by the element id can't contain any entries
+	 * for those vertices and thus don't need to be invalidated.
+	 * 
+	 * @param id
+	 *            Id of the vertex
+	 * @return
+	 */
+	public boolean isCreated(Object id) {
+		return created.contains(id);
+	}
+
+	/**
+	 * Mark the property of the vertex as updated within the transaction. This can be used to write properties which only need to change once per
+	 * transaction (e.g. version stamps) a single time.
+	 * 
+	 * @param id
+	 *            Id of the vertex
+	 * @param key
+	 *            Key of the property
+	 * @return true if the property has not yet been marked within the transaction
+	 */
+	public boolean markUpdated(Object id, String key) {
+		return updated.add(id + "/" + key);
+	}
+
+	/**
+	 * Return the amount of cache hits within the transaction.
+	 * 
+	 * @return
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Return the amount of cache misses within the transaction.
+	 * 
+	 * @return
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Clear the cache and add the hit and miss counters of the transaction to the global metrics.
+	 */
+	public void clear() {
+		if (log.isDebugEnabled()) {
+			log.debug("Clearing transaction element cache. Size {" + vertices.size() + "} hits {" + hits + "} misses {" + misses + "}");
+		}
+		hitTotal.inc(hits);
+		missTotal.inc(misses);
+		RequestStats stats = currentRequest.get();
+		if (stats != null) {
+			stats.hits += hits;
+			stats.misses += misses;
+		}
+		hits = 0;
+		misses = 0;
+		vertices.clear();
+		created.clear();
+		updated.clear();
+	}
+
+	/**
+	 * Start recording the hits and misses of all transactions which will be closed by the current thread. The recording must be stopped via
+	 * {@link #stopRequest()} once the request has been handled.
+	 * 
+	 * @return Statistics of the request
+	 */
+	public static RequestStats startRequest() {
+		RequestStats stats = new RequestStats();
+		currentRequest.set(stats);
+		return stats;
+	}
+
+	/**
+	 * Stop recording the statistics of the current request and add them to the request metrics.
+	 * 
+	 * @return Statistics of the request or null if no recording was started
+	 */
+	public static RequestStats stopRequest() {
+		RequestStats stats = currentRequest.get();
+		currentRequest.remove();
+		if (stats != null) {
+			requestHits.update(stats.hits);
+			requestMisses.update(stats.misses);
+		}
+		return stats;
+	}
+
+	/**
+	 * Hits and misses of all transactions of a single request.
+	 */
+	public static class RequestStats {
+
+		private long hits = 0;
+
+		private long misses = 0;
+
+		public long getHits() {
+			return hits;
+		}
+
+		public long getMisses() {
+			return misses;
+		}
+
+	}
+
+}
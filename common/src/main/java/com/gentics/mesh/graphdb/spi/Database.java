@@ -1,8 +1,11 @@
 package com.gentics.mesh.graphdb.spi;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
@@ -18,6 +21,7 @@ import com.syncleus.ferma.tx.TxAction;
 import com.syncleus.ferma.tx.TxAction0;
 import com.syncleus.ferma.tx.TxAction1;
 import com.syncleus.ferma.tx.TxFactory;
+import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.blueprints.TransactionalGraph;
 import com.tinkerpop.blueprints.Vertex;
@@ -264,7 +268,8 @@ public interface Database extends TxFactory {
 	 * @param includeIn
 	 *            If set to true the in information will be added to the edge index with postfix _in
 	 * @param includeOut
-	 *            If set to true the in information will be added to the edge index with postfix _out
+	 *            If set to true the in information will be added to the edge index with postfix _out. An additional ordered out/in index with postfix
+	 *            _outin will be added which is used to page over the edges of a single outbound vertex.
 	 * @param extraFields
 	 *            Additional fields that should be indexed. All fields will be to an index with postfix _extra.
 	 */
@@ -293,6 +298,73 @@ public interface Database extends TxFactory {
 	 */
 	void addCustomEdgeIndex(String label, String indexPostfix, String... fields);
 
+	/**
+	 * Add an ordered edge index for the given fields. In contrast to {@link #addCustomEdgeIndex(String, String, String...)} the index entries are sorted and
+	 * can thus be used for range lookups via {@link #getEdgesAfter(String, String, Object[], Object)}.
+	 * 
+	 * The index name will be constructed using the label and the index postfix (e.g: has_node_postfix)
+	 * 
+	 * @param label
+	 * @param indexPostfix
+	 *            postfix of the index
+	 * @param fields
+	 */
+	void addOrderedEdgeIndex(String label, String indexPostfix, String... fields);
+
+	/**
+	 * Perform a range lookup in the ordered edge index with the given label and postfix. Only edges whose leading index fields match the given keys will be
+	 * returned. The edges are sorted by the last index field and the lookup starts after the given value of the last field. The edge which is referenced by
+	 * the value does not need to exist. The lookup will start with the next edge in this case.
+	 * 
+	 * @param edgeLabel
+	 * @param indexPostfix
+	 * @param keys
+	 *            Values of the leading index fields
+	 * @param after
+	 *            Value of the last index field after which the lookup should start or null to start with the first edge
+	 * @return Iterator over the found edges
+	 */
+	Iterator<? extends Edge> getEdgesAfter(String edgeLabel, String indexPostfix, Object[] keys, Object after);
+
+	/**
+	 * Count the edges in the ordered edge index with the given label and postfix whose leading index fields match the given keys. Only the index entries
+	 * will be counted. The edges are not loaded.
+	 *
+	 * @param edgeLabel
+	 * @param indexPostfix
+	 * @param keys
+	 *            Values of the leading index fields
+	 * @return
+	 */
+	long countEdges(String edgeLabel, String indexPostfix, Object[] keys);
+
+	/**
+	 * Add an ordered vertex index for the given fields. In contrast to {@link #addVertexIndex(String, Class, boolean, String, FieldType)} the index entries
+	 * are sorted and can thus be used for range lookups via {@link #getVerticesAfter(String, Object[], Object)}. Vertices which have no value for one of the
+	 * fields will not be indexed.
+	 *
+	 * @param indexName
+	 *            index name
+	 * @param clazzOfVertices
+	 * @param fieldKeys
+	 * @param fieldTypes
+	 *            Types of the fields in the order of the field keys
+	 */
+	void addOrderedVertexIndex(String indexName, Class<?> clazzOfVertices, String[] fieldKeys, FieldType[] fieldTypes);
+
+	/**
+	 * Perform a range lookup in the ordered vertex index with the given name. Only vertices whose leading index fields match the given keys will be
+	 * returned. The vertices are sorted by the last index field and the lookup starts after the given value of the last field.
+	 *
+	 * @param indexName
+	 * @param keys
+	 *            Values of the leading index fields
+	 * @param after
+	 *            Value of the last index field after which the lookup should start or null to start with the first vertex
+	 * @return Iterator over the found vertices
+	 */
+	Iterator<? extends Vertex> getVerticesAfter(String indexName, Object[] keys, Object after);
+
 	/**
 	 * Create a composed index key
 	 * 
@@ -301,6 +373,14 @@ public interface Database extends TxFactory {
 	 */
 	Object createComposedIndexKey(Object... keys);
 
+	/**
+	 * Create the element id for the given string representation of the id. This can be used to restore element ids which were transferred via the event bus.
+	 * 
+	 * @param id
+	 * @return
+	 */
+	Object createElementId(String id);
+
 	/**
 	 * Add a vertex index for the given type of vertex and fields.
 	 * 
@@ -400,6 +480,19 @@ public interface Database extends TxFactory {
 	 */
 	Iterator<Vertex> getVertices(Class<?> classOfVertex, String[] fieldNames, Object[] fieldValues);
 
+	/**
+	 * Utilize the index of the given field and locate the vertices for all given values at once. Only vertices of the given type (or of one of its sub
+	 * types) will be returned.
+	 * 
+	 * @param classOfVertex
+	 * @param fieldName
+	 *            Name of the indexed field
+	 * @param fieldValues
+	 *            Values to look up
+	 * @return Map of the found values and their vertices
+	 */
+	Map<Object, Vertex> getVertices(Class<?> classOfVertex, String fieldName, Collection<?> fieldValues);
+
 	/**
 	 * Locate all vertices for the given type.
 	 * 
@@ -464,6 +557,20 @@ public interface Database extends TxFactory {
 	 */
 	List<Object> edgeLookup(String edgeLabel, String indexPostfix, Object key);
 
+	/**
+	 * Perform a batched lookup in the composed in/out edge index. This method will load the index for the given edge label and postfix and probe it for all
+	 * combinations of the given inbound vertex ids and the outbound vertex id.
+	 * 
+	 * @param edgeLabel
+	 * @param indexPostfix
+	 * @param inIds
+	 *            inbound vertex ids of the edges to be checked
+	 * @param outId
+	 *            outbound vertex id of the edges to be checked
+	 * @return Set of inbound vertex ids for which an edge could be found
+	 */
+	Set<Object> edgeLookup(String edgeLabel, String indexPostfix, Collection<?> inIds, Object outId);
+
 	/**
 	 * Join the cluster and block until the graph database has been received.
 	 * 
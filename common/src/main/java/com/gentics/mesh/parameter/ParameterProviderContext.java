@@ -3,9 +3,11 @@ package com.gentics.mesh.parameter;
 import com.gentics.mesh.handler.ActionContext;
 import com.gentics.mesh.parameter.impl.DeleteParametersImpl;
 import com.gentics.mesh.parameter.impl.ImageManipulationParametersImpl;
+import com.gentics.mesh.parameter.impl.IndexSyncParametersImpl;
 import com.gentics.mesh.parameter.impl.NodeParametersImpl;
 import com.gentics.mesh.parameter.impl.PagingParametersImpl;
 import com.gentics.mesh.parameter.impl.PublishParametersImpl;
+import com.gentics.mesh.parameter.impl.RefreshParametersImpl;
 import com.gentics.mesh.parameter.impl.RolePermissionParametersImpl;
 import com.gentics.mesh.parameter.impl.SchemaUpdateParametersImpl;
 import com.gentics.mesh.parameter.impl.UserParametersImpl;
@@ -52,4 +54,12 @@ public interface ParameterProviderContext extends ActionContext {
 		return new SchemaUpdateParametersImpl(this);
 	}
 
+	default RefreshParameters getRefreshParameters() {
+		return new RefreshParametersImpl(this);
+	}
+
+	default IndexSyncParameters getIndexSyncParameters() {
+		return new IndexSyncParametersImpl(this);
+	}
+
 }
@@ -0,0 +1,59 @@
+package com.gentics.mesh.parameter.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.raml.model.ParamType;
+import org.raml.model.parameter.QueryParameter;
+
+import com.gentics.mesh.handler.ActionContext;
+import com.gentics.mesh.parameter.AbstractParameters;
+import com.gentics.mesh.parameter.IndexSyncParameters;
+
+public class IndexSyncParametersImpl extends AbstractParameters implements IndexSyncParameters {
+
+	public IndexSyncParametersImpl(ActionContext ac) {
+		super(ac);
+	}
+
+	public IndexSyncParametersImpl() {
+	}
+
+	@Override
+	public void validate() {
+		// TODO validate query parameter value
+	}
+
+	@Override
+	public String getName() {
+		return "Index sync parameters";
+	}
+
+	@Override
+	public Map<? extends String, ? extends QueryParameter> getRAMLParameters() {
+		Map<String, QueryParameter> parameters = new HashMap<>();
+
+		// deep
+		QueryParameter deepParameter = new QueryParameter();
+		deepParameter.setDefaultValue("false");
+		deepParameter.setDescription(
+			"Specifiy whether the versions of all documents should be compared. By default only elements which have been changed since the last sync will be checked.");
+		deepParameter.setExample("true");
+		deepParameter.setRequired(false);
+		deepParameter.setType(ParamType.BOOLEAN);
+		parameters.put(DEEP_PARAMETER_KEY, deepParameter);
+
+		// rebuild
+		QueryParameter rebuildParameter = new QueryParameter();
+		rebuildParameter.setDefaultValue("false");
+		rebuildParameter.setDescription(
+			"Specifiy whether the node indices should be rebuilt in the background. Searches will be switched to the rebuilt indices once they are complete.");
+		rebuildParameter.setExample("true");
+		rebuildParameter.setRequired(false);
+		rebuildParameter.setType(ParamType.BOOLEAN);
+		parameters.put(REBUILD_PARAMETER_KEY, rebuildParameter);
+
+		return parameters;
+	}
+
+}
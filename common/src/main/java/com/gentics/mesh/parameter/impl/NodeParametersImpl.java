@@ -6,6 +6,8 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import org.raml.model.ParamType;
 import org.raml.model.parameter.QueryParameter;
@@ -17,6 +19,13 @@ import com.gentics.mesh.parameter.NodeParameters;
 
 public class NodeParametersImpl extends AbstractParameters implements NodeParameters {
 
+	/**
+	 * Parameter value from which {@link #parsedFields} were parsed.
+	 */
+	private String parsedFieldsValue;
+
+	private Set<String> parsedFields;
+
 	public NodeParametersImpl(ActionContext ac) {
 		super(ac);
 	}
@@ -36,6 +45,17 @@ public class NodeParametersImpl extends AbstractParameters implements NodeParame
 		}
 	}
 
+	@Override
+	public Set<String> getFieldSet() {
+		// The fields are checked for every schema field of every node and thus the parameter is only parsed again if it has been changed
+		String value = getParameter(FIELDS_QUERY_PARAM_KEY);
+		if (parsedFields == null || !Objects.equals(value, parsedFieldsValue)) {
+			parsedFields = NodeParameters.parseFields(value);
+			parsedFieldsValue = value;
+		}
+		return parsedFields;
+	}
+
 	@Override
 	public String getName() {
 		return "Node parameters";
@@ -63,6 +83,15 @@ public class NodeParametersImpl extends AbstractParameters implements NodeParame
 		resolveLinksParameter.setType(ParamType.STRING);
 		parameters.put(RESOLVE_LINKS_QUERY_PARAM_KEY, resolveLinksParameter);
 
+		// fields
+		QueryParameter fieldsParameter = new QueryParameter();
+		fieldsParameter.setDescription(
+				"Comma-separated list of response sections and fields which should be included in the node response. Possible sections are _childrenInfo_, _breadcrumb_, _path_, _languagePaths_, _tags_, _rolePerms_, _project_ and _fields_. Individual schema fields can be selected using the _fields._ prefix. All sections and fields will be included if omitted.");
+		fieldsParameter.setExample("fields.title,fields.teaser,tags");
+		fieldsParameter.setRequired(false);
+		fieldsParameter.setType(ParamType.STRING);
+		parameters.put(FIELDS_QUERY_PARAM_KEY, fieldsParameter);
+
 		return parameters;
 	}
 
@@ -100,6 +100,24 @@ public class PagingParametersImpl extends AbstractParameters implements PagingPa
 		perPageParameter.setRequired(false);
 		perPageParameter.setType(ParamType.NUMBER);
 		parameters.put(PER_PAGE_PARAMETER_KEY, perPageParameter);
+
+		// after
+		QueryParameter afterParameter = new QueryParameter();
+		afterParameter.setDescription(
+				"Cursor of the last element of the previous page. The cursor is returned within the paging information of a list response. The page parameter will be ignored if a cursor is specified.");
+		afterParameter.setExample("IzE3OjQy");
+		afterParameter.setRequired(false);
+		afterParameter.setType(ParamType.STRING);
+		parameters.put(AFTER_PARAMETER_KEY, afterParameter);
+
+		// totalCount
+		QueryParameter totalCountParameter = new QueryParameter();
+		totalCountParameter.setDescription(
+				"Flag which controls whether the total count of elements and pages should be determined. Counting requires all elements to be loaded. By default the count is only determined if no cursor is specified.");
+		totalCountParameter.setExample("false");
+		totalCountParameter.setRequired(false);
+		totalCountParameter.setType(ParamType.BOOLEAN);
+		parameters.put(TOTAL_COUNT_PARAMETER_KEY, totalCountParameter);
 		return parameters;
 	}
 
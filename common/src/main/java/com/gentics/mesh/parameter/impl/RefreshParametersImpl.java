@@ -0,0 +1,59 @@
+package com.gentics.mesh.parameter.impl;
+
+import static com.gentics.mesh.core.rest.error.Errors.error;
+import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.raml.model.ParamType;
+import org.raml.model.parameter.QueryParameter;
+
+import com.gentics.mesh.handler.ActionContext;
+import com.gentics.mesh.parameter.AbstractParameters;
+import com.gentics.mesh.parameter.RefreshParameters;
+
+/**
+ * @see RefreshParameters
+ */
+public class RefreshParametersImpl extends AbstractParameters implements RefreshParameters {
+
+	public RefreshParametersImpl(ActionContext ac) {
+		super(ac);
+	}
+
+	public RefreshParametersImpl() {
+	}
+
+	@Override
+	public void validate() {
+		String refresh = getRefresh();
+		if (refresh != null && !WAIT_FOR.equals(refresh) && !"false".equals(refresh)) {
+			throw error(BAD_REQUEST, "error_refresh_parameter_invalid", refresh);
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "Refresh parameters";
+	}
+
+	@Override
+	public Map<? extends String, ? extends QueryParameter> getRAMLParameters() {
+		Map<String, QueryParameter> parameters = new HashMap<>();
+
+		// refresh
+		QueryParameter refreshParameter = new QueryParameter();
+		refreshParameter.setDefaultValue("false");
+		refreshParameter.setDescription(
+				"Specify whether the request should wait until the changes are visible to search requests. Use the value \"" + WAIT_FOR
+						+ "\" to wait for the next index refresh.");
+		refreshParameter.setExample(WAIT_FOR);
+		refreshParameter.setRequired(false);
+		refreshParameter.setType(ParamType.STRING);
+		parameters.put(REFRESH_PARAMETER_KEY, refreshParameter);
+
+		return parameters;
+	}
+
+}
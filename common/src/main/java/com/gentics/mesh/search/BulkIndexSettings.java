@@ -0,0 +1,99 @@
+package com.gentics.mesh.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Helper for indices which are filled in bulk. Refreshing and replicas are disabled while an index is being filled. Afterwards the settings of the index
+ * which gets replaced by the filled index are restored.
+ */
+public final class BulkIndexSettings {
+
+	public static final String REFRESH_INTERVAL_KEY = "refresh_interval";
+
+	public static final String NUMBER_OF_REPLICAS_KEY = "number_of_replicas";
+
+	/**
+	 * Refresh interval which disables the refreshing of the index.
+	 */
+	private static final String DISABLED_REFRESH_INTERVAL = "-1";
+
+	/**
+	 * Keys of the settings which are changed while the index is being filled.
+	 */
+	private static final List<String> BULK_SETTING_KEYS = Arrays.asList(REFRESH_INTERVAL_KEY, NUMBER_OF_REPLICAS_KEY);
+
+	private BulkIndexSettings() {
+	}
+
+	/**
+	 * Create the settings for an index which will be filled in bulk.
+	 *
+	 * @param indexSettings
+	 *            Configured settings of the index or null
+	 * @return Copy of the configured settings in which refreshing and replicas are disabled
+	 */
+	public static JsonObject forBulk(JsonObject indexSettings) {
+		JsonObject settings = indexSettings == null ? new JsonObject() : indexSettings.copy();
+		// The settings may be specified with or without the index prefix
+		JsonObject target = settings.getJsonObject("index", settings);
+		target.put(REFRESH_INTERVAL_KEY, DISABLED_REFRESH_INTERVAL);
+		target.put(NUMBER_OF_REPLICAS_KEY, 0);
+		return settings;
+	}
+
+	/**
+	 * Load the settings which need to be restored once the index has been filled. The values of the replaced index are used. Values which are not set for
+	 * the replaced index or which are still disabled by a bulk operation fall back to the configured settings. Settings without a value will be reset to
+	 * their default.
+	 *
+	 * @param searchProvider
+	 * @param replacedIndexName
+	 *            Name of the index or alias whose documents are replaced by the filled index. The index does not need to exist.
+	 * @param indexSettings
+	 *            Configured settings of the index or null
+	 * @return
+	 */
+	public static Single<JsonObject> loadRestoreSettings(SearchProvider searchProvider, String replacedIndexName, JsonObject indexSettings) {
+		return searchProvider.loadIndexSettings(replacedIndexName).map(current -> {
+			JsonObject configured = indexSettings == null ? new JsonObject() : indexSettings.getJsonObject("index", indexSettings);
+			JsonObject settings = new JsonObject();
+			for (String key : BULK_SETTING_KEYS) {
+				Object value = current.getValue(key);
+				if (value == null || (REFRESH_INTERVAL_KEY.equals(key) && DISABLED_REFRESH_INTERVAL.equals(String.valueOf(value)))) {
+					value = configured.getValue(key);
+				}
+				if (value == null) {
+					settings.putNull(key);
+				} else {
+					settings.put(key, value);
+				}
+			}
+			return settings;
+		});
+	}
+
+	/**
+	 * Restore the settings of the filled index and refresh it so that the documents become visible. Indices which no longer exist will be ignored.
+	 *
+	 * @param searchProvider
+	 * @param indexName
+	 *            Name of the index or alias
+	 * @param restoreSettings
+	 *            Settings which were loaded via {@link #loadRestoreSettings(SearchProvider, String, JsonObject)}
+	 * @return
+	 */
+	public static Completable restore(SearchProvider searchProvider, String indexName, JsonObject restoreSettings) {
+		return searchProvider.loadIndexSettings(indexName).flatMapCompletable(current -> {
+			if (current.isEmpty()) {
+				return Completable.complete();
+			}
+			return searchProvider.updateIndexSettings(indexName, restoreSettings).andThen(searchProvider.refreshIndex(indexName));
+		});
+	}
+
+}
@@ -95,6 +95,21 @@ public class DevNullSearchProvider implements SearchProvider {
 		return Completable.complete();
 	}
 
+	@Override
+	public Completable updateIndexSettings(String indexName, JsonObject settings) {
+		return Completable.complete();
+	}
+
+	@Override
+	public Single<JsonObject> loadIndexSettings(String indexName) {
+		return Single.just(new JsonObject());
+	}
+
+	@Override
+	public Completable swapIndexAlias(String alias, String indexName) {
+		return Completable.complete();
+	}
+
 	@Override
 	public void reset() {
 	}
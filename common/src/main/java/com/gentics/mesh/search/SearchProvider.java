@@ -162,6 +162,38 @@ public interface SearchProvider {
 	 */
 	Completable deleteIndex(boolean failOnMissingIndex, String... indexNames);
 
+	/**
+	 * Update the dynamic settings of the given index.
+	 * 
+	 * @param indexName
+	 *            Name of the index
+	 * @param settings
+	 *            Settings which should be updated. Settings with a null value will be reset to their default.
+	 * @return
+	 */
+	Completable updateIndexSettings(String indexName, JsonObject settings);
+
+	/**
+	 * Load the dynamic settings of the given index. Aliases will be resolved to the index which they reference.
+	 * 
+	 * @param indexName
+	 *            Name of the index or alias
+	 * @return Single which yields the settings or an empty object if the index does not exist
+	 */
+	Single<JsonObject> loadIndexSettings(String indexName);
+
+	/**
+	 * Atomically point the alias to the given index. The indices which were previously referenced by the alias will be deleted. An index which uses the name
+	 * of the alias will be replaced by the alias.
+	 * 
+	 * @param alias
+	 *            Name of the alias
+	 * @param indexName
+	 *            Name of the index which should be referenced by the alias
+	 * @return
+	 */
+	Completable swapIndexAlias(String alias, String indexName);
+
 	/**
 	 * Returns the search provider vendor name.
 	 * 
@@ -0,0 +1,38 @@
+package com.gentics.mesh.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generator for monotonically increasing change sequence numbers. The sequence is derived from the current time in microseconds so that sequence numbers
+ * of different instances are roughly comparable. Sequence numbers which are generated by this instance will never decrease, even if the clock is set back.
+ */
+public final class ChangeSequence {
+
+	private static final AtomicLong LAST = new AtomicLong();
+
+	private ChangeSequence() {
+	}
+
+	/**
+	 * Return the next sequence number.
+	 * 
+	 * @return
+	 */
+	public static long next() {
+		long now = System.currentTimeMillis() * 1000;
+		return LAST.updateAndGet(last -> Math.max(last + 1, now));
+	}
+
+	/**
+	 * Return the sequence number which would be assigned at the given time. The value can be used as a high-water mark for changes which have been made
+	 * before that time.
+	 * 
+	 * @param timestamp
+	 *            Timestamp in milliseconds
+	 * @return
+	 */
+	public static long at(long timestamp) {
+		return timestamp * 1000;
+	}
+
+}
@@ -0,0 +1,153 @@
+package com.gentics.mesh.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.gentics.mesh.core.data.User;
+import com.gentics.mesh.core.data.relationship.GraphPermission;
+
+/**
+ * Utility which can be used to filter elements by permissions using the batch permission check of the user.
+ */
+public final class PermissionUtil {
+
+	/**
+	 * Amount of elements which will be checked at once.
+	 */
+	public static final int CHUNK_SIZE = 100;
+
+	private PermissionUtil() {
+	}
+
+	/**
+	 * Filter the given stream and only retain the elements for which the user has at least one of the given permissions. The stream will be processed lazily
+	 * in chunks. The permissions of each chunk will be checked at once. The order of the elements will be kept.
+	 * 
+	 * @param stream
+	 *            Stream of elements
+	 * @param idFunction
+	 *            Function which returns the graph element id of the element
+	 * @param user
+	 *            User to check permissions against
+	 * @param permissions
+	 *            Permissions to check. The element will be retained if any of the permissions is granted
+	 * @return Filtered stream
+	 */
+	public static <T> Stream<T> filter(Stream<T> stream, Function<T, Object> idFunction, User user, GraphPermission... permissions) {
+		Iterator<T> it = new PermissionFilteringIterator<>(stream.iterator(), idFunction, user, permissions);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it, Spliterator.ORDERED), false).onClose(stream::close);
+	}
+
+	/**
+	 * Filter the given list and only retain the elements for which the user has at least one of the given permissions.
+	 * 
+	 * @param elements
+	 * @param idFunction
+	 *            Function which returns the graph element id of the element
+	 * @param user
+	 * @param permissions
+	 *            Permissions to check. The element will be retained if any of the permissions is granted
+	 * @return New list which contains the filtered elements in the same order
+	 */
+	public static <T> List<T> filter(List<T> elements, Function<T, Object> idFunction, User user, GraphPermission... permissions) {
+		return filter(elements.stream(), idFunction, user, permissions).collect(Collectors.toList());
+	}
+
+	/**
+	 * Check the permissions for the given ids.
+	 * 
+	 * @param ids
+	 * @param user
+	 * @param permissions
+	 * @return Ids for which at least one of the permissions is granted
+	 */
+	private static Set<Object> check(List<Object> ids, User user, GraphPermission... permissions) {
+		Set<Object> granted = new HashSet<>();
+		for (GraphPermission permission : permissions) {
+			List<Object> remaining = ids.stream().filter(id -> !granted.contains(id)).collect(Collectors.toList());
+			if (remaining.isEmpty()) {
+				break;
+			}
+			granted.addAll(user.hasPermissions(remaining, permission));
+		}
+		return granted;
+	}
+
+	/**
+	 * Iterator which reads chunks of elements from the wrapped iterator and only returns the elements which pass the permission check.
+	 *
+	 * @param <T>
+	 */
+	private static class PermissionFilteringIterator<T> implements Iterator<T> {
+
+		private final Iterator<T> source;
+
+		private final Function<T, Object> idFunction;
+
+		private final User user;
+
+		private final GraphPermission[] permissions;
+
+		private Iterator<T> currentChunk = null;
+
+		public PermissionFilteringIterator(Iterator<T> source, Function<T, Object> idFunction, User user, GraphPermission... permissions) {
+			this.source = source;
+			this.idFunction = idFunction;
+			this.user = user;
+			this.permissions = permissions;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (currentChunk == null || !currentChunk.hasNext()) {
+				if (!source.hasNext()) {
+					return false;
+				}
+				currentChunk = nextChunk();
+			}
+			return true;
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return currentChunk.next();
+		}
+
+		/**
+		 * Read the next chunk of elements from the source and check the permissions of all elements at once.
+		 * 
+		 * @return
+		 */
+		private Iterator<T> nextChunk() {
+			List<T> elements = new ArrayList<>(CHUNK_SIZE);
+			List<Object> ids = new ArrayList<>(CHUNK_SIZE);
+			while (source.hasNext() && elements.size() < CHUNK_SIZE) {
+				T element = source.next();
+				elements.add(element);
+				ids.add(idFunction.apply(element));
+			}
+			Set<Object> granted = check(ids, user, permissions);
+			List<T> visible = new ArrayList<>(elements.size());
+			for (int i = 0; i < elements.size(); i++) {
+				if (granted.contains(ids.get(i))) {
+					visible.add(elements.get(i));
+				}
+			}
+			return visible.iterator();
+		}
+	}
+
+}
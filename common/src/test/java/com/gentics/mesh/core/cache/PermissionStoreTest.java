@@ -0,0 +1,118 @@
+package com.gentics.mesh.core.cache;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.UPDATE_PERM;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.cache.PermissionStore.PendingInvalidation;
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.syncleus.ferma.tx.Tx;
+
+public class PermissionStoreTest {
+
+	@Test
+	public void testSharedRoleSet() {
+		long version = PermissionStore.version();
+		RoleSet roleSetA = PermissionStore.storeRoleSet("#1:1", Arrays.asList("#2:1", "#2:2"), Arrays.asList("role1", "role2"), version);
+		RoleSet roleSetB = PermissionStore.storeRoleSet("#1:2", Arrays.asList("#2:2", "#2:1"), Arrays.asList("role2", "role1"), version);
+		RoleSet roleSetC = PermissionStore.storeRoleSet("#1:3", Arrays.asList("#2:1"), Arrays.asList("role1"), version);
+		assertSame("Users with the same roles should share the role set", roleSetA, roleSetB);
+		assertNotEquals(roleSetA.getId(), roleSetC.getId());
+		assertSame(roleSetA, PermissionStore.getRoleSet("#1:1"));
+	}
+
+	@Test
+	public void testGrantAndDeny() {
+		long version = PermissionStore.version();
+		RoleSet roleSet = PermissionStore.storeRoleSet("#1:1", Arrays.asList("#2:1"), Arrays.asList("role1"), version);
+		RoleSet otherRoleSet = PermissionStore.storeRoleSet("#1:4", Arrays.asList("#2:4"), Arrays.asList("role4"), version);
+		assertNull(PermissionStore.hasPermission(roleSet, READ_PERM, "#3:1"));
+
+		PermissionStore.store(roleSet, READ_PERM, "#3:1", true, version);
+		PermissionStore.store(roleSet, UPDATE_PERM, "#3:1", false, version);
+		PermissionStore.store(otherRoleSet, READ_PERM, "#3:1", false, version);
+		assertEquals(Boolean.TRUE, PermissionStore.hasPermission(roleSet, READ_PERM, "#3:1"));
+		assertEquals(Boolean.FALSE, PermissionStore.hasPermission(roleSet, UPDATE_PERM, "#3:1"));
+		assertEquals(Boolean.FALSE, PermissionStore.hasPermission(otherRoleSet, READ_PERM, "#3:1"));
+		assertNull(PermissionStore.hasPermission(otherRoleSet, UPDATE_PERM, "#3:1"));
+	}
+
+	@Test
+	public void testInvalidate() {
+		long version = PermissionStore.version();
+		RoleSet roleSet = PermissionStore.storeRoleSet("#1:1", Arrays.asList("#2:1"), Arrays.asList("role1"), version);
+		PermissionStore.store(roleSet, READ_PERM, "#3:2", true, version);
+		PermissionStore.invalidate(false);
+		assertNull(PermissionStore.hasPermission(roleSet, READ_PERM, "#3:2"));
+		assertNull(PermissionStore.getRoleSet("#1:1"));
+
+		// Results which were loaded before the invalidation must not be stored
+		PermissionStore.store(roleSet, READ_PERM, "#3:2", true, version);
+		assertNull(PermissionStore.hasPermission(roleSet, READ_PERM, "#3:2"));
+	}
+
+	@Test
+	public void testTargetedInvalidation() {
+		long version = PermissionStore.version();
+		RoleSet roleSet = PermissionStore.storeRoleSet("#1:5", Arrays.asList("#2:5"), Arrays.asList("role5"), version);
+		RoleSet otherRoleSet = PermissionStore.storeRoleSet("#1:6", Arrays.asList("#2:6"), Arrays.asList("role6"), version);
+		PermissionStore.store(roleSet, READ_PERM, "#3:3", true, version);
+		PermissionStore.store(roleSet, READ_PERM, "#3:4", true, version);
+
+		// Invalidate a single element
+		PermissionStore.invalidate(Collections.emptyList(), Arrays.asList("#3:3"), false);
+		assertNull(PermissionStore.hasPermission(roleSet, READ_PERM, "#3:3"));
+		assertEquals(Boolean.TRUE, PermissionStore.hasPermission(roleSet, READ_PERM, "#3:4"));
+		assertSame(roleSet, PermissionStore.getRoleSet("#1:5"));
+
+		// Invalidate a role
+		PermissionStore.invalidate(Arrays.asList("role5"), Collections.emptyList(), false);
+		assertFalse(roleSet.isValid());
+		assertNull(PermissionStore.getRoleSet("#1:5"));
+		assertSame(otherRoleSet, PermissionStore.getRoleSet("#1:6"));
+		RoleSet newRoleSet = PermissionStore.storeRoleSet("#1:5", Arrays.asList("#2:5"), Arrays.asList("role5"), PermissionStore.version());
+		assertNotEquals(roleSet.getId(), newRoleSet.getId());
+		assertNull(PermissionStore.hasPermission(newRoleSet, READ_PERM, "#3:4"));
+	}
+
+	@Test
+	public void testInvalidationOnCommit() {
+		long version = PermissionStore.version();
+		RoleSet roleSet = PermissionStore.storeRoleSet("#1:7", Arrays.asList("#2:7"), Arrays.asList("role7"), version);
+		PermissionStore.store(roleSet, READ_PERM, "#3:5", true, version);
+		PermissionStore.store(roleSet, READ_PERM, "#3:6", true, version);
+
+		PendingInvalidation pending = new PendingInvalidation();
+		CachingTx tx = mock(CachingTx.class);
+		when(tx.getCommitAction(eq(PendingInvalidation.class), any())).thenReturn(pending);
+		Tx.setActive(tx);
+		try {
+			PermissionStore.invalidate(Collections.emptyList(), Arrays.asList("#3:5"));
+			PermissionStore.invalidate(Collections.emptyList(), Arrays.asList("#3:6"));
+		} finally {
+			Tx.setActive(null);
+		}
+		// Nothing must be invalidated before the transaction has been committed
+		assertEquals(version, PermissionStore.version());
+		assertEquals(Boolean.TRUE, PermissionStore.hasPermission(roleSet, READ_PERM, "#3:5"));
+
+		pending.apply(false);
+		assertEquals("All elements of the transaction should be invalidated at once", version + 1, PermissionStore.version());
+		assertNull(PermissionStore.hasPermission(roleSet, READ_PERM, "#3:5"));
+		assertNull(PermissionStore.hasPermission(roleSet, READ_PERM, "#3:6"));
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.gentics.mesh.core.cache;
+
+import static com.gentics.mesh.core.data.ContainerType.DRAFT;
+import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.cache.WebrootPathCache.PendingInvalidation;
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.syncleus.ferma.tx.Tx;
+
+public class WebrootPathCacheTest {
+
+	private static List<CachedPathSegment> segments(String... nodeUuids) {
+		CachedPathSegment[] segments = new CachedPathSegment[nodeUuids.length];
+		for (int i = 0; i < nodeUuids.length; i++) {
+			segments[i] = new CachedPathSegment(nodeUuids[i], "#1:" + i, "en", "slug", false);
+		}
+		return Arrays.asList(segments);
+	}
+
+	@Test
+	public void testPutAndGet() {
+		long stamp = WebrootPathCache.version();
+		WebrootPathCache.put("project", "release", DRAFT, "/a/b", segments("a", "b"), stamp);
+		List<CachedPathSegment> cached = WebrootPathCache.get("project", "release", DRAFT, "/a/b");
+		assertNotNull(cached);
+		assertEquals("b", cached.get(1).getNodeUuid());
+		assertNull("The published path was not cached", WebrootPathCache.get("project", "release", PUBLISHED, "/a/b"));
+	}
+
+	@Test
+	public void testOutdatedStamp() {
+		long stamp = WebrootPathCache.version();
+		WebrootPathCache.clear();
+		WebrootPathCache.put("project", "release", DRAFT, "/outdated", segments("x"), stamp);
+		assertNull("Paths which were resolved during an invalidation must not be cached", WebrootPathCache.get("project", "release", DRAFT,
+			"/outdated"));
+	}
+
+	@Test
+	public void testInvalidateNode() {
+		long stamp = WebrootPathCache.version();
+		WebrootPathCache.put("project", "release", DRAFT, "/c/d", segments("c", "d"), stamp);
+		WebrootPathCache.put("project", "release", DRAFT, "/c/e", segments("c", "e"), stamp);
+		WebrootPathCache.put("project", "release", DRAFT, "/f", segments("f"), stamp);
+
+		// Invalidate the parent node of both paths
+		WebrootPathCache.invalidate(Collections.singletonList("c"), Collections.emptyList(), false);
+		assertNull(WebrootPathCache.get("project", "release", DRAFT, "/c/d"));
+		assertNull(WebrootPathCache.get("project", "release", DRAFT, "/c/e"));
+		assertNotNull(WebrootPathCache.get("project", "release", DRAFT, "/f"));
+	}
+
+	@Test
+	public void testInvalidatePath() {
+		long stamp = WebrootPathCache.version();
+		WebrootPathCache.put("project", "release", DRAFT, "/g", segments("g"), stamp);
+		WebrootPathCache.invalidate(Collections.emptyList(), Collections.singletonList("/g"), false);
+		assertNull(WebrootPathCache.get("project", "release", DRAFT, "/g"));
+	}
+
+	@Test
+	public void testUnrelatedInvalidation() {
+		long stamp = WebrootPathCache.version();
+		WebrootPathCache.invalidate(Collections.singletonList("other"), Collections.singletonList("/other"), false);
+		WebrootPathCache.put("project", "release", DRAFT, "/h/i", segments("h", "i"), stamp);
+		assertNotNull("Invalidations of other nodes must not prevent caching", WebrootPathCache.get("project", "release", DRAFT, "/h/i"));
+
+		WebrootPathCache.invalidate(Collections.singletonList("i"), Collections.emptyList(), false);
+		WebrootPathCache.put("project", "release", DRAFT, "/h/i", segments("h", "i"), stamp);
+		assertNull("Paths which contain an invalidated node must not be cached", WebrootPathCache.get("project", "release", DRAFT, "/h/i"));
+	}
+
+	@Test
+	public void testInvalidationOnCommit() {
+		long stamp = WebrootPathCache.version();
+		WebrootPathCache.put("project", "release", DRAFT, "/j/k", segments("j", "k"), stamp);
+		WebrootPathCache.put("project", "release", DRAFT, "/l", segments("l"), stamp);
+
+		PendingInvalidation pending = new PendingInvalidation();
+		CachingTx tx = mock(CachingTx.class);
+		when(tx.getCommitAction(eq(PendingInvalidation.class), any())).thenReturn(pending);
+		Tx.setActive(tx);
+		try {
+			WebrootPathCache.invalidateNode("k");
+			WebrootPathCache.invalidateNode("l");
+		} finally {
+			Tx.setActive(null);
+		}
+		// Nothing must be invalidated before the transaction has been committed
+		assertEquals(stamp, WebrootPathCache.version());
+		assertNotNull(WebrootPathCache.get("project", "release", DRAFT, "/j/k"));
+
+		pending.apply(false);
+		assertEquals("All nodes of the transaction should be invalidated at once", stamp + 1, WebrootPathCache.version());
+		assertNull(WebrootPathCache.get("project", "release", DRAFT, "/j/k"));
+		assertNull(WebrootPathCache.get("project", "release", DRAFT, "/l"));
+	}
+
+}
@@ -0,0 +1,100 @@
+package com.gentics.mesh.graphdb.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+import com.tinkerpop.blueprints.Vertex;
+
+public class TxElementCacheTest {
+
+	@Test
+	public void testHitAndMiss() {
+		TxElementCache cache = new TxElementCache();
+		Vertex vertex = mock(Vertex.class);
+		assertNull(cache.get("#1:1"));
+		cache.put("#1:1", vertex);
+		assertSame(vertex, cache.get("#1:1"));
+		assertSame(vertex, cache.get("#1:1"));
+		assertEquals(2, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		cache.evict("#1:1");
+		assertNull(cache.get("#1:1"));
+		assertEquals(2, cache.getMisses());
+	}
+
+	@Test
+	public void testEvictLeastRecentlyUsed() {
+		TxElementCache cache = new TxElementCache(2);
+		Vertex first = mock(Vertex.class);
+		Vertex second = mock(Vertex.class);
+		cache.put("#1:1", first);
+		cache.put("#1:2", second);
+		// Access the first vertex so that the second one is the least recently used
+		assertSame(first, cache.get("#1:1"));
+		cache.put("#1:3", mock(Vertex.class));
+		assertSame(first, cache.get("#1:1"));
+		assertNull("The least recently used vertex should have been evicted", cache.get("#1:2"));
+		assertNotNull(cache.get("#1:3"));
+	}
+
+	@Test
+	public void testClear() {
+		TxElementCache cache = new TxElementCache();
+		cache.put("#1:1", mock(Vertex.class));
+		cache.get("#1:1");
+		cache.clear();
+		assertEquals(0, cache.getHits());
+		assertEquals(0, cache.getMisses());
+		assertNull(cache.get("#1:1"));
+	}
+
+	@Test
+	public void testRequestStats() {
+		TxElementCache.RequestStats stats = TxElementCache.startRequest();
+		try {
+			// Two transactions of the same request
+			for (int i = 0; i < 2; i++) {
+				TxElementCache cache = new TxElementCache();
+				cache.get("#1:1");
+				cache.put("#1:1", mock(Vertex.class));
+				cache.get("#1:1");
+				cache.clear();
+			}
+		} finally {
+			assertSame(stats, TxElementCache.stopRequest());
+		}
+		assertEquals(2, stats.getHits());
+		assertEquals(2, stats.getMisses());
+		assertNull("The recording should have been stopped", TxElementCache.stopRequest());
+	}
+
+	@Test
+	public void testCreated() {
+		TxElementCache cache = new TxElementCache();
+		cache.markCreated("#1:-2");
+		assertTrue(cache.isCreated("#1:-2"));
+		assertFalse(cache.isCreated("#1:1"));
+		cache.clear();
+		assertFalse("The created elements should have been cleared", cache.isCreated("#1:-2"));
+	}
+
+	@Test
+	public void testUpdated() {
+		TxElementCache cache = new TxElementCache();
+		assertTrue(cache.markUpdated("#1:1", "stamp"));
+		assertFalse("The property was already marked", cache.markUpdated("#1:1", "stamp"));
+		assertTrue(cache.markUpdated("#1:1", "otherStamp"));
+		assertTrue(cache.markUpdated("#1:2", "stamp"));
+		cache.clear();
+		assertTrue("The updated properties should have been cleared", cache.markUpdated("#1:1", "stamp"));
+	}
+
+}
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertTrue;
 import org.junit.Test;
 
 import com.gentics.mesh.parameter.LinkType;
+import com.gentics.mesh.parameter.NodeParameters;
 import com.gentics.mesh.parameter.impl.NodeParametersImpl;
 
 public class NodeParametersTest {
@@ -39,4 +40,28 @@ public class NodeParametersTest {
 		assertEquals("expandAll=true&expand=ä,b,c&resolveLinks=full", params.getQueryParameters());
 	}
 
+	@Test
+	public void testFieldsParam() {
+		NodeParametersImpl params = new NodeParametersImpl();
+		assertEquals("The array should be empty", 0, params.getFields().length);
+		assertTrue("All sections should be requested by default", params.isSectionRequested(NodeParameters.BREADCRUMB_SECTION));
+		assertTrue("All fields should be requested by default", params.isFieldRequested("title"));
+
+		assertEquals("The method did not return a fluent API", params, params.setFields("tags", "fields.title"));
+		assertThat(params.getFields()).containsExactly("tags", "fields.title");
+		assertTrue(params.isSectionRequested(NodeParameters.TAGS_SECTION));
+		assertFalse(params.isSectionRequested(NodeParameters.BREADCRUMB_SECTION));
+		assertTrue(params.isFieldRequested("title"));
+		assertFalse(params.isFieldRequested("teaser"));
+
+		params.setFields("fields");
+		assertTrue("All fields should be requested", params.isFieldRequested("teaser"));
+		assertFalse(params.isSectionRequested(NodeParameters.TAGS_SECTION));
+
+		params.setParameter(NodeParameters.FIELDS_QUERY_PARAM_KEY, "tags, breadcrumb ,,fields.title");
+		assertThat(params.getFields()).containsExactly("tags", "breadcrumb", "fields.title");
+		assertTrue("The values should be trimmed", params.isSectionRequested(NodeParameters.BREADCRUMB_SECTION));
+		assertTrue(params.isFieldRequested("title"));
+	}
+
 }
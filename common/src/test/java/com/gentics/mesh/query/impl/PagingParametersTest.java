@@ -1,7 +1,9 @@
 package com.gentics.mesh.query.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -20,4 +22,18 @@ public class PagingParametersTest {
 		assertEquals("page=1&perPage=25&sortBy=uuid", params.getQueryParameters());
 
 	}
+
+	@Test
+	public void testCursorParameter() throws Exception {
+		PagingParametersImpl params = new PagingParametersImpl();
+		assertNull(params.getAfter());
+		assertTrue("The total count should be determined by default", params.isTotalCount());
+
+		params.setAfter("IzE3OjQy");
+		assertEquals("IzE3OjQy", params.getAfter());
+		assertFalse("The total count should not be determined by default when using a cursor", params.isTotalCount());
+
+		params.setTotalCount(true);
+		assertTrue(params.isTotalCount());
+	}
 }
@@ -0,0 +1,58 @@
+package com.gentics.mesh.util;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.data.User;
+
+public class PermissionUtilTest {
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFilterInChunks() {
+		User user = mock(User.class);
+		// Only even ids are granted
+		when(user.hasPermissions(any(Collection.class), eq(READ_PERM))).then(invocation -> {
+			Collection<Object> ids = (Collection<Object>) invocation.getArguments()[0];
+			return ids.stream().filter(id -> ((Integer) id) % 2 == 0).collect(Collectors.toSet());
+		});
+
+		List<Integer> result = PermissionUtil.filter(IntStream.range(0, 250).boxed(), id -> id, user, READ_PERM).collect(Collectors.toList());
+		assertEquals(125, result.size());
+		assertEquals(Integer.valueOf(0), result.get(0));
+		assertEquals(Integer.valueOf(248), result.get(124));
+		// 250 elements result in three chunks
+		verify(user, times(3)).hasPermissions(any(Collection.class), eq(READ_PERM));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFilterAnyPermission() {
+		User user = mock(User.class);
+		Set<Object> readable = new HashSet<>(Arrays.asList(1));
+		Set<Object> published = new HashSet<>(Arrays.asList(2));
+		when(user.hasPermissions(any(Collection.class), eq(READ_PERM))).thenReturn(readable);
+		when(user.hasPermissions(any(Collection.class), eq(READ_PUBLISHED_PERM))).thenReturn(published);
+
+		List<Integer> result = PermissionUtil.filter(Arrays.asList(3, 2, 1), id -> id, user, READ_PERM, READ_PUBLISHED_PERM);
+		assertEquals(Arrays.asList(2, 1), result);
+	}
+
+}
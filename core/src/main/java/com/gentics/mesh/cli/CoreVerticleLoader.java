@@ -13,6 +13,7 @@ import com.gentics.mesh.core.verticle.job.JobWorkerVerticle;
 import com.gentics.mesh.etc.config.MeshOptions;
 import com.gentics.mesh.rest.RestAPIVerticle;
 import com.gentics.mesh.search.verticle.ElasticsearchSyncVerticle;
+import com.gentics.mesh.search.verticle.SearchQueueIndexerVerticle;
 
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.json.JsonObject;
@@ -41,6 +42,9 @@ public class CoreVerticleLoader {
 	@Inject
 	public ElasticsearchSyncVerticle indexSyncVerticle;
 
+	@Inject
+	public SearchQueueIndexerVerticle searchQueueIndexerVerticle;
+
 	@Inject
 	public CoreVerticleLoader() {
 
@@ -101,6 +105,7 @@ public class CoreVerticleLoader {
 		List<AbstractVerticle> verticles = new ArrayList<>();
 		verticles.add(jobWorkerVerticle);
 		verticles.add(indexSyncVerticle);
+		verticles.add(searchQueueIndexerVerticle);
 		return verticles;
 	}
 
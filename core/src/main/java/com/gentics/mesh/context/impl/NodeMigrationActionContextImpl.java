@@ -1,6 +1,7 @@
 package com.gentics.mesh.context.impl;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -250,6 +251,11 @@ public class NodeMigrationActionContextImpl extends AbstractInternalActionContex
 				return true;
 			}
 
+			@Override
+			public Set<Object> hasPermissions(Collection<Object> elementIds, GraphPermission permission) {
+				return new HashSet<>(elementIds);
+			}
+
 			@Override
 			public void failOnNoReadPermission(NodeGraphFieldContainer container, String releaseUuid) {
 
@@ -1,6 +1,7 @@
 package com.gentics.mesh.core.data.container.impl;
 
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.cache.WebrootPathCache;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Release;
@@ -52,6 +53,7 @@ import org.apache.commons.collections.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -90,9 +92,9 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 	public static void init(Database database) {
 		database.addVertexType(NodeGraphFieldContainerImpl.class, MeshVertexImpl.class);
 		// Webroot index:
-		database.addVertexIndex(WEBROOT_INDEX_NAME, NodeGraphFieldContainerImpl.class, true, WEBROOT_PROPERTY_KEY, FieldType.STRING);
+		database.addVertexIndex(WEBROOT_INDEX_NAME, NodeGraphFieldContainerImpl.class, true, WEBROOT_PROPERTY_KEY, FieldType.STRING_SET);
 		database.addVertexIndex(PUBLISHED_WEBROOT_INDEX_NAME, NodeGraphFieldContainerImpl.class, true, PUBLISHED_WEBROOT_PROPERTY_KEY,
-			FieldType.STRING);
+			FieldType.STRING_SET);
 		// Webroot url field index:
 		database.addVertexIndex(WEBROOT_URLFIELD_INDEX_NAME, NodeGraphFieldContainerImpl.class, true, WEBROOT_URLFIELD_PROPERTY_KEY,
 			FieldType.STRING_SET);
@@ -263,6 +265,9 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 	 * @param indexName
 	 */
 	private void updateWebrootUrlFieldsInfo(String releaseUuid, Set<String> urlFieldValues, String propertyName, String indexName) {
+		// Keep the values of the other releases which share this container
+		Set<String> values = getInfoSet(propertyName);
+		values.removeIf(value -> value.startsWith(releaseUuid));
 		if (urlFieldValues != null && !urlFieldValues.isEmpty()) {
 			// Prefix each path with the releaseuuid in order to scope the paths by release
 			Set<String> prefixedUrlFieldValues = urlFieldValues.stream().map(e -> releaseUuid + e).collect(Collectors.toSet());
@@ -289,32 +294,83 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 						conflictingContainer.getLanguage().getLanguageTag());
 				}
 			}
-			setProperty(propertyName, prefixedUrlFieldValues);
-		} else {
-			setProperty(propertyName, null);
+			values.addAll(prefixedUrlFieldValues);
 		}
-
+		setInfoSet(propertyName, values);
 	}
 
 	@Override
 	public void updateWebrootPathInfo(String releaseUuid, String conflictI18n) {
 		Set<String> urlFieldValues = getUrlFieldValues();
+		// Paths which contain the node or which may now point to the node need to be resolved again
+		WebrootPathCache.invalidate(Collections.singletonList(getParentNode().getUuid()), urlFieldValues);
 		if (isDraft(releaseUuid)) {
 			updateWebrootPathInfo(releaseUuid, conflictI18n, ContainerType.DRAFT, WEBROOT_PROPERTY_KEY, WEBROOT_INDEX_NAME);
 			updateWebrootUrlFieldsInfo(releaseUuid, urlFieldValues, WEBROOT_URLFIELD_PROPERTY_KEY, WEBROOT_URLFIELD_INDEX_NAME);
 		} else {
-			setProperty(WEBROOT_PROPERTY_KEY, null);
-			setProperty(WEBROOT_URLFIELD_PROPERTY_KEY, null);
+			removeWebrootPathInfo(releaseUuid, ContainerType.DRAFT);
 		}
 		if (isPublished(releaseUuid)) {
 			updateWebrootPathInfo(releaseUuid, conflictI18n, ContainerType.PUBLISHED, PUBLISHED_WEBROOT_PROPERTY_KEY, PUBLISHED_WEBROOT_INDEX_NAME);
 			updateWebrootUrlFieldsInfo(releaseUuid, urlFieldValues, PUBLISHED_WEBROOT_URLFIELD_PROPERTY_KEY, PUBLISHED_WEBROOT_URLFIELD_INDEX_NAME);
 		} else {
-			setProperty(PUBLISHED_WEBROOT_PROPERTY_KEY, null);
-			setProperty(PUBLISHED_WEBROOT_URLFIELD_PROPERTY_KEY, null);
+			removeWebrootPathInfo(releaseUuid, ContainerType.PUBLISHED);
+		}
+	}
+
+	@Override
+	public void removeWebrootPathInfo(String releaseUuid, ContainerType type) {
+		String segmentProperty = type == ContainerType.PUBLISHED ? PUBLISHED_WEBROOT_PROPERTY_KEY : WEBROOT_PROPERTY_KEY;
+		String urlFieldProperty = type == ContainerType.PUBLISHED ? PUBLISHED_WEBROOT_URLFIELD_PROPERTY_KEY : WEBROOT_URLFIELD_PROPERTY_KEY;
+
+		Set<String> segmentInfo = getInfoSet(segmentProperty);
+		if (segmentInfo.removeIf(info -> isSegmentInfoOfRelease(info, releaseUuid))) {
+			setInfoSet(segmentProperty, segmentInfo);
+		}
+		Set<String> urlFieldInfo = getInfoSet(urlFieldProperty);
+		if (urlFieldInfo.removeIf(info -> info.startsWith(releaseUuid))) {
+			setInfoSet(urlFieldProperty, urlFieldInfo);
 		}
 	}
 
+	/**
+	 * Check whether the given webroot segment info [segmentValue-releaseUuid(-parentNodeUuid)] belongs to the release.
+	 * 
+	 * @param info
+	 * @param releaseUuid
+	 * @return
+	 */
+	private static boolean isSegmentInfoOfRelease(String info, String releaseUuid) {
+		return info.endsWith("-" + releaseUuid) || info.contains("-" + releaseUuid + "-");
+	}
+
+	/**
+	 * Return a modifiable copy of the set stored in the given webroot info property.
+	 * 
+	 * @param propertyName
+	 * @return
+	 */
+	private Set<String> getInfoSet(String propertyName) {
+		Set<String> values = new HashSet<>();
+		Object stored = getProperty(propertyName);
+		if (stored instanceof Collection) {
+			for (Object value : (Collection<?>) stored) {
+				values.add(String.valueOf(value));
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Store the set in the given webroot info property. Empty sets remove the property.
+	 * 
+	 * @param propertyName
+	 * @param values
+	 */
+	private void setInfoSet(String propertyName, Set<String> values) {
+		setProperty(propertyName, values.isEmpty() ? null : values);
+	}
+
 	/**
 	 * Update the webroot path info (checking for uniqueness before)
 	 *
@@ -332,6 +388,9 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 	protected void updateWebrootPathInfo(String releaseUuid, String conflictI18n, ContainerType type, String propertyName, String indexName) {
 		Node node = getParentNode();
 		String segmentFieldName = getSchemaContainerVersion().getSchema().getSegmentField();
+		// The container may be shared with other releases, only the entry of this release is replaced
+		Set<String> segmentInfo = getInfoSet(propertyName);
+		segmentInfo.removeIf(info -> isSegmentInfoOfRelease(info, releaseUuid));
 		// Determine the webroot path of the container parent node
 		String segment = node.getPathSegment(releaseUuid, type, getLanguage().getLanguageTag());
 
@@ -356,11 +415,10 @@ public class NodeGraphFieldContainerImpl extends AbstractGraphFieldContainerImpl
 				throw nodeConflict(conflictingNode.getUuid(), conflictingContainer.getDisplayFieldValue(), conflictingContainer.getLanguage()
 					.getLanguageTag(), conflictI18n, segmentFieldName, segment);
 			} else {
-				setProperty(propertyName, webRootInfo.toString());
+				segmentInfo.add(webRootInfo.toString());
 			}
-		} else {
-			setProperty(propertyName, null);
 		}
+		setInfoSet(propertyName, segmentInfo);
 	}
 
 	@Override
@@ -11,12 +11,16 @@ import org.apache.commons.lang.NotImplementedException;
 
 import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.MeshVertex;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Role;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.gentics.mesh.graphdb.cache.TxElementCache;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.graphdb.spi.FieldType;
+import com.gentics.mesh.util.ChangeSequence;
 import com.gentics.mesh.util.UUIDUtil;
 import com.syncleus.ferma.AbstractVertexFrame;
 import com.syncleus.ferma.FramedGraph;
@@ -41,12 +45,26 @@ public class MeshVertexImpl extends AbstractVertexFrame implements MeshVertex {
 	public static void init(Database database) {
 		database.addVertexType(MeshVertexImpl.class, null);
 		database.addVertexIndex(MeshVertexImpl.class, true, "uuid", FieldType.STRING);
+		database.addVertexIndex(IndexableElement.PERMISSION_GROUP_PROPERTY_KEY + "Index", MeshVertexImpl.class, false,
+			IndexableElement.PERMISSION_GROUP_PROPERTY_KEY, FieldType.STRING);
+		// The index sync looks up the elements of a type which were changed after its checkpoint
+		database.addOrderedVertexIndex(IndexableElement.CHANGE_SEQUENCE_INDEX_NAME, MeshVertexImpl.class, new String[] {
+			PolymorphicTypeResolver.TYPE_RESOLUTION_KEY, IndexableElement.CHANGE_SEQUENCE_PROPERTY_KEY }, new FieldType[] { FieldType.STRING,
+				FieldType.LONG });
 	}
 
 	@Override
 	protected void init() {
 		super.init();
 		setProperty("uuid", UUIDUtil.randomUUID());
+		// New documents need to be detected by the index sync
+		if (this instanceof IndexableElement || this instanceof NodeGraphFieldContainer) {
+			setProperty(IndexableElement.CHANGE_SEQUENCE_PROPERTY_KEY, ChangeSequence.next());
+		}
+		Tx tx = Tx.getActive();
+		if (tx instanceof CachingTx) {
+			((CachingTx) tx).getElementCache().markCreated(id);
+		}
 	}
 
 	@Override
@@ -168,28 +186,46 @@ public class MeshVertexImpl extends AbstractVertexFrame implements MeshVertex {
 	@Override
 	public void applyPermissions(SearchQueueBatch batch, Role role, boolean recursive, Set<GraphPermission> permissionsToGrant,
 			Set<GraphPermission> permissionsToRevoke) {
-		role.grantPermissions(this, permissionsToGrant.toArray(new GraphPermission[permissionsToGrant.size()]));
-		role.revokePermissions(this, permissionsToRevoke.toArray(new GraphPermission[permissionsToRevoke.size()]));
 		if (this instanceof IndexableElement) {
-			// Check whether the action affects read permissions. We only need to update the document in the index if the action affects those perms
+			// Check whether the action affects read permissions. We only need to update the index if the action affects those perms
 			boolean grantReads = permissionsToGrant.contains(READ_PERM) || permissionsToGrant.contains(READ_PUBLISHED_PERM);
 			boolean revokesRead = permissionsToRevoke.contains(READ_PERM) || permissionsToRevoke.contains(READ_PUBLISHED_PERM);
 			if (grantReads || revokesRead) {
-				batch.updatePermissions((IndexableElement) this);
+				IndexableElement element = (IndexableElement) this;
+				Tx tx = Tx.getActive();
+				if (tx instanceof CachingTx) {
+					// The permission group of the element will be assigned once all changes of the transaction are known
+					((CachingTx) tx).getCommitListener(PermissionGroupTracker.class, PermissionGroupTracker::new).track(element, batch);
+				} else {
+					element.setPermissionGroup(null);
+					element.updateChangeSequence();
+					batch.updatePermissions(element);
+				}
 			}
 		}
+		role.grantPermissions(this, permissionsToGrant.toArray(new GraphPermission[permissionsToGrant.size()]));
+		role.revokePermissions(this, permissionsToRevoke.toArray(new GraphPermission[permissionsToRevoke.size()]));
 	}
 
 	@Override
 	public Vertex getElement() {
-		// TODO FIXME We should store the element reference in a thread local map that is bound to the transaction. The references should be removed once the
-		// transaction finishes
-		FramedGraph fg = Tx.getActive().getGraph();
+		Tx tx = Tx.getActive();
+		FramedGraph fg = tx == null ? null : tx.getGraph();
 		if (fg == null) {
 			throw new RuntimeException(
 					"Could not find thread local graph. The code is most likely not being executed in the scope of a transaction.");
 		}
 
+		// Check whether the vertex has already been loaded within the current transaction
+		TxElementCache cache = null;
+		if (tx instanceof CachingTx) {
+			cache = ((CachingTx) tx).getElementCache();
+			Vertex cachedVertex = cache.get(id);
+			if (cachedVertex != null) {
+				return cachedVertex;
+			}
+		}
+
 		Vertex vertexForId = fg.getVertex(id);
 		if (vertexForId == null) {
 			throw new RuntimeException("No vertex for Id {" + id + "} could be found within the graph");
@@ -200,9 +236,21 @@ public class MeshVertexImpl extends AbstractVertexFrame implements MeshVertex {
 		if (vertex instanceof WrappedElement) {
 			vertex = (Vertex) ((WrappedElement) vertex).getBaseElement();
 		}
+		if (cache != null) {
+			cache.put(id, (Vertex) vertex);
+		}
 		return (Vertex) vertex;
 	}
-	
+
+	@Override
+	public void remove() {
+		super.remove();
+		Tx tx = Tx.getActive();
+		if (tx instanceof CachingTx) {
+			((CachingTx) tx).getElementCache().evict(id);
+		}
+	}
+
 	@Override
 	public String getElementVersion() {
 		Vertex vertex = getElement();
@@ -0,0 +1,141 @@
+package com.gentics.mesh.core.data.generic;
+
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.gentics.mesh.core.data.IndexableElement;
+import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.graphdb.cache.TxCommitListener;
+import com.gentics.mesh.util.UUIDUtil;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Vertex;
+
+/**
+ * Transaction listener which assigns the permission groups of the elements whose read permissions have been changed within the transaction. All members of
+ * a group share the same read permissions and their documents only reference the group. The decision is made right before the commit once all changes are
+ * known:
+ * <ul>
+ * <li>If the change affected all members of a group, the group keeps its id and only its roles need to be registered again. No document will be
+ * updated.</li>
+ * <li>Otherwise the changed elements leave their group and form a new group. Only their documents need to be updated.</li>
+ * </ul>
+ * Elements which don't belong to a group yet are grouped by their previous read permissions.
+ */
+public class PermissionGroupTracker implements TxCommitListener {
+
+	private static final String CANONICAL_PREFIX = "roles:";
+
+	/**
+	 * Changed elements per previous group key.
+	 */
+	private final Map<String, Map<Object, Member>> changes = new LinkedHashMap<>();
+
+	/**
+	 * Record the element before its read permissions get changed.
+	 *
+	 * @param element
+	 * @param batch
+	 *            Batch which will receive the index updates
+	 */
+	public void track(IndexableElement element, SearchQueueBatch batch) {
+		for (Map<Object, Member> members : changes.values()) {
+			if (members.containsKey(element.getId())) {
+				return;
+			}
+		}
+		changes.computeIfAbsent(groupKey(element), key -> new LinkedHashMap<>()).put(element.getId(), new Member(element, batch));
+	}
+
+	@Override
+	public void beforeCommit() {
+		for (Map.Entry<String, Map<Object, Member>> change : changes.entrySet()) {
+			List<Member> members = new ArrayList<>(change.getValue().values());
+			String key = change.getKey();
+			if (!key.startsWith(CANONICAL_PREFIX) && countMembers(key, members.size() + 1) == members.size()) {
+				// The whole group was changed. Its documents still reference the group.
+				Member first = members.get(0);
+				first.batch.updatePermissionGroup(first.element);
+				continue;
+			}
+			String groupId = UUIDUtil.randomUUID();
+			for (Member member : members) {
+				member.element.setPermissionGroup(groupId);
+				member.element.updateChangeSequence();
+				member.batch.updatePermissions(member.element);
+			}
+		}
+		changes.clear();
+	}
+
+	@Override
+	public void afterCommit() {
+	}
+
+	@Override
+	public void afterRollback() {
+		changes.clear();
+	}
+
+	/**
+	 * Return the key of the group to which the element currently belongs. Elements without a group are grouped by their read permissions.
+	 *
+	 * @param element
+	 * @return
+	 */
+	private String groupKey(IndexableElement element) {
+		String groupId = element.getPermissionGroup();
+		if (groupId != null) {
+			return groupId;
+		}
+		return CANONICAL_PREFIX + roleUuids(element, READ_PERM) + "|" + roleUuids(element, READ_PUBLISHED_PERM);
+	}
+
+	private String roleUuids(IndexableElement element, GraphPermission permission) {
+		Set<String> uuids = new TreeSet<>();
+		for (Vertex role : element.getElement().getVertices(Direction.IN, permission.label())) {
+			uuids.add(role.getProperty("uuid"));
+		}
+		return String.join(",", uuids);
+	}
+
+	/**
+	 * Count the members of the group. Counting stops once the limit has been reached.
+	 *
+	 * @param groupId
+	 * @param limit
+	 * @return
+	 */
+	private long countMembers(String groupId, long limit) {
+		Iterator<?> it = MeshInternal.get().database().getVertices(MeshVertexImpl.class, new String[] { IndexableElement.PERMISSION_GROUP_PROPERTY_KEY },
+			new Object[] { groupId });
+		long count = 0;
+		while (count < limit && it.hasNext()) {
+			it.next();
+			count++;
+		}
+		return count;
+	}
+
+	private static class Member {
+
+		private final IndexableElement element;
+
+		private final SearchQueueBatch batch;
+
+		Member(IndexableElement element, SearchQueueBatch batch) {
+			this.element = element;
+			this.batch = batch;
+		}
+	}
+
+}
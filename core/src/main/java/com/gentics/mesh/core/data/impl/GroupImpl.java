@@ -11,6 +11,8 @@ import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -80,6 +82,10 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 		for (Role role : getRoles()) {
 			user.setUniqueLinkOutTo(role, ASSIGNED_TO_ROLE);
 		}
+		// The role set of the user has changed
+		PermissionStore.invalidateElement(user.getId());
+		updateChangeSequence();
+		user.updateChangeSequence();
 	}
 
 	@Override
@@ -88,7 +94,9 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 
 		// The user does no longer belong to the group so lets update the shortcut edges
 		user.updateShortcutEdges();
-		PermissionStore.invalidate();
+		PermissionStore.invalidateElement(user.getId());
+		updateChangeSequence();
+		user.updateChangeSequence();
 	}
 
 	@Override
@@ -101,10 +109,15 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 		setUniqueLinkInTo(role, HAS_ROLE);
 
 		// Add shortcut edges from role to users of this group
+		List<Object> userIds = new ArrayList<>();
 		for (User user : getUsers()) {
 			user.setUniqueLinkOutTo(role, ASSIGNED_TO_ROLE);
+			userIds.add(user.getId());
 		}
-
+		// The role sets of the users have changed
+		PermissionStore.invalidate(Collections.emptyList(), userIds);
+		updateChangeSequence();
+		role.updateChangeSequence();
 	}
 
 	@Override
@@ -115,7 +128,10 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 		for (User user : getUsers()) {
 			user.updateShortcutEdges();
 		}
-		PermissionStore.invalidate();
+		// Invalidate all role sets which contain the role
+		PermissionStore.invalidate(Collections.singletonList(role.getUuid()), Collections.emptyList());
+		updateChangeSequence();
+		role.updateChangeSequence();
 	}
 
 	@Override
@@ -174,10 +190,13 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 
 		Set<? extends User> affectedUsers = getUsers().stream().collect(Collectors.toSet());
 		getElement().remove();
+		List<Object> userIds = new ArrayList<>();
 		for (User user : affectedUsers) {
 			user.updateShortcutEdges();
+			user.updateChangeSequence();
+			userIds.add(user.getId());
 		}
-		PermissionStore.invalidate();
+		PermissionStore.invalidate(Collections.emptyList(), userIds);
 	}
 
 	@Override
@@ -196,6 +215,7 @@ public class GroupImpl extends AbstractMeshCoreVertex<GroupResponse, Group> impl
 			}
 
 			setName(requestModel.getName());
+			updateChangeSequence();
 			batch.store(this, true);
 			return true;
 		} else {
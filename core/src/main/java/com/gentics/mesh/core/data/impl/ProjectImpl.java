@@ -262,6 +262,7 @@ public class ProjectImpl extends AbstractMeshCoreVertex<ProjectResponse, Project
 			setLastEditedTimestamp();
 
 			// Update the project and its nodes in the index
+			updateChangeSequence();
 			batch.store(this, true);
 			return true;
 		} else {
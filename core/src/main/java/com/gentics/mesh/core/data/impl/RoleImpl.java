@@ -7,7 +7,9 @@ import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_EDI
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_ROLE;
 import static com.gentics.mesh.core.rest.error.Errors.conflict;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -33,6 +35,7 @@ import com.gentics.mesh.core.rest.role.RoleResponse;
 import com.gentics.mesh.core.rest.role.RoleUpdateRequest;
 import com.gentics.mesh.dagger.DB;
 import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.graphdb.cache.CachingTx;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.graphdb.spi.FieldType;
 import com.gentics.mesh.parameter.PagingParameters;
@@ -101,9 +104,17 @@ public class RoleImpl extends AbstractMeshCoreVertex<RoleResponse, Role> impleme
 
 	@Override
 	public void grantPermissions(MeshVertex vertex, GraphPermission... permissions) {
+		List<GraphPermission> grantedPermissions = new ArrayList<>();
 		for (GraphPermission permission : permissions) {
 			if (!hasPermission(permission, vertex)) {
 				addFramedEdge(permission.label(), vertex);
+				grantedPermissions.add(permission);
+			}
+		}
+		if (!grantedPermissions.isEmpty()) {
+			// Denied permissions are also cached. We thus need to invalidate the store. Elements which have just been created can't have been cached yet.
+			if (!isCreatedInTx(vertex)) {
+				PermissionStore.invalidateElement(vertex.getId());
 			}
 		}
 	}
@@ -135,10 +146,23 @@ public class RoleImpl extends AbstractMeshCoreVertex<RoleResponse, Role> impleme
 				key, indexKey).spliterator(), false)).peek(Edge::remove).count();
 
 		if (edgesRemoved > 0) {
-			PermissionStore.invalidate();
+			if (!isCreatedInTx(vertex)) {
+				PermissionStore.invalidateElement(vertex.getId());
+			}
 		}
 	}
 
+	/**
+	 * Check whether the given element has been created within the current transaction.
+	 * 
+	 * @param vertex
+	 * @return
+	 */
+	private boolean isCreatedInTx(MeshVertex vertex) {
+		Tx tx = Tx.getActive();
+		return tx instanceof CachingTx && ((CachingTx) tx).getElementCache().isCreated(vertex.getId());
+	}
+
 	/**
 	 * Return all vertices to which the role has the given permission.
 	 * 
@@ -161,13 +185,16 @@ public class RoleImpl extends AbstractMeshCoreVertex<RoleResponse, Role> impleme
 					continue;
 				}
 				if (element instanceof IndexableElement) {
+					((IndexableElement) element).updateChangeSequence();
 					batch.updatePermissions((IndexableElement) element);
 				}
 			}
 		}
+		String uuid = getUuid();
 		getVertex().remove();
 
-		PermissionStore.invalidate();
+		// Invalidate all role sets which contain the role
+		PermissionStore.invalidate(Collections.singletonList(uuid), Collections.emptyList());
 	}
 
 	@Override
@@ -182,6 +209,7 @@ public class RoleImpl extends AbstractMeshCoreVertex<RoleResponse, Role> impleme
 			}
 
 			setName(requestModel.getName());
+			updateChangeSequence();
 			batch.store(this, true);
 			return true;
 		} else {
@@ -194,6 +194,7 @@ public class TagFamilyImpl extends AbstractMeshCoreVertex<TagFamilyResponse, Tag
 		}
 		if(!getName().equals(newName)) {
 			this.setName(newName);
+			updateChangeSequence();
 			batch.store(this, true);
 			return true;
 		} else {
@@ -279,11 +280,14 @@ public class TagFamilyImpl extends AbstractMeshCoreVertex<TagFamilyResponse, Tag
 	@Override
 	public void addTag(Tag tag) {
 		addItem(tag);
+		// The document of the tag family contains the tags
+		updateChangeSequence();
 	}
 
 	@Override
 	public void removeTag(Tag tag) {
 		removeItem(tag);
+		updateChangeSequence();
 	}
 
 	@Override
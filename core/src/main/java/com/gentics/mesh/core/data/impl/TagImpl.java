@@ -130,12 +130,14 @@ public class TagImpl extends AbstractMeshCoreVertex<TagResponse, Tag> implements
 		if (log.isDebugEnabled()) {
 			log.debug("Deleting tag {" + getName() + "}");
 		}
+		getTagFamily().updateChangeSequence();
 		batch.delete(this, true);
 
 		// Nodes which used this tag must be updated in the search index for all releases
 		for (Release release : getProject().getReleaseRoot().findAllIt()) {
 			String releaseUuid = release.getUuid();
 			for (Node node : getNodes(release)) {
+				node.updateChangeSequence();
 				batch.store(node, releaseUuid);
 			}
 		}
@@ -198,6 +200,7 @@ public class TagImpl extends AbstractMeshCoreVertex<TagResponse, Tag> implements
 				setLastEditedTimestamp();
 				setName(newTagName);
 				batch.store(getTagFamily(), false);
+				updateChangeSequence();
 				batch.store(this, true);
 				return true;
 			}
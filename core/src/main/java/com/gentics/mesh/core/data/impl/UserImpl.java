@@ -19,15 +19,19 @@ import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.cache.PermissionStore;
+import com.gentics.mesh.core.cache.RoleSet;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Group;
 import com.gentics.mesh.core.data.MeshVertex;
@@ -277,37 +281,98 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 
 	@Override
 	public boolean hasPermissionForId(Object elementId, GraphPermission permission) {
-		if (PermissionStore.hasPermission(getId(), permission, elementId)) {
-			return true;
-		} else {
-			FramedGraph graph = getGraph();
-			// Find all roles that are assigned to the user by checking the
-			// shortcut edge from the index
-			Iterable<Edge> roleEdges = graph.getEdges("e." + ASSIGNED_TO_ROLE + "_out", this.getId());
-			for (Edge roleEdge : roleEdges) {
-				Vertex role = roleEdge.getVertex(Direction.IN);
-				// Find all permission edges between the found role and target
-				// vertex with the specified label
-				Iterable<Edge> edges = graph.getEdges("e." + permission.label() + "_inout",
-					MeshInternal.get().database().createComposedIndexKey(elementId, role.getId()));
-				boolean foundPermEdge = edges.iterator().hasNext();
-				if (foundPermEdge) {
-					// We only store granting permissions in the store in order
-					// reduce the invalidation calls.
-					// This way we do not need to invalidate the cache if a role
-					// is removed from a group or a role is deleted.
-					PermissionStore.store(getId(), permission, elementId);
-					return true;
-				}
+		// The version needs to be loaded before the permissions are read from the graph
+		long version = PermissionStore.version();
+		RoleSet roleSet = getRoleSet(version);
+		Boolean cachedPerm = PermissionStore.hasPermission(roleSet, permission, elementId);
+		if (cachedPerm != null) {
+			return cachedPerm;
+		}
+
+		boolean granted = false;
+		FramedGraph graph = getGraph();
+		for (Object roleId : roleSet.getRoleIds()) {
+			// Find all permission edges between the role and target vertex with the specified label
+			Iterable<Edge> edges = graph.getEdges("e." + permission.label() + "_inout",
+				MeshInternal.get().database().createComposedIndexKey(elementId, roleId));
+			if (edges.iterator().hasNext()) {
+				granted = true;
+				break;
 			}
-			// Fall back to read and check whether the user has read perm. Read permission also includes read published.
-			if (permission == READ_PUBLISHED_PERM) {
-				return hasPermissionForId(elementId, READ_PERM);
-			} else {
-				return false;
+		}
+		// Fall back to read and check whether the user has read perm. Read permission also includes read published.
+		if (!granted && permission == READ_PUBLISHED_PERM) {
+			granted = hasPermissionForId(elementId, READ_PERM);
+		}
+		// Granting and denying permissions are stored. The store thus needs to be invalidated whenever permissions or role assignments change.
+		PermissionStore.store(roleSet, permission, elementId, granted, version);
+		return granted;
+	}
+
+	@Override
+	public Set<Object> hasPermissions(Collection<Object> elementIds, GraphPermission permission) {
+		// The version needs to be loaded before the permissions are read from the graph
+		long version = PermissionStore.version();
+		RoleSet roleSet = getRoleSet(version);
+		Set<Object> granted = new HashSet<>();
+		Set<Object> unresolved = new HashSet<>();
+		for (Object elementId : elementIds) {
+			Boolean cachedPerm = PermissionStore.hasPermission(roleSet, permission, elementId);
+			if (cachedPerm == null) {
+				unresolved.add(elementId);
+			} else if (cachedPerm) {
+				granted.add(elementId);
+			}
+		}
+		if (unresolved.isEmpty()) {
+			return granted;
+		}
+
+		// Probe the permission index for all unresolved elements at once. Each role only needs to be checked for the elements which are not yet granted.
+		Database db = MeshInternal.get().database();
+		Set<Object> found = new HashSet<>();
+		for (Object roleId : roleSet.getRoleIds()) {
+			List<Object> remaining = unresolved.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+			if (remaining.isEmpty()) {
+				break;
 			}
+			found.addAll(db.edgeLookup(permission.label(), "inout", remaining, roleId));
+		}
+		// Fall back to read and check whether the user has read perm. Read permission also includes read published.
+		if (permission == READ_PUBLISHED_PERM && found.size() < unresolved.size()) {
+			List<Object> remaining = unresolved.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+			found.addAll(hasPermissions(remaining, READ_PERM));
+		}
+		for (Object elementId : unresolved) {
+			PermissionStore.store(roleSet, permission, elementId, found.contains(elementId), version);
 		}
+		granted.addAll(found);
+		return granted;
+	}
 
+	/**
+	 * Return the role set of the user. The role set will be loaded from the graph if it has not yet been cached.
+	 * 
+	 * @param version
+	 *            Version stamp of the permission store which was loaded before the roles are read from the graph
+	 * @return
+	 */
+	private RoleSet getRoleSet(long version) {
+		Object userId = getId();
+		RoleSet roleSet = PermissionStore.getRoleSet(userId);
+		if (roleSet == null) {
+			List<Object> roleIds = new ArrayList<>();
+			List<String> roleUuids = new ArrayList<>();
+			// Find all roles that are assigned to the user by checking the shortcut edge from the index
+			Iterable<Edge> roleEdges = getGraph().getEdges("e." + ASSIGNED_TO_ROLE + "_out", userId);
+			for (Edge roleEdge : roleEdges) {
+				Vertex role = roleEdge.getVertex(Direction.IN);
+				roleIds.add(role.getId());
+				roleUuids.add(role.getProperty("uuid"));
+			}
+			roleSet = PermissionStore.storeRoleSet(userId, roleIds, roleUuids, version);
+		}
+		return roleSet;
 	}
 
 	@Override
@@ -462,7 +527,7 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 		// outE(HAS_USER).removeAll();
 		batch.delete(this, false);
 		getElement().remove();
-		PermissionStore.invalidate();
+		PermissionStore.invalidateElement(getId());
 	}
 
 	/**
@@ -555,6 +620,7 @@ public class UserImpl extends AbstractMeshCoreVertex<UserResponse, User> impleme
 		if (modified) {
 			setEditor(ac.getUser());
 			setLastEditedTimestamp();
+			updateChangeSequence();
 			batch.store(this, true);
 		}
 		return modified;
@@ -7,6 +7,8 @@ import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_TO_
 import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.STARTING;
 import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.UNKNOWN;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.lang.NotImplementedException;
@@ -30,9 +32,15 @@ import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.admin.migration.MigrationType;
 import com.gentics.mesh.core.rest.job.JobResponse;
+import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.dagger.DB;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.search.BulkIndexSettings;
+import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.util.ETag;
 
+import io.reactivex.Completable;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
@@ -156,6 +164,73 @@ public abstract class JobImpl extends AbstractMeshCoreVertex<JobResponse, Job> i
 		setProperty(COMPLETION_COUNT_PROPERTY_KEY, count);
 	}
 
+	@Override
+	public String getMigrationCheckpoint() {
+		return getProperty(MIGRATION_CHECKPOINT_PROPERTY_KEY);
+	}
+
+	@Override
+	public void setMigrationCheckpoint(String checkpoint) {
+		setProperty(MIGRATION_CHECKPOINT_PROPERTY_KEY, checkpoint);
+	}
+
+	@Override
+	public JsonObject getRestoreIndexSettings() {
+		String settings = getProperty(RESTORE_INDEX_SETTINGS_PROPERTY_KEY);
+		return settings == null ? null : new JsonObject(settings);
+	}
+
+	@Override
+	public void setRestoreIndexSettings(JsonObject settings) {
+		setProperty(RESTORE_INDEX_SETTINGS_PROPERTY_KEY, settings == null ? null : settings.encode());
+	}
+
+	@Override
+	public void restoreIndexSettings() {
+		JsonObject settings = getRestoreIndexSettings();
+		if (settings == null) {
+			return;
+		}
+		SearchProvider searchProvider = MeshInternal.get().searchProvider();
+		List<Completable> updates = new ArrayList<>();
+		for (String indexName : settings.fieldNames()) {
+			updates.add(BulkIndexSettings.restore(searchProvider, indexName, settings.getJsonObject(indexName)));
+		}
+		try {
+			Completable.merge(updates).blockingAwait();
+			setRestoreIndexSettings(null);
+		} catch (Exception e) {
+			log.error("Error while restoring the settings of the indices of job {" + getUuid() + "}", e);
+		}
+	}
+
+	/**
+	 * Check whether the given index can be filled in bulk and add the settings which need to be restored afterwards to the stored settings of the job. Only
+	 * indices which do not yet exist will be filled in bulk. This needs to be checked before the index gets created.
+	 * 
+	 * @param indexName
+	 *            Name of the index which should be filled in bulk
+	 * @param replacedIndexName
+	 *            Name of the index whose settings should be restored
+	 * @param schema
+	 *            Schema which contains the configured settings of the index
+	 * @return true if the index should be created as a bulk index, otherwise false
+	 */
+	protected boolean prepareBulkIndex(String indexName, String replacedIndexName, SchemaModel schema) {
+		SearchProvider searchProvider = MeshInternal.get().searchProvider();
+		if (!searchProvider.loadIndexSettings(indexName).blockingGet().isEmpty()) {
+			return false;
+		}
+		JsonObject restoreSettings = BulkIndexSettings.loadRestoreSettings(searchProvider, replacedIndexName, schema.getElasticsearch()).blockingGet();
+		JsonObject settings = getRestoreIndexSettings();
+		if (settings == null) {
+			settings = new JsonObject();
+		}
+		settings.put(indexName, restoreSettings);
+		setRestoreIndexSettings(settings);
+		return true;
+	}
+
 	@Override
 	public Release getRelease() {
 		return out(HAS_RELEASE).nextOrDefaultExplicit(ReleaseImpl.class, null);
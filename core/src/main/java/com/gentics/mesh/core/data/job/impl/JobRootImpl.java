@@ -47,6 +47,7 @@ public class JobRootImpl extends AbstractRootVertex<Job> implements JobRoot {
 	public static void init(Database database) {
 		database.addVertexType(JobRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(HAS_JOB, true, false, true);
+		database.addOrderedEdgeIndex(HAS_JOB, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
@@ -209,6 +210,13 @@ public class JobRootImpl extends AbstractRootVertex<Job> implements JobRoot {
 				// Don't execute failed or completed jobs again
 				MigrationStatus jobStatus = job.getStatus();
 				if (job.hasFailed() || (jobStatus == COMPLETED || jobStatus == FAILED || jobStatus == UNKNOWN)) {
+					// The index settings may not have been restored if the job was interrupted
+					if (job.getRestoreIndexSettings() != null) {
+						try (Tx tx = DB.get().tx()) {
+							job.restoreIndexSettings();
+							tx.success();
+						}
+					}
 					continue;
 				}
 				try (Tx tx = DB.get().tx()) {
@@ -5,7 +5,10 @@ import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
+import java.util.Arrays;
+
 import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
@@ -35,19 +38,25 @@ public class NodeMigrationJobImpl extends JobImpl {
 	}
 
 	/**
-	 * Create the needed indices.
+	 * Create the needed indices. The indices are filled in bulk by the migration and the settings of the indices of the previous version will be restored
+	 * once the migration has finished.
 	 */
 	@Override
 	public void prepare() {
 		Release release = getRelease();
 		Project project = release.getProject();
+		SchemaContainerVersion fromVersion = getFromSchemaVersion();
 		SchemaContainerVersion toVersion = getToSchemaVersion();
 		SchemaModel newSchema = toVersion.getSchema();
 
 		// New indices need to be created
 		SearchQueueBatch batch = MeshInternal.get().searchQueue().create();
-		batch.createNodeIndex(project.getUuid(), release.getUuid(), toVersion.getUuid(), DRAFT, newSchema);
-		batch.createNodeIndex(project.getUuid(), release.getUuid(), toVersion.getUuid(), PUBLISHED, newSchema);
+		for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
+			String indexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), toVersion.getUuid(), type);
+			String replacedIndexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), fromVersion.getUuid(), type);
+			boolean bulk = prepareBulkIndex(indexName, replacedIndexName, newSchema);
+			batch.createNodeIndex(project.getUuid(), release.getUuid(), toVersion.getUuid(), type, newSchema, bulk);
+		}
 		batch.processSync();
 	}
 
@@ -91,6 +100,8 @@ public class NodeMigrationJobImpl extends JobImpl {
 				status.commit();
 				for (int i = 0; i < 3; i++) {
 					MeshInternal.get().nodeMigrationHandler().migrateNodes(project, release, fromContainerVersion, toContainerVersion, status).blockingAwait();
+					// The checkpoint only marks the progress of an interrupted run
+					status.setCheckpoint(null);
 					// Check migration result
 					boolean hasRemainingContainers = fromContainerVersion.getDraftFieldContainers(release.getUuid()).hasNext();
 					if (i == 3 && hasRemainingContainers) {
@@ -104,24 +115,24 @@ public class NodeMigrationJobImpl extends JobImpl {
 					}
 				}
 
-				finalizeMigration(project, release, fromContainerVersion);
-				status.done();
+				// The migrated documents need to be visible before the searches switch to the indices of the new version
+				restoreIndexSettings();
+				finalizeMigration(project, release, fromContainerVersion, status);
 				tx.success();
 			}
 		} catch (Exception e) {
+			restoreIndexSettings();
 			status.error(e, "Error while preparing node migration.");
 		}
 	}
 
-	private void finalizeMigration(Project project, Release release, SchemaContainerVersion fromContainerVersion) {
-		// Deactivate edge
-		try (Tx tx = DB.get().tx()) {
-			ReleaseSchemaEdge edge = release.findReleaseSchemaEdge(fromContainerVersion);
-			if (edge != null) {
-				edge.setActive(false);
-			}
-			tx.success();
+	private void finalizeMigration(Project project, Release release, SchemaContainerVersion fromContainerVersion, MigrationStatusHandler status) {
+		// Deactivate the edge. The searches switch to the indices of the new version once the migration status has been committed.
+		ReleaseSchemaEdge edge = release.findReleaseSchemaEdge(fromContainerVersion);
+		if (edge != null) {
+			edge.setActive(false);
 		}
+		status.done();
 		// Remove old indices
 		MeshInternal.get().searchProvider()
 				.deleteIndex(NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), fromContainerVersion.getUuid(), DRAFT))
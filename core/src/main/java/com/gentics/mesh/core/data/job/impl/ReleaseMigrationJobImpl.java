@@ -5,7 +5,11 @@ import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
+import java.util.Arrays;
+
 import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.generic.MeshVertexImpl;
@@ -36,13 +40,23 @@ public class ReleaseMigrationJobImpl extends JobImpl {
 		Release newRelease = getRelease();
 		String newReleaseUuid = newRelease.getUuid();
 		Project project = newRelease.getProject();
+		Release previousRelease = newRelease.getPreviousRelease();
 
-		// Add the needed indices and mappings
+		// Add the needed indices and mappings. The indices will be filled by the migration and thus refreshing and replicas are disabled until the
+		// migration has finished. The settings of the indices of the previous release will be restored afterwards.
 		SearchQueueBatch indexCreationBatch = MeshInternal.get().searchQueue().create();
 		for (SchemaContainerVersion schemaVersion : newRelease.findActiveSchemaVersions()) {
 			SchemaModel schema = schemaVersion.getSchema();
-			indexCreationBatch.createNodeIndex(project.getUuid(), newReleaseUuid, schemaVersion.getUuid(), PUBLISHED, schema);
-			indexCreationBatch.createNodeIndex(project.getUuid(), newReleaseUuid, schemaVersion.getUuid(), DRAFT, schema);
+			for (ContainerType type : Arrays.asList(PUBLISHED, DRAFT)) {
+				String indexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), newReleaseUuid, schemaVersion.getUuid(), type);
+				String replacedIndexName = indexName;
+				if (previousRelease != null) {
+					replacedIndexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), previousRelease.getUuid(), schemaVersion.getUuid(),
+						type);
+				}
+				boolean bulk = prepareBulkIndex(indexName, replacedIndexName, schema);
+				indexCreationBatch.createNodeIndex(project.getUuid(), newReleaseUuid, schemaVersion.getUuid(), type, schema, bulk);
+			}
 		}
 		indexCreationBatch.processSync();
 	}
@@ -62,7 +76,12 @@ public class ReleaseMigrationJobImpl extends JobImpl {
 				if (release == null) {
 					throw error(BAD_REQUEST, "Release for job {" + getUuid() + "} cannot be found.");
 				}
-				MeshInternal.get().releaseMigrationHandler().migrateRelease(release, status);
+				try {
+					MeshInternal.get().releaseMigrationHandler().migrateRelease(release, status);
+				} finally {
+					// The migrated documents need to be visible once the migration has finished
+					restoreIndexSettings();
+				}
 				status.done();
 			}
 		} catch (Exception e) {
@@ -11,11 +11,16 @@ import static com.gentics.mesh.core.data.relationship.GraphRelationships.ASSIGNE
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_CREATOR;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_FIELD_CONTAINER;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_PARENT_NODE;
-import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_ROLE;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_SCHEMA_CONTAINER;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_TAG;
-import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_USER;
 import static com.gentics.mesh.core.rest.error.Errors.error;
+import static com.gentics.mesh.parameter.NodeParameters.BREADCRUMB_SECTION;
+import static com.gentics.mesh.parameter.NodeParameters.CHILDREN_INFO_SECTION;
+import static com.gentics.mesh.parameter.NodeParameters.LANGUAGE_PATHS_SECTION;
+import static com.gentics.mesh.parameter.NodeParameters.PATH_SECTION;
+import static com.gentics.mesh.parameter.NodeParameters.PROJECT_SECTION;
+import static com.gentics.mesh.parameter.NodeParameters.ROLE_PERMS_SECTION;
+import static com.gentics.mesh.parameter.NodeParameters.TAGS_SECTION;
 import static com.gentics.mesh.util.URIUtils.encodeSegment;
 import static com.tinkerpop.blueprints.Direction.IN;
 import static com.tinkerpop.blueprints.Direction.OUT;
@@ -45,6 +50,7 @@ import org.apache.commons.lang3.NotImplementedException;
 
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.cache.WebrootPathCache;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.GraphFieldContainer;
 import com.gentics.mesh.core.data.GraphFieldContainerEdge;
@@ -99,6 +105,8 @@ import com.gentics.mesh.core.rest.tag.TagReference;
 import com.gentics.mesh.core.rest.user.NodeReference;
 import com.gentics.mesh.dagger.DB;
 import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.gentics.mesh.graphdb.cache.TxElementCache;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.handler.ActionContext;
 import com.gentics.mesh.json.JsonUtil;
@@ -115,7 +123,9 @@ import com.gentics.mesh.path.Path;
 import com.gentics.mesh.path.PathSegment;
 import com.gentics.mesh.util.DateUtils;
 import com.gentics.mesh.util.ETag;
+import com.gentics.mesh.util.PermissionUtil;
 import com.gentics.mesh.util.URIUtils;
+import com.gentics.mesh.util.UUIDUtil;
 import com.gentics.mesh.util.VersionNumber;
 import com.syncleus.ferma.EdgeFrame;
 import com.syncleus.ferma.FramedGraph;
@@ -139,11 +149,17 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 	private static final Logger log = LoggerFactory.getLogger(NodeImpl.class);
 
+	/**
+	 * Key of the content version stamp property. The release uuid is used as suffix.
+	 */
+	public static final String CONTENT_STAMP_PROPERTY_KEY = "contentStamp";
+
 	public static void init(Database database) {
 		database.addVertexType(NodeImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(HAS_PARENT_NODE);
 		database.addCustomEdgeIndex(HAS_PARENT_NODE, "release_out", "out", RELEASE_UUID_KEY);
 		database.addCustomEdgeIndex(HAS_PARENT_NODE, "release", "in", RELEASE_UUID_KEY);
+		database.addOrderedEdgeIndex(HAS_PARENT_NODE, "release_children", "in", RELEASE_UUID_KEY, "out");
 		database.addCustomEdgeIndex(HAS_FIELD_CONTAINER, "field", "out", GraphFieldContainerEdgeImpl.RELEASE_UUID_KEY,
 			GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY);
 	}
@@ -374,8 +390,7 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 		// remove existing draft edge
 		if (draftEdge != null) {
-			previous.setProperty(NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY, null);
-			previous.setProperty(NodeGraphFieldContainerImpl.WEBROOT_URLFIELD_PROPERTY_KEY, null);
+			previous.removeWebrootPathInfo(releaseUuid, DRAFT);
 			container.updateWebrootPathInfo(releaseUuid, "node_conflicting_segmentfield_update");
 			draftEdge.remove();
 		}
@@ -398,6 +413,7 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			initialEdge.setReleaseUuid(releaseUuid);
 			initialEdge.setType(INITIAL);
 		}
+		updateContentStamp(releaseUuid);
 
 		return container;
 	}
@@ -431,16 +447,19 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		removeTag(tag, release);
 		TagEdge edge = addFramedEdge(HAS_TAG, tag, TagEdgeImpl.class);
 		edge.setReleaseUuid(release.getUuid());
+		updateChangeSequence();
 	}
 
 	@Override
 	public void removeTag(Tag tag, Release release) {
 		outE(HAS_TAG).has(TagEdgeImpl.RELEASE_UUID_KEY, release.getUuid()).mark().inV().retain(tag).back().removeAll();
+		updateChangeSequence();
 	}
 
 	@Override
 	public void removeAllTags(Release release) {
 		outE(HAS_TAG).has(TagEdgeImpl.RELEASE_UUID_KEY, release.getUuid()).removeAll();
+		updateChangeSequence();
 	}
 
 	@Override
@@ -487,13 +506,9 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			db.createComposedIndexKey(getId(), ac.getRelease().getUuid()));
 		Iterator<Edge> it = edges.iterator();
 		Iterable<Edge> iterable = () -> it;
-		Stream<Edge> stream = StreamSupport.stream(iterable.spliterator(), false);
-		return stream
-			.map(edge -> edge.getVertex(OUT))
-			.filter(vertex -> {
-				Object id = vertex.getId();
-				return user.hasPermissionForId(id, READ_PERM) || user.hasPermissionForId(id, READ_PUBLISHED_PERM);
-			})
+		Stream<Vertex> stream = StreamSupport.stream(iterable.spliterator(), false)
+			.map(edge -> edge.getVertex(OUT));
+		return PermissionUtil.filter(stream, Vertex::getId, user, READ_PERM, READ_PUBLISHED_PERM)
 			.map(vertex -> graph.frameElementExplicit(vertex, NodeImpl.class));
 	}
 
@@ -515,6 +530,36 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 	public void setParentNode(String releaseUuid, Node parent) {
 		outE(HAS_PARENT_NODE).has(RELEASE_UUID_KEY, releaseUuid).removeAll();
 		addFramedEdge(HAS_PARENT_NODE, parent).setProperty(RELEASE_UUID_KEY, releaseUuid);
+		updateContentStamp(releaseUuid);
+		updateChangeSequence();
+	}
+
+	@Override
+	public String getContentStamp(String releaseUuid) {
+		return getProperty(CONTENT_STAMP_PROPERTY_KEY + "_" + releaseUuid);
+	}
+
+	@Override
+	public void updateContentStamp(String releaseUuid) {
+		updateStamp(CONTENT_STAMP_PROPERTY_KEY + "_" + releaseUuid);
+	}
+
+	/**
+	 * Set a new value for the version stamp property. Nodes which have been created within the transaction don't need a stamp since no etag could have been
+	 * generated for them yet. Other nodes only need a new stamp once per transaction.
+	 * 
+	 * @param key
+	 *            Key of the stamp property
+	 */
+	private void updateStamp(String key) {
+		Tx tx = Tx.getActive();
+		if (tx instanceof CachingTx) {
+			TxElementCache cache = ((CachingTx) tx).getElementCache();
+			if (cache.isCreated(getId()) || !cache.markUpdated(getId(), key)) {
+				return;
+			}
+		}
+		setProperty(key, UUIDUtil.randomUUID());
 	}
 
 	@Override
@@ -571,16 +616,30 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			throw error(BAD_REQUEST, "The schema container for node {" + getUuid() + "} could not be found.");
 		}
 		Release release = ac.getRelease(getProject());
+		NodeParameters nodeParameters = ac.getNodeParameters();
 		restNode.setAvailableLanguages(getLanguageInfo(ac));
 		setFields(ac, release, restNode, level, languageTags);
 		setParentNodeInfo(ac, release, restNode);
-		setRolePermissions(ac, restNode);
-		setChildrenInfo(ac, release, restNode);
-		setTagsToRest(ac, restNode, release);
+		// Sections which were not requested via the fields parameter can be omitted
+		if (nodeParameters.isSectionRequested(ROLE_PERMS_SECTION)) {
+			setRolePermissions(ac, restNode);
+		}
+		if (nodeParameters.isSectionRequested(CHILDREN_INFO_SECTION)) {
+			setChildrenInfo(ac, release, restNode);
+		}
+		if (nodeParameters.isSectionRequested(TAGS_SECTION)) {
+			setTagsToRest(ac, restNode, release);
+		}
 		fillCommonRestFields(ac, restNode);
-		setBreadcrumbToRest(ac, restNode);
-		setPathsToRest(ac, restNode, release);
-		setProjectReference(ac, restNode);
+		if (nodeParameters.isSectionRequested(BREADCRUMB_SECTION)) {
+			setBreadcrumbToRest(ac, restNode);
+		}
+		if (nodeParameters.isSectionRequested(PATH_SECTION) || nodeParameters.isSectionRequested(LANGUAGE_PATHS_SECTION)) {
+			setPathsToRest(ac, restNode, release);
+		}
+		if (nodeParameters.isSectionRequested(PROJECT_SECTION)) {
+			setProjectReference(ac, restNode);
+		}
 		return restNode;
 	}
 
@@ -701,6 +760,10 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 			// Iterate over all fields and transform them to rest
 			for (FieldSchema fieldEntry : schema.getFields()) {
+				// Skip the fields which were not requested
+				if (!nodeParameters.isFieldRequested(fieldEntry.getName())) {
+					continue;
+				}
 				// boolean expandField =
 				// fieldsToExpand.contains(fieldEntry.getName()) ||
 				// ac.getExpandAllFlag();
@@ -727,6 +790,21 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		}
 	}
 
+	/**
+	 * Return the release specific children of the node which the user is allowed to read. The permissions of all children are checked in a single batch.
+	 * 
+	 * @param ac
+	 * @param release
+	 * @return
+	 */
+	private List<Node> getReadableChildren(InternalActionContext ac, Release release) {
+		List<Node> children = new ArrayList<>();
+		for (Node child : getChildren(release.getUuid())) {
+			children.add(child);
+		}
+		return PermissionUtil.filter(children, Node::getId, ac.getUser(), READ_PERM);
+	}
+
 	/**
 	 * Set the children info to the rest model.
 	 * 
@@ -738,19 +816,17 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 	 */
 	private void setChildrenInfo(InternalActionContext ac, Release release, NodeResponse restNode) {
 		Map<String, NodeChildrenInfo> childrenInfo = new HashMap<>();
-		for (Node child : getChildren(release.getUuid())) {
-			if (ac.getUser().hasPermission(child, READ_PERM)) {
-				String schemaName = child.getSchemaContainer().getName();
-				NodeChildrenInfo info = childrenInfo.get(schemaName);
-				if (info == null) {
-					info = new NodeChildrenInfo();
-					String schemaUuid = child.getSchemaContainer().getUuid();
-					info.setSchemaUuid(schemaUuid);
-					info.setCount(1);
-					childrenInfo.put(schemaName, info);
-				} else {
-					info.setCount(info.getCount() + 1);
-				}
+		for (Node child : getReadableChildren(ac, release)) {
+			String schemaName = child.getSchemaContainer().getName();
+			NodeChildrenInfo info = childrenInfo.get(schemaName);
+			if (info == null) {
+				info = new NodeChildrenInfo();
+				String schemaUuid = child.getSchemaContainer().getUuid();
+				info.setSchemaUuid(schemaUuid);
+				info.setCount(1);
+				childrenInfo.put(schemaName, info);
+			} else {
+				info.setCount(info.getCount() + 1);
 			}
 		}
 		restNode.setChildrenInfo(childrenInfo);
@@ -792,12 +868,16 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			LinkType linkType = ac.getNodeParameters().getResolveLinks();
 
 			// Path
-			WebRootLinkReplacer linkReplacer = MeshInternal.get().webRootLinkReplacer();
-			String path = linkReplacer.resolve(ac, releaseUuid, type, getUuid(), linkType, getProject().getName(), restNode.getLanguage());
-			restNode.setPath(path);
+			if (ac.getNodeParameters().isSectionRequested(PATH_SECTION)) {
+				WebRootLinkReplacer linkReplacer = MeshInternal.get().webRootLinkReplacer();
+				String path = linkReplacer.resolve(ac, releaseUuid, type, getUuid(), linkType, getProject().getName(), restNode.getLanguage());
+				restNode.setPath(path);
+			}
 
 			// languagePaths
-			restNode.setLanguagePaths(getLanguagePaths(ac, linkType, release));
+			if (ac.getNodeParameters().isSectionRequested(LANGUAGE_PATHS_SECTION)) {
+				restNode.setLanguagePaths(getLanguagePaths(ac, linkType, release));
+			}
 		}
 	}
 
@@ -1109,12 +1189,11 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 		// Remove the published edge for each found container
 		List<? extends NodeGraphFieldContainer> publishedContainers = getGraphFieldContainers(releaseUuid, PUBLISHED);
+		WebrootPathCache.invalidateNode(getUuid());
+		updateContentStamp(releaseUuid);
 		getGraphFieldContainerEdges(releaseUuid, PUBLISHED).stream().forEach(EdgeFrame::remove);
 		// Reset the webroot property for each published container
-		published.forEach(c -> {
-			c.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_PROPERTY_KEY, null);
-			c.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_URLFIELD_PROPERTY_KEY, null);
-		});
+		published.forEach(c -> c.removeWebrootPathInfo(releaseUuid, PUBLISHED));
 
 		// Handle recursion
 		if (parameters.isRecursive()) {
@@ -1203,8 +1282,9 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		}
 		// 2. Remove the "published" edge
 		getGraphFieldContainerEdge(languageTag, releaseUuid, PUBLISHED).remove();
-		published.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_PROPERTY_KEY, null);
-		published.setProperty(NodeGraphFieldContainer.PUBLISHED_WEBROOT_URLFIELD_PROPERTY_KEY, null);
+		WebrootPathCache.invalidateNode(getUuid());
+		updateContentStamp(releaseUuid);
+		published.removeWebrootPathInfo(releaseUuid, PUBLISHED);
 
 		assertPublishConsistency(ac, release);
 
@@ -1232,6 +1312,8 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		edge.setReleaseUuid(releaseUuid);
 		edge.setType(PUBLISHED);
 		container.updateWebrootPathInfo(releaseUuid, "node_conflicting_segmentfield_publish");
+		container.updateChangeSequence();
+		updateContentStamp(releaseUuid);
 	}
 
 	@Override
@@ -1308,6 +1390,7 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		for (Node child : getChildren()) {
 			child.delete(batch);
 		}
+		WebrootPathCache.invalidateNode(getUuid());
 		// delete all initial containers (which will delete all containers)
 		for (NodeGraphFieldContainer container : getAllInitialGraphFieldContainers()) {
 			container.delete(batch);
@@ -1356,10 +1439,8 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 	}
 
 	/**
-	 * Get a vertex traversal to find the children of this node, this user has read permission for.
+	 * Get a vertex traversal to find the children of this node. The permissions are not checked by the traversal.
 	 *
-	 * @param requestUser
-	 *            user
 	 * @param releaseUuid
 	 *            release uuid
 	 * @param languageTags
@@ -1368,17 +1449,13 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 	 *            edge type
 	 * @return vertex traversal
 	 */
-	private VertexTraversal<?, ?, ?> getChildrenTraversal(MeshAuthUser requestUser, String releaseUuid, List<String> languageTags,
-		ContainerType type) {
-		String permLabel = type == PUBLISHED ? READ_PUBLISHED_PERM.label() : READ_PERM.label();
-
+	private VertexTraversal<?, ?, ?> getChildrenTraversal(String releaseUuid, List<String> languageTags, ContainerType type) {
 		VertexTraversal<?, ?, ?> traversal = null;
 		if (releaseUuid != null) {
 			traversal = inE(HAS_PARENT_NODE).has(RELEASE_UUID_KEY, releaseUuid).outV();
 		} else {
 			traversal = in(HAS_PARENT_NODE);
 		}
-		traversal = traversal.mark().in(permLabel).out(HAS_ROLE).in(HAS_USER).retain(requestUser).back();
 		if (releaseUuid != null || type != null) {
 			EdgeTraversal<?, ?, ?> edgeTraversal = traversal.mark().outE(HAS_FIELD_CONTAINER);
 			if (releaseUuid != null) {
@@ -1402,17 +1479,19 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 	@Override
 	public List<? extends Node> getChildren(MeshAuthUser requestUser, String releaseUuid, List<String> languageTags, ContainerType type) {
-		return getChildrenTraversal(requestUser, releaseUuid, languageTags, type).toListExplicit(NodeImpl.class);
+		GraphPermission perm = type == PUBLISHED ? READ_PUBLISHED_PERM : READ_PERM;
+		List<NodeImpl> children = getChildrenTraversal(releaseUuid, languageTags, type).toListExplicit(NodeImpl.class);
+		return PermissionUtil.filter(children, NodeImpl::getId, requestUser, perm);
 	}
 
 	@Override
 	public TransformablePage<? extends Node> getChildren(InternalActionContext ac, List<String> languageTags, String releaseUuid, ContainerType type,
 		PagingParameters pagingInfo) {
-		String indexName = "e." + HAS_PARENT_NODE.toLowerCase() + "_release";
-		Object indexKey = DB.get().createComposedIndexKey(getId(), releaseUuid);
+		Object[] indexKeys = new Object[] { getId(), releaseUuid };
 
 		GraphPermission perm = type == PUBLISHED ? READ_PUBLISHED_PERM : READ_PERM;
-		return new DynamicTransformablePageImpl<NodeImpl>(ac.getUser(), indexName, indexKey, NodeImpl.class, pagingInfo, perm, (item) -> {
+		return new DynamicTransformablePageImpl<NodeImpl>(ac.getUser(), DB.get(), HAS_PARENT_NODE, "release_children", indexKeys, NodeImpl.class,
+			pagingInfo, perm, (item) -> {
 
 			// Filter out nodes which do not provide one of the specified language tags and type
 			if (languageTags != null) {
@@ -1717,6 +1796,9 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			throw error(NOT_FOUND, "node_no_language_found", language.getLanguageTag());
 		}
 		container.deleteFromRelease(release, batch);
+		WebrootPathCache.invalidateNode(getUuid());
+		updateContentStamp(release.getUuid());
+		updateChangeSequence();
 		// No need to delete the published variant because if the container was published the take offline call handled it
 
 		// starting with the old draft, delete all GFC that have no next and are not draft (for other releases)
@@ -1808,29 +1890,42 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			log.debug("Resolving for path segment {" + segment + "}");
 		}
 
-		// Check all childnodes
-		for (Node childNode : getChildren(releaseUuid)) {
-			PathSegment pathSegment = childNode.getSegment(releaseUuid, type, segment);
+		// Locate the child using the webroot index. The key has the format [segmentValue-releaseUuid-parentNodeUuid]. The index lists every release in
+		// which a container is used (it is backfilled by the release migration), thus a miss means that there is no such child.
+		String indexName = type == PUBLISHED ? NodeGraphFieldContainer.PUBLISHED_WEBROOT_INDEX_NAME : NodeGraphFieldContainer.WEBROOT_INDEX_NAME;
+		String key = segment + "-" + releaseUuid + "-" + getUuid();
+		NodeGraphFieldContainer indexedContainer = DB.get().checkIndexUniqueness(indexName, NodeGraphFieldContainerImpl.class, key);
+		if (indexedContainer != null) {
+			Node childNode = indexedContainer.getParentNode();
+			Node childParent = childNode.getParentNode(releaseUuid);
+			PathSegment pathSegment = childParent != null && childParent.getId().equals(getId()) ? childNode.getSegment(releaseUuid, type, segment) : null;
 			if (pathSegment != null) {
 				path.addSegment(pathSegment);
 				return childNode.resolvePath(releaseUuid, type, path, pathStack);
 			}
 		}
-		throw error(NOT_FOUND, "node_not_found_for_path", path.getTargetPath());
 
+		if (log.isDebugEnabled()) {
+			log.debug("Path segment {" + segment + "} not found in index {" + indexName + "}");
+		}
+		throw error(NOT_FOUND, "node_not_found_for_path", path.getTargetPath());
 	}
 
 	/**
 	 * Generate the etag for nodes. The etag consists of:
 	 * <ul>
 	 * <li>uuid of the node</li>
-	 * <li>parent node uuid (which is release specific)</li>
-	 * <li>version and language specific etag of the field container</li>
-	 * <li>availableLanguages</li>
-	 * <li>breadcrumb</li>
-	 * <li>webroot path &amp; language paths</li>
-	 * <li>permissions</li>
+	 * <li>version and language specific uuid of the field container</li>
+	 * <li>content version stamps of the node and all parent nodes (which are release specific)</li>
+	 * <li>children version stamp of the node if the children info was requested</li>
+	 * <li>tags of the node if the tags were requested</li>
+	 * <li>request parameters which affect the response</li>
+	 * <li>permissions and role set of the user</li>
 	 * </ul>
+	 * 
+	 * The content version stamps are updated by operations which affect the node itself (e.g. update, move, publish). The stamps of the parent nodes cover
+	 * the breadcrumb, the webroot path and the language paths. Changes of the children only update the children version stamp and thus don't affect the etags
+	 * of the other children. The tags are read directly since tag and tag family renames would otherwise need to update all tagged nodes.
 	 */
 	@Override
 	public String getETag(InternalActionContext ac) {
@@ -1838,12 +1933,11 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 
 		// Parameters
 		Release release = ac.getRelease(getProject());
+		String releaseUuid = release.getUuid();
 		VersioningParameters versioiningParameters = ac.getVersioningParameters();
-		ContainerType type = forVersion(versioiningParameters.getVersion());
+		NodeParameters nodeParameters = ac.getNodeParameters();
 
-		Node parentNode = getParentNode(release.getUuid());
-		NodeGraphFieldContainer container = findVersion(ac.getNodeParameters().getLanguageList(), release.getUuid(), ac.getVersioningParameters()
-			.getVersion());
+		NodeGraphFieldContainer container = findVersion(nodeParameters.getLanguageList(), releaseUuid, versioiningParameters.getVersion());
 
 		StringBuilder keyBuilder = new StringBuilder();
 		keyBuilder.append(superkey);
@@ -1851,11 +1945,9 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		/**
 		 * release uuid
 		 */
-		keyBuilder.append(release.getUuid());
+		keyBuilder.append(releaseUuid);
 		keyBuilder.append("-");
 
-		// TODO version, language list
-
 		// We can omit further etag keys since this would return a 404 anyhow
 		// since the requested container could not be found.
 		if (container == null) {
@@ -1863,100 +1955,76 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 			return keyBuilder.toString();
 		}
 
+		// fields version
+		keyBuilder.append(container.getUuid());
+
 		/**
-		 * Parent node
+		 * Content version stamps of the node and its parents
 		 * 
-		 * The node can be moved and this would also affect the response. The etag must also be changed when the node is moved.
+		 * The node can be moved and parent nodes can be renamed. This affects the breadcrumb and the paths thus the stamps of all parents must be included.
+		 * The parents can be omitted if neither the breadcrumb nor the paths were requested.
 		 */
-		if (parentNode != null) {
+		boolean includeParents = nodeParameters.isSectionRequested(BREADCRUMB_SECTION) || nodeParameters.isSectionRequested(PATH_SECTION)
+			|| nodeParameters.isSectionRequested(LANGUAGE_PATHS_SECTION);
+		Node current = this;
+		while (current != null) {
 			keyBuilder.append("-");
-			keyBuilder.append(parentNode.getUuid());
+			keyBuilder.append(current.getUuid());
+			keyBuilder.append(":");
+			keyBuilder.append(current.getContentStamp(releaseUuid));
+			current = includeParents ? current.getParentNode(releaseUuid) : null;
 		}
 
-		// fields version
-		if (container != null) {
-			keyBuilder.append("-");
-			keyBuilder.append(container.getETag(ac));
+		/**
+		 * Tags
+		 */
+		if (nodeParameters.isSectionRequested(TAGS_SECTION)) {
+			keyBuilder.append("-tags:");
+			for (Tag tag : getTags(release)) {
+				TagReference reference = tag.transformToReference();
+				keyBuilder.append(reference.getUuid());
+				keyBuilder.append(":");
+				keyBuilder.append(reference.getName());
+				keyBuilder.append(":");
+				keyBuilder.append(reference.getTagFamily());
+				keyBuilder.append(",");
+			}
 		}
 
 		/**
-		 * Expansion (all)
+		 * Request parameters
 		 * 
-		 * The expandAll parameter changes the json response and thus must be included in the etag computation.
+		 * The version, languages, expansion and link resolving parameters change the json response and thus must be included in the etag computation.
 		 */
-		if (ac.getNodeParameters().getExpandAll()) {
+		keyBuilder.append("-version:");
+		keyBuilder.append(versioiningParameters.getVersion());
+		keyBuilder.append("-lang:");
+		keyBuilder.append(nodeParameters.getLanguageList());
+		if (nodeParameters.getExpandAll()) {
 			keyBuilder.append("-");
 			keyBuilder.append("expand:true");
 		}
-
-		// expansion (selective)
-		String expandedFields = Arrays.toString(ac.getNodeParameters().getExpandedFieldNames());
-		keyBuilder.append("-");
-		keyBuilder.append("expandFields:");
-		keyBuilder.append(expandedFields);
-
-		// release specific tags
-		for (Tag tag : getTags(release)) {
-			// Tags can't be moved across releases thus we don't need to add the
-			// tag family etag
-			keyBuilder.append(tag.getETag(ac));
-		}
-
-		// release specific children
-		for (Node child : getChildren(release.getUuid())) {
-			if (ac.getUser().hasPermission(child, READ_PERM)) {
-				keyBuilder.append("-");
-				keyBuilder.append(child.getSchemaContainer().getName());
-			}
-		}
-
-		// Publish state & availableLanguages
-		for (NodeGraphFieldContainer c : getGraphFieldContainers(release, PUBLISHED)) {
-			keyBuilder.append(c.getLanguage().getLanguageTag() + "published");
-		}
-		for (NodeGraphFieldContainer c : getGraphFieldContainers(release, DRAFT)) {
-			keyBuilder.append(c.getLanguage().getLanguageTag() + "draft");
-		}
-
-		// breadcrumb
-		keyBuilder.append("-");
-		Node current = getParentNode(release.getUuid());
-		if (current != null) {
-			while (current != null) {
-
-				String key = current.getUuid() + current.getDisplayName(ac);
-				keyBuilder.append(key);
-				if (LinkType.OFF != ac.getNodeParameters().getResolveLinks()) {
-					WebRootLinkReplacer linkReplacer = MeshInternal.get().webRootLinkReplacer();
-					String url = linkReplacer.resolve(ac, release.getUuid(), type, current.getUuid(), ac.getNodeParameters().getResolveLinks(),
-						getProject().getName(), container.getLanguage().getLanguageTag());
-					keyBuilder.append(url);
-				}
-				current = current.getParentNode(release.getUuid());
-
-			}
-		}
+		keyBuilder.append("-expandFields:");
+		keyBuilder.append(Arrays.toString(nodeParameters.getExpandedFieldNames()));
+		keyBuilder.append("-resolveLinks:");
+		keyBuilder.append(nodeParameters.getResolveLinks());
+		keyBuilder.append("-fields:");
+		keyBuilder.append(Arrays.toString(nodeParameters.getFields()));
 
 		/**
-		 * webroot path & language paths
-		 * 
-		 * The webroot and language paths must be included in the etag computation in order to invalidate the etag once a node language gets updated or once the
-		 * display name of any parent node changes.
+		 * Children
+		 *
+		 * The children info only lists the children which are visible to the user. The visible children are read instead of storing a stamp on the parent
+		 * since concurrent changes of siblings would otherwise all write to the parent.
 		 */
-		if (ac.getNodeParameters().getResolveLinks() != LinkType.OFF) {
-
-			WebRootLinkReplacer linkReplacer = MeshInternal.get().webRootLinkReplacer();
-			String path = linkReplacer.resolve(ac, release.getUuid(), type, getUuid(), ac.getNodeParameters().getResolveLinks(), getProject()
-				.getName(), container.getLanguage().getLanguageTag());
-			keyBuilder.append(path);
-
-			// languagePaths
-			for (GraphFieldContainer currentFieldContainer : getGraphFieldContainers(release, forVersion(versioiningParameters.getVersion()))) {
-				Language currLanguage = currentFieldContainer.getLanguage();
-				keyBuilder.append(currLanguage.getLanguageTag() + "=" + linkReplacer.resolve(ac, release.getUuid(), type, this, ac.getNodeParameters()
-					.getResolveLinks(), currLanguage.getLanguageTag()));
+		if (nodeParameters.isSectionRequested(CHILDREN_INFO_SECTION)) {
+			keyBuilder.append("-children:");
+			for (Node child : getReadableChildren(ac, release)) {
+				keyBuilder.append(child.getUuid());
+				keyBuilder.append(":");
+				keyBuilder.append(child.getSchemaContainer().getName());
+				keyBuilder.append(",");
 			}
-
 		}
 
 		/**
@@ -1965,7 +2033,7 @@ public class NodeImpl extends AbstractGenericFieldContainerVertex<NodeResponse,
 		 * Permissions can change and thus must be included in the etag computation in order to invalidate the etag once the permissions change.
 		 */
 		String roleUuid = ac.getRolePermissionParameters().getRoleUuid();
-		if (!isEmpty(roleUuid)) {
+		if (!isEmpty(roleUuid) && nodeParameters.isSectionRequested(ROLE_PERMS_SECTION)) {
 			Role role = MeshInternal.get().boot().meshRoot().getRoleRoot().loadObjectByUuid(ac, roleUuid, READ_PERM);
 			if (role != null) {
 				Set<GraphPermission> permSet = role.getPermissions(this);
@@ -29,7 +29,8 @@ public class LanguageRootImpl extends AbstractRootVertex<Language> implements La
 
 	public static void init(Database database) {
 		database.addVertexType(LanguageRootImpl.class, MeshVertexImpl.class);
-		database.addEdgeIndex(HAS_LANGUAGE, true, false, false);
+		database.addEdgeIndex(HAS_LANGUAGE, true, false, true);
+		database.addOrderedEdgeIndex(HAS_LANGUAGE, ITEMS_INDEX_POSTFIX, "out", "in");
 		// TODO add unique index
 	}
 
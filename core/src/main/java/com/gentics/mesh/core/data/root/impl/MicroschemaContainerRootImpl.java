@@ -37,6 +37,7 @@ public class MicroschemaContainerRootImpl extends AbstractRootVertex<Microschema
 		database.addVertexType(MicroschemaContainerRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeType(HAS_SCHEMA_CONTAINER_ITEM);
 		database.addEdgeIndex(HAS_SCHEMA_CONTAINER_ITEM, true, false, true);
+		database.addOrderedEdgeIndex(HAS_SCHEMA_CONTAINER_ITEM, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
@@ -64,6 +64,7 @@ public class NodeRootImpl extends AbstractRootVertex<Node> implements NodeRoot {
 	public static void init(Database database) {
 		database.addVertexType(NodeRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(HAS_NODE, true, false, true);
+		database.addOrderedEdgeIndex(HAS_NODE, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
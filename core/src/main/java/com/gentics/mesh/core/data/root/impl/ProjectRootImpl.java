@@ -49,6 +49,7 @@ public class ProjectRootImpl extends AbstractRootVertex<Project> implements Proj
 		database.addVertexType(ProjectRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeType(HAS_PROJECT);
 		database.addEdgeIndex(HAS_PROJECT, true, false, true);
+		database.addOrderedEdgeIndex(HAS_PROJECT, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
@@ -1,7 +1,5 @@
 package com.gentics.mesh.core.data.root.impl;
 
-import static com.gentics.mesh.core.data.ContainerType.DRAFT;
-import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
 import static com.gentics.mesh.core.data.relationship.GraphPermission.UPDATE_PERM;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_INITIAL_RELEASE;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_LATEST_RELEASE;
@@ -27,7 +25,6 @@ import com.gentics.mesh.core.data.relationship.GraphPermission;
 import com.gentics.mesh.core.data.root.ReleaseRoot;
 import com.gentics.mesh.core.data.schema.MicroschemaContainer;
 import com.gentics.mesh.core.data.schema.SchemaContainer;
-import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.rest.release.ReleaseCreateRequest;
 import com.gentics.mesh.dagger.MeshInternal;
@@ -42,6 +39,7 @@ public class ReleaseRootImpl extends AbstractRootVertex<Release> implements Rele
 		database.addVertexType(ReleaseRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeType(HAS_RELEASE);
 		database.addEdgeIndex(HAS_RELEASE, true, false, true);
+		database.addOrderedEdgeIndex(HAS_RELEASE, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
@@ -135,11 +133,7 @@ public class ReleaseRootImpl extends AbstractRootVertex<Release> implements Rele
 		if (request.getSsl() != null) {
 			release.setSsl(request.getSsl());
 		}
-		// A new release was created - We also need to create new indices for the nodes within the release
-		for (SchemaContainerVersion version : release.findActiveSchemaVersions()) {
-			batch.addNodeIndex(project, release, version, DRAFT);
-			batch.addNodeIndex(project, release, version, PUBLISHED);
-		}
+		// A new release was created - The migration job will create the indices for the nodes within the release
 		MeshInternal.get().boot().jobRoot().enqueueReleaseMigration(release.getCreator(), release);
 		return release;
 	}
@@ -34,6 +34,7 @@ public class RoleRootImpl extends AbstractRootVertex<Role> implements RoleRoot {
 	public static void init(Database database) {
 		database.addVertexType(RoleRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(HAS_ROLE, true, false, true);
+		database.addOrderedEdgeIndex(HAS_ROLE, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
@@ -48,6 +48,7 @@ public class SchemaContainerRootImpl extends AbstractRootVertex<SchemaContainer>
 		database.addEdgeType(HAS_SCHEMA_ROOT);
 		database.addEdgeType(HAS_SCHEMA_CONTAINER_ITEM);
 		database.addEdgeIndex(HAS_SCHEMA_CONTAINER_ITEM, true, false, true);
+		database.addOrderedEdgeIndex(HAS_SCHEMA_CONTAINER_ITEM, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
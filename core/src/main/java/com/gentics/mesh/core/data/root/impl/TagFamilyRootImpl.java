@@ -41,6 +41,7 @@ public class TagFamilyRootImpl extends AbstractRootVertex<TagFamily> implements
 	public static void init(Database database) {
 		database.addVertexType(TagFamilyRootImpl.class, MeshVertexImpl.class);
 		database.addEdgeIndex(HAS_TAG_FAMILY, true, false, true);
+		database.addOrderedEdgeIndex(HAS_TAG_FAMILY, ITEMS_INDEX_POSTFIX, "out", "in");
 	}
 
 	@Override
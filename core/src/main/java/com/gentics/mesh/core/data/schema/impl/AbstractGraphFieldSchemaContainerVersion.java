@@ -210,6 +210,7 @@ public abstract class AbstractGraphFieldSchemaContainerVersion<R extends FieldSc
 		getSchemaContainer().setLatestVersion(nextVersion);
 
 		// Update the search index
+		getSchemaContainer().updateChangeSequence();
 		batch.store(getSchemaContainer(), true);
 		return nextVersion;
 	}
@@ -10,15 +10,19 @@ import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_SCH
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_SCHEMA_VERSION;
 import static com.gentics.mesh.core.data.relationship.GraphRelationships.HAS_TO_VERSION;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.GraphFieldContainerEdge;
+import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.User;
@@ -42,7 +46,14 @@ import com.gentics.mesh.dagger.MeshInternal;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.util.ETag;
+import com.gentics.mesh.util.Tuple;
+import com.google.common.collect.Iterators;
+import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.VertexFrame;
+import com.syncleus.ferma.tx.Tx;
+import com.tinkerpop.blueprints.Direction;
+import com.tinkerpop.blueprints.Edge;
+import com.tinkerpop.blueprints.Vertex;
 
 import io.reactivex.Single;
 
@@ -55,6 +66,8 @@ public class SchemaContainerVersionImpl extends
 
 	public static void init(Database database) {
 		database.addVertexType(SchemaContainerVersionImpl.class, MeshVertexImpl.class);
+		// Ordered by the container in order to resume migrations via a range lookup
+		database.addOrderedEdgeIndex(HAS_SCHEMA_CONTAINER_VERSION, "version_containers", "in", "out");
 	}
 
 	@Override
@@ -69,11 +82,57 @@ public class SchemaContainerVersionImpl extends
 
 	@Override
 	public Iterator<? extends NodeGraphFieldContainer> getDraftFieldContainers(String releaseUuid) {
-		return in(HAS_SCHEMA_CONTAINER_VERSION).inE(HAS_FIELD_CONTAINER).filter(e -> {
-			GraphFieldContainerEdgeImpl edge = e.reframeExplicit(GraphFieldContainerEdgeImpl.class);
-			ContainerType type = edge.getType();
-			return releaseUuid.equals(edge.getReleaseUuid()) && (DRAFT == type);
-		}).inV().frameExplicit(NodeGraphFieldContainerImpl.class).iterator();
+		return getDraftFieldContainers(releaseUuid, null);
+	}
+
+	@Override
+	public Iterator<? extends NodeGraphFieldContainer> getDraftFieldContainers(String releaseUuid, String afterId) {
+		return getFieldContainers(releaseUuid, DRAFT, afterId);
+	}
+
+	@Override
+	public Iterator<? extends NodeGraphFieldContainer> getFieldContainers(String releaseUuid, ContainerType type, String afterId) {
+		Database db = MeshInternal.get().database();
+		FramedGraph graph = Tx.getActive().getGraph();
+		Object after = afterId != null ? db.createElementId(afterId) : null;
+
+		// The preceding containers are skipped via a range lookup in the ordered index
+		Iterator<? extends Edge> edges = db.getEdgesAfter(HAS_SCHEMA_CONTAINER_VERSION, "version_containers", new Object[] { getId() }, after);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(edges, Spliterator.ORDERED), false)
+			.map(edge -> graph.frameElementExplicit(edge.getVertex(Direction.OUT), NodeGraphFieldContainerImpl.class))
+			.filter(container -> container.inE(HAS_FIELD_CONTAINER).has(GraphFieldContainerEdgeImpl.RELEASE_UUID_KEY, releaseUuid)
+				.has(GraphFieldContainerEdgeImpl.EDGE_TYPE_KEY, type.getCode()).hasNext())
+			.iterator();
+	}
+
+	@Override
+	public Iterator<Tuple<Long, NodeGraphFieldContainer>> getChangedFieldContainers(String releaseUuid, ContainerType type, long changeSequence) {
+		Database db = MeshInternal.get().database();
+		FramedGraph graph = Tx.getActive().getGraph();
+
+		// Containers which have been changed themselves
+		Iterator<? extends Vertex> changedContainers = db.getVerticesAfter(IndexableElement.CHANGE_SEQUENCE_INDEX_NAME, new Object[] {
+			NodeGraphFieldContainerImpl.class.getSimpleName() }, changeSequence);
+		Iterator<Tuple<Long, NodeGraphFieldContainer>> containers = Iterators.transform(changedContainers, vertex -> {
+			Long sequence = vertex.getProperty(IndexableElement.CHANGE_SEQUENCE_PROPERTY_KEY);
+			return Tuple.tuple(sequence, (NodeGraphFieldContainer) graph.frameElementExplicit(vertex, NodeGraphFieldContainerImpl.class));
+		});
+		containers = Iterators.filter(containers, tuple -> equals(tuple.v2().getSchemaContainerVersion()) && tuple.v2().isType(type, releaseUuid));
+
+		// Containers whose node has been changed
+		Iterator<? extends Vertex> changedNodes = db.getVerticesAfter(IndexableElement.CHANGE_SEQUENCE_INDEX_NAME, new Object[] { NodeImpl.class
+			.getSimpleName() }, changeSequence);
+		Iterator<Tuple<Long, NodeGraphFieldContainer>> nodeContainers = Iterators.concat(Iterators.transform(changedNodes, vertex -> {
+			Long sequence = vertex.getProperty(IndexableElement.CHANGE_SEQUENCE_PROPERTY_KEY);
+			Node node = graph.frameElementExplicit(vertex, NodeImpl.class);
+			return node.getGraphFieldContainers(releaseUuid, type).stream()
+				.filter(container -> equals(container.getSchemaContainerVersion()))
+				.map(container -> Tuple.tuple(sequence, (NodeGraphFieldContainer) container))
+				.iterator();
+		}));
+
+		Comparator<Tuple<Long, NodeGraphFieldContainer>> bySequence = Comparator.comparing(Tuple::v1);
+		return Iterators.mergeSorted(Arrays.asList(containers, nodeContainers), bySequence);
 	}
 
 	@Override
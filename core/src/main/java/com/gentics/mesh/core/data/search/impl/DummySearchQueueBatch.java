@@ -34,7 +34,8 @@ public class DummySearchQueueBatch implements SearchQueueBatch {
 	}
 
 	@Override
-	public SearchQueueBatch createNodeIndex(String projectUuid, String releaseUuid, String versionUuid, ContainerType type, Schema schema) {
+	public SearchQueueBatch createNodeIndex(String projectUuid, String releaseUuid, String versionUuid, ContainerType type, Schema schema,
+		boolean bulk) {
 		return this;
 	}
 
@@ -58,6 +59,11 @@ public class DummySearchQueueBatch implements SearchQueueBatch {
 		return this;
 	}
 
+	@Override
+	public SearchQueueBatch updatePermissionGroup(IndexableElement element) {
+		return this;
+	}
+
 	@Override
 	public SearchQueueBatch delete(IndexableElement element, GenericEntryContext context, boolean addRelatedEntries) {
 		return this;
@@ -78,11 +84,26 @@ public class DummySearchQueueBatch implements SearchQueueBatch {
 		return null;
 	}
 
+	@Override
+	public SearchQueueBatch setWaitForRefresh(boolean flag) {
+		return this;
+	}
+
+	@Override
+	public boolean isWaitForRefresh() {
+		return false;
+	}
+
 	@Override
 	public Completable processAsync() {
 		return Completable.complete();
 	}
 
+	@Override
+	public Completable processEntries() {
+		return Completable.complete();
+	}
+
 	@Override
 	public void processSync(long timeout, TimeUnit unit) {
 
@@ -5,8 +5,14 @@ import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACT
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -34,6 +40,10 @@ import com.gentics.mesh.core.data.search.context.MoveEntryContext;
 import com.gentics.mesh.core.data.search.context.impl.GenericEntryContextImpl;
 import com.gentics.mesh.core.data.search.context.impl.MoveEntryContextImpl;
 import com.gentics.mesh.core.rest.schema.Schema;
+import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.gentics.mesh.graphdb.cache.TxCommitListener;
+import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.search.IndexHandlerRegistry;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.common.CreateIndexEntryImpl;
@@ -43,10 +53,18 @@ import com.gentics.mesh.search.index.entry.MoveDocumentEntryImpl;
 import com.gentics.mesh.search.index.entry.UpdateDocumentEntryImpl;
 import com.gentics.mesh.search.index.node.NodeIndexHandler;
 import com.gentics.mesh.search.index.tag.TagIndexHandler;
+import com.gentics.mesh.search.impl.IndexRefreshCoordinator;
 import com.gentics.mesh.search.index.tagfamily.TagFamilyIndexHandler;
+import com.gentics.mesh.search.journal.JournalRecord;
+import com.gentics.mesh.search.journal.SearchQueueEntryMapper;
+import com.gentics.mesh.search.journal.SearchQueueJournal;
+import com.gentics.mesh.search.verticle.SearchQueueIndexerVerticle;
+
+import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
@@ -57,6 +75,23 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 
 	private String batchId;
 	private List<SearchQueueEntry<?>> entries = new ArrayList<>();
+	private boolean waitForRefresh = false;
+	private int mergedEntryCount = 0;
+
+	/**
+	 * Transaction in which the batch has been registered for journaling.
+	 */
+	private CachingTx journalTx;
+
+	/**
+	 * Journal records which have been written for the batch when the transaction was committed.
+	 */
+	private List<JournalRecord> journalRecords = new ArrayList<>();
+
+	/**
+	 * Amount of entries which are contained in the journal records of the batch.
+	 */
+	private int journaledEntryCount = 0;
 
 	private static final Logger log = LoggerFactory.getLogger(SearchQueueBatchImpl.class);
 
@@ -78,6 +113,18 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 	@Inject
 	SearchProvider searchProvider;
 
+	@Inject
+	IndexRefreshCoordinator refreshCoordinator;
+
+	@Inject
+	SearchQueueJournal journal;
+
+	@Inject
+	SearchQueueEntryMapper journalMapper;
+
+	@Inject
+	Database db;
+
 	@Inject
 	public SearchQueueBatchImpl() {
 	}
@@ -90,10 +137,12 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 	}
 
 	@Override
-	public SearchQueueBatch createNodeIndex(String projectUuid, String releaseUuid, String versionUuid, ContainerType type, Schema schema) {
+	public SearchQueueBatch createNodeIndex(String projectUuid, String releaseUuid, String versionUuid, ContainerType type, Schema schema,
+		boolean bulk) {
 		String indexName = NodeGraphFieldContainer.composeIndexName(projectUuid, releaseUuid, versionUuid, type);
 		CreateIndexEntry entry = new CreateIndexEntryImpl(nodeContainerIndexHandler, indexName);
 		entry.setSchema(schema);
+		entry.setBulk(bulk);
 		// entry.getContext().setSchemaContainerVersionUuid(versionUuid);
 		addEntry(entry);
 		return this;
@@ -203,13 +252,21 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 
 	@Override
 	public SearchQueueBatch updatePermissions(IndexableElement element) {
+		return addPermissionEntry(element, SearchQueueEntryAction.UPDATE_ROLE_PERM_ACTION);
+	}
+
+	@Override
+	public SearchQueueBatch updatePermissionGroup(IndexableElement element) {
+		return addPermissionEntry(element, SearchQueueEntryAction.UPDATE_PERMISSION_GROUP_ACTION);
+	}
+
+	private SearchQueueBatch addPermissionEntry(IndexableElement element, SearchQueueEntryAction action) {
 		GenericEntryContextImpl context = new GenericEntryContextImpl();
 		Project project = element.getProject();
 		if (project != null) {
 			context.setProjectUuid(project.getUuid());
 		}
-		UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(registry.getForClass(element), element, context,
-			SearchQueueEntryAction.UPDATE_ROLE_PERM_ACTION);
+		UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(registry.getForClass(element), element, context, action);
 		addEntry(entry);
 		return this;
 	}
@@ -217,9 +274,33 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 	@Override
 	public SearchQueueEntry addEntry(SearchQueueEntry entry) {
 		entries.add(entry);
+		registerJournal();
 		return entry;
 	}
 
+	/**
+	 * Check whether the entries of the batch are journaled. Batches which were not created via injection have no journal and are processed directly.
+	 * 
+	 * @return
+	 */
+	private boolean isJournaled() {
+		return journal != null && journal.isEnabled();
+	}
+
+	/**
+	 * Register the batch in the active transaction so that its entries will be journaled right before the transaction gets committed.
+	 */
+	private void registerJournal() {
+		if (!isJournaled()) {
+			return;
+		}
+		Tx tx = Tx.getActive();
+		if (tx instanceof CachingTx && tx != journalTx) {
+			journalTx = (CachingTx) tx;
+			journalTx.getCommitListener(JournalTxListener.class, JournalTxListener::new).register(this);
+		}
+	}
+
 	@Override
 	public List<? extends SearchQueueEntry> getEntries() {
 		entries.sort((o1, o2) -> o1.getElementAction().compareTo(o2.getElementAction()));
@@ -232,6 +313,90 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		return entries;
 	}
 
+	/**
+	 * Merge the entries of the batch which affect the same document. Duplicate entries will be removed. The last store or delete entry for a document wins
+	 * since the entries will be reordered by their action when being processed. Permission updates will be removed if the document will be stored or deleted
+	 * anyway.
+	 * 
+	 * @return Amount of entries which have been removed
+	 */
+	public int mergeEntries() {
+		int before = entries.size();
+		List<SearchQueueEntry<?>> merged = new ArrayList<>();
+		Map<String, SearchQueueEntry<?>> documentEntries = new LinkedHashMap<>();
+		Map<String, SearchQueueEntry<?>> permEntries = new LinkedHashMap<>();
+		Set<String> indexActions = new LinkedHashSet<>();
+		for (SearchQueueEntry<?> entry : entries) {
+			if (entry instanceof UpdateDocumentEntryImpl) {
+				String key = documentKey((UpdateDocumentEntryImpl) entry);
+				switch (entry.getElementAction()) {
+				case STORE_ACTION:
+				case DELETE_ACTION:
+					documentEntries.put(key, entry);
+					break;
+				case UPDATE_ROLE_PERM_ACTION:
+					permEntries.put(key, entry);
+					break;
+				default:
+					merged.add(entry);
+				}
+			} else if (entry instanceof CreateIndexEntry) {
+				if (indexActions.add(entry.getElementAction() + ":" + ((CreateIndexEntry) entry).getIndexName())) {
+					merged.add(entry);
+				}
+			} else if (entry instanceof DropIndexEntry) {
+				if (indexActions.add(entry.getElementAction() + ":" + ((DropIndexEntry) entry).getIndexName())) {
+					merged.add(entry);
+				}
+			} else {
+				merged.add(entry);
+			}
+		}
+		merged.addAll(documentEntries.values());
+		for (Map.Entry<String, SearchQueueEntry<?>> permEntry : permEntries.entrySet()) {
+			if (!documentEntries.containsKey(permEntry.getKey())) {
+				merged.add(permEntry.getValue());
+			}
+		}
+		entries = merged;
+
+		int count = before - entries.size();
+		mergedEntryCount += count;
+		if (count > 0 && log.isDebugEnabled()) {
+			log.debug("Merged {" + count + "} of {" + before + "} entries of batch {" + getBatchId() + "}");
+		}
+		return count;
+	}
+
+	/**
+	 * Return the amount of entries which have been removed by merging the entries of the batch.
+	 * 
+	 * @return
+	 */
+	public int getMergedEntryCount() {
+		return mergedEntryCount;
+	}
+
+	/**
+	 * Return the key which identifies the document that is affected by the entry.
+	 * 
+	 * @param entry
+	 * @return
+	 */
+	private String documentKey(UpdateDocumentEntryImpl entry) {
+		StringBuilder key = new StringBuilder();
+		key.append(entry.getIndexHandler().getType()).append(":").append(entry.getElementUuid());
+		GenericEntryContext context = entry.getContext();
+		if (context != null) {
+			key.append(":").append(context.getProjectUuid());
+			key.append(":").append(context.getReleaseUuid());
+			key.append(":").append(context.getContainerType());
+			key.append(":").append(context.getLanguageTag());
+			key.append(":").append(context.getSchemaContainerVersionUuid());
+		}
+		return key.toString();
+	}
+
 	@Override
 	public String getBatchId() {
 		return batchId;
@@ -244,39 +409,114 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		}
 	}
 
+	@Override
+	public SearchQueueBatch setWaitForRefresh(boolean flag) {
+		this.waitForRefresh = flag;
+		return this;
+	}
+
+	@Override
+	public boolean isWaitForRefresh() {
+		return waitForRefresh;
+	}
+
 	@Override
 	public Completable processAsync() {
+		if (!isJournaled()) {
+			return processEntries();
+		}
 		return Completable.defer(() -> {
+			mergeEntries();
+			List<JournalRecord> records = new ArrayList<>(journalRecords);
+			journalRecords.clear();
+			if (entries.isEmpty()) {
+				return Completable.complete();
+			}
+			// The batch was not journaled along with the commit or entries have been added afterwards
+			if (records.isEmpty() || entries.size() != journaledEntryCount) {
+				// The journal only references the elements. Thus the entries need to be serialized before the batch gets cleared.
+				JsonArray json = db.tx(() -> journalMapper.toJson(entries));
+				records.add(journal.append(json, waitForRefresh));
+			}
+			if (!waitForRefresh) {
+				clear();
+				SearchQueueIndexerVerticle.invokeDrain();
+				return Completable.complete();
+			}
+
+			// The caller wants to see the changes in the index. The batch will be processed directly and the journal is only used to be able to recover
+			// from crashes.
+			return processEntries().doOnComplete(() -> {
+				for (JournalRecord record : records) {
+					journal.ack(record);
+				}
+			}).doOnError(error -> {
+				for (JournalRecord record : records) {
+					journal.release(record);
+				}
+				SearchQueueIndexerVerticle.invokeDrain();
+			});
+		});
+	}
+
+	@Override
+	public Completable processEntries() {
+		return Completable.defer(() -> {
+			mergeEntries();
 			Completable obs = Completable.complete();
+			// Names of the indices which are affected by the batch. All indices will be refreshed if the set is empty.
+			Set<String> indices = ConcurrentHashMap.newKeySet();
 
+			// Document deletions can be sent along with the stored documents. The merged entries never contain both actions for the same document.
 			List<? extends SearchQueueEntry> nonStoreEntries = getEntries()
 				.stream()
-				.filter(i -> i.getElementAction() != STORE_ACTION)
+				.filter(i -> !isBulkEntry(i))
 				.collect(Collectors.toList());
 
 			List<? extends SearchQueueEntry> storeEntries = getEntries()
 				.stream()
-				.filter(i -> i.getElementAction() == STORE_ACTION)
+				.filter(i -> isBulkEntry(i))
 				.collect(Collectors.toList());
 
 			if (!nonStoreEntries.isEmpty()) {
 				obs = Completable.concat(nonStoreEntries.stream().map(entry -> entry.process()).collect(Collectors.toList()));
 			}
-			int bulkLimit = Mesh.mesh().getOptions().getSearchOptions().getBulkLimit();
+			ElasticSearchOptions searchOptions = Mesh.mesh().getOptions().getSearchOptions();
+			// The search provider splits the entries into bulk requests and sends them concurrently
+			int bufferSize = searchOptions.getBulkLimit() * Math.max(1, searchOptions.getBulkConcurrency());
 			if (!storeEntries.isEmpty()) {
 				Observable<BulkEntry> bulks = Observable.fromIterable(storeEntries)
-					.flatMap(SearchQueueEntry::processForBulk);
+					.flatMap(SearchQueueEntry::processForBulk)
+					.doOnNext(entry -> {
+						// Other entries may affect any index
+						if (nonStoreEntries.isEmpty()) {
+							indices.add(entry.getIndexName());
+						}
+					});
 
 				AtomicLong counter = new AtomicLong();
 				Completable bulkProcessing = bulks
-					.buffer(bulkLimit)
-					.flatMapCompletable(bulk -> searchProvider.processBulk(bulk).doOnComplete(() -> {
+					.buffer(bufferSize)
+					.concatMap(bulk -> searchProvider.processBulk(bulk).doOnComplete(() -> {
 						log.debug("Bulk completed {" + counter.incrementAndGet() + "}");
-					}));
+					}).toObservable())
+					.ignoreElements();
 				obs = obs.andThen(bulkProcessing);
 			}
 
-			return obs.andThen(searchProvider.refreshIndex()).doOnComplete(() -> {
+			// Merge the refresh with the refresh requests of other batches
+			Completable refresh = Completable.defer(() -> {
+				if (nonStoreEntries.isEmpty() && storeEntries.isEmpty()) {
+					return Completable.complete();
+				}
+				if (waitForRefresh || refreshCoordinator.getWindow() <= 0) {
+					return refreshCoordinator.refresh(indices);
+				}
+				refreshCoordinator.requestRefresh(indices);
+				return Completable.complete();
+			});
+
+			return obs.andThen(refresh).doOnComplete(() -> {
 				if (log.isDebugEnabled()) {
 					log.debug("Handled all search queue items.");
 				}
@@ -292,6 +532,17 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		});
 	}
 
+	/**
+	 * Check whether the entry is processed via bulk requests.
+	 * 
+	 * @param entry
+	 * @return
+	 */
+	private boolean isBulkEntry(SearchQueueEntry<?> entry) {
+		SearchQueueEntryAction action = entry.getElementAction();
+		return action == STORE_ACTION || (action == DELETE_ACTION && entry.isBulkable());
+	}
+
 	@Override
 	public void processSync(long timeout, TimeUnit unit) {
 		if (!processAsync().blockingAwait(timeout, unit)) {
@@ -310,4 +561,87 @@ public class SearchQueueBatchImpl implements SearchQueueBatch {
 		entries.clear();
 	}
 
+	/**
+	 * Transaction listener which writes the journal records of all batches of the transaction right before the transaction gets committed. The records of all
+	 * batches are flushed at once. The commit of the records is marked once the transaction has been committed and records of rolled back transactions will
+	 * be discarded. Records of batches which don't wait for the refresh are released to the indexer after the commit.
+	 */
+	static class JournalTxListener implements TxCommitListener {
+
+		private final List<SearchQueueBatchImpl> batches = new ArrayList<>();
+
+		private final Map<JournalRecord, SearchQueueBatchImpl> records = new LinkedHashMap<>();
+
+		private SearchQueueJournal journal;
+
+		void register(SearchQueueBatchImpl batch) {
+			batches.add(batch);
+			journal = batch.journal;
+		}
+
+		@Override
+		public void beforeCommit() {
+			List<SearchQueueBatchImpl> journaled = new ArrayList<>();
+			List<JsonArray> jsons = new ArrayList<>();
+			for (SearchQueueBatchImpl batch : batches) {
+				batch.mergeEntries();
+				if (batch.entries.isEmpty()) {
+					continue;
+				}
+				// The transaction is still open. The referenced elements can thus be serialized directly.
+				jsons.add(batch.journalMapper.toJson(batch.entries));
+				journaled.add(batch);
+			}
+			if (jsons.isEmpty()) {
+				return;
+			}
+			try {
+				List<JournalRecord> appended = journal.append(jsons, false);
+				for (int i = 0; i < appended.size(); i++) {
+					records.put(appended.get(i), journaled.get(i));
+				}
+			} catch (IOException e) {
+				throw error(INTERNAL_SERVER_ERROR, "Could not write the search queue journal", e);
+			}
+		}
+
+		@Override
+		public void afterCommit() {
+			if (records.isEmpty()) {
+				return;
+			}
+			try {
+				journal.commit(records.keySet());
+			} catch (IOException e) {
+				// The records will be replayed as in doubt records if the commit mark is missing
+				log.error("Could not mark the commit of the search queue journal records", e);
+			}
+			boolean release = false;
+			for (Map.Entry<JournalRecord, SearchQueueBatchImpl> entry : records.entrySet()) {
+				SearchQueueBatchImpl batch = entry.getValue();
+				batch.journalRecords.add(entry.getKey());
+				batch.journaledEntryCount = batch.entries.size();
+				// Batches which wait for the refresh will be processed by the caller
+				if (!batch.isWaitForRefresh()) {
+					journal.release(entry.getKey());
+					release = true;
+				}
+			}
+			if (release) {
+				SearchQueueIndexerVerticle.invokeDrain();
+			}
+		}
+
+		@Override
+		public void afterRollback() {
+			try {
+				journal.discard(records.keySet());
+			} catch (IOException e) {
+				// The records will be replayed as in doubt records and verified against the graph
+				log.error("Could not discard the search queue journal records of the rolled back transaction", e);
+			}
+		}
+
+	}
+
 }
@@ -1,5 +1,6 @@
 package com.gentics.mesh.core.data.service;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
@@ -10,14 +11,21 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.cache.CachedPathSegment;
+import com.gentics.mesh.core.cache.WebrootPathCache;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.container.impl.NodeGraphFieldContainerImpl;
 import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.node.field.BinaryGraphField;
+import com.gentics.mesh.core.data.node.field.GraphField;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.path.Path;
 import com.gentics.mesh.path.PathSegment;
+import com.syncleus.ferma.FramedGraph;
+import com.syncleus.ferma.tx.Tx;
+import com.tinkerpop.blueprints.Vertex;
 
 @Singleton
 public class WebRootServiceImpl implements WebRootService {
@@ -32,10 +40,47 @@ public class WebRootServiceImpl implements WebRootService {
 	@Override
 	public Path findByProjectPath(InternalActionContext ac, String path) {
 		Project project = ac.getProject();
+		String releaseUuid = ac.getRelease().getUuid();
+		ContainerType type = ContainerType.forVersion(ac.getVersioningParameters().getVersion());
+
+		// The path to the project root (basenode) does not need to be cached
+		if ("/".equals(path) || path.isEmpty()) {
+			return resolve(ac, project, releaseUuid, type, path);
+		}
+
+		// Check whether the path has already been resolved before
+		List<CachedPathSegment> cachedSegments = WebrootPathCache.get(project.getUuid(), releaseUuid, type, path);
+		if (cachedSegments != null) {
+			Path cachedPath = toPath(cachedSegments, path);
+			if (cachedPath != null) {
+				return cachedPath;
+			}
+			// The cached information could not be applied to the graph
+			WebrootPathCache.evict(project.getUuid(), releaseUuid, type, path);
+		}
 
+		// The stamp must be loaded before the path is resolved
+		long stamp = WebrootPathCache.version();
+		Path resolvedPath = resolve(ac, project, releaseUuid, type, path);
+		if (!resolvedPath.getSegments().isEmpty()) {
+			WebrootPathCache.put(project.getUuid(), releaseUuid, type, path, toCachedSegments(resolvedPath), stamp);
+		}
+		return resolvedPath;
+	}
+
+	/**
+	 * Resolve the path using the graph.
+	 * 
+	 * @param ac
+	 * @param project
+	 * @param releaseUuid
+	 * @param type
+	 * @param path
+	 * @return
+	 */
+	private Path resolve(InternalActionContext ac, Project project, String releaseUuid, ContainerType type, String path) {
 		// First try to locate the content via the url path index
-		ContainerType type = ContainerType.forVersion(ac.getVersioningParameters().getVersion());
-		NodeGraphFieldContainer containerByWebUrlPath = findByPath(ac.getRelease().getUuid(), path, type);
+		NodeGraphFieldContainer containerByWebUrlPath = findByPath(releaseUuid, path, type);
 		if (containerByWebUrlPath != null) {
 			return containerByWebUrlPath.getPath(ac);
 		}
@@ -55,15 +100,69 @@ public class WebRootServiceImpl implements WebRootService {
 		}
 
 		// Prepare the stack which we use for resolving
-		String sanitizedPath = path.replaceAll("^/+", "");
-		String[] elements = sanitizedPath.split("\\/");
-		List<String> list = Arrays.asList(elements);
+		List<String> list = Arrays.asList(toElements(path));
 		Stack<String> stack = new Stack<String>();
 		Collections.reverse(list);
 		stack.addAll(list);
 
 		// Traverse the graph and buildup the result path while doing so
-		return baseNode.resolvePath(ac.getRelease().getUuid(), ContainerType.forVersion(ac.getVersioningParameters().getVersion()), nodePath, stack);
+		return baseNode.resolvePath(releaseUuid, type, nodePath, stack);
+	}
+
+	/**
+	 * Split the path into its segments.
+	 * 
+	 * @param path
+	 * @return
+	 */
+	private String[] toElements(String path) {
+		String sanitizedPath = path.replaceAll("^/+", "");
+		return sanitizedPath.split("\\/");
+	}
+
+	/**
+	 * Transform the resolved path into graph independent segments which can be cached.
+	 * 
+	 * @param path
+	 * @return
+	 */
+	private List<CachedPathSegment> toCachedSegments(Path path) {
+		List<CachedPathSegment> segments = new ArrayList<>();
+		for (PathSegment segment : path.getSegments()) {
+			NodeGraphFieldContainer container = segment.getContainer();
+			GraphField field = segment.getPathField();
+			String fieldKey = field == null ? null : field.getFieldKey();
+			segments.add(new CachedPathSegment(container.getParentNode().getUuid(), container.getId(), segment.getLanguageTag(), fieldKey,
+				field instanceof BinaryGraphField));
+		}
+		return segments;
+	}
+
+	/**
+	 * Restore the path from the cached segments. The cached segments are trusted since the entries are invalidated once a transaction which changes any of
+	 * the nodes of the path or the url fields of the path has been committed. Only the containers are loaded by their id.
+	 * 
+	 * @param segments
+	 * @param targetPath
+	 * @return Restored path or null if a container of the cached segments no longer exists
+	 */
+	private Path toPath(List<CachedPathSegment> segments, String targetPath) {
+		FramedGraph graph = Tx.getActive().getGraph();
+		Path path = new Path();
+		path.setTargetPath(targetPath);
+		for (CachedPathSegment segment : segments) {
+			Vertex vertex = graph.getVertex(segment.getContainerId());
+			if (vertex == null) {
+				return null;
+			}
+			NodeGraphFieldContainer container = graph.frameElementExplicit(vertex, NodeGraphFieldContainerImpl.class);
+			GraphField field = null;
+			if (segment.getFieldKey() != null) {
+				field = segment.isBinaryField() ? container.getBinary(segment.getFieldKey()) : container.getString(segment.getFieldKey());
+			}
+			path.addSegment(new PathSegment(container, field, segment.getLanguageTag()));
+		}
+		return path;
 	}
 
 	@Override
@@ -91,10 +91,10 @@ public class GroupCrudHandler extends AbstractCrudHandler<Group, GroupResponse>
 				if (log.isDebugEnabled()) {
 					log.debug("Role {" + role.getUuid() + "} is already assigned to group {" + group.getUuid() + "}.");
 				}
-				tuple = Tuple.tuple(group, searchQueue.create());
+				tuple = Tuple.tuple(group, searchQueue.create(ac));
 			} else {
 				tuple = db.tx(() -> {
-					SearchQueueBatch batch = searchQueue.create();
+					SearchQueueBatch batch = searchQueue.create(ac);
 					group.addRole(role);
 					group.setEditor(ac.getUser());
 					group.setLastEditedTimestamp();
@@ -127,7 +127,7 @@ public class GroupCrudHandler extends AbstractCrudHandler<Group, GroupResponse>
 			Role role = boot.get().roleRoot().loadObjectByUuid(ac, roleUuid, READ_PERM);
 
 			return db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				group.removeRole(role);
 				group.setEditor(ac.getUser());
 				group.setLastEditedTimestamp();
@@ -175,7 +175,7 @@ public class GroupCrudHandler extends AbstractCrudHandler<Group, GroupResponse>
 			Group group = boot.get().groupRoot().loadObjectByUuid(ac, groupUuid, UPDATE_PERM);
 			User user = boot.get().userRoot().loadObjectByUuid(ac, userUuid, READ_PERM);
 			ResultInfo info = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				group.addUser(user);
 				batch.store(group, true);
 				GroupResponse model = group.transformToRestSync(ac, 0);
@@ -204,7 +204,7 @@ public class GroupCrudHandler extends AbstractCrudHandler<Group, GroupResponse>
 			User user = boot.get().userRoot().loadObjectByUuid(ac, userUuid, READ_PERM);
 
 			return db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				batch.store(group, true);
 				batch.store(user, false);
 				group.removeUser(user);
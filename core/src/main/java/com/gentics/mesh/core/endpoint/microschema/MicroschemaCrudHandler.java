@@ -84,7 +84,7 @@ public class MicroschemaCrudHandler extends AbstractCrudHandler<MicroschemaConta
 			User user = ac.getUser();
 			SchemaUpdateParameters updateParams = ac.getSchemaUpdateParameters();
 			Tuple<SearchQueueBatch, String> info = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				MicroschemaContainerVersion createdVersion = schemaContainer.getLatestVersion().applyChanges(ac, model, batch);
 
 				if (updateParams.getUpdateAssignedReleases()) {
@@ -147,7 +147,7 @@ public class MicroschemaCrudHandler extends AbstractCrudHandler<MicroschemaConta
 		utils.asyncTx(ac, () -> {
 			MicroschemaContainer schema = boot.get().microschemaContainerRoot().loadObjectByUuid(ac, schemaUuid, UPDATE_PERM);
 			db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				schema.getLatestVersion().applyChanges(ac, batch);
 				return batch;
 			}).processSync();
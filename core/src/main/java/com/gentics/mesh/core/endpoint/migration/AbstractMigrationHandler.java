@@ -1,27 +1,52 @@
 package com.gentics.mesh.core.endpoint.migration;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
 import javax.script.ScriptEngine;
+import javax.script.ScriptException;
 
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.context.impl.NodeMigrationActionContextImpl;
 import com.gentics.mesh.core.data.GraphFieldContainer;
-import com.gentics.mesh.core.data.node.handler.TypeConverter;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.schema.GraphFieldSchemaContainerVersion;
 import com.gentics.mesh.core.data.schema.RemoveFieldChange;
 import com.gentics.mesh.core.data.schema.SchemaChange;
 import com.gentics.mesh.core.data.schema.impl.FieldTypeChangeImpl;
 import com.gentics.mesh.core.data.search.SearchQueue;
+import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.SearchQueueEntry;
 import com.gentics.mesh.core.endpoint.handler.AbstractHandler;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
 import com.gentics.mesh.core.rest.common.FieldContainer;
-import com.gentics.mesh.core.rest.common.RestModel;
+import com.gentics.mesh.core.rest.node.FieldMap;
+import com.gentics.mesh.etc.config.GraphStorageOptions;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.json.JsonUtil;
-import com.gentics.mesh.util.Tuple;
 
+import io.reactivex.Completable;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import jdk.nashorn.api.scripting.ClassFilter;
@@ -37,6 +62,13 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	 */
 	protected NashornScriptEngineFactory factory = new NashornScriptEngineFactory();
 
+	/**
+	 * Engine which compiles the migration scripts. The scripts will be evaluated using per thread bindings of this engine.
+	 */
+	private final ScriptEngine engine = factory.getScriptEngine(new Sandbox());
+
+	private final ThreadLocal<Bindings> bindings = ThreadLocal.withInitial(() -> engine.createBindings());
+
 	protected Database db;
 
 	protected SearchQueue searchQueue;
@@ -50,7 +82,7 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	}
 
 	/**
-	 * Collect the migration scripts and set of touched fields when migrating the given container into the next version
+	 * Collect and compile the migration scripts and set of touched fields when migrating the given container into the next version
 	 *
 	 * @param fromVersion
 	 *            Container which contains the expected migration changes
@@ -59,15 +91,17 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	 * @param touchedFields
 	 *            Set of touched fields (will be modified)
 	 * @throws IOException
+	 * @throws ScriptException
 	 */
-	protected void prepareMigration(GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> fromVersion,
-			List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, Set<String> touchedFields) throws IOException {
+	protected void prepareMigration(GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> fromVersion, List<MigrationScript> migrationScripts,
+			Set<String> touchedFields) throws IOException, ScriptException {
 		SchemaChange<?> change = fromVersion.getNextChange();
 		while (change != null) {
 			String migrationScript = change.getMigrationScript();
 			if (migrationScript != null) {
 				migrationScript = migrationScript + "\nnode = JSON.stringify(migrate(JSON.parse(node), fieldname, convert));";
-				migrationScripts.add(Tuple.tuple(migrationScript, change.getMigrationScriptContext()));
+				CompiledScript compiled = ((Compilable) engine).compile(migrationScript);
+				migrationScripts.add(new MigrationScript(compiled, change.getMigrationScriptContext()));
 			}
 
 			// if either the type changes or the field is removed, the field is
@@ -82,6 +116,252 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 		}
 	}
 
+	/**
+	 * Check whether the changes of the given version can be applied directly to the graph. This is the case if none of the changes needs a migration script.
+	 * Removed fields only use an automatic script which deletes the field from the rest model. Those fields will be removed from the container directly.
+	 * 
+	 * @param fromVersion
+	 *            Container which contains the expected migration changes
+	 * @return true if the migration does not require the rest model of the containers
+	 * @throws IOException
+	 */
+	protected boolean isStructuralMigration(GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> fromVersion) throws IOException {
+		SchemaChange<?> change = fromVersion.getNextChange();
+		while (change != null) {
+			String migrationScript = change.getMigrationScript();
+			if (migrationScript != null) {
+				boolean isFieldRemoval = change instanceof RemoveFieldChange && migrationScript.equals(change.getAutoMigrationScript());
+				if (!isFieldRemoval) {
+					return false;
+				}
+			}
+			change = change.getNextChange();
+		}
+		return true;
+	}
+
+	/**
+	 * Migrate the given containers in chunks. The containers will be split into partitions by their node so that all containers of a node are migrated by
+	 * the same partition. The partitions will be processed concurrently by a dedicated pool which is limited by the configured migration concurrency. The
+	 * chunks of a partition will be processed in order.
+	 * 
+	 * Each chunk will be migrated within a single transaction and the search index changes of the chunk will be processed using a single batch. The
+	 * containers of a chunk will be migrated in separate transactions if the chunk transaction fails. The batch of a chunk will be processed while the next
+	 * chunk of the partition gets migrated.
+	 * 
+	 * The status will be committed together with a checkpoint. The checkpoint is the id of the last container up to which all containers have been
+	 * migrated successfully. Failed containers are neither counted as completed nor passed by the checkpoint.
+	 * 
+	 * @param containers
+	 *            Containers to be migrated
+	 * @param status
+	 *            Status handler which will be updated and committed by the invoking thread
+	 * @param migration
+	 *            Migration of a single container. The migration may be invoked concurrently.
+	 * @return List of errors which were encountered during the migration
+	 */
+	protected List<Exception> migrateContainers(Iterator<? extends NodeGraphFieldContainer> containers, MigrationStatusHandler status,
+		ContainerMigration migration) {
+		GraphStorageOptions storageOptions = Mesh.mesh().getOptions().getStorageOptions();
+		int batchSize = Math.max(1, storageOptions.getMigrationBatchSize());
+		int concurrency = Math.max(1, storageOptions.getMigrationConcurrency());
+
+		List<Exception> errorsDetected = Collections.synchronizedList(new ArrayList<>());
+		MigrationProgress progress = new MigrationProgress(status, status != null ? status.getCheckpoint() : null);
+		Partition[] partitions = new Partition[concurrency];
+		for (int i = 0; i < concurrency; i++) {
+			partitions[i] = new Partition(batchSize);
+		}
+
+		// A single partition will be migrated by the invoking thread
+		ExecutorService pool = concurrency > 1 ? createPool(concurrency) : null;
+		Executor executor = pool != null ? pool : Runnable::run;
+		// Limit the amount of loaded chunks which have not yet been migrated
+		Semaphore pendingChunks = new Semaphore(concurrency * 2);
+		try {
+			while (containers.hasNext()) {
+				NodeGraphFieldContainer container = containers.next();
+				Partition partition = partitions[partitionOf(container, concurrency)];
+				partition.chunk.add(container);
+				partition.positions.add(progress.read(container));
+				if (partition.chunk.size() >= batchSize) {
+					submit(partition, executor, pendingChunks, progress, migration, errorsDetected);
+				}
+			}
+			for (Partition partition : partitions) {
+				if (!partition.chunk.isEmpty()) {
+					submit(partition, executor, pendingChunks, progress, migration, errorsDetected);
+				}
+			}
+
+			// Wait for all partitions and update the status in the meantime
+			CompletableFuture<Void> all = CompletableFuture.allOf(Arrays.stream(partitions).map(p -> p.tail).toArray(CompletableFuture[]::new));
+			while (true) {
+				try {
+					all.get(1, TimeUnit.SECONDS);
+					break;
+				} catch (TimeoutException e) {
+					progress.commit();
+				}
+			}
+			for (Partition partition : partitions) {
+				awaitBatch(partition.pendingBatch, errorsDetected);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			errorsDetected.add(e);
+		} catch (ExecutionException e) {
+			errorsDetected.add(e);
+		} finally {
+			if (pool != null) {
+				pool.shutdown();
+			}
+		}
+		progress.commit();
+		log.info("Migration of " + progress.getCount() + " containers done..");
+		return new ArrayList<>(errorsDetected);
+	}
+
+	/**
+	 * Submit the current chunk of the partition. The chunk will be migrated once the previous chunks of the partition have been migrated.
+	 * 
+	 * @param partition
+	 * @param executor
+	 * @param pendingChunks
+	 * @param progress
+	 * @param migration
+	 * @param errorsDetected
+	 * @throws InterruptedException
+	 */
+	private void submit(Partition partition, Executor executor, Semaphore pendingChunks, MigrationProgress progress, ContainerMigration migration,
+		List<Exception> errorsDetected) throws InterruptedException {
+		List<NodeGraphFieldContainer> chunk = partition.chunk;
+		List<Long> positions = partition.positions;
+		partition.chunk = new ArrayList<>(chunk.size());
+		partition.positions = new ArrayList<>(chunk.size());
+		while (!pendingChunks.tryAcquire(1, TimeUnit.SECONDS)) {
+			progress.commit();
+		}
+		partition.tail = partition.tail.thenRunAsync(() -> {
+			List<Long> failed = new ArrayList<>();
+			try {
+				SearchQueueBatch batch = migrateChunk(chunk, positions, failed, migration, errorsDetected);
+				// Only the batch of a single chunk is processed per partition
+				awaitBatch(partition.pendingBatch, errorsDetected);
+				partition.pendingBatch = batch.processAsync().cache();
+				partition.pendingBatch.subscribe(() -> {
+				}, error -> {
+					// The error will be collected once the batch gets awaited
+				});
+			} catch (Exception e) {
+				log.error("Error while migrating a chunk of {" + chunk.size() + "} containers.", e);
+				errorsDetected.add(e);
+				failed.clear();
+				failed.addAll(positions);
+			} finally {
+				progress.completed(positions, failed);
+				pendingChunks.release();
+			}
+		}, executor);
+		progress.commit();
+	}
+
+	/**
+	 * Return the partition of the container. Containers of the same node will always be assigned to the same partition.
+	 * 
+	 * @param container
+	 * @param partitionCount
+	 * @return
+	 */
+	private int partitionOf(NodeGraphFieldContainer container, int partitionCount) {
+		if (partitionCount == 1) {
+			return 0;
+		}
+		return Math.floorMod(container.getParentNode().getUuid().hashCode(), partitionCount);
+	}
+
+	/**
+	 * Create the pool which will be used to migrate the partitions.
+	 * 
+	 * @param concurrency
+	 * @return
+	 */
+	private ExecutorService createPool(int concurrency) {
+		AtomicInteger counter = new AtomicInteger();
+		return Executors.newFixedThreadPool(concurrency, runnable -> {
+			Thread thread = new Thread(runnable, "mesh-migration-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Migrate the chunk of containers within a single transaction. The containers will be migrated in dedicated transactions if the transaction of the
+	 * chunk fails.
+	 * 
+	 * @param chunk
+	 * @param positions
+	 *            Positions of the containers of the chunk
+	 * @param failed
+	 *            List to which the positions of the containers which could not be migrated will be added
+	 * @param migration
+	 * @param errorsDetected
+	 * @return Batch which contains the search index changes of all successfully migrated containers
+	 */
+	private SearchQueueBatch migrateChunk(List<NodeGraphFieldContainer> chunk, List<Long> positions, List<Long> failed, ContainerMigration migration,
+		List<Exception> errorsDetected) {
+		try {
+			return db.tx(tx -> {
+				SearchQueueBatch sqb = searchQueue.create();
+				for (NodeGraphFieldContainer container : chunk) {
+					migration.migrate(container, sqb);
+				}
+				return sqb;
+			});
+		} catch (Exception e) {
+			log.warn("Error while migrating a chunk of {" + chunk.size() + "} containers. Migrating the containers separately.", e);
+		}
+
+		SearchQueueBatch batch = searchQueue.create();
+		for (int i = 0; i < chunk.size(); i++) {
+			NodeGraphFieldContainer container = chunk.get(i);
+			try {
+				SearchQueueBatch containerBatch = db.tx(tx -> {
+					SearchQueueBatch sqb = searchQueue.create();
+					migration.migrate(container, sqb);
+					return sqb;
+				});
+				for (SearchQueueEntry<?> entry : containerBatch.getEntries()) {
+					batch.addEntry(entry);
+				}
+			} catch (Exception e1) {
+				log.error("Error while handling container {" + container.getUuid() + "} during schema migration.", e1);
+				errorsDetected.add(e1);
+				failed.add(positions.get(i));
+			}
+		}
+		return batch;
+	}
+
+	/**
+	 * Wait until the given batch processing has finished and collect the error if the processing failed.
+	 * 
+	 * @param batch
+	 * @param errorsDetected
+	 */
+	private void awaitBatch(Completable batch, List<Exception> errorsDetected) {
+		try {
+			Throwable error = batch.blockingGet(120, TimeUnit.SECONDS);
+			if (error != null) {
+				log.error("Error while processing the search queue batch of the migration.", error);
+				errorsDetected.add(error instanceof Exception ? (Exception) error : new RuntimeException(error));
+			}
+		} catch (RuntimeException e) {
+			log.error("The search queue batch of the migration did not finish in time.", e);
+			errorsDetected.add(e);
+		}
+	}
+
 	/**
 	 * Migrate the given container. This will also set the new version to the container.
 	 * 
@@ -100,44 +380,205 @@ public abstract class AbstractMigrationHandler extends AbstractHandler implement
 	 * @param clazz
 	 * @throws Exception
 	 */
-	protected <T extends FieldContainer> void migrate(NodeMigrationActionContextImpl ac, GraphFieldContainer container, RestModel restModel,
-			GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> newVersion, Set<String> touchedFields,
-			List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, Class<T> clazz) throws Exception {
+	protected <T extends FieldContainer> void migrate(NodeMigrationActionContextImpl ac, GraphFieldContainer container, FieldContainer restModel,
+			GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> newVersion, Set<String> touchedFields, List<MigrationScript> migrationScripts,
+			Class<T> clazz) throws Exception {
 
 		// Remove all touched fields (if necessary, they will be readded later)
+		removeTouchedFields(container, touchedFields);
+
+		FieldMap fields;
+		if (migrationScripts.isEmpty()) {
+			// Without scripts the fields of the rest model can be used directly
+			fields = restModel.getFields();
+		} else {
+			String nodeJson = restModel.toJson();
+			Bindings scope = bindings.get();
+			for (MigrationScript script : migrationScripts) {
+				nodeJson = script.eval(scope, nodeJson);
+			}
+
+			// Transform the result back to the Rest Model
+			T transformedRestModel = JsonUtil.readValue(nodeJson, clazz);
+			fields = transformedRestModel.getFields();
+		}
+
+		container.setSchemaContainerVersion(newVersion);
+		container.updateFieldsFromRest(ac, fields);
+
+	}
+
+	/**
+	 * Migrate the given container without using the rest model. The touched fields will be removed and the new version will be set. All other fields are
+	 * kept since the container is expected to be a clone of the previous container. This can only be used for structural migrations.
+	 * 
+	 * @param container
+	 *            container to migrate
+	 * @param newVersion
+	 *            new schema version
+	 * @param touchedFields
+	 *            set of touched fields
+	 * @see #isStructuralMigration(GraphFieldSchemaContainerVersion)
+	 */
+	protected void migrateStructure(GraphFieldContainer container, GraphFieldSchemaContainerVersion<?, ?, ?, ?, ?> newVersion,
+			Set<String> touchedFields) {
+		removeTouchedFields(container, touchedFields);
+		container.setSchemaContainerVersion(newVersion);
+	}
+
+	private void removeTouchedFields(GraphFieldContainer container, Set<String> touchedFields) {
 		container.getFields().stream().filter(f -> touchedFields.contains(f.getFieldKey())).forEach(f -> f.removeField(container));
+	}
+
+	/**
+	 * Partition of the containers which will be migrated in order.
+	 */
+	private static class Partition {
+
+		/**
+		 * Chunk which is currently being collected.
+		 */
+		private List<NodeGraphFieldContainer> chunk;
+
+		/**
+		 * Positions of the containers of the current chunk.
+		 */
+		private List<Long> positions;
+
+		/**
+		 * Future which completes once the last submitted chunk has been migrated.
+		 */
+		private CompletableFuture<Void> tail = CompletableFuture.completedFuture(null);
+
+		/**
+		 * Processing of the search queue batch of the last migrated chunk.
+		 */
+		private volatile Completable pendingBatch = Completable.complete();
+
+		Partition(int batchSize) {
+			this.chunk = new ArrayList<>(batchSize);
+			this.positions = new ArrayList<>(batchSize);
+		}
+	}
+
+	/**
+	 * Progress of a migration. The amount of migrated containers will be updated concurrently while the status will only be committed by the thread which
+	 * invoked the migration since the status is stored within the transaction of that thread.
+	 * 
+	 * The containers will be completed out of order since the partitions are migrated concurrently. The progress thus tracks the position of each container
+	 * which has been read but not yet completed. The checkpoint is the container which precedes the first pending container. Containers which could not be
+	 * migrated stay pending so that the checkpoint never advances past them.
+	 */
+	private static class MigrationProgress {
+
+		/**
+		 * Marker for containers which are not preceded by a checkpoint.
+		 */
+		private static final String NO_CHECKPOINT = "";
+
+		private final MigrationStatusHandler status;
+
+		private final AtomicLong count = new AtomicLong();
+
+		private long committed = 0;
 
-		String nodeJson = restModel.toJson();
+		/**
+		 * Pending containers by their position. The value is the id of the preceding container.
+		 */
+		private final NavigableMap<Long, String> pending = new ConcurrentSkipListMap<>();
 
-		for (Tuple<String, List<Tuple<String, Object>>> scriptEntry : migrationScripts) {
-			String script = scriptEntry.v1();
-			List<Tuple<String, Object>> context = scriptEntry.v2();
-			ScriptEngine engine = factory.getScriptEngine(new Sandbox());
+		private long readCount = 0;
 
-			engine.put("node", nodeJson);
-			engine.put("convert", new TypeConverter());
-			if (context != null) {
-				for (Tuple<String, Object> ctxEntry : context) {
-					engine.put(ctxEntry.v1(), ctxEntry.v2());
+		private String lastRead;
+
+		MigrationProgress(MigrationStatusHandler status, String checkpoint) {
+			this.status = status;
+			this.lastRead = checkpoint;
+		}
+
+		/**
+		 * Register the container which has been read from the iterator.
+		 * 
+		 * @param container
+		 * @return Position of the container
+		 */
+		long read(NodeGraphFieldContainer container) {
+			long position = readCount++;
+			pending.put(position, lastRead == null ? NO_CHECKPOINT : lastRead);
+			lastRead = container.getId().toString();
+			return position;
+		}
+
+		/**
+		 * Register the processed containers. Only the successfully migrated containers will be counted and released.
+		 * 
+		 * @param positions
+		 *            Positions of the processed containers
+		 * @param failed
+		 *            Positions of the containers which could not be migrated
+		 */
+		void completed(List<Long> positions, List<Long> failed) {
+			for (Long position : positions) {
+				if (!failed.contains(position)) {
+					pending.remove(position);
 				}
 			}
-			engine.eval(script);
-
-			Object transformedNodeModel = engine.get("node");
+			count.addAndGet(positions.size() - failed.size());
+		}
 
-			if (transformedNodeModel == null) {
-				throw new Exception("Transformed node model not found after handling migration scripts");
+		/**
+		 * Return the id of the last container up to which all read containers have been migrated successfully.
+		 * 
+		 * @return
+		 */
+		String getCheckpoint() {
+			Map.Entry<Long, String> first = pending.firstEntry();
+			if (first == null) {
+				return lastRead;
 			}
+			return NO_CHECKPOINT.equals(first.getValue()) ? null : first.getValue();
+		}
 
-			nodeJson = transformedNodeModel.toString();
+		long getCount() {
+			return count.get();
 		}
 
-		// Transform the result back to the Rest Model
-		T transformedRestModel = JsonUtil.readValue(nodeJson, clazz);
+		/**
+		 * Commit the status if the amount of migrated containers has changed since the last commit.
+		 */
+		void commit() {
+			long current = count.get();
+			if (current == committed) {
+				return;
+			}
+			log.info("Migrated containers: " + current);
+			if (status != null) {
+				for (long i = committed; i < current; i++) {
+					status.incCompleted();
+				}
+				status.setCheckpoint(getCheckpoint());
+				status.commit();
+			}
+			committed = current;
+		}
+	}
 
-		container.setSchemaContainerVersion(newVersion);
-		container.updateFieldsFromRest(ac, transformedRestModel.getFields());
+	/**
+	 * Migration of a single container which will be invoked within a transaction.
+	 */
+	@FunctionalInterface
+	protected interface ContainerMigration {
 
+		/**
+		 * Migrate the container.
+		 * 
+		 * @param container
+		 *            Container to be migrated
+		 * @param sqb
+		 *            Batch which will be used to update the search index
+		 * @throws Exception
+		 */
+		void migrate(NodeGraphFieldContainer container, SearchQueueBatch sqb) throws Exception;
 	}
 
 	/**
@@ -0,0 +1,71 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import java.util.List;
+
+import javax.script.Bindings;
+import javax.script.CompiledScript;
+
+import com.gentics.mesh.core.data.node.handler.TypeConverter;
+import com.gentics.mesh.util.Tuple;
+
+/**
+ * Compiled migration script of a schema change. The script will be compiled once per migration and can be evaluated concurrently as long as each thread
+ * uses its own bindings.
+ */
+public class MigrationScript {
+
+	private final CompiledScript script;
+
+	private final List<Tuple<String, Object>> context;
+
+	/**
+	 * Create a new migration script.
+	 *
+	 * @param script
+	 *            Compiled script
+	 * @param context
+	 *            Additional variables which will be set before the script is evaluated
+	 */
+	public MigrationScript(CompiledScript script, List<Tuple<String, Object>> context) {
+		this.script = script;
+		this.context = context;
+	}
+
+	/**
+	 * Evaluate the script for the given node JSON. The variables which are set for the evaluation will be removed afterwards so that the bindings can be
+	 * reused by the next evaluation.
+	 *
+	 * @param bindings
+	 *            Bindings of the engine which compiled the script
+	 * @param nodeJson
+	 *            JSON of the node which should be migrated
+	 * @return JSON of the migrated node
+	 * @throws Exception
+	 */
+	public String eval(Bindings bindings, String nodeJson) throws Exception {
+		bindings.put("node", nodeJson);
+		bindings.put("convert", new TypeConverter());
+		if (context != null) {
+			for (Tuple<String, Object> ctxEntry : context) {
+				bindings.put(ctxEntry.v1(), ctxEntry.v2());
+			}
+		}
+		try {
+			script.eval(bindings);
+			Object transformedNodeModel = bindings.get("node");
+			if (transformedNodeModel == null) {
+				throw new Exception("Transformed node model not found after handling migration scripts");
+			}
+			return transformedNodeModel.toString();
+		} finally {
+			bindings.remove("node");
+			bindings.remove("convert");
+			if (context != null) {
+				for (Tuple<String, Object> ctxEntry : context) {
+					bindings.remove(ctxEntry.v1());
+				}
+			}
+		}
+	}
+
+}
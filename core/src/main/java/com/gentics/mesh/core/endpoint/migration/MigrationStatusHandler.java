@@ -53,6 +53,21 @@ public interface MigrationStatusHandler {
 	 */
 	void setCompletionCount(long completionCount);
 
+	/**
+	 * Return the checkpoint which was stored by a previous run of the migration.
+	 * 
+	 * @return Id of the last element up to which all elements have been migrated successfully or null
+	 */
+	String getCheckpoint();
+
+	/**
+	 * Set the checkpoint which will be stored by the next commit.
+	 * 
+	 * @param checkpoint
+	 *            Id of the last element up to which all elements have been migrated successfully
+	 */
+	void setCheckpoint(String checkpoint);
+
 	void incCompleted();
 
 }
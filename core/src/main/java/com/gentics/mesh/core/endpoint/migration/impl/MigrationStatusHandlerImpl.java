@@ -39,12 +39,17 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 
 	private long completionCount = 0;
 
+	private String checkpoint;
+
 	private MigrationStatus status;
 
 	public MigrationStatusHandlerImpl(Job job, Vertx vertx, MigrationType type) {
 		this.vertx = vertx;
 		this.job = job;
 		status = job.getStatus();
+		// Continue the progress of a previous run which did not finish
+		completionCount = job.getCompletionCount();
+		checkpoint = job.getMigrationCheckpoint();
 	}
 
 	@Override
@@ -53,6 +58,7 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 			versionEdge.setMigrationStatus(status);
 		}
 		job.setCompletionCount(completionCount);
+		job.setMigrationCheckpoint(checkpoint);
 		job.setStatus(status);
 
 		Tx.getActive().getGraph().commit();
@@ -93,6 +99,7 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 		JsonObject result = new JsonObject().put("type", "completed");
 		vertx.eventBus().publish(MESH_MIGRATION, result);
 		job.setStopTimestamp();
+		checkpoint = null;
 		commit();
 		return this;
 	}
@@ -129,6 +136,16 @@ public class MigrationStatusHandlerImpl implements MigrationStatusHandler {
 		this.completionCount = completionCount;
 	}
 
+	@Override
+	public String getCheckpoint() {
+		return checkpoint;
+	}
+
+	@Override
+	public void setCheckpoint(String checkpoint) {
+		this.checkpoint = checkpoint;
+	}
+
 	@Override
 	public void setStatus(MigrationStatus status) {
 		this.status = status;
@@ -13,9 +13,11 @@ import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.script.ScriptException;
 
 import com.gentics.mesh.context.impl.NodeMigrationActionContextImpl;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.node.Micronode;
 import com.gentics.mesh.core.data.node.Node;
@@ -25,11 +27,11 @@ import com.gentics.mesh.core.data.schema.MicroschemaContainerVersion;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.endpoint.migration.AbstractMigrationHandler;
+import com.gentics.mesh.core.endpoint.migration.MigrationScript;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
 import com.gentics.mesh.core.rest.micronode.MicronodeResponse;
 import com.gentics.mesh.graphdb.spi.Database;
-import com.gentics.mesh.util.Tuple;
 import com.gentics.mesh.util.VersionNumber;
 import com.syncleus.ferma.tx.Tx;
 
@@ -73,42 +75,27 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 		}
 
 		// Collect the migration scripts
-		List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts = new ArrayList<>();
+		List<MigrationScript> migrationScripts = new ArrayList<>();
 		Set<String> touchedFields = new HashSet<>();
 		try (Tx tx = db.tx()) {
 			prepareMigration(fromVersion, migrationScripts, touchedFields);
-		} catch (IOException e) {
+		} catch (IOException | ScriptException e) {
 			return Completable.error(e);
 		}
 
-		NodeMigrationActionContextImpl ac = new NodeMigrationActionContextImpl();
-		ac.setProject(release.getProject());
-		ac.setRelease(release);
-
 		if (status != null) {
 			status.setStatus(RUNNING);
 			status.commit();
 		}
 
-		// Iterate over all containers and invoke a migration for each one
-		long count = 0;
-		List<Exception> errorsDetected = new ArrayList<>();
-		while (fieldContainersIt.hasNext()) {
-			NodeGraphFieldContainer container = fieldContainersIt.next();
-			migrateMicronodeContainer(ac, release, fromVersion, toVersion, container, touchedFields, migrationScripts, errorsDetected);
-
-			if (status != null) {
-				status.incCompleted();
-			}
-			if (count % 50 == 0) {
-				log.info("Migrated micronode containers: " + count);
-				if (status != null) {
-					status.commit();
-				}
-			}
-			count++;
-		}
-		log.info("Migration of " + count + " containers done..");
+		// Migrate the containers in chunks. The containers may be migrated concurrently and thus each container uses its own context.
+		Project project = release.getProject();
+		List<Exception> errorsDetected = migrateContainers(fieldContainersIt, status, (container, sqb) -> {
+			NodeMigrationActionContextImpl ac = new NodeMigrationActionContextImpl();
+			ac.setProject(project);
+			ac.setRelease(release);
+			migrateMicronodeContainer(ac, sqb, release, fromVersion, toVersion, container, touchedFields, migrationScripts);
+		});
 		log.info("Encountered {" + errorsDetected.size() + "} errors during micronode migration.");
 		Completable result = Completable.complete();
 		if (!errorsDetected.isEmpty()) {
@@ -122,49 +109,46 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 		return result;
 	}
 
-	private void migrateMicronodeContainer(NodeMigrationActionContextImpl ac, Release release, MicroschemaContainerVersion fromVersion,
-			MicroschemaContainerVersion toVersion, NodeGraphFieldContainer container, Set<String> touchedFields,
-			List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, List<Exception> errorsDetected) {
+	/**
+	 * Migrate the micronodes of the given container. The method needs to be invoked within a transaction.
+	 * 
+	 * @param ac
+	 * @param sqb
+	 *            Batch to be updated to handle index changes
+	 * @param release
+	 * @param fromVersion
+	 * @param toVersion
+	 * @param container
+	 *            Container to be migrated
+	 * @param touchedFields
+	 * @param migrationScripts
+	 * @throws Exception
+	 */
+	private void migrateMicronodeContainer(NodeMigrationActionContextImpl ac, SearchQueueBatch sqb, Release release,
+			MicroschemaContainerVersion fromVersion, MicroschemaContainerVersion toVersion, NodeGraphFieldContainer container,
+			Set<String> touchedFields, List<MigrationScript> migrationScripts) throws Exception {
 
 		if (log.isDebugEnabled()) {
 			log.debug("Migrating container {" + container.getUuid() + "}");
 		}
 		String releaseUuid = release.getUuid();
 
-		// Run the actual migration in a dedicated transaction
-		try {
-			SearchQueueBatch batch = db.tx((tx) -> {
-				SearchQueueBatch sqb = searchQueue.create();
-
-				Node node = container.getParentNode();
-				String languageTag = container.getLanguage().getLanguageTag();
-				ac.getNodeParameters().setLanguages(languageTag);
-				ac.getVersioningParameters().setVersion("draft");
-				NodeGraphFieldContainer oldPublished = node.getGraphFieldContainer(languageTag, releaseUuid, PUBLISHED);
-
-				VersionNumber nextDraftVersion = null;
-				// 1. Check whether there is any other published container which we need to handle separately
-				if (oldPublished != null && !oldPublished.equals(container)) {
-					nextDraftVersion = migratePublishedContainer(ac, sqb, release, node, container, fromVersion, toVersion, touchedFields,
-							migrationScripts);
-					nextDraftVersion = nextDraftVersion.nextDraft();
-				}
-
-				// 2. Migrate the draft container. This will also update the draft edge.
-				migrateDraftContainer(ac, sqb, release, node, container, fromVersion, toVersion, touchedFields, migrationScripts, nextDraftVersion);
-
-				return sqb;
-			});
-			// Process the search queue batch in order to update the search index
-			if (batch != null) {
-				batch.processSync();
-			}
-
-		} catch (Exception e1) {
-			log.error("Error while handling container {" + container.getUuid() + "} during schema migration.", e1);
-			errorsDetected.add(e1);
+		Node node = container.getParentNode();
+		String languageTag = container.getLanguage().getLanguageTag();
+		ac.getNodeParameters().setLanguages(languageTag);
+		ac.getVersioningParameters().setVersion("draft");
+		NodeGraphFieldContainer oldPublished = node.getGraphFieldContainer(languageTag, releaseUuid, PUBLISHED);
+
+		VersionNumber nextDraftVersion = null;
+		// 1. Check whether there is any other published container which we need to handle separately
+		if (oldPublished != null && !oldPublished.equals(container)) {
+			nextDraftVersion = migratePublishedContainer(ac, sqb, release, node, container, fromVersion, toVersion, touchedFields,
+					migrationScripts);
+			nextDraftVersion = nextDraftVersion.nextDraft();
 		}
 
+		// 2. Migrate the draft container. This will also update the draft edge.
+		migrateDraftContainer(ac, sqb, release, node, container, fromVersion, toVersion, touchedFields, migrationScripts, nextDraftVersion);
 	}
 
 	/**
@@ -184,7 +168,7 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 	 */
 	private void migrateDraftContainer(NodeMigrationActionContextImpl ac, SearchQueueBatch sqb, Release release, Node node,
 			NodeGraphFieldContainer container, MicroschemaContainerVersion fromVersion, MicroschemaContainerVersion toVersion,
-			Set<String> touchedFields, List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, VersionNumber nextDraftVersion)
+			Set<String> touchedFields, List<MigrationScript> migrationScripts, VersionNumber nextDraftVersion)
 			throws Exception {
 
 		String releaseUuid = release.getUuid();
@@ -234,7 +218,7 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 	 */
 	private VersionNumber migratePublishedContainer(NodeMigrationActionContextImpl ac, SearchQueueBatch sqb, Release release, Node node,
 			NodeGraphFieldContainer container, MicroschemaContainerVersion fromVersion, MicroschemaContainerVersion toVersion,
-			Set<String> touchedFields, List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts) throws Exception {
+			Set<String> touchedFields, List<MigrationScript> migrationScripts) throws Exception {
 
 		String releaseUuid = release.getUuid();
 		ac.getVersioningParameters().setVersion("published");
@@ -268,7 +252,7 @@ public class MicronodeMigrationHandler extends AbstractMigrationHandler {
 	 */
 	protected void migrateMicronodeFields(NodeMigrationActionContextImpl ac, NodeGraphFieldContainer container,
 			MicroschemaContainerVersion fromVersion, MicroschemaContainerVersion toVersion, Set<String> touchedFields,
-			List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts) throws Exception {
+			List<MigrationScript> migrationScripts) throws Exception {
 		// iterate over all fields with micronodes to migrate
 		for (MicronodeGraphField field : container.getMicronodeFields(fromVersion)) {
 			// clone the field (this will clone the micronode)
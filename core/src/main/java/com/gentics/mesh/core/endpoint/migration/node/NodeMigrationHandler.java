@@ -13,6 +13,7 @@ import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.script.ScriptException;
 
 import com.gentics.mesh.context.impl.NodeMigrationActionContextImpl;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
@@ -23,13 +24,13 @@ import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.endpoint.migration.AbstractMigrationHandler;
+import com.gentics.mesh.core.endpoint.migration.MigrationScript;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
 import com.gentics.mesh.core.rest.node.NodeResponse;
 import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
 import com.gentics.mesh.core.rest.schema.SchemaModel;
 import com.gentics.mesh.graphdb.spi.Database;
-import com.gentics.mesh.util.Tuple;
 import com.gentics.mesh.util.VersionNumber;
 import com.syncleus.ferma.tx.Tx;
 
@@ -71,47 +72,42 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 
 		// Get the draft containers that need to be transformed. Containers which need to be transformed are those which are still linked to older schema
 		// versions. We'll work on drafts. The migration code will later on also handle publish versions.
-		Iterator<? extends NodeGraphFieldContainer> fieldContainers = fromVersion.getDraftFieldContainers(release.getUuid());
+		// A previous run may have stored a checkpoint. The containers are ordered by their id and the containers up to the checkpoint are skipped by
+		// seeking the checkpoint in the index.
+		String checkpoint = status != null ? status.getCheckpoint() : null;
+		if (checkpoint != null) {
+			log.info("Resuming migration of schema version {" + fromVersion.getVersion() + "} after container {" + checkpoint + "}");
+		}
+		Iterator<? extends NodeGraphFieldContainer> fieldContainers = fromVersion.getDraftFieldContainers(release.getUuid(), checkpoint);
 
 		// Prepare the migration - Collect the migration scripts
-		List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts = new ArrayList<>();
+		List<MigrationScript> migrationScripts = new ArrayList<>();
 		Set<String> touchedFields = new HashSet<>();
+		boolean structural;
 		try (Tx tx = db.tx()) {
 			prepareMigration(fromVersion, migrationScripts, touchedFields);
-		} catch (IOException e) {
+			structural = isStructuralMigration(fromVersion);
+		} catch (IOException | ScriptException e) {
 			return Completable.error(e);
 		}
 
-		NodeMigrationActionContextImpl ac = new NodeMigrationActionContextImpl();
-		ac.setProject(project);
-		ac.setRelease(release);
-
 		SchemaModel newSchema = toVersion.getSchema();
+		if (structural) {
+			log.info("The changes of schema version {" + toVersion.getVersion() + "} don't require migration scripts. The containers will be migrated directly.");
+		}
 
 		if (status != null) {
 			status.setStatus(RUNNING);
 			status.commit();
 		}
 
-		// Iterate over all containers and invoke a migration for each one
-		long count = 0;
-		List<Exception> errorsDetected = new ArrayList<>();
-		while (fieldContainers.hasNext()) {
-			NodeGraphFieldContainer container = fieldContainers.next();
-			migrateContainer(ac, container, toVersion, migrationScripts, release, newSchema, errorsDetected, touchedFields);
-
-			if (status != null) {
-				status.incCompleted();
-			}
-			if (count % 50 == 0) {
-				log.info("Migrated containers: " + count);
-				if (status != null) {
-					status.commit();
-				}
-			}
-			count++;
-		}
-		log.info("Migration of " + count + " containers done..");
+		// Migrate the containers in chunks. The containers may be migrated concurrently and thus each container uses its own context.
+		List<Exception> errorsDetected = migrateContainers(fieldContainers, status, (container, sqb) -> {
+			NodeMigrationActionContextImpl ac = new NodeMigrationActionContextImpl();
+			ac.setProject(project);
+			ac.setRelease(release);
+			migrateContainer(ac, sqb, container, toVersion, migrationScripts, structural, release, newSchema, touchedFields);
+		});
 		log.info("Encountered {" + errorsDetected.size() + "} errors during node migration.");
 		// TODO prepare errors. They should be easy to understand and to grasp
 		Completable result = Completable.complete();
@@ -128,65 +124,63 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 	}
 
 	/**
-	 * Migrates the given container.
+	 * Migrates the given container. The method needs to be invoked within a transaction.
 	 * 
 	 * @param ac
+	 * @param sqb
+	 *            Batch to be updated to handle index changes
 	 * @param container
 	 *            Container to be migrated
 	 * @param toVersion
 	 * @param migrationScripts
+	 * @param structural
+	 *            Whether the container can be migrated without using the rest model
 	 * @param release
 	 * @param newSchema
-	 * @param errorsDetected
 	 * @param touchedFields
-	 * @return
+	 * @throws Exception
 	 */
-	private void migrateContainer(NodeMigrationActionContextImpl ac, NodeGraphFieldContainer container, SchemaContainerVersion toVersion,
-		List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, Release release, SchemaModel newSchema, List<Exception> errorsDetected,
-		Set<String> touchedFields) {
+	private void migrateContainer(NodeMigrationActionContextImpl ac, SearchQueueBatch sqb, NodeGraphFieldContainer container,
+		SchemaContainerVersion toVersion, List<MigrationScript> migrationScripts, boolean structural, Release release, SchemaModel newSchema,
+		Set<String> touchedFields) throws Exception {
 
 		if (log.isDebugEnabled()) {
 			log.debug("Migrating container {" + container.getUuid() + "}");
 		}
-		try {
-			// Run the actual migration in a dedicated transaction
-			SearchQueueBatch batch = db.tx((tx) -> {
-				SearchQueueBatch sqb = searchQueue.create();
-
-				Node node = container.getParentNode();
-				String languageTag = container.getLanguage().getLanguageTag();
-				ac.getNodeParameters().setLanguages(languageTag);
-				ac.getVersioningParameters().setVersion("draft");
-
-				VersionNumber nextDraftVersion = null;
-				NodeGraphFieldContainer oldPublished = node.getGraphFieldContainer(languageTag, release.getUuid(), PUBLISHED);
-				// 1. Check whether there is any other published container which we need to handle separately
-				if (oldPublished != null && !oldPublished.equals(container)) {
-					// We only need to migrate the container if the container's schema version is also "old"
-					boolean hasSameOldSchemaVersion = container != null
-						&& container.getSchemaContainerVersion().getId().equals(container.getSchemaContainerVersion().getId());
-					if (hasSameOldSchemaVersion) {
-						nextDraftVersion = migratePublishedContainer(ac, sqb, release, node, oldPublished, toVersion, touchedFields, migrationScripts,
-							newSchema);
-						nextDraftVersion = nextDraftVersion.nextDraft();
-					}
 
-				}
+		Node node = container.getParentNode();
+		String languageTag = container.getLanguage().getLanguageTag();
 
-				// 2. Migrate the draft container. This will also update the draft edge.
-				migrateDraftContainer(ac, sqb, release, node, container, toVersion, touchedFields, migrationScripts, newSchema, nextDraftVersion);
+		// The container may already have been migrated by a previous or concurrent run of the migration
+		NodeGraphFieldContainer draft = node.getGraphFieldContainer(languageTag, release.getUuid(), DRAFT);
+		if (draft == null || draft.getSchemaContainerVersion().getId().equals(toVersion.getId())) {
+			if (log.isDebugEnabled()) {
+				log.debug("Container {" + container.getUuid() + "} has already been migrated to version {" + toVersion.getVersion() + "}");
+			}
+			return;
+		}
 
-				return sqb;
-			});
-			// Process the search queue batch in order to update the search index
-			if (batch != null) {
-				batch.processSync();
+		ac.getNodeParameters().setLanguages(languageTag);
+		ac.getVersioningParameters().setVersion("draft");
+
+		VersionNumber nextDraftVersion = null;
+		NodeGraphFieldContainer oldPublished = node.getGraphFieldContainer(languageTag, release.getUuid(), PUBLISHED);
+		// 1. Check whether there is any other published container which we need to handle separately
+		if (oldPublished != null && !oldPublished.equals(container)) {
+			// We only need to migrate the container if the container's schema version is also "old"
+			boolean hasSameOldSchemaVersion = container != null
+				&& container.getSchemaContainerVersion().getId().equals(container.getSchemaContainerVersion().getId());
+			if (hasSameOldSchemaVersion) {
+				nextDraftVersion = migratePublishedContainer(ac, sqb, release, node, oldPublished, toVersion, touchedFields, migrationScripts,
+					structural, newSchema);
+				nextDraftVersion = nextDraftVersion.nextDraft();
 			}
-		} catch (Exception e1) {
-			log.error("Error while handling container {" + container.getUuid() + "} during schema migration.", e1);
-			errorsDetected.add(e1);
+
 		}
 
+		// 2. Migrate the draft container. This will also update the draft edge.
+		migrateDraftContainer(ac, sqb, release, node, container, toVersion, touchedFields, migrationScripts, structural, newSchema,
+			nextDraftVersion);
 	}
 
 	/**
@@ -204,6 +198,8 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 	 * @param toVersion
 	 * @param touchedFields
 	 * @param migrationScripts
+	 * @param structural
+	 *            Whether the container can be migrated without using the rest model
 	 * @param newSchema
 	 *            new schema used to serialize the rest model
 	 * @param nextDraftVersion
@@ -212,7 +208,7 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 	 */
 	private void migrateDraftContainer(NodeMigrationActionContextImpl ac, SearchQueueBatch sqb, Release release, Node node,
 		NodeGraphFieldContainer container, SchemaContainerVersion toVersion, Set<String> touchedFields,
-		List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, SchemaModel newSchema, VersionNumber nextDraftVersion)
+		List<MigrationScript> migrationScripts, boolean structural, SchemaModel newSchema, VersionNumber nextDraftVersion)
 		throws Exception {
 
 		String releaseUuid = release.getUuid();
@@ -223,11 +219,14 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 		// We need to ensure that the migrated container is also published.
 		boolean publish = container.isPublished(releaseUuid);
 
-		ac.getVersioningParameters().setVersion(container.getVersion().getFullVersion());
-		NodeResponse restModel = node.transformToRestSync(ac, 0, languageTag);
+		NodeResponse restModel = null;
+		if (!structural) {
+			ac.getVersioningParameters().setVersion(container.getVersion().getFullVersion());
+			restModel = node.transformToRestSync(ac, 0, languageTag);
 
-		// Update the schema version. Otherwise deserialisation of the JSON will fail later on.
-		restModel.getSchema().setVersion(newSchema.getVersion());
+			// Update the schema version. Otherwise deserialisation of the JSON will fail later on.
+			restModel.getSchema().setVersion(newSchema.getVersion());
+		}
 
 		// Actual migration - Create the new version
 		NodeGraphFieldContainer migrated = node.createGraphFieldContainer(container.getLanguage(), release, container.getEditor(), container, true);
@@ -243,13 +242,20 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 			migrated.setVersion(nextDraftVersion);
 		}
 
-		// Pass the new version through the migration scripts and update the version
-		migrate(ac, migrated, restModel, toVersion, touchedFields, migrationScripts, NodeUpdateRequest.class);
+		if (structural) {
+			migrateStructure(migrated, releaseUuid, toVersion, touchedFields);
+		} else {
+			// Pass the new version through the migration scripts and update the version
+			migrate(ac, migrated, restModel, toVersion, touchedFields, migrationScripts, NodeUpdateRequest.class);
+		}
 
-		// Ensure the search index is updated accordingly
-		sqb.move(container, migrated, releaseUuid, DRAFT);
+		// Ensure the search index is updated accordingly. The indices of both versions are searched while the migration is running. The document thus
+		// needs to be moved to the new index. Both actions are sent via bulk requests.
+		sqb.store(migrated, releaseUuid, DRAFT, false);
+		sqb.delete(container, releaseUuid, DRAFT, false);
 		if (publish) {
-			sqb.move(container, migrated, releaseUuid, PUBLISHED);
+			sqb.store(migrated, releaseUuid, PUBLISHED, false);
+			sqb.delete(container, releaseUuid, PUBLISHED, false);
 		}
 	}
 
@@ -267,29 +273,55 @@ public class NodeMigrationHandler extends AbstractMigrationHandler {
 	 * @param toVersion
 	 * @param touchedFields
 	 * @param migrationScripts
+	 * @param structural
+	 *            Whether the container can be migrated without using the rest model
 	 * @param newSchema
 	 * @return Version of the new published container
 	 * @throws Exception
 	 */
 	private VersionNumber migratePublishedContainer(NodeMigrationActionContextImpl ac, SearchQueueBatch sqb, Release release, Node node,
 		NodeGraphFieldContainer container, SchemaContainerVersion toVersion, Set<String> touchedFields,
-		List<Tuple<String, List<Tuple<String, Object>>>> migrationScripts, SchemaModel newSchema) throws Exception {
+		List<MigrationScript> migrationScripts, boolean structural, SchemaModel newSchema) throws Exception {
 
 		String languageTag = container.getLanguage().getLanguageTag();
 		String releaseUuid = release.getUuid();
 
-		ac.getVersioningParameters().setVersion("published");
-		NodeResponse restModel = node.transformToRestSync(ac, 0, languageTag);
-		restModel.getSchema().setVersion(newSchema.getVersion());
+		NodeResponse restModel = null;
+		if (!structural) {
+			ac.getVersioningParameters().setVersion("published");
+			restModel = node.transformToRestSync(ac, 0, languageTag);
+			restModel.getSchema().setVersion(newSchema.getVersion());
+		}
 
 		NodeGraphFieldContainer migrated = node.createGraphFieldContainer(container.getLanguage(), release, container.getEditor(), container, true);
 
 		migrated.setVersion(container.getVersion().nextPublished());
 		node.setPublished(migrated, releaseUuid);
 
-		migrate(ac, migrated, restModel, toVersion, touchedFields, migrationScripts, NodeUpdateRequest.class);
+		if (structural) {
+			migrateStructure(migrated, releaseUuid, toVersion, touchedFields);
+		} else {
+			migrate(ac, migrated, restModel, toVersion, touchedFields, migrationScripts, NodeUpdateRequest.class);
+		}
 		sqb.store(migrated, releaseUuid, PUBLISHED, false);
+		sqb.delete(container, releaseUuid, PUBLISHED, false);
 		return migrated.getVersion();
 	}
 
+	/**
+	 * Migrate the cloned container directly within the graph and update the properties which depend on the schema.
+	 * 
+	 * @param migrated
+	 *            Clone of the container which should be migrated
+	 * @param releaseUuid
+	 * @param toVersion
+	 * @param touchedFields
+	 */
+	private void migrateStructure(NodeGraphFieldContainer migrated, String releaseUuid, SchemaContainerVersion toVersion, Set<String> touchedFields) {
+		migrateStructure(migrated, toVersion, touchedFields);
+		// The segment and display field may have been changed
+		migrated.updateWebrootPathInfo(releaseUuid, "node_conflicting_segmentfield_update");
+		migrated.updateDisplayFieldValue();
+	}
+
 }
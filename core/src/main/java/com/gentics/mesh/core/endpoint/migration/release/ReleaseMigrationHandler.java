@@ -8,15 +8,24 @@ import static com.gentics.mesh.core.rest.admin.migration.MigrationStatus.RUNNING
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.impl.GraphFieldContainerEdgeImpl;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.SearchQueueEntry;
 import com.gentics.mesh.core.endpoint.migration.AbstractMigrationHandler;
 import com.gentics.mesh.core.endpoint.migration.MigrationStatusHandler;
 import com.gentics.mesh.core.endpoint.node.BinaryFieldHandler;
@@ -62,26 +71,26 @@ public class ReleaseMigrationHandler extends AbstractMigrationHandler {
 			status.commit();
 		}
 
-		long count = 0;
 		// Iterate over all nodes of the project and migrate them to the new release
 		Project project = oldRelease.getProject();
-		for (Node node : project.getNodeRoot().findAllIt()) {
-			SearchQueueBatch sqb = db.tx(() -> {
-				return migrateNode(node, oldRelease, newRelease);
-			});
-			if (sqb != null) {
-				sqb.processSync();
-			}
-			if (status != null) {
-				status.incCompleted();
-			}
-			if (count % 50 == 0) {
-				log.info("Migrated nodes: " + count);
+		int batchSize = Math.max(1, Mesh.mesh().getOptions().getStorageOptions().getMigrationBatchSize());
+		long count = 0;
+		List<Node> chunk = new ArrayList<>(batchSize);
+		Iterator<? extends Node> it = project.getNodeRoot().findAllIt().iterator();
+		while (it.hasNext()) {
+			chunk.add(it.next());
+			if (chunk.size() >= batchSize || !it.hasNext()) {
+				migrateChunk(chunk, oldRelease, newRelease).processSync();
+				count += chunk.size();
 				if (status != null) {
+					for (int i = 0; i < chunk.size(); i++) {
+						status.incCompleted();
+					}
 					status.commit();
 				}
+				log.info("Migrated nodes: " + count);
+				chunk.clear();
 			}
-			count++;
 		}
 
 		// TODO track migration errors
@@ -93,6 +102,41 @@ public class ReleaseMigrationHandler extends AbstractMigrationHandler {
 
 	}
 
+	/**
+	 * Migrate the chunk of nodes within a single transaction. The nodes will be migrated in dedicated transactions if the transaction of the chunk fails.
+	 * 
+	 * @param chunk
+	 * @param oldRelease
+	 * @param newRelease
+	 * @return Batch which contains the search index changes of all migrated nodes
+	 */
+	private SearchQueueBatch migrateChunk(List<Node> chunk, Release oldRelease, Release newRelease) {
+		try {
+			return db.tx(() -> {
+				SearchQueueBatch sqb = searchQueue.create();
+				for (Node node : chunk) {
+					migrateNode(node, oldRelease, newRelease, sqb);
+				}
+				return sqb;
+			});
+		} catch (Exception e) {
+			log.warn("Error while migrating a chunk of {" + chunk.size() + "} nodes. Migrating the nodes separately.", e);
+		}
+
+		SearchQueueBatch batch = searchQueue.create();
+		for (Node node : chunk) {
+			SearchQueueBatch nodeBatch = db.tx(() -> {
+				SearchQueueBatch sqb = searchQueue.create();
+				migrateNode(node, oldRelease, newRelease, sqb);
+				return sqb;
+			});
+			for (SearchQueueEntry<?> entry : nodeBatch.getEntries()) {
+				batch.addEntry(entry);
+			}
+		}
+		return batch;
+	}
+
 	/**
 	 * Migrate the node from the old release to the new release. This will effectively create the edges between the new release and the node. Additionally also
 	 * the tags will be update to correspond with the new release structure.
@@ -100,12 +144,13 @@ public class ReleaseMigrationHandler extends AbstractMigrationHandler {
 	 * @param node
 	 * @param oldRelease
 	 * @param newRelease
-	 * @return
+	 * @param batch
+	 *            Batch to be updated to handle index changes
 	 */
-	private SearchQueueBatch migrateNode(Node node, Release oldRelease, Release newRelease) {
+	private void migrateNode(Node node, Release oldRelease, Release newRelease, SearchQueueBatch batch) {
 		// Check whether the node already has an initial container and thus was already migrated
 		if (node.getGraphFieldContainersIt(newRelease, INITIAL).iterator().hasNext()) {
-			return null;
+			return;
 		}
 
 		node.getGraphFieldContainersIt(oldRelease, DRAFT).forEach(container -> {
@@ -119,7 +164,6 @@ public class ReleaseMigrationHandler extends AbstractMigrationHandler {
 			draftEdge.setType(DRAFT);
 			draftEdge.setReleaseUuid(newRelease.getUuid());
 		});
-		SearchQueueBatch batch = searchQueue.create();
 		batch.store(node, newRelease.getUuid(), DRAFT, false);
 
 		node.getGraphFieldContainersIt(oldRelease, PUBLISHED).forEach(container -> {
@@ -135,9 +179,15 @@ public class ReleaseMigrationHandler extends AbstractMigrationHandler {
 			node.setParentNode(newRelease.getUuid(), parent);
 		}
 
+		// Add the webroot path info of the new release to the shared containers. The webroot index is the only source for resolving paths.
+		Set<NodeGraphFieldContainer> containers = new HashSet<>();
+		node.getGraphFieldContainersIt(newRelease, DRAFT).forEach(containers::add);
+		node.getGraphFieldContainersIt(newRelease, PUBLISHED).forEach(containers::add);
+		for (NodeGraphFieldContainer container : containers) {
+			container.updateWebrootPathInfo(newRelease.getUuid(), "node_conflicting_segmentfield_update");
+		}
+
 		// migrate tags
 		node.getTags(oldRelease).forEach(tag -> node.addTag(tag, newRelease));
-		return batch;
-
 	}
 }
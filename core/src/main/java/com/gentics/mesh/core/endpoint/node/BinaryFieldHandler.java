@@ -246,7 +246,7 @@ public class BinaryFieldHandler extends AbstractHandler {
 				throw error(BAD_REQUEST, "error_found_field_is_not_binary", fieldName);
 			}
 
-			SearchQueueBatch batch = searchQueue.create();
+			SearchQueueBatch batch = searchQueue.create(ac);
 			// Create a new node version field container to store the upload
 			NodeGraphFieldContainer newDraftVersion = node.createGraphFieldContainer(language, release, ac.getUser(), latestDraftVersion, true);
 
@@ -449,7 +449,7 @@ public class BinaryFieldHandler extends AbstractHandler {
 
 				// Update the binary field with the new information
 				SearchQueueBatch sqb = db.tx(() -> {
-					SearchQueueBatch batch = searchQueue.create();
+					SearchQueueBatch batch = searchQueue.create(ac);
 					Release release = ac.getRelease();
 
 					// Create a new node version field container to store the upload
@@ -86,7 +86,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 
 			// Create the batch first since we can't delete the container and access it later in batch creation
 			db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				node.deleteFromRelease(ac, ac.getRelease(), batch, false);
 				return batch;
 			}).processSync();
@@ -119,7 +119,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 			SchemaContainer schema = node.getSchemaContainer();
 			// Create the batch first since we can't delete the container and access it later in batch creation
 			db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				node.deleteLanguageContainer(ac, ac.getRelease(), language, batch, true);
 				return batch;
 			}).processSync();
@@ -156,7 +156,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 			Node targetNode = nodeRoot.loadObjectByUuid(ac, toUuid, UPDATE_PERM);
 
 			db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				sourceNode.moveTo(ac, targetNode, batch);
 				return batch;
 			}).processSync();
@@ -270,7 +270,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 
 			// TODO check whether the tag has already been assigned to the node. In this case we need to do nothing.
 			Tuple<Node, SearchQueueBatch> tuple = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				node.addTag(tag, release);
 				batch.store(node, release.getUuid(), PUBLISHED, false);
 				batch.store(node, release.getUuid(), DRAFT, false);
@@ -302,7 +302,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 			Tag tag = boot.meshRoot().getTagRoot().loadObjectByUuid(ac, tagUuid, READ_PERM);
 
 			return db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				batch.store(node, release.getUuid(), PUBLISHED, false);
 				batch.store(node, release.getUuid(), DRAFT, false);
 				node.removeTag(tag, release);
@@ -342,7 +342,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 		db.asyncTx(() -> {
 			Node node = getRootVertex(ac).loadObjectByUuid(ac, uuid, PUBLISH_PERM);
 			SearchQueueBatch sqb = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				node.publish(ac, batch);
 				return batch;
 			});
@@ -363,7 +363,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 
 		db.asyncTx(() -> {
 			Node node = getRootVertex(ac).loadObjectByUuid(ac, uuid, PUBLISH_PERM);
-			SearchQueueBatch batch = searchQueue.create();
+			SearchQueueBatch batch = searchQueue.create(ac);
 			node.takeOffline(ac, batch);
 			return batch.processAsync().andThen(Single.just(Optional.empty()));
 		}).subscribe(model -> ac.send(NO_CONTENT), ac::fail);
@@ -404,7 +404,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 		db.asyncTx(() -> {
 			Node node = getRootVertex(ac).loadObjectByUuid(ac, uuid, PUBLISH_PERM);
 			SearchQueueBatch sqb = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				node.publish(ac, batch, languageTag);
 				return batch;
 			});
@@ -428,7 +428,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 		db.asyncTx(() -> {
 			Node node = getRootVertex(ac).loadObjectByUuid(ac, uuid, PUBLISH_PERM);
 			return db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				Release release = ac.getRelease(ac.getProject());
 				node.takeOffline(ac, batch, release, languageTag);
 				return batch;
@@ -476,7 +476,7 @@ public class NodeCrudHandler extends AbstractCrudHandler<Node, NodeResponse> {
 			Project project = ac.getProject();
 			Node node = project.getNodeRoot().loadObjectByUuid(ac, nodeUuid, UPDATE_PERM);
 			Tuple<TransformablePage<? extends Tag>, SearchQueueBatch> tuple = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				TransformablePage<? extends Tag> tags = node.updateTags(ac, batch);
 				return Tuple.tuple(tags, batch);
 			});
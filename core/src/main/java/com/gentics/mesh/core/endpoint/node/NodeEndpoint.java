@@ -24,6 +24,7 @@ import com.gentics.mesh.parameter.impl.NavigationParametersImpl;
 import com.gentics.mesh.parameter.impl.NodeParametersImpl;
 import com.gentics.mesh.parameter.impl.PagingParametersImpl;
 import com.gentics.mesh.parameter.impl.PublishParametersImpl;
+import com.gentics.mesh.parameter.impl.RefreshParametersImpl;
 import com.gentics.mesh.parameter.impl.RolePermissionParametersImpl;
 import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
 import com.gentics.mesh.rest.InternalEndpointRoute;
@@ -282,6 +283,7 @@ public class NodeEndpoint extends AbstractProjectEndpoint {
 		endpoint.method(POST);
 		endpoint.description("Create a new node.");
 		endpoint.produces(APPLICATION_JSON);
+		endpoint.addQueryParameters(RefreshParametersImpl.class);
 		endpoint.exampleRequest(nodeExamples.getNodeCreateRequest());
 		endpoint.exampleResponse(CREATED, nodeExamples.getNodeResponseWithAllFields(), "Created node.");
 		endpoint.handler(rc -> {
@@ -337,6 +339,7 @@ public class NodeEndpoint extends AbstractProjectEndpoint {
 		endpoint.method(DELETE);
 		endpoint.produces(APPLICATION_JSON);
 		endpoint.addQueryParameters(DeleteParametersImpl.class);
+		endpoint.addQueryParameters(RefreshParametersImpl.class);
 		endpoint.exampleResponse(NO_CONTENT, "Deletion was successful.");
 		endpoint.handler(rc -> {
 			InternalActionContext ac = wrap(rc);
@@ -361,6 +364,7 @@ public class NodeEndpoint extends AbstractProjectEndpoint {
 		endpoint.method(POST);
 		endpoint.consumes(APPLICATION_JSON);
 		endpoint.produces(APPLICATION_JSON);
+		endpoint.addQueryParameters(RefreshParametersImpl.class);
 		endpoint.exampleRequest(nodeExamples.getNodeUpdateRequest());
 		endpoint.exampleResponse(OK, nodeExamples.getNodeResponse2(), "Updated node.");
 		endpoint.exampleResponse(CONFLICT, miscExamples.createMessageResponse(), "A conflict has been detected.");
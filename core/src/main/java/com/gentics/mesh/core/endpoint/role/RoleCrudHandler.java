@@ -137,7 +137,7 @@ public class RoleCrudHandler extends AbstractCrudHandler<Role, RoleResponse> {
 
 				// Prepare the sets for revoke and grant actions
 				Tuple<SearchQueueBatch, String> tuple = db.tx(() -> {
-					SearchQueueBatch batch = searchQueue.create();
+					SearchQueueBatch batch = searchQueue.create(ac);
 					Set<GraphPermission> permissionsToGrant = new HashSet<>();
 					Set<GraphPermission> permissionsToRevoke = new HashSet<>();
 
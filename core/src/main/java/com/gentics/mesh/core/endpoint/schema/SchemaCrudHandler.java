@@ -136,7 +136,7 @@ public class SchemaCrudHandler extends AbstractCrudHandler<SchemaContainer, Sche
 				}
 
 				// 3. Apply the found changes to the schema
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				SchemaContainerVersion createdVersion = schemaContainer.getLatestVersion().applyChanges(ac, model, batch);
 
 				// Check whether the assigned releases of the schema should also directly be updated.
@@ -225,7 +225,7 @@ public class SchemaCrudHandler extends AbstractCrudHandler<SchemaContainer, Sche
 			}
 
 			Tuple<SearchQueueBatch, Single<SchemaResponse>> tuple = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 
 				// Assign the schema to the project
 				root.addSchemaContainer(ac.getUser(), schema);
@@ -286,7 +286,7 @@ public class SchemaCrudHandler extends AbstractCrudHandler<SchemaContainer, Sche
 		utils.asyncTx(ac, () -> {
 			SchemaContainer schema = boot.get().schemaContainerRoot().loadObjectByUuid(ac, schemaUuid, UPDATE_PERM);
 			Tuple<SearchQueueBatch, String> info = db.tx(() -> {
-				SearchQueueBatch batch = searchQueue.create();
+				SearchQueueBatch batch = searchQueue.create(ac);
 				SchemaContainerVersion newVersion = schema.getLatestVersion().applyChanges(ac, batch);
 				return Tuple.tuple(batch, newVersion.getVersion());
 			});
@@ -2,10 +2,19 @@ package com.gentics.mesh.core.data.root;
 
 import static com.gentics.mesh.mock.Mocks.getMockedInternalActionContext;
 import static com.gentics.mesh.test.TestSize.PROJECT_AND_NODE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Test;
 
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.data.Tag;
+import com.gentics.mesh.core.data.TagFamily;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.page.Page;
 import com.gentics.mesh.core.data.page.impl.DynamicTransformablePageImpl;
 import com.gentics.mesh.parameter.impl.PagingParametersImpl;
 import com.gentics.mesh.test.context.AbstractMeshTest;
@@ -27,4 +36,92 @@ public class DynamicTransformablePageTest extends AbstractMeshTest {
 		}
 	}
 
+	@Test
+	public void testCursorPaging() {
+		try (Tx tx = tx()) {
+			NodeRoot root = boot().nodeRoot();
+			InternalActionContext ac = getMockedInternalActionContext("", user(), project());
+
+			// Load all nodes using the regular paging
+			List<String> expected = new ArrayList<>();
+			for (Node node : new DynamicTransformablePageImpl<>(ac.getUser(), root, new PagingParametersImpl(1, 10000))) {
+				expected.add(node.getUuid());
+			}
+
+			// Load all nodes using the cursor
+			List<String> uuids = new ArrayList<>();
+			PagingParametersImpl pagingInfo = new PagingParametersImpl(1, 3);
+			while (true) {
+				DynamicTransformablePageImpl<? extends Node> page = new DynamicTransformablePageImpl<>(ac.getUser(), root, pagingInfo);
+				for (Node node : page) {
+					uuids.add(node.getUuid());
+				}
+				if (pagingInfo.getAfter() != null) {
+					assertEquals("The total count should not be determined when using a cursor", -1, page.getTotalElements());
+				}
+				String cursor = page.getNextCursor();
+				if (cursor == null) {
+					break;
+				}
+				pagingInfo.setAfter(cursor);
+			}
+			assertEquals(expected, uuids);
+			assertNull(new DynamicTransformablePageImpl<>(ac.getUser(), root, new PagingParametersImpl(1, 10000)).getNextCursor());
+		}
+	}
+
+	@Test
+	public void testCursorOfDeletedElement() {
+		try (Tx tx = tx()) {
+			NodeRoot root = boot().nodeRoot();
+			InternalActionContext ac = getMockedInternalActionContext("", user(), project());
+
+			List<String> expected = new ArrayList<>();
+			for (Node node : new DynamicTransformablePageImpl<>(ac.getUser(), root, new PagingParametersImpl(1, 10000))) {
+				expected.add(node.getUuid());
+			}
+
+			DynamicTransformablePageImpl<? extends Node> page = new DynamicTransformablePageImpl<>(ac.getUser(), root, new PagingParametersImpl(1, 3));
+			String cursor = page.getNextCursor();
+			List<? extends Node> nodes = page.getWrappedList();
+			nodes.get(nodes.size() - 1).getElement().remove();
+
+			// The page must start with the successor of the removed element
+			PagingParametersImpl pagingInfo = new PagingParametersImpl(1, 3);
+			pagingInfo.setAfter(cursor);
+			List<String> uuids = new ArrayList<>();
+			for (Node node : new DynamicTransformablePageImpl<>(ac.getUser(), root, pagingInfo)) {
+				uuids.add(node.getUuid());
+			}
+			assertEquals(expected.subList(3, 6), uuids);
+		}
+	}
+
+	@Test
+	public void testPositionalCursorOfDeletedElement() {
+		try (Tx tx = tx()) {
+			TagFamily tagFamily = tagFamily("basic");
+			InternalActionContext ac = getMockedInternalActionContext("", user(), project());
+
+			List<String> expected = new ArrayList<>();
+			for (Tag tag : tagFamily.getTags(ac.getUser(), new PagingParametersImpl(1, 10000))) {
+				expected.add(tag.getUuid());
+			}
+
+			Page<? extends Tag> page = tagFamily.getTags(ac.getUser(), new PagingParametersImpl(1, 2));
+			String cursor = page.getNextCursor();
+			List<? extends Tag> tags = page.getWrappedList();
+			tags.get(tags.size() - 1).getElement().remove();
+
+			// The page must start with the successor of the removed element
+			PagingParametersImpl pagingInfo = new PagingParametersImpl(1, 2);
+			pagingInfo.setAfter(cursor);
+			List<String> uuids = new ArrayList<>();
+			for (Tag tag : tagFamily.getTags(ac.getUser(), pagingInfo)) {
+				uuids.add(tag.getUuid());
+			}
+			assertEquals(expected.subList(2, 4), uuids);
+		}
+	}
+
 }
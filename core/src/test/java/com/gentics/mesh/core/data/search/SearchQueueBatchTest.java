@@ -1,10 +1,20 @@
 package com.gentics.mesh.core.data.search;
 
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.DELETE_ACTION;
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.UPDATE_ROLE_PERM_ACTION;
 import static com.gentics.mesh.test.TestSize.PROJECT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import org.junit.Test;
 
 import com.gentics.mesh.core.data.User;
+import com.gentics.mesh.core.data.search.context.impl.GenericEntryContextImpl;
+import com.gentics.mesh.core.data.search.impl.SearchQueueBatchImpl;
+import com.gentics.mesh.search.index.entry.UpdateDocumentEntryImpl;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
 
@@ -19,4 +29,29 @@ public class SearchQueueBatchTest extends AbstractMeshTest {
 		System.out.println(batch);
 		batch.createIndex(null, User.class);
 	}
+
+	@Test
+	public void testMergeEntries() {
+		IndexHandler<?> handler = mock(IndexHandler.class);
+		when(handler.getType()).thenReturn("user");
+
+		SearchQueueBatchImpl batch = new SearchQueueBatchImpl();
+		// Duplicate store entries
+		batch.addEntry(new UpdateDocumentEntryImpl(handler, "uuid1", new GenericEntryContextImpl(), STORE_ACTION));
+		batch.addEntry(new UpdateDocumentEntryImpl(handler, "uuid1", new GenericEntryContextImpl(), STORE_ACTION));
+		// The delete cancels the store
+		batch.addEntry(new UpdateDocumentEntryImpl(handler, "uuid2", new GenericEntryContextImpl(), STORE_ACTION));
+		SearchQueueEntry<?> delete = batch.addEntry(new UpdateDocumentEntryImpl(handler, "uuid2", new GenericEntryContextImpl(), DELETE_ACTION));
+		// The permission update is covered by the store
+		batch.addEntry(new UpdateDocumentEntryImpl(handler, "uuid1", new GenericEntryContextImpl(), UPDATE_ROLE_PERM_ACTION));
+		// Different document
+		batch.addEntry(new UpdateDocumentEntryImpl(handler, "uuid3", new GenericEntryContextImpl(), UPDATE_ROLE_PERM_ACTION));
+
+		assertEquals(3, batch.mergeEntries());
+		assertEquals(3, batch.getEntries().size());
+		assertEquals(3, batch.getMergedEntryCount());
+		assertSame("The delete entry should have won", delete, batch.getEntries().stream().filter(e -> e.getElementAction() == DELETE_ACTION).findFirst()
+			.get());
+		assertEquals("Merging again should not remove further entries", 0, batch.mergeEntries());
+	}
 }
@@ -0,0 +1,40 @@
+package com.gentics.mesh.core.endpoint.migration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+
+import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.ScriptEngine;
+
+import org.junit.Test;
+
+import com.gentics.mesh.util.Tuple;
+
+import io.vertx.core.json.JsonObject;
+import jdk.nashorn.api.scripting.NashornScriptEngineFactory;
+
+@SuppressWarnings("restriction")
+public class MigrationScriptTest {
+
+	private static final String SCRIPT = "function migrate(node, fieldname, convert) { node.fields[fieldname] = 'migrated'; return node; }"
+		+ "\nnode = JSON.stringify(migrate(JSON.parse(node), fieldname, convert));";
+
+	@Test
+	public void testReuseBindings() throws Exception {
+		ScriptEngine engine = new NashornScriptEngineFactory().getScriptEngine(new AbstractMigrationHandler.Sandbox());
+		MigrationScript script = new MigrationScript(((Compilable) engine).compile(SCRIPT), Arrays.asList(Tuple.tuple("fieldname", "title")));
+		Bindings bindings = engine.createBindings();
+
+		String node = new JsonObject().put("fields", new JsonObject()).encode();
+		for (int i = 0; i < 2; i++) {
+			JsonObject migrated = new JsonObject(script.eval(bindings, node));
+			assertEquals("migrated", migrated.getJsonObject("fields").getString("title"));
+		}
+		assertFalse("The context must not leak into the next evaluation", bindings.containsKey("fieldname"));
+		assertFalse(bindings.containsKey("node"));
+	}
+
+}
@@ -1,5 +1,8 @@
 package com.gentics.mesh.core.node;
 
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.UPDATE_PERM;
 import static com.gentics.mesh.test.ClientHelper.call;
 import static com.gentics.mesh.test.ClientHelper.callETag;
 import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
@@ -159,4 +162,66 @@ public class NodeEndpointETagTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testChildCreation() {
+		String parentUuid = tx(() -> folder("2015").getUuid());
+		String siblingUuid = tx(() -> content("news_2015").getUuid());
+		String parentETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, parentUuid));
+		String parentFieldsETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, parentUuid, new NodeParametersImpl().setFields("fields")));
+		String siblingETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, siblingUuid));
+
+		NodeCreateRequest request = new NodeCreateRequest();
+		request.setLanguage("en");
+		request.setParentNode(new NodeReference().setUuid(parentUuid));
+		request.setSchema(new SchemaReferenceImpl().setName("content"));
+		request.getFields().put("teaser", FieldUtil.createStringField("someTeaser"));
+		request.getFields().put("slug", FieldUtil.createStringField("someSlug"));
+		call(() -> client().createNode(PROJECT_NAME, request));
+
+		// The children info of the parent changed
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, parentUuid), parentETag, true, 200);
+		// The children info was not requested
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, parentUuid, new NodeParametersImpl().setFields("fields")), parentFieldsETag, true, 304);
+		// The breadcrumb and paths of other children are not affected
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, siblingUuid), siblingETag, true, 304);
+	}
+
+	@Test
+	public void testChildPermissionChange() {
+		String parentUuid = tx(() -> folder("2015").getUuid());
+		String parentETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, parentUuid));
+
+		// Permissions which don't affect the visibility of the child don't affect the children info
+		try (Tx tx = tx()) {
+			role().revokePermissions(content("news_2015"), UPDATE_PERM);
+			tx.success();
+		}
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, parentUuid), parentETag, true, 304);
+
+		// The child is no longer readable
+		try (Tx tx = tx()) {
+			role().revokePermissions(content("news_2015"), READ_PERM, READ_PUBLISHED_PERM);
+			tx.success();
+		}
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, parentUuid), parentETag, true, 200);
+	}
+
+	@Test
+	public void testTagRename() {
+		String nodeUuid = contentUuid();
+		String tagUuid = tx(() -> tag("red").getUuid());
+		String tagFamilyUuid = tx(() -> tagFamily("colors").getUuid());
+		call(() -> client().addTagToNode(PROJECT_NAME, nodeUuid, tagUuid));
+		String etag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, nodeUuid));
+		String fieldsETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, nodeUuid, new NodeParametersImpl().setFields("fields")));
+
+		updateTag(PROJECT_NAME, tagFamilyUuid, tagUuid, "darkred");
+		String renamedETag = callETag(() -> client().findNodeByUuid(PROJECT_NAME, nodeUuid), etag, true, 200);
+		assertNotEquals("The tag name is part of the response", etag, renamedETag);
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, nodeUuid, new NodeParametersImpl().setFields("fields")), fieldsETag, true, 304);
+
+		updateTagFamily(PROJECT_NAME, tagFamilyUuid, "tints");
+		callETag(() -> client().findNodeByUuid(PROJECT_NAME, nodeUuid), renamedETag, true, 200);
+	}
+
 }
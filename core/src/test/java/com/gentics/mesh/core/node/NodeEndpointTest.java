@@ -58,6 +58,7 @@ import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.core.rest.node.NodeCreateRequest;
 import com.gentics.mesh.core.rest.node.NodeListResponse;
 import com.gentics.mesh.core.rest.node.NodeResponse;
+import com.gentics.mesh.core.rest.node.WebRootResponse;
 import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
 import com.gentics.mesh.core.rest.node.field.StringField;
 import com.gentics.mesh.core.rest.schema.SchemaModel;
@@ -1987,4 +1988,55 @@ public class NodeEndpointTest extends AbstractMeshTest implements BasicRestTestc
 		}
 	}
 
+	@Test
+	public void testReadNodeWithFieldsParameter() {
+		String uuid = tx(() -> content("concorde").getUuid());
+
+		// Only a single schema field
+		NodeResponse response = call(() -> client().findNodeByUuid(PROJECT_NAME, uuid, new NodeParametersImpl().setFields("fields.title")));
+		assertTrue(response.getFields().hasField("title"));
+		assertFalse(response.getFields().hasField("teaser"));
+		assertFalse(response.getFields().hasField("content"));
+		assertTrue("The tags were not requested", response.getTags().isEmpty());
+		assertTrue("The breadcrumb was not requested", response.getBreadcrumb().isEmpty());
+		assertTrue("The children info was not requested", response.getChildrenInfo().isEmpty());
+		assertNull("The path was not requested", response.getPath());
+		assertNull("The language paths were not requested", response.getLanguagePaths());
+		assertNull("The project was not requested", response.getProject());
+		assertEquals("The common properties should always be included", uuid, response.getUuid());
+
+		// Only sections
+		response = call(() -> client().findNodeByUuid(PROJECT_NAME, uuid, new NodeParametersImpl().setFields("tags", "breadcrumb")));
+		assertTrue("No fields were requested", response.getFields().isEmpty());
+		assertThat(response.getTags()).hasSize(3);
+		assertFalse(response.getBreadcrumb().isEmpty());
+		assertNull(response.getPath());
+
+		// All schema fields
+		response = call(() -> client().findNodeByUuid(PROJECT_NAME, uuid, new NodeParametersImpl().setFields("fields", "path")));
+		assertTrue(response.getFields().hasField("title"));
+		assertTrue(response.getFields().hasField("teaser"));
+		assertTrue(response.getFields().hasField("content"));
+		assertNotNull(response.getPath());
+		assertTrue(response.getTags().isEmpty());
+
+		// Without the parameter all sections and fields are included
+		response = call(() -> client().findNodeByUuid(PROJECT_NAME, uuid));
+		assertTrue(response.getFields().hasField("teaser"));
+		assertThat(response.getTags()).hasSize(3);
+		assertFalse(response.getBreadcrumb().isEmpty());
+		assertNotNull(response.getProject());
+	}
+
+	@Test
+	public void testReadNodeByPathWithFieldsParameter() {
+		WebRootResponse response = call(() -> client().webroot(PROJECT_NAME, "/News/2015/News_2015.en.html", new NodeParametersImpl().setFields(
+				"fields.slug")));
+		NodeResponse node = response.getNodeResponse();
+		assertTrue(node.getFields().hasField("slug"));
+		assertFalse(node.getFields().hasField("teaser"));
+		assertTrue(node.getTags().isEmpty());
+		assertTrue(node.getBreadcrumb().isEmpty());
+	}
+
 }
@@ -2,6 +2,8 @@ package com.gentics.mesh.core.node;
 
 import static com.gentics.mesh.test.TestSize.FULL;
 
+import java.util.Collections;
+
 import org.junit.Test;
 
 import com.syncleus.ferma.tx.Tx;
@@ -19,8 +21,8 @@ public class NodeGraphFieldContainerTest extends AbstractMeshTest {
 		try (Tx tx = tx()) {
 			NodeGraphFieldContainer containerA = tx.getGraph().addFramedVertex(NodeGraphFieldContainerImpl.class);
 			NodeGraphFieldContainer containerB = tx.getGraph().addFramedVertex(NodeGraphFieldContainerImpl.class);
-			containerA.getElement().setProperty(NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY, "test");
-			containerB.getElement().setProperty(NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY, "test");
+			containerA.getElement().setProperty(NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY, Collections.singleton("test"));
+			containerB.getElement().setProperty(NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY, Collections.singleton("test"));
 			tx.success();
 		}
 	}
@@ -30,8 +32,8 @@ public class NodeGraphFieldContainerTest extends AbstractMeshTest {
 		try (Tx tx = tx()) {
 			NodeGraphFieldContainer containerA = tx.getGraph().addFramedVertex(NodeGraphFieldContainerImpl.class);
 			NodeGraphFieldContainer containerB = tx.getGraph().addFramedVertex(NodeGraphFieldContainerImpl.class);
-			containerA.getElement().setProperty(NodeGraphFieldContainerImpl.PUBLISHED_WEBROOT_PROPERTY_KEY, "test");
-			containerB.getElement().setProperty(NodeGraphFieldContainerImpl.PUBLISHED_WEBROOT_PROPERTY_KEY, "test");
+			containerA.getElement().setProperty(NodeGraphFieldContainerImpl.PUBLISHED_WEBROOT_PROPERTY_KEY, Collections.singleton("test"));
+			containerB.getElement().setProperty(NodeGraphFieldContainerImpl.PUBLISHED_WEBROOT_PROPERTY_KEY, Collections.singleton("test"));
 			tx.success();
 		}
 	}
@@ -11,6 +11,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.Arrays;
+import java.util.Set;
 
 import org.junit.Test;
 
@@ -47,7 +48,7 @@ public class NodeTakeOfflineEndpointTest extends AbstractMeshTest {
 			for (String language : Arrays.asList("en", "de")) {
 				for (String property : Arrays.asList(NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY,
 						NodeGraphFieldContainerImpl.PUBLISHED_WEBROOT_PROPERTY_KEY)) {
-					assertThat(folder("products").getGraphFieldContainer(language).getProperty(property, String.class))
+					assertThat(folder("products").getGraphFieldContainer(language).getProperty(property, Set.class))
 							.as("Property " + property + " for " + language).isNotNull();
 				}
 			}
@@ -60,11 +61,11 @@ public class NodeTakeOfflineEndpointTest extends AbstractMeshTest {
 		try (Tx tx2 = tx()) {
 			for (String language : Arrays.asList("en", "de")) {
 				String property = NodeGraphFieldContainerImpl.WEBROOT_PROPERTY_KEY;
-				assertThat(folder("products").getGraphFieldContainer(language).getProperty(property, String.class))
+				assertThat(folder("products").getGraphFieldContainer(language).getProperty(property, Set.class))
 						.as("Property " + property + " for " + language).isNotNull();
 
 				property = NodeGraphFieldContainerImpl.PUBLISHED_WEBROOT_PROPERTY_KEY;
-				assertThat(folder("products").getGraphFieldContainer(language).getProperty(property, String.class))
+				assertThat(folder("products").getGraphFieldContainer(language).getProperty(property, Set.class))
 						.as("Property " + property + " for " + language).isNull();
 
 			}
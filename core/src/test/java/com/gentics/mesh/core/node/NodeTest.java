@@ -5,11 +5,13 @@ import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.DELETE_AC
 import static com.gentics.mesh.core.rest.SortOrder.UNSORTED;
 import static com.gentics.mesh.test.TestSize.FULL;
 import static com.gentics.mesh.test.util.TestUtils.size;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -19,6 +21,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Stack;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -41,11 +44,13 @@ import com.gentics.mesh.core.data.search.SearchQueueBatch;
 import com.gentics.mesh.core.data.search.SearchQueueEntryAction;
 import com.gentics.mesh.core.data.service.BasicObjectTestcases;
 import com.gentics.mesh.core.rest.SortOrder;
+import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.core.rest.node.NodeResponse;
 import com.gentics.mesh.core.rest.user.NodeReference;
 import com.gentics.mesh.error.InvalidArgumentException;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.impl.PagingParametersImpl;
+import com.gentics.mesh.path.Path;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
 import com.gentics.mesh.test.util.MeshAssert;
@@ -181,6 +186,22 @@ public class NodeTest extends AbstractMeshTest implements BasicObjectTestcases {
 		}
 	}
 
+	@Test
+	public void testFindByUuids() throws Exception {
+		try (Tx tx = tx()) {
+			Node newsNode = content("news overview");
+			Node concorde = content("concorde");
+			String tagUuid = tag("red").getUuid();
+			List<String> uuids = Arrays.asList(concorde.getUuid(), "bogus", tagUuid, newsNode.getUuid());
+
+			Map<String, Node> nodes = boot().nodeRoot().findByUuids(uuids);
+			assertEquals("Only the nodes should be found in the order of the given uuids", Arrays.asList(concorde.getUuid(), newsNode.getUuid()),
+				new ArrayList<>(nodes.keySet()));
+			assertEquals(newsNode.getUuid(), nodes.get(newsNode.getUuid()).getUuid());
+			assertTrue(boot().nodeRoot().findByUuids(Collections.emptyList()).isEmpty());
+		}
+	}
+
 	@Test
 	@Override
 	public void testTransformation() throws Exception {
@@ -623,4 +644,58 @@ public class NodeTest extends AbstractMeshTest implements BasicObjectTestcases {
 			});
 		}
 	}
+
+	@Test
+	public void testResolvePathWithSegmentIndexHit() {
+		try (Tx tx = tx()) {
+			Path path = resolvePath(initialReleaseUuid(), "News", "2015", "News_2015.en.html");
+			assertEquals(3, path.getSegments().size());
+			assertEquals(folder("news").getUuid(), path.getSegments().get(0).getContainer().getParentNode().getUuid());
+			assertEquals(content("news_2015").getUuid(), path.getLast().getContainer().getParentNode().getUuid());
+		}
+	}
+
+	@Test
+	public void testResolvePathWithoutSegmentIndexHit() {
+		try (Tx tx = tx()) {
+			Node node = content("news_2015");
+			// Remove the webroot info so that the segment can't be found using the index
+			NodeGraphFieldContainer container = node.getGraphFieldContainer("en", initialReleaseUuid(), ContainerType.DRAFT);
+			container.getElement().removeProperty(NodeGraphFieldContainer.WEBROOT_PROPERTY_KEY);
+
+			// The index is authoritative. A miss means that the path does not exist.
+			try {
+				resolvePath(initialReleaseUuid(), "News", "2015", "News_2015.en.html");
+				fail("The path should not have been resolved");
+			} catch (GenericRestException e) {
+				assertEquals(NOT_FOUND, e.getStatus());
+				assertEquals("node_not_found_for_path", e.getI18nKey());
+			}
+		}
+	}
+
+	@Test
+	public void testResolvePathAfterReleaseMigration() {
+		try (Tx tx = tx()) {
+			Release newRelease = project().getReleaseRoot().create("newrelease", user());
+			meshDagger().releaseMigrationHandler().migrateRelease(newRelease, null);
+
+			// The shared containers are listed in the index for both releases
+			for (String releaseUuid : Arrays.asList(initialReleaseUuid(), newRelease.getUuid())) {
+				Path path = resolvePath(releaseUuid, "News", "2015", "News_2015.en.html");
+				assertEquals(3, path.getSegments().size());
+				assertEquals(content("news_2015").getUuid(), path.getLast().getContainer().getParentNode().getUuid());
+			}
+		}
+	}
+
+	private Path resolvePath(String releaseUuid, String... segments) {
+		Path path = new Path();
+		path.setTargetPath("/" + String.join("/", segments));
+		Stack<String> stack = new Stack<>();
+		for (int i = segments.length - 1; i >= 0; i--) {
+			stack.push(segments[i]);
+		}
+		return project().getBaseNode().resolvePath(releaseUuid, ContainerType.DRAFT, path, stack);
+	}
 }
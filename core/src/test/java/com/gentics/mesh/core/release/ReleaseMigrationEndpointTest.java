@@ -23,6 +23,7 @@ import com.codahale.metrics.ConsoleReporter;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
@@ -31,6 +32,7 @@ import com.gentics.mesh.core.rest.admin.migration.MigrationStatus;
 import com.gentics.mesh.core.rest.job.JobListResponse;
 import com.gentics.mesh.core.rest.node.NodeCreateRequest;
 import com.gentics.mesh.core.rest.schema.impl.SchemaReferenceImpl;
+import com.gentics.mesh.etc.config.GraphStorageOptions;
 import com.gentics.mesh.parameter.impl.PublishParametersImpl;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
@@ -120,6 +122,37 @@ public class ReleaseMigrationEndpointTest extends AbstractMeshTest {
 
 	}
 
+	@Test
+	public void testStartReleaseMigrationInChunks() throws Throwable {
+		GraphStorageOptions storageOptions = Mesh.mesh().getOptions().getStorageOptions();
+		int batchSize = storageOptions.getMigrationBatchSize();
+		storageOptions.setMigrationBatchSize(3);
+		try {
+			Release newRelease;
+			long nodeCount;
+			try (Tx tx = tx()) {
+				nodeCount = project().getNodeRoot().computeCount();
+				assertThat(nodeCount).as("Node count").isGreaterThan(3);
+				newRelease = project().getReleaseRoot().create("newrelease", user());
+				tx.success();
+			}
+
+			JobListResponse response = triggerAndWaitForJob(requestReleaseMigration(newRelease), COMPLETED);
+			assertThat(response.getData().get(0).getCompletionCount()).as("Migrated nodes").isEqualTo(nodeCount);
+
+			try (Tx tx = tx()) {
+				assertThat(newRelease.isMigrated()).as("Release migration status").isEqualTo(true);
+				for (Node node : project().getNodeRoot().findAllIt()) {
+					int draftCount = node.getGraphFieldContainers(initialRelease(), ContainerType.DRAFT).size();
+					assertThat(node.getGraphFieldContainers(newRelease, ContainerType.DRAFT)).as("Draft containers of node " + node.getUuid())
+						.hasSize(draftCount);
+				}
+			}
+		} finally {
+			storageOptions.setMigrationBatchSize(batchSize);
+		}
+	}
+
 	@Test
 	public void testStartForInitial() throws Throwable {
 		try (Tx tx = tx()) {
@@ -35,6 +35,7 @@ import com.gentics.mesh.core.data.User;
 import com.gentics.mesh.core.data.container.impl.MicroschemaContainerImpl;
 import com.gentics.mesh.core.data.container.impl.MicroschemaContainerVersionImpl;
 import com.gentics.mesh.core.data.impl.GraphFieldContainerEdgeImpl;
+import com.gentics.mesh.core.data.job.Job;
 import com.gentics.mesh.core.data.node.Micronode;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.node.field.list.MicronodeGraphFieldList;
@@ -75,6 +76,7 @@ import com.gentics.mesh.test.context.MeshTestSetting;
 import com.gentics.mesh.test.util.TestUtils;
 import com.gentics.mesh.util.IndexOptionHelper;
 import com.gentics.mesh.util.Tuple;
+import com.google.common.collect.Lists;
 import com.syncleus.ferma.tx.Tx;
 
 import io.vertx.core.json.JsonObject;
@@ -441,6 +443,67 @@ public class NodeMigrationEndpointTest extends AbstractMeshTest {
 		assertThat(status).containsJobs(jobAUuid);
 	}
 
+	@Test
+	public void testResumeInterruptedMigration() throws Throwable {
+		String fieldName = "changedfield";
+		SchemaContainerVersion versionA;
+		SchemaContainerVersion versionB;
+		try (Tx tx = tx()) {
+			SchemaContainer container = createDummySchemaWithChanges(fieldName, false);
+			versionB = container.getLatestVersion();
+			versionA = versionB.getPreviousVersion();
+			// The migration of containers with the value "fail" will fail
+			versionA.getNextChange().setCustomMigrationScript("function migrate(node, fieldname, convert) {"
+				+ "if (node.fields[fieldname] === 'fail') {throw 'fail';} node.fields[fieldname] = 'modified ' + node.fields[fieldname]; return node;}");
+			assertNull(project().getLatestRelease().assignSchemaVersion(user(), versionA));
+
+			Node parentNode = folder("2015");
+			for (int i = 0; i < 5; i++) {
+				Node node = parentNode.create(user(), versionA, project());
+				node.createGraphFieldContainer(english(), project().getLatestRelease(), user()).createString(fieldName).setString("content " + i);
+			}
+			tx.success();
+		}
+
+		// The containers are migrated in the order of their ids. Interrupt the migration at the last container.
+		String jobUuid;
+		String failedNodeUuid;
+		String checkpoint;
+		try (Tx tx = tx()) {
+			List<? extends NodeGraphFieldContainer> containers = Lists.newArrayList(versionA.getDraftFieldContainers(initialReleaseUuid()));
+			assertEquals(5, containers.size());
+			containers.get(4).getString(fieldName).setString("fail");
+			failedNodeUuid = containers.get(4).getParentNode().getUuid();
+			checkpoint = containers.get(3).getId().toString();
+			jobUuid = project().getLatestRelease().assignSchemaVersion(user(), versionB).getUuid();
+			tx.success();
+		}
+		triggerAndWaitForJob(jobUuid, FAILED);
+
+		try (Tx tx = tx()) {
+			// The checkpoint precedes the failed container. The resumed migration only reads the containers after it.
+			Job job = boot().jobRoot().findByUuid(jobUuid);
+			assertEquals(checkpoint, job.getMigrationCheckpoint());
+			List<? extends NodeGraphFieldContainer> remaining = Lists.newArrayList(versionA.getDraftFieldContainers(initialReleaseUuid(), checkpoint));
+			assertEquals(1, remaining.size());
+			assertEquals(failedNodeUuid, remaining.get(0).getParentNode().getUuid());
+			remaining.get(0).getString(fieldName).setString("content 4");
+			tx.success();
+		}
+
+		// Resume the migration
+		call(() -> client().resetJob(jobUuid));
+		triggerAndWaitForJob(jobUuid);
+
+		try (Tx tx = tx()) {
+			assertFalse("All containers should have been migrated", versionA.getDraftFieldContainers(initialReleaseUuid()).hasNext());
+			List<? extends NodeGraphFieldContainer> migrated = Lists.newArrayList(versionB.getDraftFieldContainers(initialReleaseUuid()));
+			assertThat(migrated.stream().map(c -> c.getString(fieldName).getString()).collect(Collectors.toList())).containsOnly("modified content 0",
+				"modified content 1", "modified content 2", "modified content 3", "modified content 4");
+			assertNull("The checkpoint should have been removed", boot().jobRoot().findByUuid(jobUuid).getMigrationCheckpoint());
+		}
+	}
+
 	@Test
 	public void testMigratePublished() throws Throwable {
 		String fieldName = "changedfield";
@@ -11,6 +11,7 @@ import static com.gentics.mesh.test.util.MeshAssert.failingLatch;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.CONFLICT;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -29,6 +30,7 @@ import org.testcontainers.shaded.com.google.common.collect.Iterators;
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.gentics.mesh.FieldUtil;
+import com.gentics.mesh.Mesh;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Release;
@@ -51,6 +53,7 @@ import com.gentics.mesh.core.rest.schema.impl.SchemaReferenceImpl;
 import com.gentics.mesh.core.rest.schema.impl.SchemaResponse;
 import com.gentics.mesh.core.rest.schema.impl.SchemaUpdateRequest;
 import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.etc.config.GraphStorageOptions;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.impl.SchemaUpdateParametersImpl;
 import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
@@ -414,6 +417,7 @@ public class SchemaChangesEndpointTest extends AbstractNodeSearchEndpointTest {
 		String schemaUuid = tx(() -> schemaContainer.getUuid());
 		SchemaContainerVersion currentVersion = tx(() -> schemaContainer.getLatestVersion());
 		assertNull("The schema should not yet have any changes", tx(() -> currentVersion.getNextChange()));
+		String oldContent = tx(() -> content().getGraphFieldContainer("en").getHtml("content").getHTML());
 
 		// 1. Setup changes
 		SchemaChangesListModel listOfChanges = new SchemaChangesListModel();
@@ -445,7 +449,7 @@ public class SchemaChangesEndpointTest extends AbstractNodeSearchEndpointTest {
 			assertTrue("The version of the original schema and the schema that is now linked to the node should be different.",
 				!Objects.equals(currentVersion.getVersion(), node.getGraphFieldContainer("en").getSchemaContainerVersion().getVersion()));
 			assertEquals("label1234", node.getGraphFieldContainer("en").getSchemaContainerVersion().getSchema().getField("newField").getLabel());
-
+			assertEquals("The existing fields should have been migrated", oldContent, node.getGraphFieldContainer("en").getHtml("content").getHTML());
 		}
 	}
 
@@ -627,6 +631,59 @@ public class SchemaChangesEndpointTest extends AbstractNodeSearchEndpointTest {
 
 	}
 
+	@Test
+	public void testMigrationInChunks() throws Exception {
+		assertChunkedMigration(2, 1);
+	}
+
+	@Test
+	public void testConcurrentMigration() throws Exception {
+		assertChunkedMigration(2, 4);
+	}
+
+	/**
+	 * Add a field to the content schema and assert that all containers have been migrated using the given migration settings.
+	 * 
+	 * @param migrationBatchSize
+	 * @param migrationConcurrency
+	 * @throws Exception
+	 */
+	private void assertChunkedMigration(int migrationBatchSize, int migrationConcurrency) throws Exception {
+		GraphStorageOptions storageOptions = Mesh.mesh().getOptions().getStorageOptions();
+		int batchSize = storageOptions.getMigrationBatchSize();
+		int concurrency = storageOptions.getMigrationConcurrency();
+		storageOptions.setMigrationBatchSize(migrationBatchSize);
+		storageOptions.setMigrationConcurrency(migrationConcurrency);
+		try {
+			String schemaUuid = tx(() -> schemaContainer("content").getUuid());
+			SchemaContainerVersion oldVersion = tx(() -> schemaContainer("content").getLatestVersion());
+			int containerCount = tx(() -> Iterators.size(oldVersion.getDraftFieldContainers(initialReleaseUuid())));
+			assertTrue("The migration should require multiple chunks", containerCount > migrationBatchSize);
+
+			SchemaUpdateRequest request;
+			try (Tx tx = tx()) {
+				request = JsonUtil.readValue(oldVersion.getJson(), SchemaUpdateRequest.class);
+				request.getFields().add(FieldUtil.createStringFieldSchema("extraname"));
+				MeshInternal.get().serverSchemaStorage().clear();
+			}
+			call(() -> client().updateSchema(schemaUuid, request, new SchemaUpdateParametersImpl().setUpdateAssignedReleases(false)));
+			SchemaResponse updatedSchema = call(() -> client().findSchemaByUuid(schemaUuid));
+			waitForJobs(() -> {
+				call(() -> client().assignReleaseSchemaVersions(PROJECT_NAME, initialReleaseUuid(),
+						new SchemaReferenceImpl().setName("content").setVersion(updatedSchema.getVersion())));
+			}, COMPLETED, 1);
+
+			try (Tx tx = tx()) {
+				assertFalse("All containers should have been migrated", oldVersion.getDraftFieldContainers(initialReleaseUuid()).hasNext());
+				SchemaContainerVersion newVersion = schemaContainer("content").getLatestVersion();
+				assertEquals(containerCount, Iterators.size(newVersion.getDraftFieldContainers(initialReleaseUuid())));
+			}
+		} finally {
+			storageOptions.setMigrationBatchSize(batchSize);
+			storageOptions.setMigrationConcurrency(concurrency);
+		}
+	}
+
 	@Test
 	public void testRemoveField2() throws Exception {
 		String containerUuid = db().tx(() -> schemaContainer("content").getUuid());
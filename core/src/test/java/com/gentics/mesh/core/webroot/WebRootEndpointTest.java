@@ -129,6 +129,40 @@ public class WebRootEndpointTest extends AbstractMeshTest {
 		}
 	}
 
+	@Test
+	public void testReadMovedContentByOldPath() throws Exception {
+		String oldPath = "/News/2015/News_2015.en.html";
+		String newPath = "/News/News_2015.en.html";
+		String uuid = db().tx(() -> content("news_2015").getUuid());
+		String newsFolderUuid = db().tx(() -> folder("news").getUuid());
+
+		// Resolve the path once so that it gets cached
+		call(() -> client().webroot(PROJECT_NAME, oldPath, new VersioningParametersImpl().draft(), new NodeParametersImpl().setLanguages("en")));
+
+		call(() -> client().moveNode(PROJECT_NAME, uuid, newsFolderUuid));
+		call(() -> client().webroot(PROJECT_NAME, oldPath, new VersioningParametersImpl().draft(), new NodeParametersImpl().setLanguages("en")),
+				NOT_FOUND, "node_not_found_for_path", oldPath);
+		WebRootResponse response = call(() -> client().webroot(PROJECT_NAME, newPath, new VersioningParametersImpl().draft(), new NodeParametersImpl()
+				.setLanguages("en")));
+		assertEquals(uuid, response.getNodeResponse().getUuid());
+	}
+
+	@Test
+	public void testCachedPathOfMovedParent() throws Exception {
+		String path = "/News/2015/News_2015.en.html";
+
+		// Resolve the path once so that it gets cached
+		call(() -> client().webroot(PROJECT_NAME, path, new VersioningParametersImpl().draft(), new NodeParametersImpl().setLanguages("en")));
+
+		// Move the node without updating the webroot information. The cached path must be verified against the parent edges.
+		try (Tx tx = tx()) {
+			content("news_2015").setParentNode(initialReleaseUuid(), folder("news"));
+			tx.success();
+		}
+		call(() -> client().webroot(PROJECT_NAME, path, new VersioningParametersImpl().draft(), new NodeParametersImpl().setLanguages("en")),
+				NOT_FOUND, "node_not_found_for_path", path);
+	}
+
 	@Test
 	public void testReadContentWithNodeRefByPath() throws Exception {
 
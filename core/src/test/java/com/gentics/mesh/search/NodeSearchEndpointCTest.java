@@ -11,6 +11,11 @@ import static com.gentics.mesh.test.context.MeshTestHelper.getSimpleQuery;
 import static com.gentics.mesh.test.context.MeshTestHelper.getSimpleTermQuery;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
 
 import org.jsoup.Jsoup;
 import org.junit.Test;
@@ -23,6 +28,7 @@ import com.gentics.mesh.core.rest.node.NodeUpdateRequest;
 import com.gentics.mesh.core.rest.schema.impl.SchemaUpdateRequest;
 import com.gentics.mesh.json.JsonUtil;
 import com.gentics.mesh.parameter.LinkType;
+import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.parameter.impl.NodeParametersImpl;
 import com.gentics.mesh.parameter.impl.PagingParametersImpl;
 import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
@@ -33,6 +39,39 @@ import com.syncleus.ferma.tx.Tx;
 @MeshTestSetting(useElasticsearch = true, testSize = FULL, startServer = true)
 public class NodeSearchEndpointCTest extends AbstractNodeSearchEndpointTest {
 
+	@Test
+	public void testSearchCursorPaging() throws Exception {
+		try (Tx tx = tx()) {
+			recreateIndices();
+		}
+
+		String query = "{\"query\":{\"match_all\":{}}}";
+		NodeListResponse fullResponse = call(() -> client().searchNodes(PROJECT_NAME, query, new PagingParametersImpl().setPerPage(1000),
+			new VersioningParametersImpl().draft()));
+		assertNull("All hits fit into the page. Thus no cursor should be returned", fullResponse.getMetainfo().getNextCursor());
+
+		// Walk all hits using the cursor of the previous page
+		Set<String> found = new HashSet<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			PagingParameters paging = new PagingParametersImpl().setPerPage(5);
+			if (cursor != null) {
+				paging.setAfter(cursor);
+			}
+			NodeListResponse response = call(() -> client().searchNodes(PROJECT_NAME, query, paging, new VersioningParametersImpl().draft()));
+			for (NodeResponse node : response.getData()) {
+				assertTrue("The hit {" + node.getUuid() + "} was already returned by a previous page", found.add(node.getUuid() + "-" + node
+					.getLanguage()));
+			}
+			cursor = response.getMetainfo().getNextCursor();
+			pages++;
+		} while (cursor != null);
+
+		assertEquals("All hits should have been returned", fullResponse.getData().size(), found.size());
+		assertTrue(pages > 1);
+	}
+
 	@Test
 	public void testSearchNumberRange() throws Exception {
 		int numberValue = 1200;
@@ -7,6 +7,7 @@ import static io.netty.handler.codec.http.HttpResponseStatus.FORBIDDEN;
 import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 import static org.junit.Assert.assertEquals;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import org.junit.Before;
@@ -18,6 +19,7 @@ import com.codahale.metrics.SharedMetricRegistries;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
+import com.gentics.mesh.core.data.User;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.schema.MicroschemaContainer;
 import com.gentics.mesh.core.data.schema.SchemaContainer;
@@ -31,10 +33,12 @@ import com.gentics.mesh.core.rest.schema.impl.SchemaCreateRequest;
 import com.gentics.mesh.core.rest.schema.impl.SchemaModelImpl;
 import com.gentics.mesh.core.rest.schema.impl.SchemaResponse;
 import com.gentics.mesh.core.rest.search.SearchStatusResponse;
+import com.gentics.mesh.parameter.impl.IndexSyncParametersImpl;
 import com.gentics.mesh.search.verticle.ElasticsearchSyncVerticle;
 import com.gentics.mesh.test.TestSize;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
+import com.google.common.collect.Iterators;
 
 /**
  * Test differential sync of elasticsearch.
@@ -95,6 +99,7 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		// Assert update
 		tx(() -> {
 			user().setUsername("updated");
+			user().updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("user", 0, 1, 0);
@@ -107,6 +112,97 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		assertMetrics("user", 0, 0, 1);
 	}
 
+	@Test
+	public void testIncrementalSync() throws Exception {
+		grantAdminRole();
+		// Assert insert of an element which was changed via the search queue
+		tx(() -> {
+			User user = boot().userRoot().create("tracked", user(), null);
+			user.updateChangeSequence();
+		});
+		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
+		assertMetrics("user", 1, 0, 0);
+
+		// The change sequence was not updated and thus the change will only be detected by the deep verify
+		tx(() -> {
+			boot().userRoot().findByName("tracked").setUsername("tracked_updated");
+		});
+		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
+		assertMetrics("user", 0, 0, 0);
+
+		waitForEvent(INDEX_SYNC_EVENT, () -> {
+			call(() -> client().invokeIndexSync(new IndexSyncParametersImpl().setDeep(true)));
+		});
+		assertMetrics("user", 0, 1, 0);
+
+		// Assert update of an element with a new change sequence
+		tx(() -> {
+			boot().userRoot().findByName("tracked_updated").updateChangeSequence();
+		});
+		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
+		assertMetrics("user", 0, 1, 0);
+	}
+
+	@Test
+	public void testChangeSequenceOfChangedElements() {
+		long nodeSequence = tx(() -> content().getChangeSequence());
+		long tagSequence = tx(() -> tag("red").getChangeSequence());
+		long containerSequence = tx(() -> content().getGraphFieldContainer(english(), latestRelease(), ContainerType.DRAFT).getChangeSequence());
+
+		// Only the node is changed when it gets tagged. The tag and the containers keep their sequence.
+		tx(() -> {
+			content().addTag(tag("red"), latestRelease());
+		});
+		tx(() -> {
+			assertThat(content().getChangeSequence()).isGreaterThan(nodeSequence);
+			assertEquals(tagSequence, tag("red").getChangeSequence().longValue());
+			assertEquals(containerSequence, content().getGraphFieldContainer(english(), latestRelease(), ContainerType.DRAFT).getChangeSequence()
+				.longValue());
+		});
+
+		// Storing the element via the search queue batch must not change the sequence
+		long updatedNodeSequence = tx(() -> content().getChangeSequence());
+		tx(() -> {
+			SearchQueueBatch batch = createBatch();
+			batch.store(content(), latestRelease().getUuid(), ContainerType.DRAFT, true);
+		});
+		tx(() -> {
+			assertEquals(updatedNodeSequence, content().getChangeSequence().longValue());
+		});
+	}
+
+	@Test
+	public void testSyncOfRenamedRelatedElements() throws Exception {
+		// The documents of the tagged nodes contain the name of the tag
+		long taggedDocuments = tx(() -> countDocuments(tag("red").getNodes(latestRelease())));
+		assertThat(taggedDocuments).isGreaterThan(0);
+		tx(() -> {
+			tag("red").setName("updated");
+			tag("red").updateChangeSequence();
+		});
+		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
+		assertMetrics("node", "update", taggedDocuments);
+
+		// The documents of all nodes of the project contain the project name
+		tx(() -> {
+			project().setName("updated");
+			project().updateChangeSequence();
+		});
+		long projectDocuments = tx(() -> countDocuments(project().getNodeRoot().findAllIt()));
+		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
+		assertMetrics("node", "update", projectDocuments);
+	}
+
+	private long countDocuments(Iterable<? extends Node> nodes) {
+		long count = 0;
+		for (Node node : nodes) {
+			for (ContainerType type : Arrays.asList(ContainerType.DRAFT, ContainerType.PUBLISHED)) {
+				count += Iterators.size(node.getGraphFieldContainersIt(latestRelease(), type).iterator());
+			}
+		}
+		return count;
+	}
+
 	@Test
 	public void testGroupSync() throws Exception {
 		// Assert insert
@@ -121,6 +217,7 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		// Assert update
 		tx(() -> {
 			group().setName("updated");
+			group().updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("group", 0, 1, 0);
@@ -147,6 +244,7 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		// Assert update
 		tx(() -> {
 			role().setName("updated");
+			role().updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("role", 0, 1, 0);
@@ -169,12 +267,13 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		// 400: The additional tags needs to be added to the index
-		// 3: Tag family needs to be updated and the two color tags
+		// 3: The tag family was updated and thus the documents of the color tags need to be updated
 		assertMetrics("tag", 400, 3, 0);
 
 		// Assert update
 		tx(() -> {
 			tag("red").setName("updated");
+			tag("red").updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("tag", 0, 1, 0);
@@ -204,6 +303,7 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		// Assert update
 		tx(() -> {
 			tagFamily("colors").setName("updated");
+			tagFamily("colors").updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("tagfamily", 0, 1, 0);
@@ -232,6 +332,7 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		// Assert update
 		tx(() -> {
 			project().setName("updated");
+			project().updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("project", 0, 1, 0);
@@ -255,7 +356,8 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 			node.createGraphFieldContainer(german(), initialRelease(), user());
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
-		assertMetrics("node", 1, 2, 0);
+		// The documents of the other languages don't contain the new language and are thus not updated
+		assertMetrics("node", 1, 0, 0);
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("node", 0, 0, 0);
 
@@ -263,6 +365,7 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		tx(() -> {
 			NodeGraphFieldContainer draft = content().getGraphFieldContainer(english(), latestRelease(), ContainerType.DRAFT);
 			draft.getString("slug").setString("updated");
+			draft.updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("node", 0, 2, 0);
@@ -273,7 +376,7 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 			draft.remove();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
-		assertMetrics("node", 0, 2, 1);
+		assertMetrics("node", 0, 0, 1);
 	}
 
 	@Test
@@ -292,7 +395,9 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 		// Assert update
 		SchemaResponse response = call(() -> client().createSchema(new SchemaCreateRequest().setName("dummy")));
 		tx(() -> {
-			boot().schemaContainerRoot().findByUuid(response.getUuid()).setName("updated");
+			SchemaContainer schema = boot().schemaContainerRoot().findByUuid(response.getUuid());
+			schema.setName("updated");
+			schema.updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("schema", 0, 1, 0);
@@ -322,7 +427,9 @@ public class BasicIndexSyncTest extends AbstractMeshTest {
 
 		// Assert update
 		tx(() -> {
-			boot().microschemaContainerRoot().findByName("microschema_100").setName("updated");
+			MicroschemaContainer microschema = boot().microschemaContainerRoot().findByName("microschema_100");
+			microschema.setName("updated");
+			microschema.updateChangeSequence();
 		});
 		waitForEvent(INDEX_SYNC_EVENT, ElasticsearchSyncVerticle::invokeSync);
 		assertMetrics("microschema", 0, 1, 0);
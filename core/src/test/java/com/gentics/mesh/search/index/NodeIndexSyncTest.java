@@ -12,6 +12,7 @@ import com.gentics.mesh.Events;
 import com.gentics.mesh.core.rest.common.GenericMessageResponse;
 import com.gentics.mesh.core.rest.node.NodeListResponse;
 import com.gentics.mesh.core.rest.node.NodeResponse;
+import com.gentics.mesh.parameter.impl.IndexSyncParametersImpl;
 import com.gentics.mesh.parameter.impl.VersioningParametersImpl;
 import com.gentics.mesh.test.TestSize;
 import com.gentics.mesh.test.context.AbstractMeshTest;
@@ -63,4 +64,30 @@ public class NodeIndexSyncTest extends AbstractMeshTest {
 		assertThat(response.getData()).as("Published search result").usingElementComparatorOnFields("uuid").containsOnly(concorde);
 
 	}
+	@Test
+	public void testNodeIndexRebuild() throws Exception {
+		try (Tx tx = tx()) {
+			recreateIndices();
+		}
+		grantAdminRole();
+		String uuid = db().tx(() -> content("concorde").getUuid());
+
+		waitForEvent(Events.INDEX_SYNC_EVENT, () -> {
+			GenericMessageResponse message = call(() -> client().invokeIndexSync(new IndexSyncParametersImpl().setRebuild(true)));
+			assertThat(message).matches("search_admin_index_sync_invoked");
+		});
+
+		// The documents must be found in the rebuilt index
+		NodeListResponse response = call(() -> client().searchNodes(PROJECT_NAME, getSimpleQuery("fields.content", "supersonic"),
+			new VersioningParametersImpl().draft()));
+		assertThat(response.getData()).as("Search result").extracting("uuid").contains(uuid);
+
+		// The second rebuild replaces the index which is referenced by the alias
+		waitForEvent(Events.INDEX_SYNC_EVENT, () -> {
+			call(() -> client().invokeIndexSync(new IndexSyncParametersImpl().setRebuild(true)));
+		});
+		response = call(() -> client().searchNodes(PROJECT_NAME, getSimpleQuery("fields.content", "supersonic"), new VersioningParametersImpl()
+			.draft()));
+		assertThat(response.getData()).as("Search result after second rebuild").extracting("uuid").contains(uuid);
+	}
 }
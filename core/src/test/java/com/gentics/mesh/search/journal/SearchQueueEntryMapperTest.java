@@ -0,0 +1,66 @@
+package com.gentics.mesh.search.journal;
+
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.DELETE_ACTION;
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
+import static com.gentics.mesh.test.TestSize.FULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.junit.Test;
+
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.search.SearchQueueEntryAction;
+import com.gentics.mesh.dagger.MeshInternal;
+import com.gentics.mesh.search.IndexHandlerRegistry;
+import com.gentics.mesh.test.context.AbstractMeshTest;
+import com.gentics.mesh.test.context.MeshTestSetting;
+import com.syncleus.ferma.tx.Tx;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+@MeshTestSetting(useElasticsearch = false, testSize = FULL, startServer = false)
+public class SearchQueueEntryMapperTest extends AbstractMeshTest {
+
+	@Test
+	public void testVerifyLanguageEntries() {
+		IndexHandlerRegistry registry = MeshInternal.get().indexHandlerRegistry();
+		SearchQueueEntryMapper mapper = new SearchQueueEntryMapper(registry, null);
+		try (Tx tx = tx()) {
+			Node node = content();
+			NodeGraphFieldContainer container = node.getGraphFieldContainer("de", initialReleaseUuid(), ContainerType.DRAFT);
+			assertNotNull(container);
+			String versionUuid = container.getSchemaContainerVersion().getUuid();
+
+			JsonArray json = new JsonArray();
+			json.add(entry(registry, STORE_ACTION, node, versionUuid));
+			json.add(entry(registry, DELETE_ACTION, node, versionUuid));
+			// The container still exists. Thus only the store entry is valid.
+			assertEquals(1, mapper.fromJson(json, true).size());
+			assertEquals(2, mapper.fromJson(json, false).size());
+
+			// The node still exists after the language has been deleted but the delete entry is now valid
+			node.deleteLanguageContainer(mockActionContext(), latestRelease(), german(), createBatch(), false);
+			assertEquals(1, mapper.fromJson(json, true).size());
+			assertEquals(DELETE_ACTION, mapper.fromJson(json, true).get(0).getElementAction());
+		}
+	}
+
+	private JsonObject entry(IndexHandlerRegistry registry, SearchQueueEntryAction action, Node node, String versionUuid) {
+		JsonObject context = new JsonObject();
+		context.put("projectUuid", projectUuid());
+		context.put("releaseUuid", initialReleaseUuid());
+		context.put("containerType", ContainerType.DRAFT.name());
+		context.put("languageTag", "de");
+		context.put("schemaContainerVersionUuid", versionUuid);
+		return new JsonObject()
+			.put("type", "update")
+			.put("handler", registry.getNodeIndexHandler().getType())
+			.put("action", action.name())
+			.put("uuid", node.getUuid())
+			.put("context", context);
+	}
+
+}
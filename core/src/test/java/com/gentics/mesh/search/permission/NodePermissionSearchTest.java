@@ -3,6 +3,8 @@ package com.gentics.mesh.search.permission;
 import static com.gentics.mesh.test.ClientHelper.call;
 import static com.gentics.mesh.test.TestDataProvider.PROJECT_NAME;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 
 import org.junit.Test;
 
@@ -89,6 +91,49 @@ public class NodePermissionSearchTest extends AbstractMeshTest {
 
 	}
 
+	/**
+	 * Verify that a recursive update which affects all members of a permission group keeps the group while an update of a single member moves it to a new
+	 * group.
+	 * 
+	 * @throws Exception
+	 */
+	@Test
+	public void testPermissionGroup() throws Exception {
+		try (Tx tx = tx()) {
+			recreateIndices();
+		}
+		NodeResponse response = createNode("slug", FieldUtil.createStringField("slugblub"));
+		String baseNodeUuid = tx(() -> project().getBaseNode().getUuid());
+		RoleResponse otherRole = call(() -> client().createRole(new RoleCreateRequest().setName("SubtreeRole")));
+
+		RolePermissionRequest request = new RolePermissionRequest();
+		request.setRecursive(true);
+		request.getPermissions().setRead(true);
+		call(() -> client().updateRolePermissions(otherRole.getUuid(), "/projects/" + PROJECT_NAME + "/nodes/" + baseNodeUuid, request));
+		String group = tx(() -> project().getNodeRoot().findByUuid(response.getUuid()).getPermissionGroup());
+		assertNotNull("The node should have been moved to a permission group", group);
+
+		// Change the permissions of the whole group
+		request.getPermissions().setReadPublished(true);
+		call(() -> client().updateRolePermissions(otherRole.getUuid(), "/projects/" + PROJECT_NAME + "/nodes/" + baseNodeUuid, request));
+		assertEquals("The group should be kept since all members were changed", group, tx(() -> project().getNodeRoot().findByUuid(response.getUuid())
+			.getPermissionGroup()));
+
+		String json = getESText("nodeWildcard.es");
+		NodeListResponse list = call(() -> client().searchNodes(PROJECT_NAME, json));
+		assertEquals("The node should be found since the requestor has permission to see it", 1, list.getData().size());
+
+		// Change the permissions of a single member
+		RolePermissionRequest revoke = new RolePermissionRequest();
+		revoke.getPermissions().setRead(false);
+		call(() -> client().updateRolePermissions(roleUuid(), "/projects/" + PROJECT_NAME + "/nodes/" + response.getUuid(), revoke));
+		assertNotEquals("The node should have left the group", group, tx(() -> project().getNodeRoot().findByUuid(response.getUuid())
+			.getPermissionGroup()));
+
+		list = call(() -> client().searchNodes(PROJECT_NAME, json));
+		assertEquals("The node should not be found since the requestor has no permission to see it", 0, list.getData().size());
+	}
+
 	/**
 	 * Verify that the permission handling works correct when deleting roles which only grant read perm on nodes.
 	 * 
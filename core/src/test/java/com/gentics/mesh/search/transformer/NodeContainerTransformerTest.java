@@ -1,17 +1,24 @@
 package com.gentics.mesh.search.transformer;
 
 import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PERM;
+import static com.gentics.mesh.core.data.relationship.GraphPermission.READ_PUBLISHED_PERM;
+import static com.gentics.mesh.search.index.PermissionSetRegistry.PERMISSION_SET_KEY;
 import static com.gentics.mesh.test.TestSize.FULL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 
 import org.junit.Test;
 
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Release;
+import com.gentics.mesh.core.data.Role;
+import com.gentics.mesh.search.index.PermissionSetRegistry;
 import com.gentics.mesh.search.index.node.NodeContainerTransformer;
 import com.gentics.mesh.test.context.AbstractMeshTest;
 import com.gentics.mesh.test.context.MeshTestSetting;
@@ -26,6 +33,7 @@ public class NodeContainerTransformerTest extends AbstractMeshTest {
 	@Test
 	public void testNodeTagFamilyTransformer() {
 		NodeContainerTransformer transformer = new NodeContainerTransformer(searchProvider());
+		transformer.permissionSets = new PermissionSetRegistry(searchProvider());
 		try (Tx tx = tx()) {
 			Release release = project().getLatestRelease();
 			NodeGraphFieldContainer node = content("concorde").getGraphFieldContainer(english(), release, PUBLISHED);
@@ -49,8 +57,15 @@ public class NodeContainerTransformerTest extends AbstractMeshTest {
 			assertTrue("Could not find all basic tags", allTagsContained);
 			assertTrue("Could not find all colors", allColorsContained);
 
-			JsonArray roleUuids = document.getJsonArray("_roleUuids");
-			assertEquals("The role information was not correctly set", 2, roleUuids.size());
+			List<String> roleUuids = new ArrayList<>();
+			for (Role role : content("concorde").getRolesWithPerm(READ_PERM)) {
+				roleUuids.add(role.getUuid());
+			}
+			for (Role role : content("concorde").getRolesWithPerm(READ_PUBLISHED_PERM)) {
+				roleUuids.add(role.getUuid());
+			}
+			assertEquals("The permission information was not correctly set", transformer.permissionSets.toSetId(roleUuids), document.getString(
+				PERMISSION_SET_KEY));
 		}
 	}
 }
@@ -0,0 +1,122 @@
+package com.gentics.mesh.graphdb;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.gentics.mesh.graphdb.cache.CachingTx;
+import com.gentics.mesh.graphdb.cache.TxCommitListener;
+import com.gentics.mesh.graphdb.cache.TxElementCache;
+import com.syncleus.ferma.ext.orientdb.OrientDBTx;
+import com.syncleus.ferma.typeresolvers.TypeResolver;
+import com.tinkerpop.blueprints.impls.orient.OrientGraphFactory;
+
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * OrientDB transaction which provides a transaction scoped element cache. The cache will be cleared once the transaction has been committed or rolled back.
+ * The registered commit actions are invoked after the transaction has been committed successfully. Commit listeners are additionally invoked right before the
+ * commit and after a rollback.
+ */
+public class MeshOrientDBTx extends OrientDBTx implements CachingTx {
+
+	private static final Logger log = LoggerFactory.getLogger(MeshOrientDBTx.class);
+
+	private final TxElementCache elementCache = new TxElementCache();
+
+	private final Map<Class<?>, Runnable> commitActions = new LinkedHashMap<>();
+
+	private final Map<Class<?>, TxCommitListener> commitListeners = new LinkedHashMap<>();
+
+	private boolean successful = false;
+
+	public MeshOrientDBTx(OrientGraphFactory factory, TypeResolver typeResolver) {
+		super(factory, typeResolver);
+	}
+
+	@Override
+	public TxElementCache getElementCache() {
+		return elementCache;
+	}
+
+	@Override
+	public <T extends Runnable> T getCommitAction(Class<T> type, Supplier<T> factory) {
+		return type.cast(commitActions.computeIfAbsent(type, t -> factory.get()));
+	}
+
+	@Override
+	public <T extends TxCommitListener> T getCommitListener(Class<T> type, Supplier<T> factory) {
+		return type.cast(commitListeners.computeIfAbsent(type, t -> factory.get()));
+	}
+
+	@Override
+	public void success() {
+		super.success();
+		successful = true;
+	}
+
+	@Override
+	public void failure() {
+		super.failure();
+		successful = false;
+	}
+
+	@Override
+	public void close() {
+		boolean committed = false;
+		RuntimeException prepareError = null;
+		try {
+			if (successful) {
+				try {
+					// Listeners may register further listeners while they prepare the commit
+					int prepared = 0;
+					while (prepared < commitListeners.size()) {
+						List<TxCommitListener> listeners = new ArrayList<>(commitListeners.values());
+						for (TxCommitListener listener : listeners.subList(prepared, listeners.size())) {
+							listener.beforeCommit();
+							prepared++;
+						}
+					}
+				} catch (RuntimeException e) {
+					// The changes must not be committed if a listener could not prepare them
+					prepareError = e;
+					failure();
+				}
+			}
+			super.close();
+			committed = successful;
+		} finally {
+			elementCache.clear();
+			for (TxCommitListener listener : commitListeners.values()) {
+				try {
+					if (committed) {
+						listener.afterCommit();
+					} else {
+						listener.afterRollback();
+					}
+				} catch (Exception e) {
+					log.error("Error while invoking the commit listener {" + listener.getClass().getSimpleName() + "}", e);
+				}
+			}
+			commitListeners.clear();
+		}
+		if (prepareError != null) {
+			commitActions.clear();
+			throw prepareError;
+		}
+		if (committed) {
+			for (Runnable action : commitActions.values()) {
+				try {
+					action.run();
+				} catch (Exception e) {
+					log.error("Error while invoking the commit action {" + action.getClass().getSimpleName() + "}", e);
+				}
+			}
+		}
+		commitActions.clear();
+	}
+
+}
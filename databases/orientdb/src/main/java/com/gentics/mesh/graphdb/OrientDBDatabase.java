@@ -19,11 +19,16 @@ import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.regex.Matcher;
 
 import org.apache.commons.io.FileUtils;
@@ -54,6 +59,7 @@ import com.orientechnologies.orient.core.db.record.OIdentifiable;
 import com.orientechnologies.orient.core.db.tool.ODatabaseExport;
 import com.orientechnologies.orient.core.db.tool.ODatabaseImport;
 import com.orientechnologies.orient.core.exception.OSchemaException;
+import com.orientechnologies.orient.core.id.ORecordId;
 import com.orientechnologies.orient.core.index.OCompositeKey;
 import com.orientechnologies.orient.core.index.OIndex;
 import com.orientechnologies.orient.core.index.OIndexCursor;
@@ -71,10 +77,10 @@ import com.orientechnologies.orient.server.hazelcast.OHazelcastPlugin;
 import com.orientechnologies.orient.server.plugin.OServerPluginManager;
 import com.syncleus.ferma.FramedGraph;
 import com.syncleus.ferma.ext.orientdb.DelegatingFramedOrientGraph;
-import com.syncleus.ferma.ext.orientdb.OrientDBTx;
 import com.syncleus.ferma.tx.Tx;
 import com.syncleus.ferma.tx.TxAction;
 import com.syncleus.ferma.typeresolvers.TypeResolver;
+import com.tinkerpop.blueprints.Edge;
 import com.tinkerpop.blueprints.Element;
 import com.tinkerpop.blueprints.Graph;
 import com.tinkerpop.blueprints.TransactionalGraph;
@@ -512,6 +518,15 @@ public class OrientDBDatabase extends AbstractDatabase {
 
 	@Override
 	public void addCustomEdgeIndex(String label, String indexPostfix, String... fields) {
+		addCustomEdgeIndex(label, indexPostfix, OClass.INDEX_TYPE.NOTUNIQUE_HASH_INDEX, fields);
+	}
+
+	@Override
+	public void addOrderedEdgeIndex(String label, String indexPostfix, String... fields) {
+		addCustomEdgeIndex(label, indexPostfix, OClass.INDEX_TYPE.NOTUNIQUE, fields);
+	}
+
+	private void addCustomEdgeIndex(String label, String indexPostfix, OClass.INDEX_TYPE indexType, String... fields) {
 		OrientGraphNoTx noTx = factory.getNoTx();
 		try {
 			OrientEdgeType e = noTx.getEdgeType(label);
@@ -531,7 +546,7 @@ public class OrientDBDatabase extends AbstractDatabase {
 			String name = "e." + label + "_" + indexPostfix;
 			name = name.toLowerCase();
 			if (fields.length != 0 && e.getClassIndex(name) == null) {
-				e.createIndex(name, OClass.INDEX_TYPE.NOTUNIQUE_HASH_INDEX, fields);
+				e.createIndex(name, indexType, fields);
 			}
 
 		} finally {
@@ -547,7 +562,7 @@ public class OrientDBDatabase extends AbstractDatabase {
 			if (e == null) {
 				e = noTx.createEdgeType(label);
 			}
-			if ((includeIn || includeInOut) && e.getProperty("in") == null) {
+			if ((includeIn || includeInOut || includeOut) && e.getProperty("in") == null) {
 				e.createProperty("in", OType.LINK);
 			}
 			if ((includeOut || includeInOut) && e.getProperty("out") == null) {
@@ -567,6 +582,10 @@ public class OrientDBDatabase extends AbstractDatabase {
 			if (includeOut && e.getClassIndex(name) == null) {
 				e.createIndex(name, OClass.INDEX_TYPE.NOTUNIQUE_HASH_INDEX, new String[] { "out" });
 			}
+			name = indexName + "_outin";
+			if (includeOut && e.getClassIndex(name) == null) {
+				e.createIndex(name, OClass.INDEX_TYPE.NOTUNIQUE, new String[] { "out", "in" });
+			}
 			name = indexName + "_in";
 			if (includeIn && e.getClassIndex(name) == null) {
 				e.createIndex(name, OClass.INDEX_TYPE.NOTUNIQUE_HASH_INDEX, new String[] { "in" });
@@ -613,12 +632,194 @@ public class OrientDBDatabase extends AbstractDatabase {
 		return ids;
 	}
 
+	@Override
+	public Iterator<? extends Edge> getEdgesAfter(String edgeLabel, String indexPostfix, Object[] keys, Object after) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		String indexName = "e." + edgeLabel.toLowerCase() + "_" + indexPostfix.toLowerCase();
+
+		// Load the edge type in order to access the indices of the edge
+		OrientEdgeType edgeType = orientBaseGraph.getEdgeType(edgeLabel);
+		OIndex<?> index = edgeType == null ? null : edgeType.getClassIndex(indexName);
+		if (index == null) {
+			throw new RuntimeException("Could not find ordered edge index {" + indexName + "}. Create the index before using it for lookups.");
+		}
+
+		// The partial upper key matches all entries which start with the given keys
+		OCompositeKey upperKey = new OCompositeKey(keys);
+		OCompositeKey lowerKey = new OCompositeKey(keys);
+		if (after != null) {
+			lowerKey.addKey(after);
+		}
+		OIndexCursor cursor = index.iterateEntriesBetween(lowerKey, after == null, upperKey, true, true);
+		return new Iterator<Edge>() {
+			Edge next = fetch();
+
+			private Edge fetch() {
+				Entry<Object, OIdentifiable> entry;
+				while ((entry = cursor.nextEntry()) != null) {
+					// The edge may have been removed in the meantime
+					Edge edge = orientBaseGraph.getEdge(entry.getValue());
+					if (edge != null) {
+						return edge;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Edge next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				Edge current = next;
+				next = fetch();
+				return current;
+			}
+		};
+	}
+
+	@Override
+	public long countEdges(String edgeLabel, String indexPostfix, Object[] keys) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		String indexName = "e." + edgeLabel.toLowerCase() + "_" + indexPostfix.toLowerCase();
+		OrientEdgeType edgeType = orientBaseGraph.getEdgeType(edgeLabel);
+		OIndex<?> index = edgeType == null ? null : edgeType.getClassIndex(indexName);
+		if (index == null) {
+			throw new RuntimeException("Could not find ordered edge index {" + indexName + "}. Create the index before using it for lookups.");
+		}
+		OCompositeKey key = new OCompositeKey(keys);
+		OIndexCursor cursor = index.iterateEntriesBetween(key, true, key, true, true);
+		long count = 0;
+		while (cursor.nextEntry() != null) {
+			count++;
+		}
+		return count;
+	}
+
+	@Override
+	public Iterator<? extends Vertex> getVerticesAfter(String indexName, Object[] keys, Object after) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		OIndex<?> index = orientBaseGraph.getRawGraph().getMetadata().getIndexManager().getIndex(indexName);
+		if (index == null) {
+			throw new RuntimeException("Could not find ordered vertex index {" + indexName + "}. Create the index before using it for lookups.");
+		}
+
+		// The partial upper key matches all entries which start with the given keys
+		OCompositeKey upperKey = new OCompositeKey(keys);
+		OCompositeKey lowerKey = new OCompositeKey(keys);
+		if (after != null) {
+			lowerKey.addKey(after);
+		}
+		OIndexCursor cursor = index.iterateEntriesBetween(lowerKey, after == null, upperKey, true, true);
+		return new Iterator<Vertex>() {
+			Vertex next = fetch();
+
+			private Vertex fetch() {
+				Entry<Object, OIdentifiable> entry;
+				while ((entry = cursor.nextEntry()) != null) {
+					// The vertex may have been removed in the meantime
+					Vertex vertex = orientBaseGraph.getVertex(entry.getValue());
+					if (vertex != null) {
+						return vertex;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Vertex next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				Vertex current = next;
+				next = fetch();
+				return current;
+			}
+		};
+	}
+
+	@Override
+	public Set<Object> edgeLookup(String edgeLabel, String indexPostfix, Collection<?> inIds, Object outId) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		Set<Object> ids = new HashSet<>();
+		if (inIds.isEmpty()) {
+			return ids;
+		}
+
+		// Load the edge type in order to access the indices of the edge
+		OrientEdgeType edgeType = orientBaseGraph.getEdgeType(edgeLabel);
+		if (edgeType != null) {
+			// Fetch the required index
+			OIndex<?> index = edgeType.getClassIndex("e." + edgeLabel.toLowerCase() + "_" + indexPostfix);
+			if (index != null) {
+				List<OCompositeKey> keys = new ArrayList<>(inIds.size());
+				for (Object inId : inIds) {
+					keys.add(new OCompositeKey(inId, outId));
+				}
+				// Probe the index for all keys at once
+				OIndexCursor cursor = index.iterateEntries(keys, false);
+				Entry<Object, OIdentifiable> entry;
+				while ((entry = cursor.nextEntry()) != null) {
+					OCompositeKey entryKey = (OCompositeKey) entry.getKey();
+					// Only add the inbound vertex id to the set of ids
+					ids.add(entryKey.getKeys().get(0));
+				}
+			}
+		}
+		return ids;
+	}
+
 	@Override
 	public Iterator<Vertex> getVertices(Class<?> classOfVertex, String[] fieldNames, Object[] fieldValues) {
 		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
 		return orientBaseGraph.getVertices(classOfVertex.getSimpleName(), fieldNames, fieldValues).iterator();
 	}
 
+	@Override
+	public Map<Object, Vertex> getVertices(Class<?> classOfVertex, String fieldName, Collection<?> fieldValues) {
+		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
+		Map<Object, Vertex> vertices = new HashMap<>();
+		if (fieldValues.isEmpty()) {
+			return vertices;
+		}
+		String className = classOfVertex.getSimpleName();
+		OClass vertexClass = orientBaseGraph.getRawGraph().getMetadata().getSchema().getClass(className);
+		// The index may also be defined by a super class
+		Set<OIndex<?>> indices = vertexClass == null ? Collections.emptySet() : vertexClass.getInvolvedIndexes(fieldName);
+		if (indices.isEmpty()) {
+			// Fallback to single lookups
+			for (Object value : fieldValues) {
+				Iterator<Vertex> it = getVertices(classOfVertex, new String[] { fieldName }, new Object[] { value });
+				if (it.hasNext()) {
+					vertices.put(value, it.next());
+				}
+			}
+			return vertices;
+		}
+
+		// Probe the index for all values at once
+		OIndexCursor cursor = indices.iterator().next().iterateEntries(fieldValues, false);
+		Entry<Object, OIdentifiable> entry;
+		while ((entry = cursor.nextEntry()) != null) {
+			OrientVertex vertex = orientBaseGraph.getVertex(entry.getValue());
+			// The index of the super class may also contain vertices of other types
+			if (vertex != null && vertex.getRecord().getSchemaClass().isSubClassOf(className)) {
+				vertices.put(entry.getKey(), vertex);
+			}
+		}
+		return vertices;
+	}
+
 	@Override
 	public <T extends MeshVertex> Iterator<? extends T> getVerticesForType(Class<T> classOfVertex) {
 		OrientBaseGraph orientBaseGraph = unwrapCurrentGraph();
@@ -758,6 +959,8 @@ public class OrientDBDatabase extends AbstractDatabase {
 			return OType.STRING;
 		case INTEGER:
 			return OType.INTEGER;
+		case LONG:
+			return OType.LONG;
 		case BOOLEAN:
 			return OType.BOOLEAN;
 		case STRING_SET:
@@ -819,6 +1022,33 @@ public class OrientDBDatabase extends AbstractDatabase {
 
 	}
 
+	@Override
+	public void addOrderedVertexIndex(String indexName, Class<?> clazzOfVertices, String[] fieldKeys, FieldType[] fieldTypes) {
+		if (log.isDebugEnabled()) {
+			log.debug("Adding ordered vertex index for class {" + clazzOfVertices.getName() + "}");
+		}
+		OrientGraphNoTx noTx = factory.getNoTx();
+		try {
+			String name = clazzOfVertices.getSimpleName();
+			OrientVertexType v = noTx.getVertexType(name);
+			if (v == null) {
+				throw new RuntimeException("Vertex type {" + name + "} is unknown. Can't create index {" + indexName + "}");
+			}
+
+			for (int i = 0; i < fieldKeys.length; i++) {
+				if (v.getProperty(fieldKeys[i]) == null) {
+					v.createProperty(fieldKeys[i], convertType(fieldTypes[i]));
+				}
+			}
+
+			if (v.getClassIndex(indexName) == null) {
+				v.createIndex(indexName, OClass.INDEX_TYPE.NOTUNIQUE.toString(), null, new ODocument().fields("ignoreNullValues", true), fieldKeys);
+			}
+		} finally {
+			noTx.shutdown();
+		}
+	}
+
 	@Override
 	public <T extends MeshElement> T findVertex(String fieldKey, Object fieldValue, Class<T> clazz) {
 		FramedGraph graph = Tx.getActive().getGraph();
@@ -878,7 +1108,7 @@ public class OrientDBDatabase extends AbstractDatabase {
 
 	@Override
 	public Tx tx() {
-		return new OrientDBTx(factory, resolver);
+		return new MeshOrientDBTx(factory, resolver);
 	}
 
 	@Override
@@ -1032,6 +1262,11 @@ public class OrientDBDatabase extends AbstractDatabase {
 		return new OCompositeKey(keys);
 	}
 
+	@Override
+	public Object createElementId(String id) {
+		return new ORecordId(id);
+	}
+
 	@Override
 	public void setVertexType(Element element, Class<?> classOfVertex) {
 		if (element instanceof WrappedVertex) {
@@ -4,6 +4,8 @@ import static com.gentics.mesh.Events.EVENT_CLEAR_PERMISSION_STORE;
 import static com.gentics.mesh.Events.EVENT_CLUSTER_DATABASE_CHANGE_STATUS;
 import static com.gentics.mesh.Events.EVENT_CLUSTER_NODE_JOINED;
 import static com.gentics.mesh.Events.EVENT_CLUSTER_NODE_LEFT;
+import static com.gentics.mesh.Events.EVENT_INVALIDATE_PERMISSION_STORE;
+import static com.gentics.mesh.Events.EVENT_INVALIDATE_WEBROOT_CACHE;
 import static com.orientechnologies.orient.server.distributed.ODistributedServerManager.DB_STATUS.ONLINE;
 
 import java.util.Map;
@@ -15,6 +17,7 @@ import javax.naming.InvalidNameException;
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.core.cache.PermissionStore;
+import com.gentics.mesh.core.cache.WebrootPathCache;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.graphdb.spi.Database;
 import com.gentics.mesh.router.RouterStorage;
@@ -66,6 +69,18 @@ public class DistributedEventManager {
 			PermissionStore.invalidate(false);
 		});
 
+		// Register for events which are send whenever specific entries of the permission store must be invalidated.
+		eb.consumer(EVENT_INVALIDATE_PERMISSION_STORE, (Message<JsonObject> handler) -> {
+			log.debug("Received permissionstore invalidation event");
+			PermissionStore.handleInvalidationEvent(handler.body(), db.get()::createElementId);
+		});
+
+		// Register for events which are send whenever cached webroot paths must be invalidated.
+		eb.consumer(EVENT_INVALIDATE_WEBROOT_CACHE, (Message<JsonObject> handler) -> {
+			log.debug("Received webroot cache invalidation event");
+			WebrootPathCache.handleInvalidationEvent(handler.body());
+		});
+
 		// React on project creates
 		eb.consumer(Project.TYPE_INFO.getOnCreatedAddress(), (Message<JsonObject> handler) -> {
 			log.info("Received project create event");
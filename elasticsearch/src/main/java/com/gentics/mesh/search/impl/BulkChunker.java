@@ -0,0 +1,153 @@
+package com.gentics.mesh.search.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+
+/**
+ * The chunker splits bulk entries into bulk requests which are limited by the amount of entries and by the payload size. The entries are written into a
+ * single buffer which will be reused for all chunks. A single entry which exceeds the size limit will be sent in a chunk of its own.
+ */
+public class BulkChunker {
+
+	private final Iterator<? extends BulkEntry> entries;
+
+	private final String installationPrefix;
+
+	private final int countLimit;
+
+	private final long lengthLimit;
+
+	private final StringBuilder buffer = new StringBuilder();
+
+	/**
+	 * Entry which was written to the buffer but did not fit into the previous chunk.
+	 */
+	private BulkEntry carry;
+
+	private long carryLength;
+
+	/**
+	 * Create a new chunker.
+	 *
+	 * @param entries
+	 *            Entries to split
+	 * @param installationPrefix
+	 *            Prefix which will be prepended to used pipelines and indices
+	 * @param countLimit
+	 *            Maximum amount of entries per chunk
+	 * @param lengthLimit
+	 *            Maximum payload size of a chunk in bytes
+	 */
+	public BulkChunker(Iterable<? extends BulkEntry> entries, String installationPrefix, int countLimit, long lengthLimit) {
+		this.entries = entries.iterator();
+		this.installationPrefix = installationPrefix;
+		this.countLimit = Math.max(1, countLimit);
+		this.lengthLimit = lengthLimit;
+	}
+
+	/**
+	 * Return the next chunk.
+	 *
+	 * @return Next chunk or null if all entries have been consumed
+	 */
+	public BulkChunk next() {
+		List<BulkEntry> chunkEntries = new ArrayList<>();
+		long length = 0;
+		if (carry != null) {
+			chunkEntries.add(carry);
+			length = carryLength;
+			carry = null;
+		}
+		while (chunkEntries.size() < countLimit && entries.hasNext()) {
+			BulkEntry entry = entries.next();
+			int mark = buffer.length();
+			entry.appendBulkString(buffer, installationPrefix);
+			buffer.append("\n");
+			long entryLength = utf8Length(buffer, mark, buffer.length());
+			if (!chunkEntries.isEmpty() && length + entryLength > lengthLimit) {
+				// The entry stays in the buffer and will be the first entry of the next chunk
+				carry = entry;
+				carryLength = entryLength;
+				return toChunk(chunkEntries, mark, length);
+			}
+			chunkEntries.add(entry);
+			length += entryLength;
+		}
+		if (chunkEntries.isEmpty()) {
+			return null;
+		}
+		return toChunk(chunkEntries, buffer.length(), length);
+	}
+
+	private BulkChunk toChunk(List<BulkEntry> chunkEntries, int end, long length) {
+		String payload = buffer.substring(0, end);
+		buffer.delete(0, end);
+		return new BulkChunk(chunkEntries, payload, length);
+	}
+
+	/**
+	 * Return the amount of bytes which are needed to encode the given range in UTF-8.
+	 *
+	 * @param seq
+	 * @param start
+	 * @param end
+	 * @return
+	 */
+	static long utf8Length(CharSequence seq, int start, int end) {
+		long length = 0;
+		for (int i = start; i < end; i++) {
+			char c = seq.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c)) {
+				// Surrogate pairs are encoded using four bytes
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	/**
+	 * A chunk contains the entries and the payload of a single bulk request.
+	 */
+	public static class BulkChunk {
+
+		private final List<BulkEntry> entries;
+
+		private final String payload;
+
+		private final long length;
+
+		public BulkChunk(List<BulkEntry> entries, String payload, long length) {
+			this.entries = entries;
+			this.payload = payload;
+			this.length = length;
+		}
+
+		public List<BulkEntry> getEntries() {
+			return entries;
+		}
+
+		public String getPayload() {
+			return payload;
+		}
+
+		/**
+		 * Return the size of the payload in bytes.
+		 *
+		 * @return
+		 */
+		public long getLength() {
+			return length;
+		}
+	}
+
+}
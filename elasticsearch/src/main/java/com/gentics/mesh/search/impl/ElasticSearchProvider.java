@@ -1,22 +1,29 @@
 package com.gentics.mesh.search.impl;
 
 import static com.gentics.mesh.core.rest.error.Errors.error;
+import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.isAliasAlreadyExistsError;
 import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.isConflictError;
 import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.isNotFoundError;
 import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.isResourceAlreadyExistsError;
+import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.isTooManyRequestsError;
 import static io.netty.handler.codec.http.HttpResponseStatus.BAD_REQUEST;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
+import static io.netty.handler.codec.http.HttpResponseStatus.TOO_MANY_REQUESTS;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.inject.Inject;
@@ -29,12 +36,14 @@ import com.gentics.mesh.etc.config.MeshOptions;
 import com.gentics.mesh.etc.config.search.ElasticSearchOptions;
 import com.gentics.mesh.search.ElasticsearchProcessManager;
 import com.gentics.mesh.search.SearchProvider;
+import com.gentics.mesh.search.impl.BulkChunker.BulkChunk;
 import com.gentics.mesh.util.UUIDUtil;
 
 import dagger.Lazy;
 import io.reactivex.Completable;
 import io.reactivex.CompletableSource;
 import io.reactivex.CompletableTransformer;
+import io.reactivex.Flowable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
 import io.reactivex.functions.Function;
@@ -64,6 +73,16 @@ public class ElasticSearchProvider implements SearchProvider {
 
 	private final static int MAX_RETRY_ON_ERROR = 5;
 
+	/**
+	 * Initial delay in milliseconds before rejected bulk entries will be sent again.
+	 */
+	private final static long BULK_RETRY_DELAY = 100;
+
+	/**
+	 * Timestamp until which no bulk requests should be sent because Elasticsearch rejected requests.
+	 */
+	private final AtomicLong throttledUntil = new AtomicLong();
+
 	private Set<String> registerdPlugins = new HashSet<>();
 
 	private Lazy<Vertx> vertx;
@@ -325,7 +344,8 @@ public class ElasticSearchProvider implements SearchProvider {
 					log.debug("Create index {" + indexName + "} response: {" + response.toString() + "}");
 				}
 			}).toCompletable()
-			.onErrorResumeNext(error -> isResourceAlreadyExistsError(error) ? Completable.complete() : Completable.error(error))
+			.onErrorResumeNext(error -> isResourceAlreadyExistsError(error) || isAliasAlreadyExistsError(error) ? Completable.complete()
+				: Completable.error(error))
 			.compose(withTimeoutAndLog("Creating index {" + indexName + "}", true));
 
 		if (info.getIngestPipelineSettings() != null && hasIngestPipelinePlugin()) {
@@ -406,38 +426,111 @@ public class ElasticSearchProvider implements SearchProvider {
 		if (entries.isEmpty()) {
 			return Completable.complete();
 		}
-		long start = System.currentTimeMillis();
+		ElasticSearchOptions searchOptions = getOptions();
+		int concurrency = Math.max(1, searchOptions.getBulkConcurrency());
+		// The chunks are created lazily so that only the payloads of the requests which are in flight are kept in memory
+		Flowable<BulkChunk> chunks = Flowable.generate(() -> new BulkChunker(entries, installationPrefix(), searchOptions.getBulkLimit(), searchOptions
+			.getBulkLengthLimit()), (chunker, emitter) -> {
+				BulkChunk chunk = chunker.next();
+				if (chunk == null) {
+					emitter.onComplete();
+				} else {
+					emitter.onNext(chunk);
+				}
+			});
+		return chunks.flatMapCompletable(chunk -> processBulkChunk(chunk, 1), false, concurrency);
+	}
 
-		String bulkData = entries.stream()
-			.map(e -> e.toBulkString(installationPrefix()))
-			.collect(Collectors.joining("\n")) + "\n";
-		if (log.isTraceEnabled()) {
-			log.trace("Using bulk payload:");
-			log.trace(bulkData);
-		}
-		return client.processBulk(bulkData).async()
-			.doOnSuccess(response -> {
-				boolean errors = response.getBoolean("errors");
-				if (errors) {
-					JsonArray items = response.getJsonArray("items");
-					for (int i = 0; i < items.size(); i++) {
-						JsonObject item = items.getJsonObject(i).getJsonObject("index");
-						if (item != null && item.containsKey("error")) {
-							JsonObject error = item.getJsonObject("error");
-							String type = error.getString("type");
-							String reason = error.getString("reason");
-							String id = item.getString("_id");
-							String index = item.getString("_index");
-							log.error("Could not store document {" + index + ":" + id + "} - " + type + " : " + reason);
+	/**
+	 * Send the bulk request for the chunk. Entries which have been rejected by Elasticsearch will be sent again after a delay. The delay will also be applied
+	 * to all other bulk requests in order to reduce the load on Elasticsearch. The returned completable will fail if entries are still rejected after
+	 * {@link #MAX_RETRY_ON_ERROR} attempts so that the caller does not treat them as stored.
+	 * 
+	 * @param chunk
+	 * @param attempt
+	 * @return
+	 */
+	private Completable processBulkChunk(BulkChunk chunk, int attempt) {
+		return Completable.defer(() -> {
+			long start = System.currentTimeMillis();
+			String bulkData = chunk.getPayload();
+			if (log.isTraceEnabled()) {
+				log.trace("Using bulk payload:");
+				log.trace(bulkData);
+			}
+			List<BulkEntry> rejected = new ArrayList<>();
+			Completable request = client.processBulk(bulkData).async()
+				.doOnSuccess(response -> {
+					boolean errors = response.getBoolean("errors");
+					if (errors) {
+						JsonArray items = response.getJsonArray("items");
+						for (int i = 0; i < items.size(); i++) {
+							JsonObject itemObj = items.getJsonObject(i);
+							JsonObject item = itemObj.getJsonObject("index");
+							if (item == null && !itemObj.isEmpty()) {
+								item = itemObj.getJsonObject(itemObj.fieldNames().iterator().next());
+							}
+							if (item != null && item.containsKey("error")) {
+								if (item.getInteger("status", 0) == TOO_MANY_REQUESTS.code() && i < chunk.getEntries().size()) {
+									rejected.add(chunk.getEntries().get(i));
+									continue;
+								}
+								JsonObject error = item.getJsonObject("error");
+								String type = error.getString("type");
+								String reason = error.getString("reason");
+								String id = item.getString("_id");
+								String index = item.getString("_index");
+								log.error("Could not store document {" + index + ":" + id + "} - " + type + " : " + reason);
+							}
 						}
 					}
-				}
 
-				if (log.isDebugEnabled()) {
-					log.debug("Finished bulk request. Duration " + (System.currentTimeMillis() - start) + "[ms]");
+					if (log.isDebugEnabled()) {
+						log.debug("Finished bulk request with {" + chunk.getEntries().size() + "} entries and {" + chunk.getLength()
+							+ "} bytes. Duration " + (System.currentTimeMillis() - start) + "[ms]");
+					}
+				}).toCompletable()
+				.onErrorResumeNext(error -> {
+					if (isTooManyRequestsError(error)) {
+						rejected.addAll(chunk.getEntries());
+						return Completable.complete();
+					}
+					return Completable.error(error);
+				})
+				.compose(withTimeoutAndLog("Storing document batch.", true));
+
+			return request.andThen(Completable.defer(() -> {
+				if (rejected.isEmpty()) {
+					return Completable.complete();
 				}
-			}).toCompletable()
-			.compose(withTimeoutAndLog("Storing document batch.", true));
+				if (attempt > MAX_RETRY_ON_ERROR) {
+					log.error("Elasticsearch rejected {" + rejected.size() + "} bulk entries {" + attempt + "} times. Giving up.");
+					return Completable.error(new RuntimeException("Elasticsearch rejected {" + rejected.size() + "} bulk entries {" + attempt
+						+ "} times."));
+				}
+				long delay = BULK_RETRY_DELAY << (attempt - 1);
+				log.warn("Elasticsearch rejected {" + rejected.size() + "} bulk entries. Retrying in {" + delay + "} ms");
+				throttledUntil.accumulateAndGet(System.currentTimeMillis() + delay, Math::max);
+				BulkChunk retry = new BulkChunker(rejected, installationPrefix(), rejected.size(), Long.MAX_VALUE).next();
+				return processBulkChunk(retry, attempt + 1);
+			}));
+		}).compose(this::awaitThrottle);
+	}
+
+	/**
+	 * Delay the subscription to the completable if Elasticsearch has recently rejected requests.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	private Completable awaitThrottle(Completable request) {
+		return Completable.defer(() -> {
+			long delay = throttledUntil.get() - System.currentTimeMillis();
+			if (delay > 0) {
+				return Completable.timer(delay, TimeUnit.MILLISECONDS).andThen(request);
+			}
+			return request;
+		});
 	}
 
 	@Override
@@ -464,7 +557,8 @@ public class ElasticSearchProvider implements SearchProvider {
 		if (log.isDebugEnabled()) {
 			log.debug("Deleting indices {" + indices + "}");
 		}
-		Completable deleteIndex = client.deleteIndex(fullIndexNames).async()
+		// The names may reference aliases which need to be resolved to the indices
+		Completable deleteIndex = resolveIndices(fullIndexNames).flatMap(resolved -> client.deleteIndex(resolved).async())
 			.doOnSuccess(response -> {
 				if (log.isDebugEnabled()) {
 					log.debug("Deleted index {" + indices + "}. Duration " + (System.currentTimeMillis() - start) + "[ms]");
@@ -492,6 +586,75 @@ public class ElasticSearchProvider implements SearchProvider {
 
 	}
 
+	/**
+	 * Resolve the given names to the names of the indices. Aliases will be resolved to the indices which they reference. Names which can't be found will be
+	 * kept.
+	 * 
+	 * @param fullIndexNames
+	 * @return
+	 */
+	private Single<String[]> resolveIndices(String... fullIndexNames) {
+		return Observable.fromArray(fullIndexNames).concatMap(name -> {
+			return client.readIndex(name).async()
+				.map(JsonObject::fieldNames)
+				.onErrorResumeNext(error -> isNotFoundError(error) ? Single.<Set<String>>just(Collections.singleton(name)) : Single.error(error))
+				.flatMapObservable(Observable::fromIterable);
+		}).distinct().toList().map(list -> list.toArray(new String[list.size()]));
+	}
+
+	@Override
+	public Completable updateIndexSettings(String indexName, JsonObject settings) {
+		String fullIndex = installationPrefix() + indexName;
+		return client.updateIndexSettings(fullIndex, new JsonObject().put("index", settings)).async()
+			.toCompletable()
+			.compose(withTimeoutAndLog("Updating settings of index {" + fullIndex + "}", true));
+	}
+
+	@Override
+	public Single<JsonObject> loadIndexSettings(String indexName) {
+		String fullIndex = installationPrefix() + indexName;
+		return client.readIndex(fullIndex).async().map(response -> {
+			// The response is keyed by the name of the index which is referenced by the alias
+			Iterator<String> it = response.fieldNames().iterator();
+			if (!it.hasNext()) {
+				return new JsonObject();
+			}
+			return response.getJsonObject(it.next()).getJsonObject("settings").getJsonObject("index");
+		}).onErrorResumeNext(error -> isNotFoundError(error) ? Single.just(new JsonObject()) : Single.error(error));
+	}
+
+	@Override
+	public Completable swapIndexAlias(String alias, String indexName) {
+		String fullAlias = installationPrefix() + alias;
+		String fullIndex = installationPrefix() + indexName;
+		return resolveIndices(fullAlias).flatMapCompletable(previous -> {
+			JsonArray actions = new JsonArray();
+			actions.add(new JsonObject().put("add", new JsonObject().put("index", fullIndex).put("alias", fullAlias)));
+			List<String> obsolete = new ArrayList<>();
+			for (String index : previous) {
+				if (index.equals(fullIndex)) {
+					continue;
+				}
+				if (index.equals(fullAlias)) {
+					// The index which used the alias name needs to be removed within the same request. Otherwise the alias can't be added.
+					actions.add(new JsonObject().put("remove_index", new JsonObject().put("index", index)));
+				} else {
+					obsolete.add(index);
+				}
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Pointing alias {" + fullAlias + "} to index {" + fullIndex + "}. Replaced indices: {" + String.join(",", previous) + "}");
+			}
+			Completable swap = client.updateAliases(new JsonObject().put("actions", actions)).async().toCompletable();
+			if (obsolete.isEmpty()) {
+				return swap;
+			}
+			// The old indices are only removed once the alias references the new index
+			return swap.andThen(client.deleteIndex(obsolete.toArray(new String[obsolete.size()])).async().toCompletable().onErrorResumeNext(
+				ignore404));
+		}).compose(withTimeoutAndLog("Swapping alias {" + fullAlias + "} to index {" + fullIndex + "}", true));
+	}
+
 	@Override
 	public Completable deregisterPipeline(String name) {
 		String fullname = installationPrefix() + name;
@@ -52,6 +52,39 @@ public final class ElasticsearchErrorHelper {
 		return false;
 	}
 
+	/**
+	 * Check whether Elasticsearch rejected the request because of too many concurrent requests.
+	 * 
+	 * @param error
+	 * @return
+	 */
+	public static boolean isTooManyRequestsError(Throwable error) {
+		if (error instanceof HttpErrorException) {
+			HttpErrorException he = (HttpErrorException) error;
+			return he.getStatusCode() == 429;
+		}
+		return false;
+	}
+
+	/**
+	 * Check whether the index could not be created because an alias with the same name exists.
+	 * 
+	 * @param error
+	 * @return
+	 */
+	public static boolean isAliasAlreadyExistsError(Throwable error) {
+		if (error instanceof HttpErrorException) {
+			HttpErrorException he = (HttpErrorException) error;
+			JsonObject errorObj = he.getBodyObject(JsonObject::new).getJsonObject("error");
+			if (errorObj == null) {
+				return false;
+			}
+			String reason = errorObj.getString("reason");
+			return "invalid_index_name_exception".equals(errorObj.getString("type")) && reason != null && reason.contains("exists as alias");
+		}
+		return false;
+	}
+
 	public static boolean isResourceAlreadyExistsError(Throwable error) {
 		if (error instanceof HttpErrorException) {
 			HttpErrorException re = (HttpErrorException) error;
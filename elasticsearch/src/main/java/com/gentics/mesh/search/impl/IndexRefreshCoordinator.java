@@ -0,0 +1,179 @@
+package com.gentics.mesh.search.impl;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.etc.config.MeshOptions;
+import com.gentics.mesh.search.SearchProvider;
+
+import dagger.Lazy;
+import io.reactivex.Completable;
+import io.vertx.core.Vertx;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * The coordinator merges index refresh requests. All indices which were requested within the configured refresh window will be refreshed at once. Only a
+ * single refresh will be executed at any time. Requests which are made while a refresh is running will be merged into the next refresh.
+ */
+@Singleton
+public class IndexRefreshCoordinator {
+
+	private static final Logger log = LoggerFactory.getLogger(IndexRefreshCoordinator.class);
+
+	private final SearchProvider searchProvider;
+
+	private final MeshOptions options;
+
+	private final Lazy<Vertx> vertx;
+
+	private final Object lock = new Object();
+
+	/**
+	 * Indices which will be refreshed by the next refresh.
+	 */
+	private Set<String> pendingIndices = new HashSet<>();
+
+	/**
+	 * Flag which indicates whether the next refresh needs to refresh all indices.
+	 */
+	private boolean pendingAll = false;
+
+	/**
+	 * Future which will be completed once the next refresh has been executed.
+	 */
+	private CompletableFuture<Void> pendingFuture;
+
+	private boolean scheduled = false;
+
+	private boolean running = false;
+
+	@Inject
+	public IndexRefreshCoordinator(SearchProvider searchProvider, MeshOptions options, Lazy<Vertx> vertx) {
+		this.searchProvider = searchProvider;
+		this.options = options;
+		this.vertx = vertx;
+	}
+
+	/**
+	 * Return the configured refresh window in milliseconds.
+	 *
+	 * @return
+	 */
+	public long getWindow() {
+		return options.getSearchOptions().getRefreshWindow();
+	}
+
+	/**
+	 * Request a refresh of the given indices and return a completable which completes once the indices have been refreshed.
+	 *
+	 * @param indices
+	 *            Names of the indices to refresh. All indices will be refreshed if the collection is null or empty.
+	 * @return
+	 */
+	public Completable refresh(Collection<String> indices) {
+		return Completable.defer(() -> {
+			CompletableFuture<Void> future = requestRefresh(indices);
+			return Completable.create(sub -> {
+				future.whenComplete((result, error) -> {
+					if (error != null) {
+						sub.onError(error);
+					} else {
+						sub.onComplete();
+					}
+				});
+			});
+		});
+	}
+
+	/**
+	 * Request a refresh of the given indices. The refresh will be merged with all other requests within the refresh window.
+	 *
+	 * @param indices
+	 *            Names of the indices to refresh. All indices will be refreshed if the collection is null or empty.
+	 * @return Future which will be completed once the indices have been refreshed
+	 */
+	public CompletableFuture<Void> requestRefresh(Collection<String> indices) {
+		CompletableFuture<Void> future;
+		boolean schedule = false;
+		synchronized (lock) {
+			if (indices == null || indices.isEmpty()) {
+				pendingAll = true;
+			} else {
+				pendingIndices.addAll(indices);
+			}
+			if (pendingFuture == null) {
+				pendingFuture = new CompletableFuture<>();
+			}
+			future = pendingFuture;
+			// The refresh will be scheduled once the running refresh has finished
+			if (!scheduled && !running) {
+				scheduled = true;
+				schedule = true;
+			}
+		}
+		if (schedule) {
+			schedule();
+		}
+		return future;
+	}
+
+	private void schedule() {
+		long window = getWindow();
+		if (window > 0) {
+			vertx.get().setTimer(window, id -> flush());
+		} else {
+			flush();
+		}
+	}
+
+	private void flush() {
+		Set<String> indices;
+		boolean all;
+		CompletableFuture<Void> future;
+		synchronized (lock) {
+			indices = pendingIndices;
+			all = pendingAll;
+			future = pendingFuture;
+			pendingIndices = new HashSet<>();
+			pendingAll = false;
+			pendingFuture = null;
+			scheduled = false;
+			running = true;
+		}
+
+		if (log.isDebugEnabled()) {
+			log.debug("Refreshing indices {" + (all ? "all" : String.join(",", indices)) + "}");
+		}
+		Completable refresh = all ? searchProvider.refreshIndex() : searchProvider.refreshIndex(indices.toArray(new String[indices.size()]));
+		refresh.subscribe(() -> {
+			future.complete(null);
+			onRefreshed();
+		}, error -> {
+			log.error("Error while refreshing indices", error);
+			future.completeExceptionally(error);
+			onRefreshed();
+		});
+	}
+
+	private void onRefreshed() {
+		boolean schedule = false;
+		synchronized (lock) {
+			running = false;
+			// Schedule the refresh for the requests which were made in the meanwhile
+			if (pendingFuture != null && !scheduled) {
+				scheduled = true;
+				schedule = true;
+			}
+		}
+		if (schedule) {
+			schedule();
+		}
+	}
+
+}
@@ -26,4 +26,25 @@ public class SearchClient extends ElasticsearchOkClient<JsonObject> {
 		return postBuilder("_search/scroll", request);
 	}
 
+	/**
+	 * Update the dynamic settings of the index.
+	 * 
+	 * @param indexName
+	 * @param settings
+	 * @return
+	 */
+	public RequestBuilder<JsonObject> updateIndexSettings(String indexName, JsonObject settings) {
+		return putBuilder(indexName + "/_settings", settings);
+	}
+
+	/**
+	 * Apply the given alias actions atomically.
+	 * 
+	 * @param request
+	 * @return
+	 */
+	public RequestBuilder<JsonObject> updateAliases(JsonObject request) {
+		return postBuilder("_aliases", request);
+	}
+
 }
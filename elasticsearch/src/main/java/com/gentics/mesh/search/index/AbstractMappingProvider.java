@@ -1,11 +1,14 @@
 package com.gentics.mesh.search.index;
 
 import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
+import static com.gentics.mesh.search.index.MappingHelper.CHANGE_SEQUENCE_KEY;
 import static com.gentics.mesh.search.index.MappingHelper.DATE;
 import static com.gentics.mesh.search.index.MappingHelper.KEYWORD;
+import static com.gentics.mesh.search.index.MappingHelper.LONG;
 import static com.gentics.mesh.search.index.MappingHelper.UUID_KEY;
 import static com.gentics.mesh.search.index.MappingHelper.VERSION_KEY;
 import static com.gentics.mesh.search.index.MappingHelper.notAnalyzedType;
+import static com.gentics.mesh.search.index.PermissionSetRegistry.PERMISSION_SET_KEY;
 
 import io.vertx.core.json.JsonObject;
 
@@ -19,11 +22,12 @@ public abstract class AbstractMappingProvider implements MappingProvider {
 		JsonObject mappingProperties = getMappingProperties();
 		mappingProperties.put(UUID_KEY, notAnalyzedType(KEYWORD));
 		mappingProperties.put(VERSION_KEY, notAnalyzedType(KEYWORD));
+		mappingProperties.put(CHANGE_SEQUENCE_KEY, notAnalyzedType(LONG));
 		mappingProperties.put("created", notAnalyzedType(DATE));
 		mappingProperties.put("edited", notAnalyzedType(DATE));
 		mappingProperties.put("editor", getUserReferenceMapping());
 		mappingProperties.put("creator", getUserReferenceMapping());
-		mappingProperties.put("_roleUuids", notAnalyzedType(KEYWORD));
+		mappingProperties.put(PERMISSION_SET_KEY, notAnalyzedType(KEYWORD));
 
 		JsonObject typeMapping = new JsonObject();
 		typeMapping.put("properties", mappingProperties);
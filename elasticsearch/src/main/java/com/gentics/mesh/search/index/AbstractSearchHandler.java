@@ -8,13 +8,17 @@ import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERR
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.netty.handler.codec.http.HttpResponseStatus.SERVICE_UNAVAILABLE;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -42,6 +46,7 @@ import com.gentics.mesh.search.SearchHandler;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.TrackingSearchProvider;
 import com.gentics.mesh.search.impl.SearchClient;
+import com.gentics.mesh.util.PermissionUtil;
 import com.gentics.mesh.util.Tuple;
 import com.syncleus.ferma.tx.Tx;
 
@@ -93,15 +98,15 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 		try {
 			JsonObject userJson = new JsonObject(searchQuery);
 
-			JsonArray roleUuids = new JsonArray();
+			List<String> roleUuids = new ArrayList<>();
 			try (Tx tx = db.tx()) {
 				for (Role role : ac.getUser().getRoles()) {
 					roleUuids.add(role.getUuid());
 				}
 			}
-			JsonObject newQuery = new JsonObject().put("bool",
-				new JsonObject().put("filter", new JsonArray().add(new JsonObject().put("terms", new JsonObject().put(
-					"_roleUuids", roleUuids)))));
+			// The documents only reference permission sets. The filter looks up the sets of the roles in the permission set index.
+			JsonObject permissionFilter = PermissionSetRegistry.createPermissionFilter(searchProvider.installationPrefix(), roleUuids);
+			JsonObject newQuery = new JsonObject().put("bool", new JsonObject().put("filter", new JsonArray().add(permissionFilter)));
 
 			// Wrap the original query in a nested bool query in order check the role perms
 			JsonObject originalQuery = userJson.getJsonObject("query");
@@ -231,28 +236,24 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 			JsonObject hitsInfo = firstResponse.getJsonObject("hits");
 			JsonArray hits = hitsInfo.getJsonArray("hits");
 
-			List<Tuple<T, String>> list = new ArrayList<>();
-			db.tx(() -> {
-				for (int i = 0; i < hits.size(); i++) {
-					JsonObject hit = hits.getJsonObject(i);
-					String id = hit.getString("_id");
-					int pos = id.indexOf("-");
-
-					String language = pos > 0 ? id.substring(pos + 1) : null;
-					String uuid = pos > 0 ? id.substring(0, pos) : id;
-
-					// Locate the node
-					T element = rootVertex.get().findByUuid(uuid);
+			List<RM> list = db.tx(() -> {
+				// Load the elements of all hits at once and transform them within the same transaction
+				RootVertex<T> root = rootVertex.get();
+				List<Tuple<String, String>> hitIds = parseHitIds(hits);
+				Map<String, T> elements = root.findByUuids(hitIds.stream().map(Tuple::v1).collect(Collectors.toList()));
+				List<RM> restModels = new ArrayList<>();
+				for (Tuple<String, String> hitId : hitIds) {
+					T element = elements.get(hitId.v1());
 					if (element == null) {
-						log.warn("Object could not be found for uuid {" + uuid + "} in root vertex {" + rootVertex.get().getRootLabel()
+						log.warn("Object could not be found for uuid {" + hitId.v1() + "} in root vertex {" + root.getRootLabel()
 							+ "}. The element will be omitted.");
 						// Reduce the total count
 						hitsInfo.put("total", hitsInfo.getLong("total") - 1);
 					} else {
-						// TODO maybe it would be better to directly transform the element here.
-						list.add(Tuple.tuple(element, language));
+						restModels.add(element.transformToRestSync(ac, 0, hitId.v2()));
 					}
 				}
+				return restModels;
 			});
 
 			// Set meta information to the rest response
@@ -261,12 +262,6 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 			return Observable.fromIterable(list);
 		}).onErrorResumeNext(error -> {
 			return Observable.error(mapToMeshError(error));
-		}).flatMapSingle(element -> {
-			// TODO add resume next to omit the item if it can't be transformed for some reason.
-			// This would be better than to just fail the whole request
-			// TODO maybe add extra permission filtering? This would not be very costly for smaller pages and ensure perm consistency?
-			// TODO it would be good to batch the transformation of the elements to save the overhead of creating transactions and use the L1 cache.
-			return db.tx(() -> Single.just(element.v1().transformToRestSync(ac, 0, element.v2())));
 		}).collect(() -> listResponse.getData(), (x, y) -> {
 			x.add(y);
 		}).subscribe(list -> {
@@ -278,18 +273,107 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 	}
 
 	/**
-	 * Add the paging parameters to the request.
+	 * Add the paging parameters to the request. The sort of the request will be extended by the tie breaker fields so that the order of the hits is
+	 * deterministic. If a cursor has been specified the page will be loaded via <code>search_after</code> using the sort values of the last hit of the
+	 * previous page. Unlike <code>from</code> the cost of such a request does not depend on the amount of preceding hits.
 	 * 
 	 * @param request
 	 * @param pagingInfo
 	 */
 	protected void applyPagingParams(JsonObject request, PagingParameters pagingInfo) {
-		int page = pagingInfo.getPage() - 1;
-		int low = page * pagingInfo.getPerPage();
-		request.put("from", low);
+		request.put("sort", createSort(request.getValue("sort")));
+		String after = pagingInfo.getAfter();
+		if (after != null) {
+			request.put("search_after", decodeSearchCursor(after));
+			request.put("from", 0);
+		} else {
+			int page = pagingInfo.getPage() - 1;
+			int low = page * pagingInfo.getPerPage();
+			request.put("from", low);
+		}
 		request.put("size", pagingInfo.getPerPage());
 	}
 
+	/**
+	 * Create the sort of the request by appending the tie breaker fields to the sort which was specified by the user. Hits will be sorted by score if the
+	 * user did not specify a sort.
+	 * 
+	 * @param userSort
+	 *            Sort of the user query or null
+	 * @return
+	 */
+	protected JsonArray createSort(Object userSort) {
+		JsonArray sort = new JsonArray();
+		if (userSort instanceof JsonArray) {
+			sort.addAll((JsonArray) userSort);
+		} else if (userSort != null) {
+			sort.add(userSort);
+		} else {
+			sort.add("_score");
+		}
+		sort.addAll(getTieBreakerSort());
+		return sort;
+	}
+
+	/**
+	 * Return the sort fields which uniquely identify a document within the searched indices.
+	 * 
+	 * @return
+	 */
+	protected JsonArray getTieBreakerSort() {
+		return new JsonArray().add(new JsonObject().put("uuid", "asc"));
+	}
+
+	/**
+	 * Return the cursor for the page which follows the given hits. The cursor contains the sort values of the last hit.
+	 * 
+	 * @param hits
+	 * @param pagingInfo
+	 * @return Cursor or null if the hits did not fill the page
+	 */
+	protected String getNextSearchCursor(JsonArray hits, PagingParameters pagingInfo) {
+		if (hits == null || pagingInfo.getPerPage() == 0 || hits.size() < pagingInfo.getPerPage()) {
+			return null;
+		}
+		JsonArray sortValues = hits.getJsonObject(hits.size() - 1).getJsonArray("sort");
+		if (sortValues == null) {
+			return null;
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(sortValues.encode().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Decode the sort values of the given cursor.
+	 * 
+	 * @param cursor
+	 * @return
+	 */
+	protected JsonArray decodeSearchCursor(String cursor) {
+		try {
+			return new JsonArray(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+		} catch (Exception e) {
+			throw error(BAD_REQUEST, "error_paging_cursor_invalid", cursor);
+		}
+	}
+
+	/**
+	 * Parse the document ids of the given hits. Document ids are composed of the uuid of the element and an optional language tag.
+	 * 
+	 * @param hits
+	 * @return List of tuples which contain the uuid and the language tag (or null) of each hit
+	 */
+	protected List<Tuple<String, String>> parseHitIds(JsonArray hits) {
+		List<Tuple<String, String>> ids = new ArrayList<>(hits.size());
+		for (int i = 0; i < hits.size(); i++) {
+			String id = hits.getJsonObject(i).getString("_id");
+			int pos = id.indexOf("-");
+			String language = pos > 0 ? id.substring(pos + 1) : null;
+			String uuid = pos > 0 ? id.substring(0, pos) : id;
+			ids.add(Tuple.tuple(uuid, language));
+		}
+		return ids;
+	}
+
 	/**
 	 * Extract the total count and hit count from the info object and return the populated paging object. < *
 	 * 
@@ -311,6 +395,7 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 		metaInfo.setCurrentPage(pagingInfo.getPage());
 		metaInfo.setPageCount(totalPages);
 		metaInfo.setPerPage(pagingInfo.getPerPage());
+		metaInfo.setNextCursor(getNextSearchCursor(info.getJsonArray("hits"), pagingInfo));
 		return metaInfo;
 	}
 
@@ -353,24 +438,23 @@ public abstract class AbstractSearchHandler<T extends MeshCoreVertex<RM, T>, RM
 				}
 
 				return db.tx(() -> {
-					List<T> elementList = new ArrayList<>();
 					JsonObject hitsInfo = firstResponse.getJsonObject("hits");
 					JsonArray hits = hitsInfo.getJsonArray("hits");
-					for (int i = 0; i < hits.size(); i++) {
-						JsonObject hit = hits.getJsonObject(i);
-						String id = hit.getString("_id");
-						int pos = id.indexOf("-");
-						String uuid = pos > 0 ? id.substring(0, pos) : id;
-
-						// Locate the node
-						T element = indexHandler.getRootVertex().findByUuid(uuid);
-						if (element != null) {
-							elementList.add(element);
-						}
+
+					// Load the elements of all hits at once
+					List<String> uuids = parseHitIds(hits).stream().map(Tuple::v1).collect(Collectors.toList());
+					List<T> elementList = new ArrayList<>(indexHandler.getRootVertex().findByUuids(uuids).values());
+
+					// Post-filter the hits. The permissions of all hits are checked at once.
+					if (permissions.length > 0) {
+						int found = elementList.size();
+						elementList = PermissionUtil.filter(elementList, element -> element.getId(), ac.getUser(), permissions);
+						hitsInfo.put("total", hitsInfo.getLong("total") - (found - elementList.size()));
 					}
 
 					PagingMetaInfo info = extractMetaInfo(hitsInfo, pagingInfo);
-					return new PageImpl<>(elementList, info.getTotalCount(), pagingInfo.getPage(), info.getPageCount(), pagingInfo.getPerPage());
+					return new PageImpl<>(elementList, info.getTotalCount(), pagingInfo.getPage(), info.getPageCount(), pagingInfo.getPerPage(), info
+						.getNextCursor());
 				});
 			});
 
@@ -5,8 +5,11 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import javax.inject.Inject;
+
 import com.gentics.mesh.core.data.CreatorTrackingVertex;
 import com.gentics.mesh.core.data.EditorTrackingVertex;
+import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.MeshCoreVertex;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Role;
@@ -31,6 +34,9 @@ public abstract class AbstractTransformer<T> implements Transformer<T> {
 	public static final String VERSION_KEY = "version";
 	public static final int MAX_RAW_FIELD_LEN = 32_700;
 
+	@Inject
+	public PermissionSetRegistry permissionSets;
+
 	/**
 	 * Truncate the field to the 32KB boundary for tokens within the lucene.
 	 * 
@@ -110,8 +116,8 @@ public abstract class AbstractTransformer<T> implements Transformer<T> {
 	}
 
 	/**
-	 * Adds the information which roles can read permission the given element to the document. This information will later be used by the permission script to
-	 * filter out document which should not be visible to the user which invokes the query.
+	 * Adds the information which roles can read the given element to the document. The document only references the permission set of the roles. The set
+	 * will later be used by the query filter to filter out documents which should not be visible to the user which invokes the query.
 	 * 
 	 * @param document
 	 * @param element
@@ -122,7 +128,25 @@ public abstract class AbstractTransformer<T> implements Transformer<T> {
 		for (Role role : roleIt) {
 			roleUuids.add(role.getUuid());
 		}
-		document.put("_roleUuids", roleUuids);
+		String groupId = element instanceof IndexableElement ? ((IndexableElement) element).getPermissionGroup() : null;
+		addPermissionInfo(document, groupId, roleUuids);
+	}
+
+	/**
+	 * Add the permission set of the given roles to the document. Elements which belong to a permission group reference the set of the group.
+	 * 
+	 * @param document
+	 * @param setId
+	 *            Id of the set of the permission group or null if the element does not belong to a group
+	 * @param roleUuids
+	 *            Uuids of the roles which grant read permission
+	 */
+	protected void addPermissionInfo(JsonObject document, String setId, List<String> roleUuids) {
+		if (setId == null) {
+			document.put(PermissionSetRegistry.PERMISSION_SET_KEY, permissionSets.toSetId(roleUuids));
+		} else {
+			document.put(PermissionSetRegistry.PERMISSION_SET_KEY, permissionSets.toGroupSetId(setId, roleUuids));
+		}
 	}
 
 	@Override
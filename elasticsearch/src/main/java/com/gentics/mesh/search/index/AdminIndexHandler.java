@@ -17,6 +17,7 @@ import com.gentics.mesh.core.data.search.IndexHandler;
 import com.gentics.mesh.core.rest.error.GenericRestException;
 import com.gentics.mesh.core.rest.search.SearchStatusResponse;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.parameter.IndexSyncParameters;
 import com.gentics.mesh.search.IndexHandlerRegistry;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.verticle.ElasticsearchSyncVerticle;
@@ -67,7 +68,11 @@ public class AdminIndexHandler {
 	}
 
 	private void triggerSync(InternalActionContext ac) {
-		Single<Message<JsonObject>> reply = Mesh.mesh().getRxVertx().eventBus().rxSend(Events.INDEX_SYNC_WORKER_ADDRESS, null);
+		IndexSyncParameters parameters = ac.getIndexSyncParameters();
+		JsonObject request = new JsonObject();
+		request.put(ElasticsearchSyncVerticle.DEEP_KEY, parameters.isDeep());
+		request.put(ElasticsearchSyncVerticle.REBUILD_KEY, parameters.isRebuild());
+		Single<Message<JsonObject>> reply = Mesh.mesh().getRxVertx().eventBus().rxSend(Events.INDEX_SYNC_WORKER_ADDRESS, request);
 		reply.subscribe(msg -> {
 			JsonObject info = msg.body();
 			String status = info.getString("status");
@@ -0,0 +1,464 @@
+package com.gentics.mesh.search.index;
+
+import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
+import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.mapError;
+import static com.gentics.mesh.search.index.MappingHelper.KEYWORD;
+import static com.gentics.mesh.search.index.MappingHelper.notAnalyzedType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.elasticsearch.client.HttpErrorException;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
+import com.gentics.mesh.core.data.search.index.IndexInfo;
+import com.gentics.mesh.search.DevNullSearchProvider;
+import com.gentics.mesh.search.SearchProvider;
+import com.gentics.mesh.search.TrackingSearchProvider;
+import com.gentics.mesh.search.impl.SearchClient;
+import com.google.common.hash.Hashing;
+
+import io.reactivex.Completable;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * The registry manages the permission sets which are referenced by the search documents. Documents don't store the uuids of the roles which grant read
+ * permission. Instead they store the id of the permission set which is shared by all elements with the same roles. The id is derived from the role uuids.
+ * The permission set index contains a document per role which lists the ids of the sets that contain the role. Search queries use terms lookups on those
+ * documents to filter the results.
+ *
+ * Sets will be registered lazily. Transformers compute the set id via {@link #toSetId(Collection)} and the index handlers invoke {@link #flush()} before
+ * the documents are stored so that the set is known before the document becomes searchable.
+ *
+ * Elements which belong to a permission group use the id of the group as set id instead. Their documents thus keep the set id when the permissions of the
+ * whole group change and only the roles of the set need to be registered again via {@link #toGroupSetId(String, Collection)}. Such a registration also
+ * removes the set from the roles which no longer belong to it.
+ *
+ * Each change of the permissions of an element without a group results in a new set id. Every registration thus also stores a document for the set which
+ * contains the roles of the set and the time of the registration. Registered sets are only cached for {@link #REGISTRATION_TTL} and will be registered again
+ * afterwards. {@link #prune()} removes sets which are no longer referenced by any document and which have not been registered within
+ * {@link #PRUNE_GRACE_PERIOD} from the documents of their roles.
+ */
+@Singleton
+public class PermissionSetRegistry {
+
+	private static final Logger log = LoggerFactory.getLogger(PermissionSetRegistry.class);
+
+	/**
+	 * Name of the index which maps the roles to the permission sets.
+	 */
+	public static final String PERMISSION_SET_INDEX = "permission-sets";
+
+	/**
+	 * Key of the document field which contains the permission set id.
+	 */
+	public static final String PERMISSION_SET_KEY = "_permissionSet";
+
+	/**
+	 * Key of the field which lists the permission sets of a role.
+	 */
+	public static final String SETS_KEY = "sets";
+
+	/**
+	 * Key of the field which lists the roles of a set.
+	 */
+	public static final String ROLES_KEY = "roles";
+
+	/**
+	 * Key of the field which contains the time of the last registration of a set.
+	 */
+	public static final String REGISTERED_KEY = "registered";
+
+	/**
+	 * Prefix of the ids of the set documents. It separates them from the role documents.
+	 */
+	public static final String SET_DOCUMENT_PREFIX = "set-";
+
+	/**
+	 * Duration in milliseconds for which a registration is cached before the set will be registered again.
+	 */
+	public static final long REGISTRATION_TTL = TimeUnit.MINUTES.toMillis(10);
+
+	/**
+	 * Duration in milliseconds since the last registration after which an unused set may be pruned. It needs to exceed the {@link #REGISTRATION_TTL} so
+	 * that no instance still treats a pruned set as registered.
+	 */
+	public static final long PRUNE_GRACE_PERIOD = TimeUnit.HOURS.toMillis(1);
+
+	/**
+	 * Length of the set id. 32 hex chars keep 128 bits of the hash which is sufficient to avoid collisions.
+	 */
+	private static final int SET_ID_LENGTH = 32;
+
+	private static final int PRUNE_BATCH_SIZE = 1000;
+
+	/**
+	 * Maximum amount of role documents which are loaded when the roles of a group set get replaced.
+	 */
+	private static final int MAX_SET_ROLES = 10000;
+
+	private static final String REGISTER_SCRIPT = "if (ctx._source.sets.contains(params.set)) { ctx.op = 'none' } else { ctx._source.sets.add(params.set) }";
+
+	private static final String UNREGISTER_SCRIPT = "ctx._source.sets.removeAll(params.sets); if (ctx._source.sets.isEmpty()) { ctx.op = 'delete' }";
+
+	private final SearchProvider searchProvider;
+
+	/**
+	 * Time of the registration per id of the sets which have already been stored in the index.
+	 */
+	private final Map<String, Long> registered = new ConcurrentHashMap<>();
+
+	/**
+	 * Registered roles per id of the group sets.
+	 */
+	private final Map<String, String> groupRoles = new ConcurrentHashMap<>();
+
+	/**
+	 * Registrations which have not yet been completed.
+	 */
+	private final Map<String, Completable> pending = new ConcurrentHashMap<>();
+
+	@Inject
+	public PermissionSetRegistry(SearchProvider searchProvider) {
+		this.searchProvider = searchProvider;
+	}
+
+	/**
+	 * Create the permission set index. Previously registered sets will be forgotten since the index may have been cleared.
+	 *
+	 * @return
+	 */
+	public Completable init() {
+		return Completable.defer(() -> {
+			registered.clear();
+			groupRoles.clear();
+			if (!isElasticsearch()) {
+				return Completable.complete();
+			}
+			JsonObject properties = new JsonObject();
+			properties.put(SETS_KEY, notAnalyzedType(KEYWORD));
+			properties.put(ROLES_KEY, notAnalyzedType(KEYWORD));
+			properties.put(REGISTERED_KEY, new JsonObject().put("type", "long"));
+			JsonObject mappings = new JsonObject().put(DEFAULT_TYPE, new JsonObject().put("properties", properties));
+			return searchProvider.createIndex(new IndexInfo(PERMISSION_SET_INDEX, null, mappings));
+		});
+	}
+
+	/**
+	 * Return the id of the permission set for the given roles. The set will be registered by the next {@link #flush()} if it is not yet known.
+	 *
+	 * @param roleUuids
+	 *            Uuids of the roles which grant read permission
+	 * @return Id of the permission set
+	 */
+	public String toSetId(Collection<String> roleUuids) {
+		Set<String> sorted = new TreeSet<>(roleUuids);
+		String setId = Hashing.sha256().hashString(String.join(",", sorted), StandardCharsets.UTF_8).toString().substring(0, SET_ID_LENGTH);
+		// No role references the empty set. Thus it does not need to be registered.
+		Long registration = registered.get(setId);
+		if (!sorted.isEmpty() && (registration == null || registration < System.currentTimeMillis() - REGISTRATION_TTL)) {
+			pending.computeIfAbsent(setId, id -> register(id, sorted));
+		}
+		return setId;
+	}
+
+	/**
+	 * Return the id of the permission set of a permission group. The set will be registered by the next {@link #flush()} if it is not yet known or if its
+	 * roles have changed. The registration removes the set from the roles which no longer belong to it.
+	 *
+	 * @param setId
+	 *            Id of the set which is derived from the id of the group
+	 * @param roleUuids
+	 *            Uuids of the roles which grant read permission to the members of the group
+	 * @return Id of the permission set
+	 */
+	public String toGroupSetId(String setId, Collection<String> roleUuids) {
+		Set<String> sorted = new TreeSet<>(roleUuids);
+		String roles = String.join(",", sorted);
+		Long registration = registered.get(setId);
+		if (!roles.equals(groupRoles.get(setId)) || registration == null || registration < System.currentTimeMillis() - REGISTRATION_TTL) {
+			String key = setId + ":" + roles;
+			pending.computeIfAbsent(key, id -> registerGroup(key, setId, roles, sorted));
+		}
+		return setId;
+	}
+
+	/**
+	 * Register all pending sets. Concurrent invocations will share the registration of a set.
+	 *
+	 * @return
+	 */
+	public Completable flush() {
+		return Completable.defer(() -> {
+			if (pending.isEmpty()) {
+				return Completable.complete();
+			}
+			return Completable.merge(new ArrayList<>(pending.values()));
+		});
+	}
+
+	/**
+	 * Add the set to the documents of the given roles. The documents will be created if they don't exist. Roles which already reference the set will not be
+	 * updated. The time of the registration is stored in the document of the set.
+	 *
+	 * @param setId
+	 * @param roleUuids
+	 * @return
+	 */
+	private Completable register(String setId, Collection<String> roleUuids) {
+		long registration = System.currentTimeMillis();
+		return Completable.defer(() -> {
+			if (!isElasticsearch()) {
+				return Completable.complete();
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Registering permission set {" + setId + "} for roles {" + roleUuids + "}");
+			}
+			return searchProvider.processBulk(registerEntries(setId, roleUuids, registration));
+		}).doOnComplete(() -> {
+			registered.put(setId, registration);
+			pending.remove(setId);
+		}).doOnError(error -> {
+			// The set will be registered again by the next document which uses it
+			pending.remove(setId);
+		}).cache();
+	}
+
+	/**
+	 * Create the bulk entries which add the set to the documents of the roles and store the document of the set.
+	 *
+	 * @param setId
+	 * @param roleUuids
+	 * @param registration
+	 *            Time of the registration
+	 * @return
+	 */
+	private List<UpdateBulkEntry> registerEntries(String setId, Collection<String> roleUuids, long registration) {
+		List<UpdateBulkEntry> entries = new ArrayList<>();
+		for (String roleUuid : roleUuids) {
+			JsonObject script = new JsonObject();
+			script.put("source", REGISTER_SCRIPT);
+			script.put("lang", "painless");
+			script.put("params", new JsonObject().put("set", setId));
+			JsonObject payload = new JsonObject();
+			payload.put("script", script);
+			payload.put("upsert", new JsonObject().put(SETS_KEY, new JsonArray().add(setId)));
+			entries.add(new UpdateBulkEntry(PERMISSION_SET_INDEX, roleUuid, payload));
+		}
+		JsonObject setDocument = new JsonObject();
+		setDocument.put(ROLES_KEY, new JsonArray(new ArrayList<>(roleUuids)));
+		setDocument.put(REGISTERED_KEY, registration);
+		JsonObject payload = new JsonObject().put("doc", setDocument).put("doc_as_upsert", true);
+		entries.add(new UpdateBulkEntry(PERMISSION_SET_INDEX, SET_DOCUMENT_PREFIX + setId, payload));
+		return entries;
+	}
+
+	/**
+	 * Replace the roles of the group set. The set will be removed from the roles which currently reference it but are not contained in the given roles.
+	 *
+	 * @param key
+	 *            Key of the pending registration
+	 * @param setId
+	 * @param roles
+	 *            Joined role uuids
+	 * @param roleUuids
+	 * @return
+	 */
+	private Completable registerGroup(String key, String setId, String roles, Collection<String> roleUuids) {
+		long registration = System.currentTimeMillis();
+		return Completable.defer(() -> {
+			if (!isElasticsearch()) {
+				return Completable.complete();
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Registering permission group set {" + setId + "} for roles {" + roleUuids + "}");
+			}
+			JsonObject query = new JsonObject();
+			query.put("size", MAX_SET_ROLES);
+			query.put("_source", false);
+			query.put("query", new JsonObject().put("term", new JsonObject().put(SETS_KEY, setId)));
+			JsonObject queryOption = new JsonObject().put("index", searchProvider.installationPrefix() + PERMISSION_SET_INDEX);
+			SearchClient client = searchProvider.getClient();
+			return client.multiSearch(queryOption, query).async().flatMapCompletable(response -> {
+				JsonObject result = response.getJsonArray("responses").getJsonObject(0);
+				if (result.containsKey("error")) {
+					return Completable.error(mapError(result.getJsonObject("error")));
+				}
+				List<BulkEntry> entries = new ArrayList<>(registerEntries(setId, roleUuids, registration));
+				JsonArray hits = result.getJsonObject("hits").getJsonArray("hits");
+				for (int i = 0; i < hits.size(); i++) {
+					String roleUuid = hits.getJsonObject(i).getString("_id");
+					if (!roleUuids.contains(roleUuid)) {
+						JsonObject script = new JsonObject();
+						script.put("source", UNREGISTER_SCRIPT);
+						script.put("lang", "painless");
+						script.put("params", new JsonObject().put(SETS_KEY, new JsonArray().add(setId)));
+						entries.add(new UpdateBulkEntry(PERMISSION_SET_INDEX, roleUuid, new JsonObject().put("script", script)));
+					}
+				}
+				return searchProvider.processBulk(entries);
+			});
+		}).doOnComplete(() -> {
+			registered.put(setId, registration);
+			groupRoles.put(setId, roles);
+			pending.remove(key);
+		}).doOnError(error -> {
+			// The set will be registered again by the next document which uses it
+			pending.remove(key);
+		}).cache();
+	}
+
+	/**
+	 * Remove the sets which are no longer referenced by any document from the documents of their roles. Only sets which have not been registered within the
+	 * {@link #PRUNE_GRACE_PERIOD} are removed. Documents of roles which no longer reference any set will be deleted.
+	 *
+	 * @return
+	 */
+	public Completable prune() {
+		return Completable.fromAction(() -> {
+			if (!isElasticsearch()) {
+				return;
+			}
+			SearchClient client = searchProvider.getClient();
+			String fullIndexName = searchProvider.installationPrefix() + PERMISSION_SET_INDEX;
+			JsonObject query = new JsonObject();
+			query.put("size", PRUNE_BATCH_SIZE);
+			query.put("_source", new JsonArray().add(ROLES_KEY));
+			query.put("query", new JsonObject().put("range", new JsonObject().put(REGISTERED_KEY, new JsonObject().put("lt", System.currentTimeMillis()
+				- PRUNE_GRACE_PERIOD))));
+			query.put("sort", new JsonArray().add("_doc"));
+			long pruned = 0;
+			JsonObject result = client.searchScroll(query, "1m", fullIndexName).sync();
+			String scrollId = result.getString("_scroll_id");
+			try {
+				JsonArray hits = result.getJsonObject("hits").getJsonArray("hits");
+				while (hits.size() != 0) {
+					Map<String, JsonArray> candidates = new HashMap<>();
+					for (int i = 0; i < hits.size(); i++) {
+						JsonObject hit = hits.getJsonObject(i);
+						String setId = hit.getString("_id").substring(SET_DOCUMENT_PREFIX.length());
+						if (!pending.containsKey(setId)) {
+							candidates.put(setId, hit.getJsonObject("_source").getJsonArray(ROLES_KEY, new JsonArray()));
+						}
+					}
+					candidates.keySet().removeAll(loadUsedSetIds(client, candidates.keySet()));
+					pruned += candidates.size();
+					unregister(candidates).blockingAwait();
+
+					result = client.scroll(scrollId, "1m").sync();
+					scrollId = result.getString("_scroll_id");
+					hits = result.getJsonObject("hits").getJsonArray("hits");
+				}
+			} finally {
+				if (scrollId != null) {
+					client.clearScroll(scrollId).sync();
+				}
+			}
+			log.info("Pruned {" + pruned + "} unused permission sets");
+		});
+	}
+
+	/**
+	 * Load the ids of the given sets which are referenced by documents.
+	 *
+	 * @param client
+	 * @param setIds
+	 * @return
+	 * @throws HttpErrorException
+	 */
+	private Set<String> loadUsedSetIds(SearchClient client, Set<String> setIds) throws HttpErrorException {
+		Set<String> used = new HashSet<>();
+		if (setIds.isEmpty()) {
+			return used;
+		}
+		JsonObject query = new JsonObject();
+		query.put("size", 0);
+		query.put("query", new JsonObject().put("terms", new JsonObject().put(PERMISSION_SET_KEY, new JsonArray(new ArrayList<>(setIds)))));
+		JsonObject terms = new JsonObject().put("field", PERMISSION_SET_KEY).put("size", setIds.size());
+		query.put("aggs", new JsonObject().put("used", new JsonObject().put("terms", terms)));
+		// All indices of the installation need to be checked
+		JsonObject queryOption = new JsonObject().put("index", searchProvider.installationPrefix() + "*");
+		JsonObject result = client.multiSearch(queryOption, query).sync().getJsonArray("responses").getJsonObject(0);
+		if (result.containsKey("error")) {
+			throw mapError(result.getJsonObject("error"));
+		}
+		JsonArray buckets = result.getJsonObject("aggregations").getJsonObject("used").getJsonArray("buckets");
+		for (int i = 0; i < buckets.size(); i++) {
+			used.add(buckets.getJsonObject(i).getString("key"));
+		}
+		return used;
+	}
+
+	/**
+	 * Remove the sets from the documents of their roles and delete the documents of the sets.
+	 *
+	 * @param sets
+	 *            Roles per set id
+	 * @return
+	 */
+	private Completable unregister(Map<String, JsonArray> sets) {
+		Map<String, JsonArray> setsPerRole = new HashMap<>();
+		List<BulkEntry> entries = new ArrayList<>();
+		for (Map.Entry<String, JsonArray> set : sets.entrySet()) {
+			for (Object roleUuid : set.getValue()) {
+				setsPerRole.computeIfAbsent((String) roleUuid, uuid -> new JsonArray()).add(set.getKey());
+			}
+			entries.add(new DeleteBulkEntry(PERMISSION_SET_INDEX, SET_DOCUMENT_PREFIX + set.getKey()));
+		}
+		for (Map.Entry<String, JsonArray> role : setsPerRole.entrySet()) {
+			JsonObject script = new JsonObject();
+			script.put("source", UNREGISTER_SCRIPT);
+			script.put("lang", "painless");
+			script.put("params", new JsonObject().put(SETS_KEY, role.getValue()));
+			entries.add(new UpdateBulkEntry(PERMISSION_SET_INDEX, role.getKey(), new JsonObject().put("script", script)));
+		}
+		return searchProvider.processBulk(entries).doOnComplete(() -> {
+			registered.keySet().removeAll(sets.keySet());
+			groupRoles.keySet().removeAll(sets.keySet());
+		});
+	}
+
+	/**
+	 * Create the query filter which only matches documents that reference a permission set which contains one of the given roles.
+	 *
+	 * @param installationPrefix
+	 * @param roleUuids
+	 * @return
+	 */
+	public static JsonObject createPermissionFilter(String installationPrefix, Collection<String> roleUuids) {
+		if (roleUuids.isEmpty()) {
+			return new JsonObject().put("terms", new JsonObject().put(PERMISSION_SET_KEY, new JsonArray()));
+		}
+		JsonArray lookups = new JsonArray();
+		for (String roleUuid : roleUuids) {
+			JsonObject lookup = new JsonObject();
+			lookup.put("index", installationPrefix + PERMISSION_SET_INDEX);
+			lookup.put("type", DEFAULT_TYPE);
+			lookup.put("id", roleUuid);
+			lookup.put("path", SETS_KEY);
+			lookups.add(new JsonObject().put("terms", new JsonObject().put(PERMISSION_SET_KEY, lookup)));
+		}
+		return new JsonObject().put("bool", new JsonObject().put("should", lookups).put("minimum_should_match", 1));
+	}
+
+	private boolean isElasticsearch() {
+		return !(searchProvider instanceof DevNullSearchProvider || searchProvider instanceof TrackingSearchProvider);
+	}
+
+}
@@ -21,6 +21,7 @@ public class CreateIndexEntryImpl extends AbstractEntry<GenericEntryContext> imp
 
 	private String indexName;
 	private Schema schema;
+	private boolean bulk = false;
 	private IndexHandler<?> indexHandler;
 	private GenericEntryContextImpl context = new GenericEntryContextImpl();
 
@@ -36,6 +37,15 @@ public class CreateIndexEntryImpl extends AbstractEntry<GenericEntryContext> imp
 		return this.indexName;
 	}
 
+	/**
+	 * Return the handler which creates the index.
+	 * 
+	 * @return
+	 */
+	public IndexHandler<?> getIndexHandler() {
+		return indexHandler;
+	}
+
 	@Override
 	public Schema getSchema() {
 		return schema;
@@ -47,6 +57,17 @@ public class CreateIndexEntryImpl extends AbstractEntry<GenericEntryContext> imp
 		return this;
 	}
 
+	@Override
+	public boolean isBulk() {
+		return bulk;
+	}
+
+	@Override
+	public CreateIndexEntry setBulk(boolean bulk) {
+		this.bulk = bulk;
+		return this;
+	}
+
 	@Override
 	public SearchQueueEntryAction getElementAction() {
 		return CREATE_INDEX;
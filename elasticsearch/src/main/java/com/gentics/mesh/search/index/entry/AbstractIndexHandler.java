@@ -4,21 +4,40 @@ import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.DELETE_AC
 import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
+import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.isNotFoundError;
+import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.mapError;
+import static com.gentics.mesh.search.index.MappingHelper.CHANGE_SEQUENCE_KEY;
+import static com.gentics.mesh.search.index.MappingHelper.VERSION_KEY;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
 
 import com.gentics.elasticsearch.client.HttpErrorException;
-import com.gentics.elasticsearch.client.okhttp.RequestBuilder;
 import com.gentics.mesh.cli.BootstrapInitializer;
+import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.MeshCoreVertex;
+import com.gentics.mesh.core.data.root.RootVertex;
 import com.gentics.mesh.core.data.search.CreateIndexEntry;
 import com.gentics.mesh.core.data.search.IndexHandler;
 import com.gentics.mesh.core.data.search.SearchQueue;
 import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.SearchQueueEntryAction;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
 import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
 import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
@@ -27,13 +46,16 @@ import com.gentics.mesh.core.data.search.context.GenericEntryContext;
 import com.gentics.mesh.core.data.search.context.impl.GenericEntryContextImpl;
 import com.gentics.mesh.core.data.search.index.IndexInfo;
 import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.search.BulkIndexSettings;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.impl.SearchClient;
 import com.gentics.mesh.search.index.MappingProvider;
+import com.gentics.mesh.search.index.PermissionSetRegistry;
 import com.gentics.mesh.search.index.Transformer;
 import com.gentics.mesh.search.index.metric.SyncMetric;
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.Maps;
+import com.gentics.mesh.util.ChangeSequence;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.PeekingIterator;
 import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Completable;
@@ -56,6 +78,22 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 
 	public static final int ES_SYNC_FETCH_BATCH_SIZE = 1000;
 
+	/**
+	 * Name of the index which stores the sync checkpoints of all indices.
+	 */
+	public static final String SYNC_CHECKPOINT_INDEX = "sync-checkpoints";
+
+	/**
+	 * Time in milliseconds which will be subtracted from the start of the sync when storing the checkpoint. This way changes which were committed late or
+	 * on instances with a lagging clock will still be checked by the next sync.
+	 */
+	private static final long CHECKPOINT_SAFETY_MARGIN = 5 * 60 * 1000;
+
+	/**
+	 * Separator between the alias name and the creation timestamp of indices which are created by a rebuild.
+	 */
+	public static final String REBUILD_INDEX_SEPARATOR = "-rebuild-";
+
 	protected SearchProvider searchProvider;
 
 	protected Database db;
@@ -64,6 +102,9 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 
 	protected SearchQueue searchQueue;
 
+	@Inject
+	public PermissionSetRegistry permissionSets;
+
 	public AbstractIndexHandler(SearchProvider searchProvider, Database db, BootstrapInitializer boot, SearchQueue searchQueue) {
 		this.searchProvider = searchProvider;
 		this.db = db;
@@ -112,7 +153,9 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 	public Completable store(T element, UpdateDocumentEntry entry) {
 		String indexName = composeIndexNameFromEntry(entry);
 		String documentId = composeDocumentIdFromEntry(entry);
-		return searchProvider.storeDocument(indexName, documentId, getTransformer().toDocument(element)).doOnComplete(() -> {
+		JsonObject document = addChangeSequence(getTransformer().toDocument(element), element);
+		// The permission set of the document must be registered before the document can be found
+		return permissionSets.flush().andThen(searchProvider.storeDocument(indexName, documentId, document)).doOnComplete(() -> {
 			if (log.isDebugEnabled()) {
 				log.debug("Stored object in index.");
 			}
@@ -122,8 +165,8 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 	public Observable<IndexBulkEntry> storeForBulk(T element, UpdateDocumentEntry entry) {
 		String indexName = composeIndexNameFromEntry(entry);
 		String documentId = composeDocumentIdFromEntry(entry);
-		return Observable
-			.just(new IndexBulkEntry(indexName, documentId, getTransformer().toDocument(element)));
+		IndexBulkEntry bulkEntry = new IndexBulkEntry(indexName, documentId, addChangeSequence(getTransformer().toDocument(element), element));
+		return permissionSets.flush().andThen(Observable.just(bulkEntry));
 	}
 
 	@Override
@@ -135,7 +178,8 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		} else {
 			String indexName = composeIndexNameFromEntry(entry);
 			String documentId = composeDocumentIdFromEntry(entry);
-			return searchProvider.updateDocument(indexName, documentId, getTransformer().toPermissionPartial(element), true).andThen(searchProvider
+			JsonObject partial = addChangeSequence(getTransformer().toPermissionPartial(element), element);
+			return permissionSets.flush().andThen(searchProvider.updateDocument(indexName, documentId, partial, true)).andThen(searchProvider
 				.refreshIndex(indexName)).doOnComplete(() -> {
 					if (log.isDebugEnabled()) {
 						log.debug("Updated object in index.");
@@ -153,9 +197,22 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		} else {
 			String indexName = composeIndexNameFromEntry(entry);
 			String documentId = composeDocumentIdFromEntry(entry);
-			return Observable.just(
-				new UpdateBulkEntry(indexName, documentId, getTransformer().toPermissionPartial(element)));
+			UpdateBulkEntry bulkEntry = new UpdateBulkEntry(indexName, documentId, addChangeSequence(getTransformer().toPermissionPartial(element),
+				element));
+			return permissionSets.flush().andThen(Observable.just(bulkEntry));
+		}
+	}
+
+	@Override
+	public Completable updatePermissionGroup(UpdateDocumentEntry entry) {
+		String uuid = entry.getElementUuid();
+		T element = getRootVertex().findByUuid(uuid);
+		if (element == null) {
+			throw error(INTERNAL_SERVER_ERROR, "error_element_for_document_type_not_found", uuid, DEFAULT_TYPE);
 		}
+		// The documents of the group members already reference the set of the group. Transforming the partial registers the current roles of the set.
+		getTransformer().toPermissionPartial(element);
+		return permissionSets.flush();
 	}
 
 	@Override
@@ -214,144 +271,692 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 	}
 
 	/**
-	 * Diff the source (graph) with the sink (ES index) and create {@link SearchQueueBatch} objects add, delete or update entries.
+	 * Diff the source (graph) with the sink (ES index) and sync the differences.
 	 * 
 	 * @param indexName
 	 * @param projectUuid
 	 * @param metric
+	 * @param deep
+	 *            Whether the versions of all documents should be compared
+	 * @return
+	 */
+	protected Completable diffAndSync(String indexName, String projectUuid, SyncMetric metric, boolean deep) {
+		return diffAndSync(indexName, metric, deep, afterId -> {
+			return Iterators.transform(getRootVertex().findAllAfter(afterId), element -> new SourceDocument(element.getUuid(), element.getId()
+				.toString(), () -> getChangeSequence(element), () -> generateVersion(element)));
+		}, (checkpoint, afterSequence) -> {
+			if (hasRelatedChanges(checkpoint)) {
+				return null;
+			}
+			long after = afterSequence == null ? checkpoint : Long.parseLong(afterSequence);
+			return Iterators.transform(getRootVertex().findChangedAfter(after), element -> new SourceDocument(element.getUuid(), String.valueOf(element
+				.getElement().<Long>getProperty(IndexableElement.CHANGE_SEQUENCE_PROPERTY_KEY)), () -> getChangeSequence(element), () -> generateVersion(
+					element)));
+		}, () -> {
+			return db.tx(() -> {
+				RootVertex<T> root = getRootVertex();
+				return db.countEdges(root.getRootLabel(), RootVertex.ITEMS_INDEX_POSTFIX, new Object[] { root.getId() });
+			});
+		}, uuid -> getRootVertex().findByUuid(uuid) != null, (uuid, action) -> {
+			GenericEntryContext context = new GenericEntryContextImpl();
+			context.setProjectUuid(projectUuid);
+			return new UpdateDocumentEntryImpl(this, uuid, context, action);
+		});
+	}
+
+	/**
+	 * Diff the source (graph) with the sink (ES index) and sync the differences. The diff is done in chunks of {@link #ES_SYNC_FETCH_BATCH_SIZE} documents
+	 * so that the memory usage does not depend on the size of the index:
+	 * <ol>
+	 * <li>The documents of the graph are looked up in the index chunk by chunk. Missing and outdated documents will be stored.</li>
+	 * <li>The index is scrolled and documents which no longer exist in the graph will be deleted.</li>
+	 * </ol>
+	 * Each chunk of corrections is processed before the next chunk is loaded. Every chunk is read in its own transaction. The iteration over the graph
+	 * continues after the position of the last document of the previous chunk.
+	 *
+	 * Unless a deep verify was requested only the documents of elements which have been changed since the checkpoint of the last sync will be looked up.
+	 * Those are found via a range lookup in the change sequence index and compared using the change sequence of the element. Thus no version needs to be
+	 * generated. The index will only be scrolled if the number of documents in the index does not match the number of documents in the graph. All elements
+	 * will be checked if the changes can't be determined from the index (e.g. because a related element was changed). Elements which have no change
+	 * sequence and all elements of a deep verify are compared using the version. A deep verify will also be done if the index has no valid checkpoint (e.g.
+	 * because it was recreated).
+	 * 
+	 * @param indexName
+	 *            Name of the index to sync
+	 * @param metric
+	 * @param deep
+	 *            Whether the versions of all documents should be compared
+	 * @param sourceDocuments
+	 *            Function which returns the iterator over the documents of the graph which follow the given position (null for the first document). The
+	 *            function will be invoked within a transaction.
+	 * @param changedDocuments
+	 *            Function which returns the iterator over the documents of the elements which have been changed after the given checkpoint. The documents
+	 *            follow the given position (null for the first document) and are ordered by their position. Documents may share a position. The function
+	 *            returns null if the changed documents can't be determined. It will be invoked within a transaction.
+	 * @param sourceCount
+	 *            Supplier for the number of documents in the graph
+	 * @param existsInSource
+	 *            Predicate which checks whether the document with the given id still exists in the graph
+	 * @param entryFactory
+	 *            Factory which creates the search queue entry for the given document id and action
 	 * @return
-	 * @throws HttpErrorException
 	 */
-	protected Completable diffAndSync(String indexName, String projectUuid, SyncMetric metric) throws HttpErrorException {
+	protected Completable diffAndSync(String indexName, SyncMetric metric, boolean deep, Function<String, Iterator<SourceDocument>> sourceDocuments,
+		BiFunction<Long, String, Iterator<SourceDocument>> changedDocuments, Supplier<Long> sourceCount, Predicate<String> existsInSource,
+		BiFunction<String, SearchQueueEntryAction, UpdateDocumentEntry> entryFactory) {
+		return Completable.fromAction(() -> {
+			String fullIndexName = searchProvider.installationPrefix() + indexName;
+			SearchClient client = searchProvider.getClient();
+			// Changes which are made while the sync is running will be checked by the next sync
+			long syncStart = System.currentTimeMillis();
+			Long checkpoint = deep ? null : loadCheckpoint(client, indexName, fullIndexName);
+			log.info("Handling index sync on handler {" + getClass().getName() + "} for index {" + indexName + "}. Checkpoint: {" + checkpoint + "}");
+			long insertions = 0;
+			long updates = 0;
+			long removals = 0;
+			long skipped = 0;
+
+			// Documents which no longer exist in the graph can only be present if the index holds more documents than the graph
+			long sinkCount = 0;
+			long graphCount = 0;
+			Function<String, Iterator<SourceDocument>> documents = sourceDocuments;
+			if (checkpoint != null) {
+				sinkCount = countDocuments(client, fullIndexName);
+				graphCount = sourceCount.get();
+				boolean incremental = db.tx(() -> changedDocuments.apply(checkpoint, null) != null);
+				if (incremental) {
+					documents = afterPosition -> {
+						// Related changes which are made while the sync is running will be handled by the next sync
+						Iterator<SourceDocument> changed = changedDocuments.apply(checkpoint, afterPosition);
+						return changed == null ? Collections.emptyIterator() : changed;
+					};
+				}
+			}
 
-		log.info("Handling index sync on handler {" + getClass().getName() + "}");
+			// 1. Store the documents which are missing or outdated in the index
+			String position = null;
+			boolean hasMore = true;
+			while (hasMore) {
+				List<UpdateDocumentEntry> corrections = new ArrayList<>();
+				try (Tx tx = db.tx()) {
+					PeekingIterator<SourceDocument> it = Iterators.peekingIterator(documents.apply(position));
+					Map<String, SourceDocument> chunk = new LinkedHashMap<>();
+					int read = 0;
+					// Documents which share the position of the last document are added to the chunk since the next chunk starts after the position
+					while (it.hasNext() && (read < ES_SYNC_FETCH_BATCH_SIZE || it.peek().getPosition().equals(position))) {
+						SourceDocument document = it.next();
+						position = document.getPosition();
+						read++;
+						if (checkpoint != null && document.getChangeSequence() != null && document.getChangeSequence() <= checkpoint) {
+							skipped++;
+							continue;
+						}
+						chunk.put(document.getId(), document);
+					}
+					hasMore = it.hasNext();
+					if (!chunk.isEmpty()) {
+						Map<String, JsonObject> sinkDocuments = loadDocumentsFromIndex(client, fullIndexName, chunk.keySet());
+						for (SourceDocument document : chunk.values()) {
+							String documentId = document.getId();
+							JsonObject sinkDocument = sinkDocuments.get(documentId);
+							if (sinkDocument == null) {
+								UpdateDocumentEntry correction = entryFactory.apply(documentId, STORE_ACTION);
+								correction.setOnProcessAction(metric::decInsert);
+								corrections.add(correction);
+								metric.incInsert(1);
+								insertions++;
+							} else if (isOutdated(document, sinkDocument, deep)) {
+								UpdateDocumentEntry correction = entryFactory.apply(documentId, STORE_ACTION);
+								correction.setOnProcessAction(metric::decUpdate);
+								corrections.add(correction);
+								metric.incUpdate(1);
+								updates++;
+							}
+						}
+					}
+				}
+				// The entries load the elements within their own transactions
+				processCorrections(corrections);
+			}
 
-		try (Tx tx = db.tx()) {
+			// 2. Remove the documents which no longer exist in the graph
+			if (checkpoint != null && sinkCount + insertions == graphCount) {
+				log.info("Index {" + indexName + "} contains no documents which have been removed from the graph");
+			} else {
+				removals = removeDeletedDocuments(client, fullIndexName, metric, existsInSource, entryFactory);
+			}
+			saveCheckpoint(client, indexName, fullIndexName, ChangeSequence.at(syncStart - CHECKPOINT_SAFETY_MARGIN));
 
-			// 1. Load versions from the local graph (source of truth)
-			Map<String, String> sourceVersions = loadVersionsFromGraph();
+			if (insertions == 0 && updates == 0 && removals == 0) {
+				log.info("No diff detected. Index {" + indexName + "} is in sync. Skipped unchanged elements: " + skipped);
+			} else {
+				log.info("Synced index {" + indexName + "}. Insertions: " + insertions + ", Updates: " + updates + ", Removals: " + removals
+					+ ", Skipped unchanged elements: " + skipped);
+			}
+		});
+	}
 
-			// 2. Load the version from the elasticsearch index (sink)
-			Map<String, String> sinkVersions = loadVersionsFromIndex(indexName);
+	/**
+	 * Scroll the index and delete the documents which no longer exist in the graph. Each page of the scroll is checked in its own transaction.
+	 * 
+	 * @param client
+	 * @param fullIndexName
+	 * @param metric
+	 * @param existsInSource
+	 *            Predicate which checks whether the document with the given id still exists in the graph
+	 * @param entryFactory
+	 *            Factory which creates the search queue entry for the given document id and action
+	 * @return Number of removed documents
+	 * @throws HttpErrorException
+	 */
+	private long removeDeletedDocuments(SearchClient client, String fullIndexName, SyncMetric metric, Predicate<String> existsInSource,
+		BiFunction<String, SearchQueueEntryAction, UpdateDocumentEntry> entryFactory) throws HttpErrorException {
+		long removals = 0;
+		JsonObject query = new JsonObject();
+		query.put("size", ES_SYNC_FETCH_BATCH_SIZE);
+		query.put("_source", false);
+		query.put("query", new JsonObject().put("match_all", new JsonObject()));
+		query.put("sort", new JsonArray().add("_doc"));
+		JsonObject result = client.searchScroll(query, "1m", fullIndexName).sync();
+		String scrollId = result.getString("_scroll_id");
+		try {
+			JsonArray hits = result.getJsonObject("hits").getJsonArray("hits");
+			while (hits.size() != 0) {
+				List<UpdateDocumentEntry> corrections = new ArrayList<>();
+				try (Tx tx = db.tx()) {
+					for (int i = 0; i < hits.size(); i++) {
+						String documentId = hits.getJsonObject(i).getString("_id");
+						if (!existsInSource.test(documentId)) {
+							UpdateDocumentEntry correction = entryFactory.apply(documentId, DELETE_ACTION);
+							correction.setOnProcessAction(metric::decDelete);
+							corrections.add(correction);
+							metric.incDelete(1);
+							removals++;
+						}
+					}
+				}
+				processCorrections(corrections);
 
-			// 3. Diff the maps
-			MapDifference<String, String> diff = Maps.difference(sourceVersions, sinkVersions);
-			if (diff.areEqual()) {
-				log.info("No diff detected. Index {" + indexName + "} is in sync.");
-				return Completable.complete();
+				log.debug("Fetching scroll result using scrollId {" + scrollId + "}");
+				result = client.scroll(scrollId, "1m").sync();
+				scrollId = result.getString("_scroll_id");
+				hits = result.getJsonObject("hits").getJsonArray("hits");
+			}
+		} finally {
+			// Clearing used scroll in order to free memory in ES
+			if (scrollId != null) {
+				client.clearScroll(scrollId).sync();
 			}
+		}
+		return removals;
+	}
+
+	/**
+	 * Rebuild the index in the background. The name of the index will afterwards be an alias which references the rebuilt index:
+	 * <ol>
+	 * <li>A new index is created. Refreshing and replicas are disabled while it is being filled.</li>
+	 * <li>The documents of the graph are stored in the new index using bulk requests.</li>
+	 * <li>The settings are restored and the alias is switched atomically to the new index. The previous index will be deleted.</li>
+	 * <li>Changes which were made while the index was being filled are synced.</li>
+	 * </ol>
+	 * Searches and updates will use the previous index until the alias is switched.
+	 * 
+	 * @param info
+	 *            Information of the index which should be rebuilt
+	 * @param metric
+	 * @param sourceDocuments
+	 *            Function which returns the iterator over the documents of the graph which follow the given position
+	 * @param changedDocuments
+	 *            Function which returns the iterator over the documents of the elements which have been changed after the given checkpoint
+	 * @param sourceCount
+	 *            Supplier for the number of documents in the graph
+	 * @param existsInSource
+	 *            Predicate which checks whether the document with the given id still exists in the graph
+	 * @param entryFactory
+	 *            Factory which creates the search queue entry for the given document id and action
+	 * @return
+	 */
+	protected Completable rebuildIndex(IndexInfo info, SyncMetric metric, Function<String, Iterator<SourceDocument>> sourceDocuments,
+		BiFunction<Long, String, Iterator<SourceDocument>> changedDocuments, Supplier<Long> sourceCount, Predicate<String> existsInSource,
+		BiFunction<String, SearchQueueEntryAction, UpdateDocumentEntry> entryFactory) {
+		return Completable.defer(() -> {
+			String indexName = info.getIndexName();
+			String fullIndexName = searchProvider.installationPrefix() + indexName;
+			long rebuildStart = System.currentTimeMillis();
+			String rebuildIndexName = indexName + REBUILD_INDEX_SEPARATOR + rebuildStart;
+			SearchClient client = searchProvider.getClient();
+			log.info("Rebuilding index {" + indexName + "} using index {" + rebuildIndexName + "}");
+
+			// The settings of the current index will be restored once the new index has been filled
+			return BulkIndexSettings.loadRestoreSettings(searchProvider, indexName, info.getIndexSettings()).flatMapCompletable(restoreSettings -> {
+				return createBuildIndex(info, rebuildIndexName)
+					.andThen(fillIndex(rebuildIndexName, sourceDocuments, entryFactory))
+					.andThen(BulkIndexSettings.restore(searchProvider, rebuildIndexName, restoreSettings))
+					.andThen(searchProvider.swapIndexAlias(indexName, rebuildIndexName))
+					.andThen(Completable.fromAction(() -> {
+						// Only changes which were made after the rebuild was started need to be checked
+						saveCheckpoint(client, indexName, fullIndexName, ChangeSequence.at(rebuildStart - CHECKPOINT_SAFETY_MARGIN));
+						log.info("Switched index {" + indexName + "} to rebuilt index {" + rebuildIndexName + "}");
+					}))
+					.andThen(diffAndSync(indexName, metric, false, sourceDocuments, changedDocuments, sourceCount, existsInSource, entryFactory));
+			});
+		});
+	}
 
-			Set<String> needInsertionInES = diff.entriesOnlyOnLeft().keySet();
-			Set<String> needRemovalInES = diff.entriesOnlyOnRight().keySet();
-			Set<String> needUpdate = diff.entriesDiffering().keySet();
-
-			log.info("Pending insertions on {" + indexName + "}:" + needInsertionInES.size());
-			log.info("Pending removals on {" + indexName + "}:" + needRemovalInES.size());
-			log.info("Pending updates on {" + indexName + "}:" + needUpdate.size());
-
-			metric.incInsert(needInsertionInES.size());
-			metric.incDelete(needRemovalInES.size());
-			metric.incUpdate(needUpdate.size());
-
-			// 4. Create the SQB's
-			SearchQueueBatch storeBatch = searchQueue.create();
-			for (String uuid : needInsertionInES) {
-				GenericEntryContext context = new GenericEntryContextImpl();
-				context.setProjectUuid(projectUuid);
-				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, uuid, context, STORE_ACTION);
-				entry.setOnProcessAction(metric::decInsert);
-				storeBatch.addEntry(entry);
+	/**
+	 * Create an index which will be filled in bulk and point the alias with the name of the index to it. Writes which use the name of the index will thus be
+	 * stored in the new index. Refreshing and replicas are disabled until the settings get restored via
+	 * {@link BulkIndexSettings#restore(SearchProvider, String, JsonObject)}. An index which already exists will not be replaced.
+	 * 
+	 * @param info
+	 *            Information of the index which should be created
+	 * @return
+	 */
+	protected Completable createBulkIndex(IndexInfo info) {
+		String indexName = info.getIndexName();
+		return searchProvider.loadIndexSettings(indexName).flatMapCompletable(current -> {
+			if (!current.isEmpty()) {
+				log.info("Index {" + indexName + "} already exists and will not be replaced by a bulk index");
+				return Completable.complete();
 			}
-			SearchQueueBatch removalBatch = searchQueue.create();
-			for (String uuid : needRemovalInES) {
-				GenericEntryContext context = new GenericEntryContextImpl();
-				context.setProjectUuid(projectUuid);
-				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, uuid, context, DELETE_ACTION);
-				entry.setOnProcessAction(metric::decDelete);
-				removalBatch.addEntry(entry);
+			String bulkIndexName = indexName + REBUILD_INDEX_SEPARATOR + System.currentTimeMillis();
+			Completable createIndex = createBuildIndex(info, bulkIndexName).andThen(searchProvider.swapIndexAlias(indexName, bulkIndexName));
+			// The documents are stored using the pipeline of the alias
+			if (info.getIngestPipelineSettings() != null && searchProvider.hasIngestPipelinePlugin()) {
+				return Completable.mergeArray(createIndex, searchProvider.registerIngestPipeline(info));
 			}
-			SearchQueueBatch updateBatch = searchQueue.create();
-			for (String uuid : needUpdate) {
-				GenericEntryContext context = new GenericEntryContextImpl();
-				context.setProjectUuid(projectUuid);
-				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, uuid, context, STORE_ACTION);
-				entry.setOnProcessAction(metric::decUpdate);
-				updateBatch.addEntry(entry);
+			return createIndex;
+		});
+	}
+
+	/**
+	 * Create the index which will be filled in bulk for the given index. The mappings of the given index are used. Refreshing and replicas are disabled.
+	 * 
+	 * @param info
+	 *            Information of the index whose documents will be stored in the new index
+	 * @param buildIndexName
+	 *            Name of the new index
+	 * @return
+	 */
+	private Completable createBuildIndex(IndexInfo info, String buildIndexName) {
+		// The pipeline of the alias is used for the new index. Thus no additional pipeline needs to be registered.
+		IndexInfo buildInfo = new IndexInfo(buildIndexName, BulkIndexSettings.forBulk(info.getIndexSettings()), info.getIndexMappings());
+		return searchProvider.createIndex(buildInfo);
+	}
+
+	/**
+	 * Store the documents of the graph in the given index.
+	 * 
+	 * @param indexName
+	 *            Name of the index which should be filled
+	 * @param sourceDocuments
+	 * @param entryFactory
+	 * @return
+	 */
+	private Completable fillIndex(String indexName, Function<String, Iterator<SourceDocument>> sourceDocuments,
+		BiFunction<String, SearchQueueEntryAction, UpdateDocumentEntry> entryFactory) {
+		return Completable.fromAction(() -> {
+			long count = 0;
+			String position = null;
+			boolean hasMore = true;
+			while (hasMore) {
+				List<IndexBulkEntry> chunk = new ArrayList<>();
+				// Each chunk is read in its own transaction
+				try (Tx tx = db.tx()) {
+					Iterator<SourceDocument> it = sourceDocuments.apply(position);
+					int read = 0;
+					while (read < ES_SYNC_FETCH_BATCH_SIZE && it.hasNext()) {
+						SourceDocument document = it.next();
+						position = document.getPosition();
+						read++;
+						UpdateDocumentEntry entry = entryFactory.apply(document.getId(), STORE_ACTION);
+						for (IndexBulkEntry bulkEntry : storeForBulk(entry).toList().blockingGet()) {
+							chunk.add(bulkEntry.forIndex(indexName));
+						}
+					}
+					hasMore = it.hasNext();
+				}
+				if (!chunk.isEmpty()) {
+					searchProvider.processBulk(chunk).blockingAwait();
+					count += chunk.size();
+				}
 			}
+			log.info("Stored {" + count + "} documents in index {" + indexName + "}");
+		});
+	}
 
-			// 5. Process the SQB's
-			return Completable.mergeArray(removalBatch.processAsync(), storeBatch.processAsync(), updateBatch.processAsync());
+	/**
+	 * Check whether the document in the index is outdated. The change sequence will be compared if possible. Otherwise the version of the document needs to
+	 * be generated.
+	 * 
+	 * @param document
+	 *            Document of the graph
+	 * @param sinkDocument
+	 *            Source of the document in the index
+	 * @param deep
+	 *            Whether the version should be compared regardless of the change sequence
+	 * @return
+	 */
+	private boolean isOutdated(SourceDocument document, JsonObject sinkDocument, boolean deep) {
+		if (!deep && document.getChangeSequence() != null) {
+			return !document.getChangeSequence().equals(sinkDocument.getLong(CHANGE_SEQUENCE_KEY));
+		}
+		return !Objects.equals(document.getVersion(), sinkDocument.getString(VERSION_KEY));
+	}
 
+	/**
+	 * Process the corrections of a sync chunk and wait until they have been processed.
+	 * 
+	 * @param corrections
+	 */
+	private void processCorrections(List<UpdateDocumentEntry> corrections) {
+		if (corrections.isEmpty()) {
+			return;
+		}
+		SearchQueueBatch batch = searchQueue.create();
+		for (UpdateDocumentEntry entry : corrections) {
+			batch.addEntry(entry);
 		}
+		batch.processSync();
 	}
 
-	private Map<String, String> loadVersionsFromGraph() {
-		Map<String, String> versions = new HashMap<>();
-		for (T element : getRootVertex().findAllIt()) {
-			String v = generateVersion(element);
-			versions.put(element.getUuid(), v);
+	/**
+	 * Load the versions and change sequences of the given documents from the index.
+	 * 
+	 * @param client
+	 * @param fullIndexName
+	 * @param documentIds
+	 * @return Sources of the documents which were found in the index
+	 * @throws HttpErrorException
+	 */
+	private Map<String, JsonObject> loadDocumentsFromIndex(SearchClient client, String fullIndexName, Collection<String> documentIds)
+		throws HttpErrorException {
+		JsonObject query = new JsonObject();
+		query.put("size", documentIds.size());
+		query.put("_source", new JsonArray().add(VERSION_KEY).add(CHANGE_SEQUENCE_KEY));
+		query.put("query", new JsonObject().put("ids", new JsonObject().put("values", new JsonArray(new ArrayList<>(documentIds)))));
+		JsonObject queryOption = new JsonObject().put("index", fullIndexName);
+
+		JsonObject response = client.multiSearch(queryOption, query).sync();
+		JsonObject result = response.getJsonArray("responses").getJsonObject(0);
+		if (result.containsKey("error")) {
+			throw mapError(result.getJsonObject("error"));
 		}
-		return versions;
+		Map<String, JsonObject> documents = new HashMap<>();
+		JsonArray hits = result.getJsonObject("hits").getJsonArray("hits");
+		for (int i = 0; i < hits.size(); i++) {
+			JsonObject hit = hits.getJsonObject(i);
+			JsonObject source = hit.getJsonObject("_source");
+			documents.put(hit.getString("_id"), source == null ? new JsonObject() : source);
+		}
+		return documents;
 	}
 
-	public Map<String, String> loadVersionsFromIndex(String indexName) throws HttpErrorException {
-		String fullIndexName = searchProvider.installationPrefix() + indexName;
-		Map<String, String> versions = new HashMap<>();
-		log.debug("Loading document info from index {" + fullIndexName + "}");
-		SearchClient client = searchProvider.getClient();
+	/**
+	 * Count the documents of the index.
+	 * 
+	 * @param client
+	 * @param fullIndexName
+	 * @return
+	 * @throws HttpErrorException
+	 */
+	private long countDocuments(SearchClient client, String fullIndexName) throws HttpErrorException {
 		JsonObject query = new JsonObject();
-		query.put("size", ES_SYNC_FETCH_BATCH_SIZE);
-		query.put("_source", new JsonArray().add("uuid").add("version"));
+		query.put("size", 0);
 		query.put("query", new JsonObject().put("match_all", new JsonObject()));
-		query.put("sort", new JsonArray().add("_doc"));
+		JsonObject queryOption = new JsonObject().put("index", fullIndexName);
 
-		RequestBuilder<JsonObject> builder = client.searchScroll(query, "1m", fullIndexName);
-		JsonObject result = builder.sync();
-		if (log.isTraceEnabled()) {
-			log.trace("Got response {" + result.encodePrettily() + "}");
+		JsonObject response = client.multiSearch(queryOption, query).sync();
+		JsonObject result = response.getJsonArray("responses").getJsonObject(0);
+		if (result.containsKey("error")) {
+			throw mapError(result.getJsonObject("error"));
 		}
-		JsonArray hits = result.getJsonObject("hits").getJsonArray("hits");
-		processHits(hits, versions);
-
-		// Check whether we need to process more scrolls
-		if (hits.size() != 0) {
-			String nextScrollId = result.getString("_scroll_id");
-			try {
-				while (true) {
-					final String currentScroll = nextScrollId;
-					log.debug("Fetching scroll result using scrollId {" + currentScroll + "}");
-					JsonObject scrollResult = client.scroll(currentScroll, "1m").sync();
-					JsonArray scrollHits = scrollResult.getJsonObject("hits").getJsonArray("hits");
-					if (log.isTraceEnabled()) {
-						log.trace("Got response {" + scrollHits.encodePrettily() + "}");
-					}
-					if (scrollHits.size() != 0) {
-						processHits(scrollHits, versions);
-						// Update the scrollId for the next fetch
-						nextScrollId = scrollResult.getString("_scroll_id");
-						if (log.isDebugEnabled()) {
-							log.debug("Using scrollId {" + nextScrollId + "} for next fetch.");
-						}
-					} else {
-						// The scroll yields no more data. We are done
-						break;
-					}
+		return result.getJsonObject("hits").getLong("total");
+	}
+
+	/**
+	 * Count the documents of the graph. The documents are iterated chunk by chunk. Each chunk is read in its own transaction.
+	 * 
+	 * @param sourceDocuments
+	 *            Function which returns the iterator over the documents of the graph which follow the given position
+	 * @return
+	 */
+	protected long countSourceDocuments(Function<String, Iterator<SourceDocument>> sourceDocuments) {
+		long count = 0;
+		String position = null;
+		boolean hasMore = true;
+		while (hasMore) {
+			try (Tx tx = db.tx()) {
+				Iterator<SourceDocument> it = sourceDocuments.apply(position);
+				int read = 0;
+				while (read < ES_SYNC_FETCH_BATCH_SIZE && it.hasNext()) {
+					position = it.next().getPosition();
+					read++;
 				}
-			} finally {
-				// Clearing used scroll in order to free memory in ES
-				client.clearScroll(nextScrollId).sync();
+				count += read;
+				hasMore = it.hasNext();
 			}
 		}
-		return versions;
+		return count;
 	}
 
-	protected void processHits(JsonArray hits, Map<String, String> versions) {
-		for (int i = 0; i < hits.size(); i++) {
-			JsonObject hit = hits.getJsonObject(i);
-			JsonObject source = hit.getJsonObject("_source");
-			String uuid = source.getString("uuid");
-			String version = source.getString("version");
-			versions.put(uuid, version);
+	/**
+	 * Return the root vertices of the elements whose information is embedded in the documents of the handler. A change of one of those elements may
+	 * affect any document. The incremental sync will thus check all documents once such a change is detected.
+	 * 
+	 * @return
+	 */
+	protected List<? extends RootVertex<?>> getRelatedRoots() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Check whether one of the related elements has been changed after the given change sequence.
+	 * 
+	 * @param changeSequence
+	 * @return
+	 * @see #getRelatedRoots()
+	 */
+	protected boolean hasRelatedChanges(long changeSequence) {
+		for (RootVertex<?> root : getRelatedRoots()) {
+			if (root.findChangedAfter(changeSequence).hasNext()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Load the checkpoint of the last sync of the index. The checkpoint is only valid for the index instance for which it was stored. Thus a recreated index
+	 * has no checkpoint.
+	 * 
+	 * @param client
+	 * @param indexName
+	 * @param fullIndexName
+	 * @return Change sequence up to which all changes have been synced or null if no valid checkpoint exists
+	 * @throws HttpErrorException
+	 */
+	private Long loadCheckpoint(SearchClient client, String indexName, String fullIndexName) throws HttpErrorException {
+		JsonObject checkpoint;
+		try {
+			checkpoint = client.getDocument(searchProvider.installationPrefix() + SYNC_CHECKPOINT_INDEX, DEFAULT_TYPE, indexName).sync();
+		} catch (HttpErrorException e) {
+			if (isNotFoundError(e)) {
+				return null;
+			}
+			throw e;
+		}
+		JsonObject source = checkpoint.getJsonObject("_source");
+		String indexUuid = loadIndexUuid(client, fullIndexName);
+		if (source == null || indexUuid == null || !indexUuid.equals(source.getString("indexUuid"))) {
+			return null;
+		}
+		return source.getLong(CHANGE_SEQUENCE_KEY);
+	}
+
+	/**
+	 * Store the checkpoint of the index.
+	 * 
+	 * @param client
+	 * @param indexName
+	 * @param fullIndexName
+	 * @param changeSequence
+	 *            Change sequence up to which all changes have been synced
+	 * @throws HttpErrorException
+	 */
+	private void saveCheckpoint(SearchClient client, String indexName, String fullIndexName, long changeSequence) throws HttpErrorException {
+		JsonObject checkpoint = new JsonObject();
+		checkpoint.put("indexUuid", loadIndexUuid(client, fullIndexName));
+		checkpoint.put(CHANGE_SEQUENCE_KEY, changeSequence);
+		client.storeDocument(searchProvider.installationPrefix() + SYNC_CHECKPOINT_INDEX, DEFAULT_TYPE, indexName, checkpoint).sync();
+	}
+
+	/**
+	 * Load the uuid which was assigned to the index by ES on creation.
+	 * 
+	 * @param client
+	 * @param fullIndexName
+	 * @return
+	 * @throws HttpErrorException
+	 */
+	private String loadIndexUuid(SearchClient client, String fullIndexName) throws HttpErrorException {
+		JsonObject settings = loadIndexSettings(client, fullIndexName);
+		return settings == null ? null : settings.getString("uuid");
+	}
+
+	/**
+	 * Load the index settings of the index. Aliases will be resolved to the index which they reference.
+	 * 
+	 * @param client
+	 * @param fullIndexName
+	 *            Name of the index or alias
+	 * @return Settings or null if the index does not exist
+	 * @throws HttpErrorException
+	 */
+	private JsonObject loadIndexSettings(SearchClient client, String fullIndexName) throws HttpErrorException {
+		JsonObject response;
+		try {
+			response = client.readIndex(fullIndexName).sync();
+		} catch (HttpErrorException e) {
+			if (isNotFoundError(e)) {
+				return null;
+			}
+			throw e;
+		}
+		// The response is keyed by the name of the index which is referenced by the alias
+		Iterator<String> it = response.fieldNames().iterator();
+		if (!it.hasNext()) {
+			return null;
+		}
+		return response.getJsonObject(it.next()).getJsonObject("settings").getJsonObject("index");
+	}
+
+	/**
+	 * Return the change sequence of the element.
+	 * 
+	 * @param element
+	 * @return Change sequence or null if the element has none
+	 */
+	protected Long getChangeSequence(Object element) {
+		if (element instanceof IndexableElement) {
+			return ((IndexableElement) element).getChangeSequence();
+		}
+		return null;
+	}
+
+	/**
+	 * Return the latest of the given change sequence and the change sequences of the related elements. Documents which embed information of related
+	 * elements (e.g. names) are outdated once one of those elements has been changed.
+	 * 
+	 * @param sequence
+	 *            Change sequence of the element itself
+	 * @param related
+	 *            Elements whose information is embedded in the document
+	 * @return Latest change sequence or null if the element has no sequence. Documents without a sequence are always compared using their version.
+	 */
+	protected static Long getLatestChangeSequence(Long sequence, Iterable<? extends IndexableElement> related) {
+		if (sequence == null) {
+			return null;
+		}
+		long latest = sequence;
+		for (IndexableElement element : related) {
+			Long relatedSequence = element == null ? null : element.getChangeSequence();
+			if (relatedSequence != null && relatedSequence > latest) {
+				latest = relatedSequence;
+			}
+		}
+		return latest;
+	}
+
+	/**
+	 * Add the change sequence of the element to the document. The sync uses the stored sequence to detect outdated documents.
+	 * 
+	 * @param document
+	 * @param element
+	 * @return Fluent API
+	 */
+	protected JsonObject addChangeSequence(JsonObject document, Object element) {
+		Long changeSequence = getChangeSequence(element);
+		if (changeSequence != null) {
+			document.put(CHANGE_SEQUENCE_KEY, changeSequence);
+		}
+		return document;
+	}
+
+	/**
+	 * Document of the graph which needs to be synced. The change sequence and the version of the document will only be determined when needed.
+	 */
+	public static class SourceDocument {
+
+		private final String id;
+
+		private final String position;
+
+		private final Supplier<Long> changeSequenceSupplier;
+
+		private boolean changeSequenceLoaded;
+
+		private Long changeSequence;
+
+		private final Supplier<String> versionSupplier;
+
+		/**
+		 * Create a new source document.
+		 * 
+		 * @param id
+		 *            Document id
+		 * @param position
+		 *            Position of the document in the source after which the iteration of the next chunk continues (e.g. the id of the element)
+		 * @param changeSequenceSupplier
+		 *            Supplier which returns the change sequence of the element or null if the element has none
+		 * @param versionSupplier
+		 *            Supplier which generates the version of the document
+		 */
+		public SourceDocument(String id, String position, Supplier<Long> changeSequenceSupplier, Supplier<String> versionSupplier) {
+			this.id = id;
+			this.position = position;
+			this.changeSequenceSupplier = changeSequenceSupplier;
+			this.versionSupplier = versionSupplier;
+		}
+
+		public String getId() {
+			return id;
+		}
+
+		public String getPosition() {
+			return position;
+		}
+
+		public Long getChangeSequence() {
+			if (!changeSequenceLoaded) {
+				changeSequence = changeSequenceSupplier.get();
+				changeSequenceLoaded = true;
+			}
+			return changeSequence;
+		}
+
+		public String getVersion() {
+			return versionSupplier.get();
 		}
 	}
 
@@ -363,6 +968,9 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		// Only create indices which we know of
 		if (info != null) {
 			// Create the index - Note that dedicated index settings are only configurable for nodes, micronodes (via schema, microschema)
+			if (entry.isBulk()) {
+				return createBulkIndex(info);
+			}
 			return searchProvider.createIndex(info);
 		} else {
 			if (log.isDebugEnabled()) {
@@ -380,6 +988,8 @@ public abstract class AbstractIndexHandler<T extends MeshCoreVertex<?, T>> imple
 		// Create the indices
 		Map<String, IndexInfo> indexInfo = getIndices();
 		Set<Completable> obs = new HashSet<>();
+		// The permission set index is shared by all handlers
+		obs.add(permissionSets.init());
 
 		for (IndexInfo info : indexInfo.values()) {
 			if (log.isDebugEnabled()) {
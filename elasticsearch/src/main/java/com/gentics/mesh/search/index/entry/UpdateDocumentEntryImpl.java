@@ -60,6 +60,15 @@ public class UpdateDocumentEntryImpl extends AbstractEntry<GenericEntryContext>
 		return elementUuid;
 	}
 
+	/**
+	 * Return the handler which processes the entry.
+	 * 
+	 * @return
+	 */
+	public IndexHandler<?> getIndexHandler() {
+		return indexHandler;
+	}
+
 	@Override
 	public Completable process() {
 		switch (elementAction) {
@@ -72,6 +81,9 @@ public class UpdateDocumentEntryImpl extends AbstractEntry<GenericEntryContext>
 		case UPDATE_ROLE_PERM_ACTION:
 			return indexHandler.updatePermission(this).doOnComplete(onProcessAction);
 
+		case UPDATE_PERMISSION_GROUP_ACTION:
+			return indexHandler.updatePermissionGroup(this).doOnComplete(onProcessAction);
+
 		default:
 			throw error(INTERNAL_SERVER_ERROR, "Can't process entry of for action {" + elementAction + "}");
 		}
@@ -90,6 +102,10 @@ public class UpdateDocumentEntryImpl extends AbstractEntry<GenericEntryContext>
 		case UPDATE_ROLE_PERM_ACTION:
 			return indexHandler.updatePermissionForBulk(this).doOnComplete(onProcessAction);
 
+		case UPDATE_PERMISSION_GROUP_ACTION:
+			// No document needs to be updated
+			return indexHandler.updatePermissionGroup(this).doOnComplete(onProcessAction).toObservable();
+
 		default:
 			throw error(INTERNAL_SERVER_ERROR, "Can't process entry of for action {" + elementAction + "}");
 		}
@@ -86,9 +86,9 @@ public class GroupIndexHandler extends AbstractIndexHandler<Group> {
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
-			return diffAndSync(Group.composeIndexName(), null, new SyncMetric(getType()));
+			return diffAndSync(Group.composeIndexName(), null, new SyncMetric(getType()), deep);
 		});
 	}
 
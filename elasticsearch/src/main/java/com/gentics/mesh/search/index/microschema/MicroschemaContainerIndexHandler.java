@@ -69,9 +69,9 @@ public class MicroschemaContainerIndexHandler extends AbstractIndexHandler<Micro
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
-			return diffAndSync(MicroschemaContainer.composeIndexName(), null, new SyncMetric(getType()));
+			return diffAndSync(MicroschemaContainer.composeIndexName(), null, new SyncMetric(getType()), deep);
 		});
 	}
 
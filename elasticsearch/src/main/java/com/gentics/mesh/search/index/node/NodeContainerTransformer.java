@@ -69,6 +69,11 @@ public class NodeContainerTransformer extends AbstractTransformer<NodeGraphField
 
 	private static final String VERSION_KEY = "version";
 
+	/**
+	 * Suffix of the permission set of the published containers of a permission group.
+	 */
+	private static final String PUBLISHED_GROUP_SUFFIX = "-published";
+
 	private SearchProvider searchProvider;
 
 	@Inject
@@ -111,6 +116,7 @@ public class NodeContainerTransformer extends AbstractTransformer<NodeGraphField
 
 	/**
 	 * Generate the node container specific permission info. Node containers need to store also the read publish perm roles for published containers.
+	 * Published containers of a permission group thus reference a separate set of the group.
 	 * 
 	 * @param document
 	 * @param node
@@ -124,12 +130,16 @@ public class NodeContainerTransformer extends AbstractTransformer<NodeGraphField
 		}
 
 		// Also add the roles which would grant read on published nodes if the container is published.
+		String setId = node.getPermissionGroup();
 		if (type == PUBLISHED) {
 			for (Role role : node.getRolesWithPerm(READ_PUBLISHED_PERM)) {
 				roleUuids.add(role.getUuid());
 			}
+			if (setId != null) {
+				setId = setId + PUBLISHED_GROUP_SUFFIX;
+			}
 		}
-		document.put("_roleUuids", roleUuids);
+		addPermissionInfo(document, setId, roleUuids);
 	}
 
 	/**
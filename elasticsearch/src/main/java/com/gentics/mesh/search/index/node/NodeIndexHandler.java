@@ -2,36 +2,42 @@ package com.gentics.mesh.search.index.node;
 
 import static com.gentics.mesh.core.data.ContainerType.DRAFT;
 import static com.gentics.mesh.core.data.ContainerType.PUBLISHED;
-import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.DELETE_ACTION;
-import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
 import static com.gentics.mesh.core.rest.error.Errors.error;
 import static com.gentics.mesh.search.SearchProvider.DEFAULT_TYPE;
 import static io.netty.handler.codec.http.HttpResponseStatus.INTERNAL_SERVER_ERROR;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import com.gentics.elasticsearch.client.HttpErrorException;
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
 import com.gentics.mesh.core.data.Project;
 import com.gentics.mesh.core.data.Release;
+import com.gentics.mesh.core.data.Tag;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.relationship.GraphPermission;
+import com.gentics.mesh.core.data.root.MeshRoot;
 import com.gentics.mesh.core.data.root.RootVertex;
 import com.gentics.mesh.core.data.schema.SchemaContainerVersion;
 import com.gentics.mesh.core.data.search.MoveDocumentEntry;
 import com.gentics.mesh.core.data.search.SearchQueue;
-import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.SearchQueueEntryAction;
 import com.gentics.mesh.core.data.search.UpdateDocumentEntry;
 import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
 import com.gentics.mesh.core.data.search.context.GenericEntryContext;
@@ -45,14 +51,12 @@ import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.index.entry.AbstractIndexHandler;
 import com.gentics.mesh.search.index.entry.UpdateDocumentEntryImpl;
 import com.gentics.mesh.search.index.metric.SyncMetric;
-import com.google.common.collect.MapDifference;
-import com.google.common.collect.Maps;
+import com.google.common.collect.Iterators;
 import com.syncleus.ferma.tx.Tx;
 
 import io.reactivex.Completable;
 import io.reactivex.Observable;
 import io.reactivex.Single;
-import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -164,7 +168,7 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
 			return db.tx(() -> {
 				SyncMetric metric = new SyncMetric(getType());
@@ -173,7 +177,7 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 					for (Release release : project.getReleaseRoot().findAllIt()) {
 						for (SchemaContainerVersion version : release.findActiveSchemaVersions()) {
 							for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
-								actions.add(diffAndSync(project, release, version, type, metric));
+								actions.add(diffAndSync(project, release, version, type, metric, deep));
 							}
 						}
 					}
@@ -184,119 +188,147 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 		});
 	}
 
-	private Map<String, String> loadVersionsFromGraph(Release release, SchemaContainerVersion version, ContainerType type) {
-		Map<String, String> versions = new HashMap<>();
-		String releaseUuid = release.getUuid();
-		version.getFieldContainers(releaseUuid)
-			.filter(c -> c.getSchemaContainerVersion().equals(version))
-			.filter(c -> c.isType(type, releaseUuid))
-			.forEach(c -> {
-				String v = generateVersion(c, releaseUuid, type);
-				versions.put(c.getParentNode().getUuid() + "-" + c.getLanguage().getLanguageTag(), v);
+	@Override
+	public Completable rebuildIndices() {
+		return Completable.defer(() -> {
+			return db.tx(() -> {
+				SyncMetric metric = new SyncMetric(getType());
+				Map<String, IndexInfo> indexInfo = getIndices();
+				List<Completable> actions = new ArrayList<>();
+				for (Project project : boot.meshRoot().getProjectRoot().findAllIt()) {
+					for (Release release : project.getReleaseRoot().findAllIt()) {
+						for (SchemaContainerVersion version : release.findActiveSchemaVersions()) {
+							for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
+								String indexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), version.getUuid(), type);
+								IndexInfo info = indexInfo.get(indexName);
+								if (info != null) {
+									Function<String, Iterator<SourceDocument>> sourceDocuments = sourceDocuments(release, version, type);
+									actions.add(rebuildIndex(info, metric, sourceDocuments, changedDocuments(release, version, type),
+										() -> countSourceDocuments(sourceDocuments), existsInSource(release, version, type),
+										entryFactory(project, release, version, type)));
+								}
+							}
+						}
+					}
+				}
+				// The indices are rebuilt one after another to limit the load of the cluster
+				return Completable.concat(actions);
 			});
-		return versions;
+		});
 	}
 
 	/**
-	 * We need to override the default method since the UUID alone is not enough to id a document in the node index. We also need to append the language.
+	 * Diff the node containers of the given release, schema version and type with the documents in the corresponding index. The document id of a node
+	 * document consists of the node uuid and the language tag.
+	 * 
+	 * @param project
+	 * @param release
+	 * @param version
+	 * @param type
+	 * @param metric
+	 * @param deep
+	 *            Whether the versions of all documents should be compared
+	 * @return
 	 */
-	@Override
-	protected void processHits(JsonArray hits, Map<String, String> versions) {
-		for (int i = 0; i < hits.size(); i++) {
-			JsonObject hit = hits.getJsonObject(i);
-			JsonObject source = hit.getJsonObject("_source");
-			// The id contains the UUID + language
-			String uuidAndLang = hit.getString("_id");
-			String version = source.getString("version");
-			versions.put(uuidAndLang, version);
-		}
+	private Completable diffAndSync(Project project, Release release, SchemaContainerVersion version, ContainerType type, SyncMetric metric,
+		boolean deep) {
+		String indexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), version.getUuid(), type);
+		Function<String, Iterator<SourceDocument>> sourceDocuments = sourceDocuments(release, version, type);
+		return diffAndSync(indexName, metric, deep, sourceDocuments, changedDocuments(release, version, type), () -> countSourceDocuments(
+			sourceDocuments), existsInSource(release, version, type), entryFactory(project, release, version, type));
 	}
 
-	private Completable diffAndSync(Project project, Release release, SchemaContainerVersion version, ContainerType type, SyncMetric metric)
-		throws HttpErrorException {
-		String indexName = NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(),
-			version.getUuid(), type);
-
-		log.info("Handling index sync on handler {" + getClass().getName() + "}");
-
-		try (Tx tx = db.tx()) {
-
-			// 1. Load versions from the local graph (source of truth)
-			Map<String, String> sourceVersions = loadVersionsFromGraph(release, version, type);
-
-			// 2. Load the version from the elasticsearch index (sink)
-			Map<String, String> sinkVersions = loadVersionsFromIndex(indexName);
+	/**
+	 * Return the function which iterates over the documents of the node containers of the given release, schema version and type. The containers are
+	 * ordered by their id which is also used as the position of the document.
+	 * 
+	 * @param release
+	 * @param version
+	 * @param type
+	 * @return
+	 */
+	private Function<String, Iterator<SourceDocument>> sourceDocuments(Release release, SchemaContainerVersion version, ContainerType type) {
+		String releaseUuid = release.getUuid();
+		return afterId -> {
+			return Iterators.transform(version.getFieldContainers(releaseUuid, type, afterId), c -> {
+				return new SourceDocument(c.getParentNode().getUuid() + "-" + c.getLanguage().getLanguageTag(), c.getId().toString(),
+					() -> getChangeSequence(c), () -> generateVersion(c, releaseUuid, type));
+			});
+		};
+	}
 
-			// 3. Diff the maps
-			MapDifference<String, String> diff = Maps.difference(sourceVersions, sinkVersions);
-			if (diff.areEqual()) {
-				return Completable.complete();
-			}
-			Set<String> needInsertionInES = diff.entriesOnlyOnLeft().keySet();
-			Set<String> needRemovalInES = diff.entriesOnlyOnRight().keySet();
-			Set<String> needUpdate = diff.entriesDiffering().keySet();
-
-			log.info("Pending insertions on {" + indexName + "}:" + needInsertionInES.size());
-			log.info("Pending removals on {" + indexName + "}:" + needRemovalInES.size());
-			log.info("Pending updates on {" + indexName + "}:" + needUpdate.size());
-
-			metric.incInsert(needInsertionInES.size());
-			metric.incDelete(needRemovalInES.size());
-			metric.incUpdate(needUpdate.size());
-
-			String versionUuid = version.getUuid();
-			String projectUuid = project.getUuid();
-			String releaseUuid = release.getUuid();
-
-			// 4. Create the SQB's
-			SearchQueueBatch storeBatch = searchQueue.create();
-			for (String uuidLang : needInsertionInES) {
-				String uuid = uuidLang.substring(0, uuidLang.indexOf("-"));
-				String lang = uuidLang.substring(uuidLang.indexOf("-") + 1);
-				GenericEntryContext context = new GenericEntryContextImpl();
-				context.setContainerType(type);
-				context.setProjectUuid(projectUuid);
-				context.setReleaseUuid(releaseUuid);
-				context.setLanguageTag(lang);
-				context.setSchemaContainerVersionUuid(versionUuid);
-				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, uuid, context, STORE_ACTION);
-				entry.setOnProcessAction(metric::decInsert);
-				storeBatch.addEntry(entry);
-			}
-			SearchQueueBatch removalBatch = searchQueue.create();
-			for (String uuidLang : needRemovalInES) {
-				String uuid = uuidLang.substring(0, uuidLang.indexOf("-"));
-				String lang = uuidLang.substring(uuidLang.indexOf("-") + 1);
-				GenericEntryContext context = new GenericEntryContextImpl();
-				context.setContainerType(type);
-				context.setProjectUuid(projectUuid);
-				context.setReleaseUuid(releaseUuid);
-				context.setSchemaContainerVersionUuid(versionUuid);
-				context.setLanguageTag(lang);
-				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, uuid, context, DELETE_ACTION);
-				entry.setOnProcessAction(metric::decDelete);
-				removalBatch.addEntry(entry);
-			}
-			SearchQueueBatch updateBatch = searchQueue.create();
-			for (String uuidLang : needUpdate) {
-				String uuid = uuidLang.substring(0, uuidLang.indexOf("-"));
-				String lang = uuidLang.substring(uuidLang.indexOf("-") + 1);
-				GenericEntryContext context = new GenericEntryContextImpl();
-				context.setContainerType(type);
-				context.setProjectUuid(projectUuid);
-				context.setReleaseUuid(releaseUuid);
-				context.setSchemaContainerVersionUuid(versionUuid);
-				context.setLanguageTag(lang);
-				UpdateDocumentEntry entry = new UpdateDocumentEntryImpl(this, uuid, context, STORE_ACTION);
-				entry.setOnProcessAction(metric::decUpdate);
-				updateBatch.addEntry(entry);
+	/**
+	 * Return the function which iterates over the documents of the node containers of the given release, schema version and type which have been changed
+	 * after the checkpoint. The change sequence of the changed container or node is used as the position of the document.
+	 * 
+	 * @param release
+	 * @param version
+	 * @param type
+	 * @return
+	 */
+	private BiFunction<Long, String, Iterator<SourceDocument>> changedDocuments(Release release, SchemaContainerVersion version, ContainerType type) {
+		String releaseUuid = release.getUuid();
+		return (checkpoint, afterSequence) -> {
+			if (hasRelatedChanges(checkpoint)) {
+				return null;
 			}
+			long after = afterSequence == null ? checkpoint : Long.parseLong(afterSequence);
+			return Iterators.transform(version.getChangedFieldContainers(releaseUuid, type, after), change -> {
+				NodeGraphFieldContainer c = change.v2();
+				return new SourceDocument(c.getParentNode().getUuid() + "-" + c.getLanguage().getLanguageTag(), String.valueOf(change.v1()),
+					() -> getChangeSequence(c), () -> generateVersion(c, releaseUuid, type));
+			});
+		};
+	}
 
-			// 5. Process the SQB's
-			return Completable.mergeArray(removalBatch.processAsync(), storeBatch.processAsync(), updateBatch.processAsync());
-
-		}
+	/**
+	 * Return the predicate which checks whether the node container for the document id exists in the given release, schema version and type.
+	 * 
+	 * @param release
+	 * @param version
+	 * @param type
+	 * @return
+	 */
+	private Predicate<String> existsInSource(Release release, SchemaContainerVersion version, ContainerType type) {
+		String releaseUuid = release.getUuid();
+		String versionUuid = version.getUuid();
+		return uuidLang -> {
+			String uuid = uuidLang.substring(0, uuidLang.indexOf("-"));
+			String lang = uuidLang.substring(uuidLang.indexOf("-") + 1);
+			Node node = getRootVertex().findByUuid(uuid);
+			if (node == null) {
+				return false;
+			}
+			NodeGraphFieldContainer container = node.getGraphFieldContainer(lang, releaseUuid, type);
+			return container != null && container.getSchemaContainerVersion().getUuid().equals(versionUuid);
+		};
+	}
 
+	/**
+	 * Return the factory for search queue entries of documents in the given release, schema version and type.
+	 * 
+	 * @param project
+	 * @param release
+	 * @param version
+	 * @param type
+	 * @return
+	 */
+	private BiFunction<String, SearchQueueEntryAction, UpdateDocumentEntry> entryFactory(Project project, Release release, SchemaContainerVersion version,
+		ContainerType type) {
+		String projectUuid = project.getUuid();
+		String releaseUuid = release.getUuid();
+		String versionUuid = version.getUuid();
+		return (uuidLang, action) -> {
+			String uuid = uuidLang.substring(0, uuidLang.indexOf("-"));
+			String lang = uuidLang.substring(uuidLang.indexOf("-") + 1);
+			GenericEntryContext context = new GenericEntryContextImpl();
+			context.setContainerType(type);
+			context.setProjectUuid(projectUuid);
+			context.setReleaseUuid(releaseUuid);
+			context.setLanguageTag(lang);
+			context.setSchemaContainerVersionUuid(versionUuid);
+			return new UpdateDocumentEntryImpl(this, uuid, context, action);
+		};
 	}
 
 	@Override
@@ -306,7 +338,8 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 			Project project = ac.getProject();
 			if (project != null) {
 				Release release = ac.getRelease();
-				// Locate all schema versions which need to be taken into consideration when choosing the indices
+				// Locate all schema versions which need to be taken into consideration when choosing the indices. The indices of the source and the target
+				// version of a running migration are both searched since the migration moves the documents between them.
 				for (SchemaContainerVersion version : release.findActiveSchemaVersions()) {
 					indices.add(NodeGraphFieldContainer.composeIndexName(project.getUuid(), release.getUuid(), version.getUuid(), ContainerType
 						.forVersion(ac.getVersioningParameters().getVersion())));
@@ -534,7 +567,7 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 	 * @return Single with affected index name
 	 */
 	public Single<String> storeContainer(NodeGraphFieldContainer container, String releaseUuid, ContainerType type) {
-		JsonObject doc = transformer.toDocument(container, releaseUuid, type);
+		JsonObject doc = addChangeSequence(transformer.toDocument(container, releaseUuid, type), container);
 		String projectUuid = container.getParentNode().getProject().getUuid();
 		String indexName = NodeGraphFieldContainer.composeIndexName(projectUuid, releaseUuid, container.getSchemaContainerVersion().getUuid(), type);
 		if (log.isDebugEnabled()) {
@@ -542,7 +575,7 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 		}
 		String languageTag = container.getLanguage().getLanguageTag();
 		String documentId = NodeGraphFieldContainer.composeDocumentId(container.getParentNode().getUuid(), languageTag);
-		return searchProvider.storeDocument(indexName, documentId, doc).andThen(Single.just(indexName));
+		return permissionSets.flush().andThen(searchProvider.storeDocument(indexName, documentId, doc)).andThen(Single.just(indexName));
 	}
 
 	/**
@@ -554,7 +587,7 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 	 * @return Single with the bulk entry
 	 */
 	public Single<IndexBulkEntry> storeContainerForBulk(NodeGraphFieldContainer container, String releaseUuid, ContainerType type) {
-		JsonObject doc = transformer.toDocument(container, releaseUuid, type);
+		JsonObject doc = addChangeSequence(transformer.toDocument(container, releaseUuid, type), container);
 		String projectUuid = container.getParentNode().getProject().getUuid();
 		String indexName = NodeGraphFieldContainer.composeIndexName(projectUuid, releaseUuid, container.getSchemaContainerVersion().getUuid(), type);
 		if (log.isDebugEnabled()) {
@@ -563,7 +596,46 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 		String languageTag = container.getLanguage().getLanguageTag();
 		String documentId = NodeGraphFieldContainer.composeDocumentId(container.getParentNode().getUuid(), languageTag);
 
-		return Single.just(new IndexBulkEntry(indexName, documentId, doc, searchProvider.hasIngestPipelinePlugin()));
+		IndexBulkEntry bulkEntry = new IndexBulkEntry(indexName, documentId, doc, searchProvider.hasIngestPipelinePlugin());
+		return permissionSets.flush().andThen(Single.just(bulkEntry));
+	}
+
+	@Override
+	protected List<? extends RootVertex<?>> getRelatedRoots() {
+		MeshRoot meshRoot = boot.meshRoot();
+		return Arrays.asList(meshRoot.getProjectRoot(), meshRoot.getSchemaContainerRoot(), meshRoot.getTagRoot(), meshRoot.getTagFamilyRoot());
+	}
+
+	/**
+	 * The document of a container is outdated when either the container or the node has been changed. Changes of the node (e.g. tags, parent node or
+	 * permissions) affect the documents of all of its containers. The documents also embed the names of the project, the schema, the tags and their tag
+	 * families. Renaming one of those elements thus affects the documents as well.
+	 */
+	@Override
+	protected Long getChangeSequence(Object element) {
+		if (element instanceof NodeGraphFieldContainer) {
+			NodeGraphFieldContainer container = (NodeGraphFieldContainer) element;
+			Node node = container.getParentNode();
+			Long containerSequence = container.getChangeSequence();
+			Long nodeSequence = node.getChangeSequence();
+			Long sequence;
+			if (containerSequence == null || nodeSequence == null) {
+				sequence = containerSequence == null ? nodeSequence : containerSequence;
+			} else {
+				sequence = Math.max(containerSequence, nodeSequence);
+			}
+			Project project = node.getProject();
+			List<IndexableElement> related = new ArrayList<>();
+			related.add(project);
+			related.add(container.getSchemaContainerVersion().getSchemaContainer());
+			// The documents contain the tags of the latest release
+			for (Tag tag : node.getTags(project.getLatestRelease())) {
+				related.add(tag);
+				related.add(tag.getTagFamily());
+			}
+			return getLatestChangeSequence(sequence, related);
+		}
+		return super.getChangeSequence(element);
 	}
 
 	@Override
@@ -593,15 +665,16 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 			// Determine which documents need to be updated. The node could have multiple documents in various indices.
 			for (Release release : project.getReleaseRoot().findAllIt()) {
 				for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
-					JsonObject json = getTransformer().toPermissionPartial(node, type);
+					JsonObject partial = getTransformer().toPermissionPartial(node, type);
 					for (NodeGraphFieldContainer container : node.getGraphFieldContainersIt(release, type)) {
 						String indexName = container.getIndexName(project.getUuid(), release.getUuid(), type);
 						String documentId = container.getDocumentId();
+						JsonObject json = addChangeSequence(partial.copy(), container);
 						obs.add(searchProvider.updateDocument(indexName, documentId, json, true).andThen(Observable.just(indexName)));
 					}
 				}
 			}
-			return Observable.merge(obs).toList().flatMapCompletable(list -> {
+			return permissionSets.flush().andThen(Observable.merge(obs)).toList().flatMapCompletable(list -> {
 				if (log.isDebugEnabled()) {
 					log.debug("Updated object in index.");
 				}
@@ -610,6 +683,20 @@ public class NodeIndexHandler extends AbstractIndexHandler<Node> {
 		}
 	}
 
+	@Override
+	public Completable updatePermissionGroup(UpdateDocumentEntry entry) {
+		String uuid = entry.getElementUuid();
+		Node node = getRootVertex().findByUuid(uuid);
+		if (node == null) {
+			throw error(INTERNAL_SERVER_ERROR, "error_element_for_document_type_not_found", uuid, DEFAULT_TYPE);
+		}
+		// The draft and the published documents reference separate sets of the group
+		for (ContainerType type : Arrays.asList(DRAFT, PUBLISHED)) {
+			getTransformer().toPermissionPartial(node, type);
+		}
+		return permissionSets.flush();
+	}
+
 	/**
 	 * Validate the schema by creating an index template.
 	 * 
@@ -4,10 +4,14 @@ import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.mapError;
 import static com.gentics.mesh.search.impl.ElasticsearchErrorHelper.mapToMeshError;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -21,6 +25,7 @@ import com.gentics.mesh.context.InternalActionContext;
 import com.gentics.mesh.core.data.ContainerType;
 import com.gentics.mesh.core.data.Language;
 import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.Release;
 import com.gentics.mesh.core.data.node.Node;
 import com.gentics.mesh.core.data.node.NodeContent;
 import com.gentics.mesh.core.data.page.Page;
@@ -36,6 +41,8 @@ import com.gentics.mesh.parameter.PagingParameters;
 import com.gentics.mesh.search.SearchProvider;
 import com.gentics.mesh.search.impl.SearchClient;
 import com.gentics.mesh.search.index.AbstractSearchHandler;
+import com.gentics.mesh.util.PermissionUtil;
+import com.gentics.mesh.util.Tuple;
 
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -117,25 +124,28 @@ public class NodeSearchHandler extends AbstractSearchHandler<Node, NodeResponse>
 				long totalCount = hitsInfo.getLong("total");
 				List<NodeContent> elementList = new ArrayList<>();
 				JsonArray hits = hitsInfo.getJsonArray("hits");
-				for (int i = 0; i < hits.size(); i++) {
-					JsonObject hit = hits.getJsonObject(i);
 
-					String id = hit.getString("_id");
-					int pos = id.indexOf("-");
+				// Load the nodes of all hits at once. The hits of different languages of a node share the lookup.
+				List<Tuple<String, String>> hitIds = parseHitIds(hits);
+				RootVertex<Node> root = getIndexHandler().getRootVertex();
+				Map<String, Node> nodes = root.findByUuids(hitIds.stream().map(Tuple::v1).collect(Collectors.toList()));
 
-					String language = pos > 0 ? id.substring(pos + 1) : null;
-					String uuid = pos > 0 ? id.substring(0, pos) : id;
+				ContainerType type = ContainerType.forVersion(ac.getVersioningParameters().getVersion());
+				Release release = ac.getRelease();
+				Map<String, Optional<Language>> languages = new HashMap<>();
+				for (Tuple<String, String> hitId : hitIds) {
+					String uuid = hitId.v1();
+					String language = hitId.v2();
 
-					RootVertex<Node> root = getIndexHandler().getRootVertex();
-					Node element = root.findByUuid(uuid);
+					Node element = nodes.get(uuid);
 					if (element == null) {
 						log.warn("Object could not be found for uuid {" + uuid + "} in root vertex {" + root.getRootLabel() + "}");
 						totalCount--;
 						continue;
 					}
 
-					ContainerType type = ContainerType.forVersion(ac.getVersioningParameters().getVersion());
-					Language languageTag = boot.languageRoot().findByLanguageTag(language);
+					Language languageTag = languages.computeIfAbsent(language, tag -> Optional.ofNullable(boot.languageRoot().findByLanguageTag(tag)))
+						.orElse(null);
 					if (languageTag == null) {
 						log.warn("Could not find language {" + language + "}");
 						totalCount--;
@@ -143,7 +153,7 @@ public class NodeSearchHandler extends AbstractSearchHandler<Node, NodeResponse>
 					}
 
 					// Locate the matching container and add it to the list of found containers
-					NodeGraphFieldContainer container = element.getGraphFieldContainer(languageTag, ac.getRelease(), type);
+					NodeGraphFieldContainer container = element.getGraphFieldContainer(languageTag, release, type);
 					if (container != null) {
 						elementList.add(new NodeContent(element, container));
 					} else {
@@ -152,11 +162,20 @@ public class NodeSearchHandler extends AbstractSearchHandler<Node, NodeResponse>
 					}
 
 				}
+
+				// Post-filter the hits. The permissions of all hits are checked at once.
+				if (permissions.length > 0) {
+					int found = elementList.size();
+					elementList = PermissionUtil.filter(elementList, content -> content.getNode().getId(), ac.getUser(), permissions);
+					totalCount -= found - elementList.size();
+				}
+
 				// Update the total count
 				hitsInfo.put("total", totalCount);
 
 				PagingMetaInfo info = extractMetaInfo(hitsInfo, pagingInfo);
-				return new PageImpl<>(elementList, info.getTotalCount(), pagingInfo.getPage(), info.getPageCount(), pagingInfo.getPerPage());
+				return new PageImpl<>(elementList, info.getTotalCount(), pagingInfo.getPage(), info.getPageCount(), pagingInfo.getPerPage(), info
+					.getNextCursor());
 			});
 			return page;
 		} catch (HttpErrorException e) {
@@ -166,4 +185,10 @@ public class NodeSearchHandler extends AbstractSearchHandler<Node, NodeResponse>
 
 	}
 
+	@Override
+	protected JsonArray getTieBreakerSort() {
+		// The documents of a node are only unique per language
+		return new JsonArray().add(new JsonObject().put("uuid", "asc")).add(new JsonObject().put("language", "asc"));
+	}
+
 }
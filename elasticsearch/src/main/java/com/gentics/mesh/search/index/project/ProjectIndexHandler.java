@@ -69,9 +69,9 @@ public class ProjectIndexHandler extends AbstractIndexHandler<Project> {
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
-			return diffAndSync(Project.composeIndexName(), null, new SyncMetric(getType()));
+			return diffAndSync(Project.composeIndexName(), null, new SyncMetric(getType()), deep);
 		});
 	}
 
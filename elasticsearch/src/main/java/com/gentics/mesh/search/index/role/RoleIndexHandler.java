@@ -77,9 +77,9 @@ public class RoleIndexHandler extends AbstractIndexHandler<Role> {
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
-			return diffAndSync(Role.composeIndexName(), null, new SyncMetric(getType()));
+			return diffAndSync(Role.composeIndexName(), null, new SyncMetric(getType()), deep);
 		});
 	}
 
@@ -70,9 +70,9 @@ public class SchemaContainerIndexHandler extends AbstractIndexHandler<SchemaCont
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
-			return diffAndSync(SchemaContainer.composeIndexName(), null, new SyncMetric(getType()));
+			return diffAndSync(SchemaContainer.composeIndexName(), null, new SyncMetric(getType()), deep);
 		});
 	}
 
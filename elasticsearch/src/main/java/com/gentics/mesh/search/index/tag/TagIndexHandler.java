@@ -1,8 +1,10 @@
 package com.gentics.mesh.search.index.tag;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -106,7 +108,7 @@ public class TagIndexHandler extends AbstractIndexHandler<Tag> {
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
 			return db.tx(() -> {
 				ProjectRoot root = boot.meshRoot().getProjectRoot();
@@ -114,7 +116,7 @@ public class TagIndexHandler extends AbstractIndexHandler<Tag> {
 				SyncMetric metric = new SyncMetric(getType());
 				for (Project project : root.findAllIt()) {
 					String uuid = project.getUuid();
-					actions.add(diffAndSync(Tag.composeIndexName(uuid), uuid, metric));
+					actions.add(diffAndSync(Tag.composeIndexName(uuid), uuid, metric, deep));
 				}
 
 				return Completable.merge(actions);
@@ -139,4 +141,21 @@ public class TagIndexHandler extends AbstractIndexHandler<Tag> {
 		return boot.meshRoot().getTagRoot();
 	}
 
+	@Override
+	protected List<? extends RootVertex<?>> getRelatedRoots() {
+		return Arrays.asList(boot.meshRoot().getTagFamilyRoot(), boot.meshRoot().getProjectRoot());
+	}
+
+	/**
+	 * The document of a tag embeds the names of the tag family and the project.
+	 */
+	@Override
+	protected Long getChangeSequence(Object element) {
+		if (element instanceof Tag) {
+			Tag tag = (Tag) element;
+			return getLatestChangeSequence(tag.getChangeSequence(), Arrays.asList(tag.getTagFamily(), tag.getProject()));
+		}
+		return super.getChangeSequence(element);
+	}
+
 }
@@ -1,8 +1,11 @@
 package com.gentics.mesh.search.index.tagfamily;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -11,7 +14,9 @@ import javax.inject.Singleton;
 
 import com.gentics.mesh.cli.BootstrapInitializer;
 import com.gentics.mesh.context.InternalActionContext;
+import com.gentics.mesh.core.data.IndexableElement;
 import com.gentics.mesh.core.data.Project;
+import com.gentics.mesh.core.data.Tag;
 import com.gentics.mesh.core.data.TagFamily;
 import com.gentics.mesh.core.data.root.ProjectRoot;
 import com.gentics.mesh.core.data.root.RootVertex;
@@ -98,7 +103,7 @@ public class TagFamilyIndexHandler extends AbstractIndexHandler<TagFamily> {
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
 			return db.tx(() -> {
 				ProjectRoot root = boot.meshRoot().getProjectRoot();
@@ -108,7 +113,7 @@ public class TagFamilyIndexHandler extends AbstractIndexHandler<TagFamily> {
 				for (Project project : root.findAllIt()) {
 					String uuid = project.getUuid();
 					String indexName = TagFamily.composeIndexName(uuid);
-					actions.add(diffAndSync(indexName, uuid, metric));
+					actions.add(diffAndSync(indexName, uuid, metric, deep));
 				}
 
 				return Completable.merge(actions);
@@ -133,4 +138,26 @@ public class TagFamilyIndexHandler extends AbstractIndexHandler<TagFamily> {
 		return boot.meshRoot().getTagFamilyRoot();
 	}
 
+	@Override
+	protected List<? extends RootVertex<?>> getRelatedRoots() {
+		return Arrays.asList(boot.meshRoot().getTagRoot(), boot.meshRoot().getProjectRoot());
+	}
+
+	/**
+	 * The document of a tag family embeds the names of its tags and of the project.
+	 */
+	@Override
+	protected Long getChangeSequence(Object element) {
+		if (element instanceof TagFamily) {
+			TagFamily tagFamily = (TagFamily) element;
+			List<IndexableElement> related = new ArrayList<>();
+			related.add(tagFamily.getProject());
+			for (Tag tag : tagFamily.findAllIt()) {
+				related.add(tag);
+			}
+			return getLatestChangeSequence(tagFamily.getChangeSequence(), related);
+		}
+		return super.getChangeSequence(element);
+	}
+
 }
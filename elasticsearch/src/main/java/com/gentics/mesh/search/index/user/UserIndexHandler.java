@@ -69,9 +69,9 @@ public class UserIndexHandler extends AbstractIndexHandler<User> {
 	}
 
 	@Override
-	public Completable syncIndices() {
+	public Completable syncIndices(boolean deep) {
 		return Completable.defer(() -> {
-			return diffAndSync(User.composeIndexName(), null, new SyncMetric(getType()));
+			return diffAndSync(User.composeIndexName(), null, new SyncMetric(getType()), deep);
 		});
 	}
 
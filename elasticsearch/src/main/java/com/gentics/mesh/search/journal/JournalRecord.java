@@ -0,0 +1,80 @@
+package com.gentics.mesh.search.journal;
+
+import io.vertx.core.json.JsonArray;
+
+/**
+ * A journal record contains the serialized entries of a single search queue batch.
+ */
+public class JournalRecord {
+
+	private final long id;
+
+	private final long sequence;
+
+	private final String segment;
+
+	private final JsonArray entries;
+
+	private final boolean inDoubt;
+
+	public JournalRecord(long id, long sequence, String segment, JsonArray entries, boolean inDoubt) {
+		this.id = id;
+		this.sequence = sequence;
+		this.segment = segment;
+		this.entries = entries;
+		this.inDoubt = inDoubt;
+	}
+
+	/**
+	 * Return the id of the record. The id is unique within the journal of the instance and reflects the order in which the records have been loaded or
+	 * appended. In contrast to the sequence number it is also unique for records which have been taken over from other journal owners.
+	 *
+	 * @return
+	 */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Return the sequence number of the record.
+	 *
+	 * @return
+	 */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/**
+	 * Return the name of the segment which contains the record.
+	 *
+	 * @return
+	 */
+	public String getSegment() {
+		return segment;
+	}
+
+	/**
+	 * Return the serialized batch entries.
+	 *
+	 * @return
+	 */
+	public JsonArray getEntries() {
+		return entries;
+	}
+
+	/**
+	 * Check whether it is unknown if the transaction which wrote the record has been committed. This is the case for records which were written right before
+	 * the commit if the instance stopped before the commit could be marked.
+	 *
+	 * @return
+	 */
+	public boolean isInDoubt() {
+		return inDoubt;
+	}
+
+	@Override
+	public String toString() {
+		return "Journal record {" + sequence + "} in segment {" + segment + "}";
+	}
+
+}
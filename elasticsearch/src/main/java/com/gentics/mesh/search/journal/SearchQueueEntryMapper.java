@@ -0,0 +1,231 @@
+package com.gentics.mesh.search.journal;
+
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.DELETE_ACTION;
+import static com.gentics.mesh.core.data.search.SearchQueueEntryAction.STORE_ACTION;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.core.data.ContainerType;
+import com.gentics.mesh.core.data.NodeGraphFieldContainer;
+import com.gentics.mesh.core.data.node.Node;
+import com.gentics.mesh.core.data.search.CreateIndexEntry;
+import com.gentics.mesh.core.data.search.DropIndexEntry;
+import com.gentics.mesh.core.data.search.IndexHandler;
+import com.gentics.mesh.core.data.search.MoveDocumentEntry;
+import com.gentics.mesh.core.data.search.SearchQueueEntry;
+import com.gentics.mesh.core.data.search.SearchQueueEntryAction;
+import com.gentics.mesh.core.data.search.context.GenericEntryContext;
+import com.gentics.mesh.core.data.search.context.MoveEntryContext;
+import com.gentics.mesh.core.data.search.context.impl.GenericEntryContextImpl;
+import com.gentics.mesh.core.rest.schema.impl.SchemaModelImpl;
+import com.gentics.mesh.json.JsonUtil;
+import com.gentics.mesh.search.IndexHandlerRegistry;
+import com.gentics.mesh.search.index.common.CreateIndexEntryImpl;
+import com.gentics.mesh.search.index.common.DropIndexEntryImpl;
+import com.gentics.mesh.search.index.common.DropIndexHandler;
+import com.gentics.mesh.search.index.entry.UpdateDocumentEntryImpl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Mapper which converts search queue entries into their journal representation and back. The journal representation only references the affected elements
+ * by uuid. Thus documents will be generated using the state of the graph at the time the entry gets processed.
+ */
+@Singleton
+public class SearchQueueEntryMapper {
+
+	private static final String TYPE_KEY = "type";
+	private static final String TYPE_UPDATE = "update";
+	private static final String TYPE_CREATE_INDEX = "createIndex";
+	private static final String TYPE_DROP_INDEX = "dropIndex";
+
+	private final IndexHandlerRegistry registry;
+
+	private final DropIndexHandler dropIndexHandler;
+
+	@Inject
+	public SearchQueueEntryMapper(IndexHandlerRegistry registry, DropIndexHandler dropIndexHandler) {
+		this.registry = registry;
+		this.dropIndexHandler = dropIndexHandler;
+	}
+
+	/**
+	 * Convert the entries into their journal representation. Graph elements which are referenced by the entries will be loaded. Thus the method must be
+	 * invoked within a transaction.
+	 *
+	 * @param entries
+	 * @return
+	 */
+	public JsonArray toJson(List<? extends SearchQueueEntry> entries) {
+		JsonArray json = new JsonArray();
+		for (SearchQueueEntry<?> entry : entries) {
+			if (entry instanceof UpdateDocumentEntryImpl) {
+				UpdateDocumentEntryImpl update = (UpdateDocumentEntryImpl) entry;
+				json.add(toJson(update.getIndexHandler(), update.getElementAction(), update.getElementUuid(), update.getContext()));
+			} else if (entry instanceof MoveDocumentEntry) {
+				// The move is journaled as the deletion of the old document and the creation of the new document
+				MoveEntryContext context = ((MoveDocumentEntry) entry).getContext();
+				IndexHandler<?> handler = registry.getNodeIndexHandler();
+				json.add(toJson(handler, STORE_ACTION, context.getNewContainer().getParentNode().getUuid(), toContext(context.getNewContainer(),
+					context.getReleaseUuid(), context.getContainerType())));
+				json.add(toJson(handler, DELETE_ACTION, context.getOldContainer().getParentNode().getUuid(), toContext(context.getOldContainer(),
+					context.getReleaseUuid(), context.getContainerType())));
+			} else if (entry instanceof CreateIndexEntryImpl) {
+				CreateIndexEntryImpl create = (CreateIndexEntryImpl) entry;
+				JsonObject entryJson = new JsonObject();
+				entryJson.put(TYPE_KEY, TYPE_CREATE_INDEX);
+				entryJson.put("handler", create.getIndexHandler().getType());
+				entryJson.put("indexName", create.getIndexName());
+				if (create.getSchema() != null) {
+					entryJson.put("schema", new JsonObject(JsonUtil.toJson(create.getSchema())));
+				}
+				json.add(entryJson);
+			} else if (entry instanceof DropIndexEntry) {
+				JsonObject entryJson = new JsonObject();
+				entryJson.put(TYPE_KEY, TYPE_DROP_INDEX);
+				entryJson.put("indexName", ((DropIndexEntry) entry).getIndexName());
+				json.add(entryJson);
+			} else {
+				throw new IllegalArgumentException("The entry {" + entry + "} can't be journaled.");
+			}
+		}
+		return json;
+	}
+
+	/**
+	 * Convert the journal representation back into search queue entries.
+	 *
+	 * @param json
+	 * @return
+	 */
+	public List<SearchQueueEntry<?>> fromJson(JsonArray json) {
+		return fromJson(json, false);
+	}
+
+	/**
+	 * Convert the journal representation back into search queue entries. Entries of in doubt records may stem from a transaction which has been rolled back.
+	 * Those entries are only returned if they match the state of the graph. Store and permission entries require the element to exist and delete entries
+	 * require it to be removed. Entries which reference a single document of a node are verified using the container of the document. The verification loads the referenced elements and must thus be invoked within a transaction.
+	 *
+	 * @param json
+	 * @param verify
+	 *            Whether the entries should be verified against the graph
+	 * @return
+	 */
+	public List<SearchQueueEntry<?>> fromJson(JsonArray json, boolean verify) {
+		List<SearchQueueEntry<?>> entries = new ArrayList<>();
+		for (int i = 0; i < json.size(); i++) {
+			JsonObject entryJson = json.getJsonObject(i);
+			String type = entryJson.getString(TYPE_KEY);
+			switch (type) {
+			case TYPE_UPDATE:
+				GenericEntryContext context = new GenericEntryContextImpl();
+				JsonObject contextJson = entryJson.getJsonObject("context");
+				context.setProjectUuid(contextJson.getString("projectUuid"));
+				context.setReleaseUuid(contextJson.getString("releaseUuid"));
+				String containerType = contextJson.getString("containerType");
+				context.setContainerType(containerType == null ? null : ContainerType.valueOf(containerType));
+				context.setLanguageTag(contextJson.getString("languageTag"));
+				context.setSchemaContainerVersionUuid(contextJson.getString("schemaContainerVersionUuid"));
+				SearchQueueEntryAction action = SearchQueueEntryAction.valueOf(entryJson.getString("action"));
+				IndexHandler<?> handler = getHandler(entryJson);
+				String uuid = entryJson.getString("uuid");
+				if (verify && exists(handler, uuid, context) == (action == DELETE_ACTION)) {
+					break;
+				}
+				entries.add(new UpdateDocumentEntryImpl(handler, uuid, context, action));
+				break;
+			case TYPE_CREATE_INDEX:
+				CreateIndexEntry create = new CreateIndexEntryImpl(getHandler(entryJson), entryJson.getString("indexName"));
+				JsonObject schema = entryJson.getJsonObject("schema");
+				if (schema != null) {
+					create.setSchema(JsonUtil.readValue(schema.encode(), SchemaModelImpl.class));
+				}
+				entries.add(create);
+				break;
+			case TYPE_DROP_INDEX:
+				// The index may still be in use if the transaction has been rolled back. Keeping a stale index is the lesser evil.
+				if (!verify) {
+					entries.add(new DropIndexEntryImpl(dropIndexHandler, entryJson.getString("indexName")));
+				}
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown journal entry type {" + type + "}");
+			}
+		}
+		return entries;
+	}
+
+	/**
+	 * Check whether the element which is referenced by the entry exists. Node entries which reference a specific language only match if the node still
+	 * contains the container of the language within the release. The container must also use the referenced schema version since the document would
+	 * otherwise be stored in a different index.
+	 * 
+	 * @param handler
+	 * @param uuid
+	 * @param context
+	 * @return
+	 */
+	private boolean exists(IndexHandler<?> handler, String uuid, GenericEntryContext context) {
+		Object element = handler.getRootVertex().findByUuid(uuid);
+		if (element == null) {
+			return false;
+		}
+		if (!(element instanceof Node) || context.getLanguageTag() == null || context.getReleaseUuid() == null || context.getContainerType() == null) {
+			return true;
+		}
+		NodeGraphFieldContainer container = ((Node) element).getGraphFieldContainer(context.getLanguageTag(), context.getReleaseUuid(), context
+			.getContainerType());
+		if (container == null) {
+			return false;
+		}
+		String versionUuid = context.getSchemaContainerVersionUuid();
+		return versionUuid == null || versionUuid.equals(container.getSchemaContainerVersion().getUuid());
+	}
+
+	private IndexHandler<?> getHandler(JsonObject entryJson) {
+		String handlerType = entryJson.getString("handler");
+		IndexHandler<?> handler = registry.getForType(handlerType);
+		if (handler == null) {
+			throw new IllegalArgumentException("Unknown index handler {" + handlerType + "}");
+		}
+		return handler;
+	}
+
+	private JsonObject toJson(IndexHandler<?> handler, SearchQueueEntryAction action, String uuid, GenericEntryContext context) {
+		JsonObject json = new JsonObject();
+		json.put(TYPE_KEY, TYPE_UPDATE);
+		json.put("handler", handler.getType());
+		json.put("action", action.name());
+		json.put("uuid", uuid);
+		JsonObject contextJson = new JsonObject();
+		if (context != null) {
+			contextJson.put("projectUuid", context.getProjectUuid());
+			contextJson.put("releaseUuid", context.getReleaseUuid());
+			if (context.getContainerType() != null) {
+				contextJson.put("containerType", context.getContainerType().name());
+			}
+			contextJson.put("languageTag", context.getLanguageTag());
+			contextJson.put("schemaContainerVersionUuid", context.getSchemaContainerVersionUuid());
+		}
+		json.put("context", contextJson);
+		return json;
+	}
+
+	private GenericEntryContext toContext(NodeGraphFieldContainer container, String releaseUuid, ContainerType type) {
+		Node node = container.getParentNode();
+		GenericEntryContext context = new GenericEntryContextImpl();
+		context.setProjectUuid(node.getProject().getUuid());
+		context.setReleaseUuid(releaseUuid);
+		context.setContainerType(type);
+		context.setLanguageTag(container.getLanguage().getLanguageTag());
+		context.setSchemaContainerVersionUuid(container.getSchemaContainerVersion().getUuid());
+		return context;
+	}
+
+}
@@ -0,0 +1,563 @@
+package com.gentics.mesh.search.journal;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.gentics.mesh.etc.config.MeshOptions;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Append-only journal for search queue batches. Each batch is written as a single record to the current journal segment before it gets processed. Processed
+ * records are acknowledged by appending the sequence number of the record to the ack file of the segment. Segments which only contain acknowledged records
+ * will be deleted. Records which have not been acknowledged will be replayed when the journal is opened.
+ *
+ * Records are usually written right before the graph transaction which caused them gets committed. A commit mark is appended once the commit succeeded and
+ * the record gets acknowledged if the transaction was rolled back. Records without a commit mark are loaded as in doubt records.
+ *
+ * The log is flushed to disk via group commits. Concurrent appends are written under the journal lock but only a single flush is issued for all records
+ * which have been written in the meantime. Commit marks and acks are not flushed on their own since losing them only causes an idempotent replay.
+ *
+ * The segments of a journal are prefixed with the node name of the instance which owns the journal. Journals of other owners can be taken over once the
+ * owner is no longer running.
+ */
+@Singleton
+public class SearchQueueJournal {
+
+	private static final Logger log = LoggerFactory.getLogger(SearchQueueJournal.class);
+
+	/**
+	 * Size in bytes after which a new segment will be started.
+	 */
+	public static final long MAX_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	private static final String PREFIX = "journal-";
+
+	private static final String LOG_SUFFIX = ".log";
+
+	private static final String ACK_SUFFIX = ".ack";
+
+	private final MeshOptions options;
+
+	private final Object lock = new Object();
+
+	/**
+	 * Records which have neither been acknowledged nor claimed for processing.
+	 */
+	private final NavigableMap<Long, JournalRecord> pending = new ConcurrentSkipListMap<>();
+
+	private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+
+	/**
+	 * Owners whose journals have been taken over.
+	 */
+	private final Set<String> adopted = ConcurrentHashMap.newKeySet();
+
+	private final AtomicLong recordIds = new AtomicLong();
+
+	private Segment current;
+
+	private long sequence = 0;
+
+	private boolean opened = false;
+
+	@Inject
+	public SearchQueueJournal(MeshOptions options) {
+		this.options = options;
+	}
+
+	/**
+	 * Check whether the journal has been enabled.
+	 *
+	 * @return
+	 */
+	public boolean isEnabled() {
+		return options.getSearchOptions().isJournalEnabled();
+	}
+
+	/**
+	 * Return the name of the journal owner. Only the owner may drain the journal.
+	 *
+	 * @return
+	 */
+	public String getOwner() {
+		String nodeName = options.getNodeName();
+		return nodeName == null ? "local" : nodeName;
+	}
+
+	/**
+	 * Open the journal and load all records which have not yet been acknowledged. The method does nothing if the journal has already been opened.
+	 *
+	 * @throws IOException
+	 */
+	public void open() throws IOException {
+		synchronized (lock) {
+			if (opened) {
+				return;
+			}
+			File directory = getDirectory();
+			if (!directory.exists() && !directory.mkdirs()) {
+				throw new IOException("Could not create journal folder {" + directory.getAbsolutePath() + "}");
+			}
+			for (File logFile : listSegments(getOwner())) {
+				loadSegment(logFile, getOwner());
+			}
+			current = createSegment(directory, sequence);
+			opened = true;
+			if (!pending.isEmpty()) {
+				log.info("Loaded {" + pending.size() + "} unprocessed search queue batches from the journal");
+			}
+		}
+	}
+
+	/**
+	 * Return the owners of the other journals which are stored in the journal folder and which have not yet been taken over.
+	 *
+	 * @return
+	 */
+	public Set<String> getForeignOwners() {
+		Set<String> owners = new TreeSet<>();
+		File[] logFiles = getDirectory().listFiles((dir, name) -> name.startsWith(PREFIX) && name.endsWith(LOG_SUFFIX));
+		if (logFiles == null) {
+			return owners;
+		}
+		for (File logFile : logFiles) {
+			String name = logFile.getName();
+			int idx = name.lastIndexOf('-');
+			if (idx > PREFIX.length()) {
+				owners.add(name.substring(PREFIX.length(), idx));
+			}
+		}
+		owners.remove(getOwner());
+		owners.removeAll(adopted);
+		return owners;
+	}
+
+	/**
+	 * Take over the journal of the given owner. The unacknowledged records of the owner will be drained by this instance. The caller must ensure that the
+	 * owner is no longer running.
+	 *
+	 * @param owner
+	 * @return Amount of records which have been taken over
+	 * @throws IOException
+	 */
+	public int takeOver(String owner) throws IOException {
+		open();
+		synchronized (lock) {
+			if (owner.equals(getOwner()) || !adopted.add(owner)) {
+				return 0;
+			}
+			int before = pending.size();
+			for (File logFile : listSegments(owner)) {
+				loadSegment(logFile, owner);
+			}
+			int count = pending.size() - before;
+			log.info("Took over {" + count + "} unprocessed search queue batches from the journal of {" + owner + "}");
+			return count;
+		}
+	}
+
+	/**
+	 * Append the serialized batch entries to the journal. The record will be flushed to disk before the method returns. The record is marked as committed
+	 * since the graph changes which caused the batch have already been committed.
+	 *
+	 * @param entries
+	 *            Serialized entries of the batch
+	 * @param claim
+	 *            Whether the record should be claimed by the caller. Claimed records will not be returned by {@link #claimPending(int)}.
+	 * @return Appended record
+	 * @throws IOException
+	 */
+	public JournalRecord append(JsonArray entries, boolean claim) throws IOException {
+		JournalRecord record = append(Collections.singletonList(entries), true).get(0);
+		if (!claim) {
+			release(record);
+		}
+		return record;
+	}
+
+	/**
+	 * Append the serialized entries of multiple batches to the journal. All records will be flushed to disk at once before the method returns. The records
+	 * are claimed by the caller.
+	 *
+	 * @param batches
+	 *            Serialized entries of the batches
+	 * @param committed
+	 *            Whether the graph changes which caused the batches have already been committed. Uncommitted records must be finished via
+	 *            {@link #commit(Collection)} or {@link #discard(Collection)}.
+	 * @return Appended records
+	 * @throws IOException
+	 */
+	public List<JournalRecord> append(List<JsonArray> batches, boolean committed) throws IOException {
+		open();
+		List<JournalRecord> records = new ArrayList<>(batches.size());
+		Map<Segment, Long> positions = new LinkedHashMap<>();
+		synchronized (lock) {
+			for (JsonArray entries : batches) {
+				if (current.size >= MAX_SEGMENT_SIZE) {
+					Segment old = current;
+					current = createSegment(old.logFile.getParentFile(), sequence);
+					deleteIfDone(old);
+				}
+				long seq = sequence++;
+				JsonObject json = new JsonObject().put("seq", seq);
+				if (committed) {
+					json.put("committed", true);
+				}
+				json.put("entries", entries);
+				current.size += write(current.logChannel, json.encode());
+				current.records++;
+				positions.put(current, current.size);
+				records.add(new JournalRecord(recordIds.incrementAndGet(), seq, current.name, entries, false));
+			}
+		}
+		// Flush outside of the lock so that other appends can be written meanwhile and get flushed along with these records
+		for (Map.Entry<Segment, Long> entry : positions.entrySet()) {
+			entry.getKey().sync(entry.getValue());
+		}
+		return records;
+	}
+
+	/**
+	 * Mark the records as committed. The graph changes which caused the records have been committed successfully.
+	 *
+	 * @param records
+	 * @throws IOException
+	 */
+	public void commit(Collection<JournalRecord> records) throws IOException {
+		synchronized (lock) {
+			for (JournalRecord record : records) {
+				Segment segment = segments.get(record.getSegment());
+				if (segment != null) {
+					write(segment.logChannel, new JsonObject().put("commit", record.getSequence()).encode());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Discard the records. The graph changes which caused the records have been rolled back.
+	 *
+	 * @param records
+	 * @throws IOException
+	 */
+	public void discard(Collection<JournalRecord> records) throws IOException {
+		for (JournalRecord record : records) {
+			ack(record);
+		}
+	}
+
+	/**
+	 * Claim up to the given amount of pending records for processing. Records which could not be processed must be released again.
+	 *
+	 * @param limit
+	 * @return Claimed records in the order in which they were appended
+	 */
+	public List<JournalRecord> claimPending(int limit) {
+		List<JournalRecord> claimed = new ArrayList<>();
+		while (claimed.size() < limit) {
+			Map.Entry<Long, JournalRecord> entry = pending.pollFirstEntry();
+			if (entry == null) {
+				break;
+			}
+			claimed.add(entry.getValue());
+		}
+		return claimed;
+	}
+
+	/**
+	 * Release the claimed record so that it can be claimed again.
+	 *
+	 * @param record
+	 */
+	public void release(JournalRecord record) {
+		pending.put(record.getId(), record);
+	}
+
+	/**
+	 * Return the amount of records which have neither been acknowledged nor claimed.
+	 *
+	 * @return
+	 */
+	public int pendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * Acknowledge the processed record. The segment of the record will be deleted once all of its records have been acknowledged.
+	 *
+	 * @param record
+	 * @throws IOException
+	 */
+	public void ack(JournalRecord record) throws IOException {
+		synchronized (lock) {
+			Segment segment = segments.get(record.getSegment());
+			if (segment == null) {
+				return;
+			}
+			write(segment.ackChannel, String.valueOf(record.getSequence()));
+			segment.acked++;
+			deleteIfDone(segment);
+		}
+	}
+
+	/**
+	 * Close all segments of the journal.
+	 */
+	public void close() {
+		synchronized (lock) {
+			for (Segment segment : segments.values()) {
+				segment.close();
+			}
+			segments.clear();
+			pending.clear();
+			adopted.clear();
+			current = null;
+			opened = false;
+		}
+	}
+
+	private File getDirectory() {
+		return new File(options.getSearchOptions().getJournalPath());
+	}
+
+	private static String segmentPrefix(String owner) {
+		return PREFIX + owner + "-";
+	}
+
+	/**
+	 * List the log files of the segments of the given owner. Segments are named after the sequence number of their first record.
+	 *
+	 * @param owner
+	 * @return Log files in the order of the segments
+	 */
+	private File[] listSegments(String owner) {
+		String prefix = segmentPrefix(owner);
+		File[] logFiles = getDirectory().listFiles((dir, name) -> name.startsWith(prefix) && name.endsWith(LOG_SUFFIX) && segmentStart(name, prefix) >= 0);
+		if (logFiles == null) {
+			return new File[0];
+		}
+		Arrays.sort(logFiles, (a, b) -> Long.compare(segmentStart(a.getName(), prefix), segmentStart(b.getName(), prefix)));
+		return logFiles;
+	}
+
+	private static long segmentStart(String fileName, String prefix) {
+		String start = fileName.substring(prefix.length(), fileName.length() - LOG_SUFFIX.length());
+		try {
+			return Long.parseLong(start);
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private void loadSegment(File logFile, String owner) throws IOException {
+		String name = logFile.getName().substring(0, logFile.getName().length() - LOG_SUFFIX.length());
+		File ackFile = new File(logFile.getParentFile(), name + ACK_SUFFIX);
+
+		Set<Long> acked = new HashSet<>();
+		if (ackFile.exists()) {
+			for (String line : Files.readAllLines(ackFile.toPath(), StandardCharsets.UTF_8)) {
+				try {
+					acked.add(Long.parseLong(line.trim()));
+				} catch (NumberFormatException e) {
+					// The last line may be incomplete if the instance crashed while writing it
+					log.warn("Ignoring invalid ack {" + line + "} in journal segment {" + name + "}");
+				}
+			}
+		}
+
+		Segment segment = new Segment(name, logFile, ackFile);
+		Map<Long, JsonObject> records = new LinkedHashMap<>();
+		Set<Long> committed = new HashSet<>();
+		try (BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.isEmpty()) {
+					continue;
+				}
+				JsonObject json;
+				try {
+					json = new JsonObject(line);
+				} catch (DecodeException e) {
+					// The last line may be incomplete if the instance crashed while writing it
+					log.warn("Ignoring invalid record in journal segment {" + name + "}");
+					continue;
+				}
+				Long commit = json.getLong("commit");
+				if (commit != null) {
+					committed.add(commit);
+					continue;
+				}
+				long seq = json.getLong("seq");
+				records.put(seq, json);
+				if (json.getBoolean("committed", false)) {
+					committed.add(seq);
+				}
+				if (owner.equals(getOwner())) {
+					sequence = Math.max(sequence, seq + 1);
+				}
+			}
+		}
+
+		for (Map.Entry<Long, JsonObject> entry : records.entrySet()) {
+			long seq = entry.getKey();
+			segment.records++;
+			if (acked.contains(seq)) {
+				segment.acked++;
+			} else {
+				JournalRecord record = new JournalRecord(recordIds.incrementAndGet(), seq, name, entry.getValue().getJsonArray("entries"), !committed
+					.contains(seq));
+				pending.put(record.getId(), record);
+			}
+		}
+
+		if (segment.acked >= segment.records) {
+			segment.delete();
+		} else {
+			segment.openChannels();
+			segments.put(name, segment);
+		}
+	}
+
+	private Segment createSegment(File directory, long start) throws IOException {
+		String name = segmentPrefix(getOwner()) + start;
+		Segment segment = new Segment(name, new File(directory, name + LOG_SUFFIX), new File(directory, name + ACK_SUFFIX));
+		segment.openChannels();
+		segments.put(name, segment);
+		return segment;
+	}
+
+	private void deleteIfDone(Segment segment) {
+		if (segment != current && segment.acked >= segment.records) {
+			segments.remove(segment.name);
+			segment.close();
+			segment.delete();
+		}
+	}
+
+	/**
+	 * Write the line to the channel. The line will not be flushed to disk.
+	 *
+	 * @param channel
+	 * @param line
+	 * @return Amount of written bytes
+	 * @throws IOException
+	 */
+	private static int write(FileChannel channel, String line) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+		int size = buffer.remaining();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		return size;
+	}
+
+	/**
+	 * A segment consists of the log file which contains the records and the ack file which contains the sequence numbers of the acknowledged records.
+	 */
+	private static class Segment {
+
+		private final String name;
+
+		private final File logFile;
+
+		private final File ackFile;
+
+		private final Object syncLock = new Object();
+
+		private FileChannel logChannel;
+
+		private FileChannel ackChannel;
+
+		private volatile long size;
+
+		/**
+		 * Size of the log which has been flushed to disk.
+		 */
+		private long synced;
+
+		private int records;
+
+		private int acked;
+
+		Segment(String name, File logFile, File ackFile) {
+			this.name = name;
+			this.logFile = logFile;
+			this.ackFile = ackFile;
+		}
+
+		void openChannels() throws IOException {
+			logChannel = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			ackChannel = FileChannel.open(ackFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+			size = logChannel.size();
+			synced = size;
+		}
+
+		/**
+		 * Flush the log to disk unless the given position has already been flushed by another caller. A single flush covers all records which have been
+		 * written before it was issued.
+		 *
+		 * @param position
+		 * @throws IOException
+		 */
+		void sync(long position) throws IOException {
+			synchronized (syncLock) {
+				if (synced >= position) {
+					return;
+				}
+				long target = size;
+				logChannel.force(false);
+				synced = target;
+			}
+		}
+
+		void close() {
+			try {
+				if (logChannel != null) {
+					logChannel.force(false);
+					logChannel.close();
+				}
+				if (ackChannel != null) {
+					ackChannel.force(false);
+					ackChannel.close();
+				}
+			} catch (IOException e) {
+				log.error("Error while closing journal segment {" + name + "}", e);
+			}
+		}
+
+		void delete() {
+			if (!logFile.delete() || (ackFile.exists() && !ackFile.delete())) {
+				log.warn("Could not delete journal segment {" + name + "}");
+			}
+		}
+	}
+
+}
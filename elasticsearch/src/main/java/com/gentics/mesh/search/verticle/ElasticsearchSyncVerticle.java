@@ -8,6 +8,7 @@ import com.gentics.mesh.Events;
 import com.gentics.mesh.Mesh;
 import com.gentics.mesh.search.IndexHandlerRegistry;
 import com.gentics.mesh.search.SearchProvider;
+import com.gentics.mesh.search.index.PermissionSetRegistry;
 import com.gentics.mesh.search.index.metric.SyncMetric;
 import com.gentics.mesh.verticle.AbstractJobVerticle;
 
@@ -28,10 +29,22 @@ public class ElasticsearchSyncVerticle extends AbstractJobVerticle {
 
 	public static final String GLOBAL_SYNC_LOCK_NAME = "mesh.internal.synclock";
 
+	/**
+	 * Key of the job message flag which enables the deep verify of all documents.
+	 */
+	public static final String DEEP_KEY = "deep";
+
+	/**
+	 * Key of the job message flag which enables the rebuild of the indices.
+	 */
+	public static final String REBUILD_KEY = "rebuild";
+
 	private Lazy<IndexHandlerRegistry> registry;
 
 	private SearchProvider provider;
 
+	private PermissionSetRegistry permissionSets;
+
 	/**
 	 * Send the index sync event which will trigger the index sync job.
 	 */
@@ -40,9 +53,10 @@ public class ElasticsearchSyncVerticle extends AbstractJobVerticle {
 	}
 
 	@Inject
-	public ElasticsearchSyncVerticle(Lazy<IndexHandlerRegistry> registry, SearchProvider provider) {
+	public ElasticsearchSyncVerticle(Lazy<IndexHandlerRegistry> registry, SearchProvider provider, PermissionSetRegistry permissionSets) {
 		this.registry = registry;
 		this.provider = provider;
+		this.permissionSets = permissionSets;
 	}
 
 	public String getJobAdress() {
@@ -55,14 +69,20 @@ public class ElasticsearchSyncVerticle extends AbstractJobVerticle {
 	}
 
 	/**
-	 * Execute the index sync job.
+	 * Execute the index sync job. By default only elements which have been changed since the last sync will be checked. The deep verify of all documents
+	 * can be requested by setting the {@link #DEEP_KEY} flag in the message body. The {@link #REBUILD_KEY} flag will rebuild the indices instead. Permission
+	 * sets which are no longer used by any document will be pruned afterwards.
 	 */
 	public Completable executeJob(Message<Object> message) {
+		JsonObject body = message.body() instanceof JsonObject ? (JsonObject) message.body() : new JsonObject();
+		boolean deep = body.getBoolean(DEEP_KEY, false);
+		boolean rebuild = body.getBoolean(REBUILD_KEY, false);
 		return Completable.fromAction(() -> {
-			log.info("Processing index sync job.");
+			log.info("Processing index sync job. Deep verify: {" + deep + "}, Rebuild: {" + rebuild + "}");
 			SyncMetric.reset();
 		}).andThen(Observable.fromIterable(registry.get().getHandlers())
-			.flatMapCompletable(handler -> handler.init().andThen(handler.syncIndices()))
+			.flatMapCompletable(handler -> handler.init().andThen(rebuild ? handler.rebuildIndices() : handler.syncIndices(deep)))
+			.andThen(permissionSets.prune())
 			.andThen(provider.refreshIndex()).doOnComplete(() -> {
 				vertx.eventBus().publish(Events.INDEX_SYNC_EVENT, new JsonObject().put("status", "completed"));
 				log.info("Sync completed");
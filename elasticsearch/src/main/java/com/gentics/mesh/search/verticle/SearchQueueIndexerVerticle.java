@@ -0,0 +1,273 @@
+package com.gentics.mesh.search.verticle;
+
+import static com.gentics.mesh.Events.SEARCH_QUEUE_INDEXER_ADDRESS;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.inject.Inject;
+
+import com.gentics.mesh.Mesh;
+import com.gentics.mesh.core.data.search.SearchQueue;
+import com.gentics.mesh.core.data.search.SearchQueueBatch;
+import com.gentics.mesh.core.data.search.SearchQueueEntry;
+import com.gentics.mesh.etc.config.MeshOptions;
+import com.gentics.mesh.graphdb.spi.Database;
+import com.gentics.mesh.search.journal.JournalRecord;
+import com.gentics.mesh.search.journal.SearchQueueEntryMapper;
+import com.gentics.mesh.search.journal.SearchQueueJournal;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.Lock;
+
+/**
+ * Verticle which drains the search queue journal. The records of the journal will be processed with a bounded concurrency. Records which could not be
+ * processed will be retried and finally released so that the next drain will pick them up again. Records which have not been processed before the instance
+ * was stopped will be replayed when the verticle gets started.
+ *
+ * The verticle holds the owner lock of its journal while it is running. The journals of other owners will be taken over once their owner lock can be
+ * acquired since this means that the owner is no longer running.
+ */
+public class SearchQueueIndexerVerticle extends AbstractVerticle {
+
+	private static final Logger log = LoggerFactory.getLogger(SearchQueueIndexerVerticle.class);
+
+	public static final String INDEXER_LOCK_PREFIX = "mesh.internal.searchqueue.indexer.";
+
+	public static final String OWNER_LOCK_PREFIX = "mesh.internal.searchqueue.owner.";
+
+	/**
+	 * Interval in milliseconds in which the journal will be drained even if no drain was requested.
+	 */
+	private static final long DRAIN_INTERVAL = 10_000;
+
+	/**
+	 * Base delay in milliseconds between the processing attempts of a record.
+	 */
+	private static final long RETRY_DELAY = 500;
+
+	private final SearchQueueJournal journal;
+
+	private final SearchQueueEntryMapper mapper;
+
+	private final SearchQueue searchQueue;
+
+	private final MeshOptions options;
+
+	private final Database db;
+
+	/**
+	 * Owner locks of the own journal and of the journals which have been taken over.
+	 */
+	private final Map<String, Lock> ownerLocks = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean running = new AtomicBoolean(false);
+
+	private final AtomicBoolean requested = new AtomicBoolean(false);
+
+	private MessageConsumer<Object> consumer;
+
+	private Long timerId;
+
+	/**
+	 * Send the event which will trigger the drain of the search queue journal.
+	 */
+	public static void invokeDrain() {
+		Mesh.mesh().getVertx().eventBus().send(SEARCH_QUEUE_INDEXER_ADDRESS, null);
+	}
+
+	@Inject
+	public SearchQueueIndexerVerticle(SearchQueueJournal journal, SearchQueueEntryMapper mapper, SearchQueue searchQueue, MeshOptions options,
+		Database db) {
+		this.journal = journal;
+		this.mapper = mapper;
+		this.searchQueue = searchQueue;
+		this.options = options;
+		this.db = db;
+	}
+
+	@Override
+	public void start() throws Exception {
+		if (!journal.isEnabled()) {
+			log.debug("The search queue journal is disabled. Not starting the indexer.");
+			return;
+		}
+		// Opening the journal will load the records which have not been processed before the last shutdown
+		journal.open();
+		consumer = vertx.eventBus().localConsumer(SEARCH_QUEUE_INDEXER_ADDRESS, message -> drain());
+		timerId = vertx.setPeriodic(DRAIN_INTERVAL, id -> {
+			takeOverOrphanedJournals();
+			drain();
+		});
+		takeOverOrphanedJournals();
+		drain();
+	}
+
+	@Override
+	public void stop() throws Exception {
+		if (consumer != null) {
+			consumer.unregister();
+		}
+		if (timerId != null) {
+			vertx.cancelTimer(timerId);
+		}
+		for (Lock lock : ownerLocks.values()) {
+			lock.release();
+		}
+		ownerLocks.clear();
+	}
+
+	/**
+	 * Take over the journals of other owners which are no longer running. The owner lock is held by a running owner and will be released by the cluster
+	 * once the owner dies. The lock of a taken over journal is kept so that no other instance takes over the journal as well.
+	 * 
+	 * Journals will only be taken over while the owner lock of the own journal is held. Otherwise another instance which uses the same owner name could
+	 * replay the same journals concurrently. The own lock will be acquired again by the next invocation.
+	 */
+	private void takeOverOrphanedJournals() {
+		String owner = journal.getOwner();
+		if (ownerLocks.containsKey(owner)) {
+			takeOverForeignJournals();
+			return;
+		}
+		vertx.sharedData().getLockWithTimeout(OWNER_LOCK_PREFIX + owner, 1000, rh -> {
+			if (rh.failed()) {
+				log.warn("Could not acquire the owner lock of journal {" + owner + "}. Another instance may use the same node name. Orphaned journals will "
+					+ "not be taken over until the lock has been acquired.", rh.cause());
+				return;
+			}
+			if (ownerLocks.putIfAbsent(owner, rh.result()) != null) {
+				rh.result().release();
+			}
+			takeOverForeignJournals();
+		});
+	}
+
+	private void takeOverForeignJournals() {
+		for (String owner : journal.getForeignOwners()) {
+			if (ownerLocks.containsKey(owner)) {
+				continue;
+			}
+			vertx.sharedData().getLockWithTimeout(OWNER_LOCK_PREFIX + owner, 100, rh -> {
+				if (rh.failed()) {
+					log.debug("The owner {" + owner + "} of the journal is still running");
+					return;
+				}
+				if (ownerLocks.putIfAbsent(owner, rh.result()) != null) {
+					rh.result().release();
+					return;
+				}
+				try {
+					if (journal.takeOver(owner) > 0) {
+						drain();
+					}
+				} catch (IOException e) {
+					log.error("Could not take over the journal of {" + owner + "}", e);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Drain the journal. The method will only flag the request if a drain is already running. The running drain will check the flag and continue afterwards.
+	 */
+	private void drain() {
+		requested.set(true);
+		if (!running.compareAndSet(false, true)) {
+			return;
+		}
+		// The lock prevents other instances from draining the journal of this instance
+		String lockName = INDEXER_LOCK_PREFIX + journal.getOwner();
+		vertx.sharedData().getLockWithTimeout(lockName, 1000, rh -> {
+			if (rh.failed()) {
+				log.warn("Could not acquire lock {" + lockName + "}. The journal will be drained later.", rh.cause());
+				running.set(false);
+				return;
+			}
+			Lock lock = rh.result();
+			AtomicBoolean failed = new AtomicBoolean(false);
+			drainPending(failed).doFinally(() -> {
+				lock.release();
+				running.set(false);
+				// Failed records will be retried by the periodic drain
+				if (requested.get() && !failed.get()) {
+					drain();
+				}
+			}).subscribe(() -> {
+				log.debug("Drained search queue journal");
+			}, error -> {
+				log.error("Error while draining the search queue journal", error);
+			});
+		});
+	}
+
+	private Completable drainPending(AtomicBoolean failed) {
+		return Completable.defer(() -> {
+			requested.set(false);
+			int concurrency = Math.max(1, options.getSearchOptions().getIndexerConcurrency());
+			List<JournalRecord> records = journal.claimPending(concurrency * 4);
+			if (records.isEmpty()) {
+				return Completable.complete();
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("Processing {" + records.size() + "} records of the search queue journal");
+			}
+			// The entries only reference the elements. Processing records out of order will thus always store the latest state of the element.
+			return Flowable.fromIterable(records)
+				.flatMapCompletable(record -> process(record, failed), false, concurrency)
+				.andThen(Completable.defer(() -> failed.get() ? Completable.complete() : drainPending(failed)));
+		});
+	}
+
+	/**
+	 * Process the record and acknowledge it. The record will be released if it could not be processed within the configured retry limit.
+	 *
+	 * @param record
+	 * @param failed
+	 *            Flag which will be set if the record could not be processed
+	 * @return
+	 */
+	private Completable process(JournalRecord record, AtomicBoolean failed) {
+		int retryLimit = options.getSearchOptions().getIndexerRetryLimit();
+		AtomicInteger attempts = new AtomicInteger();
+		return Completable.defer(() -> {
+			SearchQueueBatch batch = searchQueue.create();
+			List<SearchQueueEntry<?>> entries;
+			if (record.isInDoubt()) {
+				// The transaction which wrote the record may have been rolled back. Only entries which match the graph will be applied.
+				entries = db.tx(() -> mapper.fromJson(record.getEntries(), true));
+			} else {
+				entries = mapper.fromJson(record.getEntries());
+			}
+			for (SearchQueueEntry<?> entry : entries) {
+				batch.addEntry(entry);
+			}
+			return batch.processEntries();
+		}).retryWhen(errors -> errors.flatMap(error -> {
+			int attempt = attempts.incrementAndGet();
+			if (attempt > retryLimit) {
+				return Flowable.<Object>error(error);
+			}
+			log.warn("Error while processing {" + record + "}. Retrying {" + attempt + "} of {" + retryLimit + "}", error);
+			return Flowable.timer(attempt * RETRY_DELAY, TimeUnit.MILLISECONDS).cast(Object.class);
+		})).doOnComplete(() -> {
+			journal.ack(record);
+		}).onErrorResumeNext(error -> {
+			log.error("Could not process {" + record + "}. The record will be processed again by the next drain.", error);
+			journal.release(record);
+			failed.set(true);
+			return Completable.complete();
+		});
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.gentics.mesh.search.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.DeleteBulkEntry;
+import com.gentics.mesh.core.data.search.bulk.IndexBulkEntry;
+import com.gentics.mesh.search.impl.BulkChunker.BulkChunk;
+
+import io.vertx.core.json.JsonObject;
+
+public class BulkChunkerTest {
+
+	@Test
+	public void testCountLimit() {
+		List<BulkEntry> entries = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			entries.add(new DeleteBulkEntry("index", "doc" + i));
+		}
+		BulkChunker chunker = new BulkChunker(entries, "mesh-", 2, Long.MAX_VALUE);
+		assertEquals(2, chunker.next().getEntries().size());
+		assertEquals(2, chunker.next().getEntries().size());
+		BulkChunk last = chunker.next();
+		assertEquals(1, last.getEntries().size());
+		assertEquals(new DeleteBulkEntry("index", "doc4").toBulkString("mesh-") + "\n", last.getPayload());
+		assertNull(chunker.next());
+	}
+
+	@Test
+	public void testLengthLimit() {
+		List<BulkEntry> entries = new ArrayList<>();
+		entries.add(new IndexBulkEntry("index", "small", new JsonObject().put("text", "a")));
+		entries.add(new IndexBulkEntry("index", "large", new JsonObject().put("text", StringUtils.repeat("ä", 1000))));
+		entries.add(new IndexBulkEntry("index", "small2", new JsonObject().put("text", "b")));
+
+		BulkChunker chunker = new BulkChunker(entries, "mesh-", 100, 1000);
+		BulkChunk first = chunker.next();
+		assertEquals(1, first.getEntries().size());
+		assertTrue(first.getPayload().contains("\"small\""));
+
+		// The large entry exceeds the limit on its own and is thus sent alone
+		BulkChunk second = chunker.next();
+		assertEquals(1, second.getEntries().size());
+		assertTrue("Umlauts need two bytes", second.getLength() > 2000);
+		assertEquals(second.getLength(), second.getPayload().getBytes(StandardCharsets.UTF_8).length);
+
+		BulkChunk third = chunker.next();
+		assertEquals(1, third.getEntries().size());
+		assertTrue(third.getPayload().contains("\"small2\""));
+		assertNull(chunker.next());
+	}
+
+}
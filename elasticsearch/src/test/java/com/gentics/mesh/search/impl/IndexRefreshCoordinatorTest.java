@@ -0,0 +1,75 @@
+package com.gentics.mesh.search.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import com.gentics.mesh.etc.config.MeshOptions;
+import com.gentics.mesh.search.SearchProvider;
+
+import io.reactivex.Completable;
+import io.reactivex.CompletableEmitter;
+
+public class IndexRefreshCoordinatorTest {
+
+	@Test
+	public void testMergeWhileRunning() {
+		List<Set<String>> refreshed = new ArrayList<>();
+		List<CompletableEmitter> emitters = new ArrayList<>();
+		SearchProvider provider = mock(SearchProvider.class);
+		when(provider.refreshIndex(Matchers.<String>anyVararg())).then(invocation -> {
+			Set<String> indices = new HashSet<>();
+			for (Object index : invocation.getArguments()) {
+				indices.add((String) index);
+			}
+			refreshed.add(indices);
+			return Completable.create(emitters::add);
+		});
+
+		IndexRefreshCoordinator coordinator = new IndexRefreshCoordinator(provider, new MeshOptions(), null);
+		CompletableFuture<Void> first = coordinator.requestRefresh(Arrays.asList("a"));
+		assertEquals(1, refreshed.size());
+
+		// The following requests are made while the first refresh is running
+		CompletableFuture<Void> second = coordinator.requestRefresh(Arrays.asList("b"));
+		CompletableFuture<Void> third = coordinator.requestRefresh(Arrays.asList("c"));
+		assertEquals("The refresh must not be executed while another refresh is running", 1, refreshed.size());
+
+		emitters.get(0).onComplete();
+		assertTrue(first.isDone());
+		assertFalse(second.isDone());
+		assertEquals("Both pending requests should have been merged", 2, refreshed.size());
+		assertEquals(new HashSet<>(Arrays.asList("b", "c")), refreshed.get(1));
+
+		emitters.get(1).onComplete();
+		assertTrue(second.isDone());
+		assertTrue(third.isDone());
+	}
+
+	@Test
+	public void testRefreshAll() {
+		List<Integer> argumentCounts = new ArrayList<>();
+		SearchProvider provider = mock(SearchProvider.class);
+		when(provider.refreshIndex(Matchers.<String>anyVararg())).then(invocation -> {
+			argumentCounts.add(invocation.getArguments().length);
+			return Completable.complete();
+		});
+		IndexRefreshCoordinator coordinator = new IndexRefreshCoordinator(provider, new MeshOptions(), null);
+		coordinator.refresh(Collections.emptyList()).blockingAwait();
+		assertEquals(Arrays.asList(0), argumentCounts);
+	}
+
+}
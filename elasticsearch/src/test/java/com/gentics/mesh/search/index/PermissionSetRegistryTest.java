@@ -0,0 +1,125 @@
+package com.gentics.mesh.search.index;
+
+import static com.gentics.mesh.search.index.PermissionSetRegistry.PERMISSION_SET_KEY;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.Matchers;
+
+import com.gentics.elasticsearch.client.okhttp.RequestBuilder;
+import com.gentics.mesh.core.data.search.bulk.BulkEntry;
+import com.gentics.mesh.core.data.search.bulk.UpdateBulkEntry;
+import com.gentics.mesh.search.SearchProvider;
+import com.gentics.mesh.search.impl.SearchClient;
+
+import io.reactivex.Completable;
+import io.reactivex.Single;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class PermissionSetRegistryTest {
+
+	@Test
+	public void testSetId() {
+		PermissionSetRegistry registry = new PermissionSetRegistry(mock(SearchProvider.class));
+		String setId = registry.toSetId(Arrays.asList("role1", "role2"));
+		assertEquals(32, setId.length());
+		assertEquals("The order of the roles must not affect the id", setId, registry.toSetId(Arrays.asList("role2", "role1")));
+		assertNotEquals(setId, registry.toSetId(Arrays.asList("role1")));
+	}
+
+	@Test
+	public void testFlushRegistersOnce() {
+		List<BulkEntry> entries = new ArrayList<>();
+		SearchProvider provider = mock(SearchProvider.class);
+		when(provider.processBulk(Matchers.anyListOf(BulkEntry.class))).then(invocation -> {
+			for (Object entry : (List<?>) invocation.getArguments()[0]) {
+				entries.add((BulkEntry) entry);
+			}
+			return Completable.complete();
+		});
+		PermissionSetRegistry registry = new PermissionSetRegistry(provider);
+
+		String setId = registry.toSetId(Arrays.asList("role1", "role2"));
+		registry.toSetId(Arrays.asList("role2", "role1"));
+		registry.flush().blockingAwait();
+		assertEquals("Each role of the set and the set itself should be updated once", 3, entries.size());
+		UpdateBulkEntry entry = (UpdateBulkEntry) entries.get(0);
+		assertEquals(PermissionSetRegistry.PERMISSION_SET_INDEX, entry.getIndexName());
+		assertEquals(setId, entry.getPayload().getJsonObject("script").getJsonObject("params").getString("set"));
+		UpdateBulkEntry setEntry = (UpdateBulkEntry) entries.get(2);
+		assertEquals(PermissionSetRegistry.SET_DOCUMENT_PREFIX + setId, setEntry.getDocumentId());
+		JsonObject setDocument = setEntry.getPayload().getJsonObject("doc");
+		assertEquals(new JsonArray().add("role1").add("role2"), setDocument.getJsonArray(PermissionSetRegistry.ROLES_KEY));
+		assertNotNull("The time of the registration should be stored", setDocument.getLong(PermissionSetRegistry.REGISTERED_KEY));
+
+		// Known sets must not be registered again
+		registry.toSetId(Arrays.asList("role1", "role2"));
+		registry.flush().blockingAwait();
+		assertEquals(3, entries.size());
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testGroupSetReplacesRoles() {
+		List<BulkEntry> entries = new ArrayList<>();
+		SearchProvider provider = mock(SearchProvider.class);
+		when(provider.processBulk(Matchers.anyListOf(BulkEntry.class))).then(invocation -> {
+			for (Object entry : (List<?>) invocation.getArguments()[0]) {
+				entries.add((BulkEntry) entry);
+			}
+			return Completable.complete();
+		});
+		// The set is currently registered for role1 and role3
+		JsonArray hits = new JsonArray().add(new JsonObject().put("_id", "role1")).add(new JsonObject().put("_id", "role3"));
+		JsonObject result = new JsonObject().put("hits", new JsonObject().put("hits", hits));
+		RequestBuilder<JsonObject> request = mock(RequestBuilder.class);
+		when(request.async()).thenReturn(Single.just(new JsonObject().put("responses", new JsonArray().add(result))));
+		SearchClient client = mock(SearchClient.class);
+		when(client.multiSearch(Matchers.any(JsonObject.class), Matchers.any(JsonObject.class))).thenReturn(request);
+		when(provider.getClient()).thenReturn(client);
+		PermissionSetRegistry registry = new PermissionSetRegistry(provider);
+
+		assertEquals("The id of the group set should be kept", "group1", registry.toGroupSetId("group1", Arrays.asList("role2", "role1")));
+		registry.flush().blockingAwait();
+		assertEquals("Both roles and the set should be registered and the set should be removed from role3", 4, entries.size());
+		UpdateBulkEntry unregister = (UpdateBulkEntry) entries.get(3);
+		assertEquals("role3", unregister.getDocumentId());
+		assertEquals(new JsonArray().add("group1"), unregister.getPayload().getJsonObject("script").getJsonObject("params").getJsonArray(
+			PermissionSetRegistry.SETS_KEY));
+
+		// Unchanged roles must not be registered again
+		registry.toGroupSetId("group1", Arrays.asList("role1", "role2"));
+		registry.flush().blockingAwait();
+		assertEquals(4, entries.size());
+
+		// Changed roles replace the registration
+		registry.toGroupSetId("group1", Arrays.asList("role1"));
+		registry.flush().blockingAwait();
+		assertEquals("The set should be registered again", 7, entries.size());
+	}
+
+	@Test
+	public void testPermissionFilter() {
+		JsonObject filter = PermissionSetRegistry.createPermissionFilter("mesh-", Arrays.asList("role1", "role2"));
+		JsonArray lookups = filter.getJsonObject("bool").getJsonArray("should");
+		assertEquals(2, lookups.size());
+		JsonObject lookup = lookups.getJsonObject(0).getJsonObject("terms").getJsonObject(PERMISSION_SET_KEY);
+		assertEquals("mesh-" + PermissionSetRegistry.PERMISSION_SET_INDEX, lookup.getString("index"));
+		assertEquals("role1", lookup.getString("id"));
+
+		JsonObject emptyFilter = PermissionSetRegistry.createPermissionFilter("mesh-", Collections.emptyList());
+		assertTrue("Users without roles must not match any document", emptyFilter.getJsonObject("terms").getJsonArray(PERMISSION_SET_KEY).isEmpty());
+	}
+
+}
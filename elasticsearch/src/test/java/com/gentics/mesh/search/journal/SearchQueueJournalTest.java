@@ -0,0 +1,141 @@
+package com.gentics.mesh.search.journal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.gentics.mesh.etc.config.MeshOptions;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class SearchQueueJournalTest {
+
+	private File journalDir;
+
+	private MeshOptions options;
+
+	@Before
+	public void setup() throws IOException {
+		journalDir = new File("target", "journal_" + System.currentTimeMillis());
+		options = new MeshOptions();
+		options.setNodeName("testNode");
+		options.getSearchOptions().setJournalEnabled(true);
+		options.getSearchOptions().setJournalPath(journalDir.getAbsolutePath());
+	}
+
+	@After
+	public void cleanup() throws IOException {
+		FileUtils.deleteDirectory(journalDir);
+	}
+
+	@Test
+	public void testReplayUnacknowledged() throws IOException {
+		SearchQueueJournal journal = new SearchQueueJournal(options);
+		journal.open();
+		JournalRecord first = journal.append(entries("first"), false);
+		journal.append(entries("second"), false);
+		JournalRecord claimed = journal.append(entries("claimed"), true);
+		assertEquals("Claimed records must not be pending", 2, journal.pendingCount());
+
+		journal.ack(first);
+		journal.close();
+
+		// Reopen the journal to simulate a restart
+		journal = new SearchQueueJournal(options);
+		journal.open();
+		List<JournalRecord> records = journal.claimPending(10);
+		assertEquals("The acknowledged record must not be replayed", 2, records.size());
+		assertEquals("second", records.get(0).getEntries().getJsonObject(0).getString("uuid"));
+		assertEquals(claimed.getSequence(), records.get(1).getSequence());
+
+		// New records must continue the sequence
+		JournalRecord next = journal.append(entries("next"), true);
+		assertTrue(next.getSequence() > claimed.getSequence());
+		journal.close();
+	}
+
+	@Test
+	public void testClaimAndRelease() throws IOException {
+		SearchQueueJournal journal = new SearchQueueJournal(options);
+		journal.open();
+		journal.append(entries("a"), false);
+		journal.append(entries("b"), false);
+
+		List<JournalRecord> records = journal.claimPending(1);
+		assertEquals(1, records.size());
+		assertEquals(1, journal.pendingCount());
+
+		journal.release(records.get(0));
+		records = journal.claimPending(10);
+		assertEquals("The released record should be claimed first", "a", records.get(0).getEntries().getJsonObject(0).getString("uuid"));
+		journal.close();
+	}
+
+	@Test
+	public void testUncommittedRecords() throws IOException {
+		SearchQueueJournal journal = new SearchQueueJournal(options);
+		journal.open();
+		List<JournalRecord> records = journal.append(Arrays.asList(entries("committed"), entries("rolledBack"), entries("crashed")), false);
+		assertEquals("Records of uncommitted transactions must be claimed", 0, journal.pendingCount());
+		journal.commit(records.subList(0, 1));
+		journal.discard(records.subList(1, 2));
+		journal.close();
+
+		journal = new SearchQueueJournal(options);
+		journal.open();
+		records = journal.claimPending(10);
+		assertEquals("The discarded record must not be replayed", 2, records.size());
+		assertEquals("committed", records.get(0).getEntries().getJsonObject(0).getString("uuid"));
+		assertFalse(records.get(0).isInDoubt());
+		assertEquals("crashed", records.get(1).getEntries().getJsonObject(0).getString("uuid"));
+		assertTrue("The commit of the record was not marked", records.get(1).isInDoubt());
+		journal.close();
+	}
+
+	@Test
+	public void testTakeOver() throws IOException {
+		MeshOptions deadOptions = new MeshOptions();
+		deadOptions.setNodeName("deadNode");
+		deadOptions.getSearchOptions().setJournalEnabled(true);
+		deadOptions.getSearchOptions().setJournalPath(journalDir.getAbsolutePath());
+		SearchQueueJournal deadJournal = new SearchQueueJournal(deadOptions);
+		deadJournal.open();
+		deadJournal.append(entries("orphan1"), false);
+		deadJournal.append(entries("orphan2"), false);
+		deadJournal.close();
+
+		SearchQueueJournal journal = new SearchQueueJournal(options);
+		journal.open();
+		journal.append(entries("own"), false);
+		assertEquals(Collections.singleton("deadNode"), journal.getForeignOwners());
+		assertEquals(2, journal.takeOver("deadNode"));
+		assertTrue("The journal must not be taken over twice", journal.getForeignOwners().isEmpty());
+		assertEquals(0, journal.takeOver("deadNode"));
+
+		List<JournalRecord> records = journal.claimPending(10);
+		assertEquals(3, records.size());
+		for (JournalRecord record : records) {
+			journal.ack(record);
+		}
+		File[] deadSegments = journalDir.listFiles((dir, name) -> name.startsWith("journal-deadNode-"));
+		assertEquals("The segments of the dead owner should be deleted once all records were acknowledged", 0, deadSegments.length);
+		journal.close();
+	}
+
+	private JsonArray entries(String uuid) {
+		return new JsonArray().add(new JsonObject().put("type", "update").put("uuid", uuid));
+	}
+
+}
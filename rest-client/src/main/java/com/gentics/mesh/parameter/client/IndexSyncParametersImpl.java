@@ -0,0 +1,7 @@
+package com.gentics.mesh.parameter.client;
+
+import com.gentics.mesh.parameter.IndexSyncParameters;
+
+public class IndexSyncParametersImpl extends AbstractParameters implements IndexSyncParameters {
+
+}
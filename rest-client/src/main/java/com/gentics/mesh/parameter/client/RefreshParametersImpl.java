@@ -0,0 +1,7 @@
+package com.gentics.mesh.parameter.client;
+
+import com.gentics.mesh.parameter.RefreshParameters;
+
+public class RefreshParametersImpl extends AbstractParameters implements RefreshParameters {
+
+}
@@ -11,6 +11,7 @@ import com.gentics.mesh.core.rest.search.SearchStatusResponse;
 import com.gentics.mesh.core.rest.tag.TagFamilyListResponse;
 import com.gentics.mesh.core.rest.tag.TagListResponse;
 import com.gentics.mesh.core.rest.user.UserListResponse;
+import com.gentics.mesh.parameter.IndexSyncParameters;
 import com.gentics.mesh.parameter.ParameterProvider;
 import com.gentics.mesh.rest.client.MeshRequest;
 
@@ -252,11 +253,13 @@ public interface SearchClientMethods {
 
 	/**
 	 * Trigger the index sync action which will synchronize the index for all elements. This is useful when you want to sync the search index after restoring a
-	 * backup.
+	 * backup. By default only elements which have been changed since the last sync will be checked. Use the {@link IndexSyncParameters#setDeep(boolean)}
+	 * parameter to compare all documents.
 	 * 
+	 * @param parameters
 	 * @return
 	 */
-	MeshRequest<GenericMessageResponse> invokeIndexSync();
+	MeshRequest<GenericMessageResponse> invokeIndexSync(ParameterProvider... parameters);
 
 	/**
 	 * Return the elasticsearch status. This will also contain information about the progress of running index sync operations.
@@ -0,0 +1,52 @@
+package com.gentics.mesh.parameter;
+
+import org.apache.commons.lang.BooleanUtils;
+
+public interface IndexSyncParameters extends ParameterProvider {
+
+	public static final String DEEP_PARAMETER_KEY = "deep";
+
+	public static final String REBUILD_PARAMETER_KEY = "rebuild";
+
+	/**
+	 * Set the deep verify flag. When enabled the sync will compare the versions of all documents instead of only checking the elements which have been
+	 * changed since the last sync.
+	 * 
+	 * @param flag
+	 * @return Fluent API
+	 */
+	default IndexSyncParameters setDeep(boolean flag) {
+		setParameter(DEEP_PARAMETER_KEY, String.valueOf(flag));
+		return this;
+	}
+
+	/**
+	 * Check whether the deep verify flag is enabled.
+	 * 
+	 * @return
+	 */
+	default boolean isDeep() {
+		return BooleanUtils.toBooleanDefaultIfNull(Boolean.valueOf(getParameter(DEEP_PARAMETER_KEY)), false);
+	}
+
+	/**
+	 * Set the rebuild flag. When enabled the node indices will be rebuilt in the background and searches will be switched to the rebuilt indices once they
+	 * are complete. This way changed index settings and mappings can be applied without affecting searches.
+	 * 
+	 * @param flag
+	 * @return Fluent API
+	 */
+	default IndexSyncParameters setRebuild(boolean flag) {
+		setParameter(REBUILD_PARAMETER_KEY, String.valueOf(flag));
+		return this;
+	}
+
+	/**
+	 * Check whether the rebuild flag is enabled.
+	 * 
+	 * @return
+	 */
+	default boolean isRebuild() {
+		return BooleanUtils.toBooleanDefaultIfNull(Boolean.valueOf(getParameter(REBUILD_PARAMETER_KEY)), false);
+	}
+}
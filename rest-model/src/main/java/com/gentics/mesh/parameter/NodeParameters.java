@@ -1,7 +1,10 @@
 package com.gentics.mesh.parameter;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.gentics.mesh.Mesh;
 
@@ -27,6 +30,51 @@ public interface NodeParameters extends ParameterProvider {
 	 */
 	public static final String RESOLVE_LINKS_QUERY_PARAM_KEY = "resolveLinks";
 
+	/**
+	 * Query parameter key: {@value #FIELDS_QUERY_PARAM_KEY}
+	 */
+	public static final String FIELDS_QUERY_PARAM_KEY = "fields";
+
+	/**
+	 * Name of the section which contains the schema fields. Individual fields can be selected using the <code>fields.</code> prefix.
+	 */
+	public static final String FIELDS_SECTION = "fields";
+
+	/**
+	 * Name of the children info section: {@value #CHILDREN_INFO_SECTION}
+	 */
+	public static final String CHILDREN_INFO_SECTION = "childrenInfo";
+
+	/**
+	 * Name of the breadcrumb section: {@value #BREADCRUMB_SECTION}
+	 */
+	public static final String BREADCRUMB_SECTION = "breadcrumb";
+
+	/**
+	 * Name of the webroot path section: {@value #PATH_SECTION}
+	 */
+	public static final String PATH_SECTION = "path";
+
+	/**
+	 * Name of the language paths section: {@value #LANGUAGE_PATHS_SECTION}
+	 */
+	public static final String LANGUAGE_PATHS_SECTION = "languagePaths";
+
+	/**
+	 * Name of the tags section: {@value #TAGS_SECTION}
+	 */
+	public static final String TAGS_SECTION = "tags";
+
+	/**
+	 * Name of the role permissions section: {@value #ROLE_PERMS_SECTION}
+	 */
+	public static final String ROLE_PERMS_SECTION = "rolePerms";
+
+	/**
+	 * Name of the project reference section: {@value #PROJECT_SECTION}
+	 */
+	public static final String PROJECT_SECTION = "project";
+
 	/**
 	 * Set the <code>{@value #LANGUAGES_QUERY_PARAM_KEY}</code> request parameter values.
 	 * 
@@ -135,6 +183,81 @@ public interface NodeParameters extends ParameterProvider {
 		}
 	}
 
+	/**
+	 * Set the <code>{@value #FIELDS_QUERY_PARAM_KEY}</code> request parameter values. Only the given sections and fields will be included in the response.
+	 * 
+	 * @param fields
+	 *            Names of sections (e.g. <code>breadcrumb</code>, <code>tags</code>) or schema fields (e.g. <code>fields.title</code>)
+	 * @return Fluent API
+	 */
+	default NodeParameters setFields(String... fields) {
+		setParameter(FIELDS_QUERY_PARAM_KEY, convertToStr(fields));
+		return this;
+	}
+
+	/**
+	 * Return the <code>{@value #FIELDS_QUERY_PARAM_KEY}</code> request parameter values.
+	 * 
+	 * @return Requested sections and fields or an empty array if all sections and fields should be included
+	 */
+	default String[] getFields() {
+		Set<String> fields = getFieldSet();
+		return fields.toArray(new String[fields.size()]);
+	}
+
+	/**
+	 * Return the trimmed <code>{@value #FIELDS_QUERY_PARAM_KEY}</code> request parameter values.
+	 * 
+	 * @return Requested sections and fields or an empty set if all sections and fields should be included
+	 */
+	default Set<String> getFieldSet() {
+		return parseFields(getParameter(FIELDS_QUERY_PARAM_KEY));
+	}
+
+	/**
+	 * Check whether the given section of the response was requested.
+	 * 
+	 * @param section
+	 * @return
+	 */
+	default boolean isSectionRequested(String section) {
+		Set<String> fields = getFieldSet();
+		return fields.isEmpty() || fields.contains(section);
+	}
+
+	/**
+	 * Check whether the schema field with the given name was requested.
+	 * 
+	 * @param fieldName
+	 * @return
+	 */
+	default boolean isFieldRequested(String fieldName) {
+		Set<String> fields = getFieldSet();
+		return fields.isEmpty() || fields.contains(FIELDS_SECTION) || fields.contains(FIELDS_SECTION + "." + fieldName);
+	}
+
+	/**
+	 * Parse the comma-separated value of the <code>{@value #FIELDS_QUERY_PARAM_KEY}</code> request parameter. Whitespace around the values and empty values
+	 * will be ignored.
+	 * 
+	 * @param value
+	 *            Parameter value or null
+	 * @return Requested sections and fields in the given order
+	 */
+	static Set<String> parseFields(String value) {
+		if (value == null || value.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<String> fields = new LinkedHashSet<>();
+		for (String field : value.split(",")) {
+			String trimmed = field.trim();
+			if (!trimmed.isEmpty()) {
+				fields.add(trimmed);
+			}
+		}
+		return Collections.unmodifiableSet(fields);
+	}
+
 	/**
 	 * @see #getLanguages()
 	 * @return
@@ -9,6 +9,8 @@ public interface PagingParameters extends ParameterProvider {
 	public static final String PER_PAGE_PARAMETER_KEY = "perPage";
 	public static final String SORT_BY_PARAMETER_KEY = "sortBy";
 	public static final String SORT_ORDER_PARAMETER_KEY = "order";
+	public static final String AFTER_PARAMETER_KEY = "after";
+	public static final String TOTAL_COUNT_PARAMETER_KEY = "totalCount";
 
 	public static final int DEFAULT_PAGE = 1;
 	public static final int DEFAULT_PAGE_SIZE = 25;
@@ -55,6 +57,54 @@ public interface PagingParameters extends ParameterProvider {
 		return this;
 	}
 
+	/**
+	 * Return the cursor of the last element of the previous page. The page will start with the element which follows the element identified by the cursor.
+	 * The page will start with the successor of the element if the element has been deleted in the meantime. The page parameter will be ignored if a cursor
+	 * has been set.
+	 * 
+	 * @return Cursor or null if no cursor has been set
+	 */
+	default String getAfter() {
+		return getParameter(AFTER_PARAMETER_KEY);
+	}
+
+	/**
+	 * Set the cursor of the last element of the previous page. The cursor is returned by the <code>nextCursor</code> property of the paging information.
+	 * 
+	 * @param cursor
+	 *            Cursor
+	 * @return Fluent API
+	 */
+	default PagingParameters setAfter(String cursor) {
+		setParameter(AFTER_PARAMETER_KEY, cursor);
+		return this;
+	}
+
+	/**
+	 * Check whether the total count of elements and pages should be determined. Counting requires all elements to be loaded and checked. By default the
+	 * total count will be determined unless a cursor has been set.
+	 * 
+	 * @return
+	 */
+	default boolean isTotalCount() {
+		String value = getParameter(TOTAL_COUNT_PARAMETER_KEY);
+		if (value != null) {
+			return Boolean.valueOf(value);
+		}
+		return getAfter() == null;
+	}
+
+	/**
+	 * Set the flag which controls whether the total count of elements and pages should be determined.
+	 * 
+	 * @param flag
+	 * @return Fluent API
+	 */
+	default PagingParameters setTotalCount(boolean flag) {
+		setParameter(TOTAL_COUNT_PARAMETER_KEY, String.valueOf(flag));
+		return this;
+	}
+
 	/**
 	 * Return the sort by parameter value.
 	 * 
@@ -0,0 +1,51 @@
+package com.gentics.mesh.parameter;
+
+public interface RefreshParameters extends ParameterProvider {
+
+	public static final String REFRESH_PARAMETER_KEY = "refresh";
+
+	/**
+	 * Parameter value which lets the request wait until the changes are visible to search requests.
+	 */
+	public static final String WAIT_FOR = "wait_for";
+
+	/**
+	 * Set the refresh parameter value.
+	 * 
+	 * @param refresh
+	 * @return Fluent API
+	 */
+	default RefreshParameters setRefresh(String refresh) {
+		setParameter(REFRESH_PARAMETER_KEY, refresh);
+		return this;
+	}
+
+	/**
+	 * Return the refresh parameter value.
+	 * 
+	 * @return
+	 */
+	default String getRefresh() {
+		return getParameter(REFRESH_PARAMETER_KEY);
+	}
+
+	/**
+	 * Set the flag which controls whether the request should wait until the changes are visible to search requests.
+	 * 
+	 * @param flag
+	 * @return Fluent API
+	 */
+	default RefreshParameters setWaitForRefresh(boolean flag) {
+		return setRefresh(flag ? WAIT_FOR : null);
+	}
+
+	/**
+	 * Check whether the request should wait until the changes are visible to search requests.
+	 * 
+	 * @return
+	 */
+	default boolean isWaitForRefresh() {
+		return WAIT_FOR.equals(getRefresh());
+	}
+
+}
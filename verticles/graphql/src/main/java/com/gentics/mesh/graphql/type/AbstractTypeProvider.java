@@ -75,6 +75,10 @@ public abstract class AbstractTypeProvider {
 
 		// #perPage
 		arguments.add(newArgument().name("perPage").defaultValue(25).description("Max count of elements per page").type(GraphQLInt).build());
+
+		// #after
+		arguments.add(newArgument().name("after").description("Cursor of the previous page. The page argument will be ignored if a cursor is specified.")
+			.type(GraphQLString).build());
 		return arguments;
 	}
 
@@ -356,6 +360,10 @@ public abstract class AbstractTypeProvider {
 		if (perPage != null) {
 			parameters.setPerPage(perPage);
 		}
+		String after = env.getArgument("after");
+		if (after != null) {
+			parameters.setAfter(after);
+		}
 		parameters.validate();
 		return parameters;
 	}
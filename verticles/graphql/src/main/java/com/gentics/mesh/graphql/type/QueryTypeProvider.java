@@ -64,6 +64,7 @@ import static com.gentics.mesh.graphql.type.PluginTypeProvider.PLUGIN_PAGE_TYPE_
 import static com.gentics.mesh.graphql.type.PluginTypeProvider.PLUGIN_TYPE_NAME;
 import static graphql.Scalars.GraphQLBoolean;
 import static graphql.Scalars.GraphQLLong;
+import static graphql.Scalars.GraphQLString;
 import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
 import static graphql.schema.GraphQLObjectType.newObject;
 
@@ -411,6 +412,12 @@ public class QueryTypeProvider extends AbstractTypeProvider {
 				return page.hasNextPage();
 			}));
 
+		type.field(newFieldDefinition().name("nextCursor").description("Return the cursor which can be used to load the next page via the after argument.")
+			.type(GraphQLString).dataFetcher(env -> {
+				Page<?> page = env.getSource();
+				return page.getNextCursor();
+			}));
+
 		type.field(newFieldDefinition().name("hasPreviousPage").description("Check whether the current page has a previous page.")
 			.type(GraphQLBoolean).dataFetcher(env -> {
 				Page<?> page = env.getSource();